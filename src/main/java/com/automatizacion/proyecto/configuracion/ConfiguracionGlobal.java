@@ -1,11 +1,19 @@
 package com.automatizacion.proyecto.configuracion;
 
+import com.automatizacion.proyecto.enums.ModoCaptura;
+import com.automatizacion.proyecto.enums.ModoEsperas;
+import com.automatizacion.proyecto.enums.ModoLlenado;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
 
 /**
  * Clase Singleton que maneja la configuración global de la aplicación.
@@ -36,6 +44,8 @@ public final class ConfiguracionGlobal {
     // === CONSTANTES DE CONFIGURACIÓN ===
     private static final String ARCHIVO_CONFIG = "config.properties";
     private static final String ARCHIVO_CONFIG_BACKUP = "config-default.properties";
+    private static final String SELECTORES_BLOQUEO_DEFAULT =
+        ".loading|.loader|.spinner|.overlay|.modal-backdrop|[style*='display: block'][style*='position: fixed']";
     
     // === ENUMS INTERNOS ===
     
@@ -84,10 +94,40 @@ public final class ConfiguracionGlobal {
         static final String TIMEOUT_EXPLICITO = "timeout.explicito";
         static final String TIMEOUT_CARGA_PAGINA = "timeout.carga.pagina";
         
+        // Esperas
+        static final String ESPERAS_MODO = "esperas.modo";
+        static final String BLOQUEO_SELECTORES = "bloqueo.selectores";
+        static final String PRESUPUESTO_ACCION = "presupuesto.accion.segundos";
+        
+        // Formularios
+        static final String FORMULARIO_MODO_LLENADO = "formulario.modo.llenado";
+        
+        // Pool de navegadores
+        static final String POOL_NAVEGADORES_HABILITADO = "pool.navegadores.habilitado";
+        static final String POOL_NAVEGADORES_MAXIMO_REUSOS = "pool.navegadores.maximo.reusos";
+        static final String POOL_NAVEGADORES_PRECALENTAR = "pool.navegadores.precalentar";
+        
+        // Resolución de drivers
+        static final String DRIVER_SERVICIO_COMPARTIDO = "driver.servicio.compartido";
+        static final String DRIVERS_CACHE_ARCHIVO = "drivers.cache.archivo";
+        static final String DRIVERS_CACHE_DIAS = "drivers.cache.dias";
+        
         // Reportes y capturas
         static final String RUTA_CAPTURAS = "ruta.capturas";
         static final String RUTA_REPORTES = "ruta.reportes";
         static final String FORMATO_CAPTURA = "formato.captura";
+        static final String CAPTURAS_CALIDAD = "capturas.calidad";
+        static final String CAPTURAS_ANCHO_MAXIMO = "capturas.ancho.maximo";
+        static final String CAPTURAS_MODO = "capturas.modo";
+        static final String CAPTURAS_HILOS_ESCRITURA = "capturas.escritura.hilos";
+        static final String CAPTURAS_COLA_ESCRITURA = "capturas.escritura.cola";
+        static final String CAPTURAS_ANCHO_MINIATURA = "capturas.miniatura.ancho";
+        
+        // Retención de evidencias
+        static final String LIMPIEZA_AUTOMATICA = "limpieza.automatica";
+        static final String LIMPIEZA_CAPTURAS_DIAS = "limpieza.capturas.dias";
+        static final String LIMPIEZA_LOGS_DIAS = "limpieza.logs.dias";
+        static final String LIMPIEZA_CUOTA_MB = "limpieza.cuota.mb";
         
         // Logs
         static final String LOG_NIVEL = "log.nivel";
@@ -257,6 +297,119 @@ public final class ConfiguracionGlobal {
         }
     }
     
+    // === MÉTODOS DE ESPERAS ===
+    
+    /**
+     * Obtiene los selectores CSS de loaders y overlays que bloquean la interacción
+     * @return lista de selectores (separados por | en la configuración)
+     */
+    public List<String> obtenerSelectoresBloqueo() {
+        String selectores = obtenerPropiedad(ClavesPropiedades.BLOQUEO_SELECTORES, SELECTORES_BLOQUEO_DEFAULT);
+        List<String> lista = Arrays.stream(selectores.split("\\|"))
+            .map(String::trim)
+            .filter(selector -> !selector.isEmpty())
+            .collect(Collectors.toList());
+        return lista.isEmpty() ? Arrays.asList(SELECTORES_BLOQUEO_DEFAULT.split("\\|")) : lista;
+    }
+    
+    /**
+     * Obtiene el presupuesto de tiempo que comparten todas las esperas de una
+     * acción de página (login, registro...)
+     * @return presupuesto por acción en segundos
+     */
+    public int obtenerPresupuestoAccion() {
+        try {
+            return Integer.parseInt(obtenerPropiedad(ClavesPropiedades.PRESUPUESTO_ACCION, "30"));
+        } catch (NumberFormatException e) {
+            logger.warn("Presupuesto por acción inválido, usando 30s por defecto");
+            return 30;
+        }
+    }
+    
+    /**
+     * Obtiene cómo se esperan los elementos (implicit wait global o en cero)
+     * @return modo de esperas (IMPLICITO por defecto)
+     */
+    public ModoEsperas obtenerModoEsperas() {
+        return ModoEsperas.desdeTexto(obtenerPropiedad(ClavesPropiedades.ESPERAS_MODO, "IMPLICITO"));
+    }
+    
+    // === MÉTODOS DE FORMULARIOS ===
+    
+    /**
+     * Obtiene el modo en que las páginas llenan los formularios
+     * @return modo de llenado (ESCRITURA por defecto)
+     */
+    public ModoLlenado obtenerModoLlenado() {
+        return ModoLlenado.desdeTexto(obtenerPropiedad(ClavesPropiedades.FORMULARIO_MODO_LLENADO, "ESCRITURA"));
+    }
+    
+    // === MÉTODOS DEL POOL DE NAVEGADORES ===
+    
+    /**
+     * Indica si los navegadores se reutilizan entre pruebas
+     * @return true si el pool de navegadores está habilitado
+     */
+    public boolean esPoolNavegadoresHabilitado() {
+        return Boolean.parseBoolean(obtenerPropiedad(ClavesPropiedades.POOL_NAVEGADORES_HABILITADO, "true"));
+    }
+    
+    /**
+     * Obtiene cuántas pruebas puede atender un navegador antes de reciclarse
+     * @return máximo de reusos por sesión
+     */
+    public int obtenerMaximoReusosNavegador() {
+        try {
+            return Integer.parseInt(obtenerPropiedad(ClavesPropiedades.POOL_NAVEGADORES_MAXIMO_REUSOS, "50"));
+        } catch (NumberFormatException e) {
+            logger.warn("Máximo de reusos inválido, usando 50 por defecto");
+            return 50;
+        }
+    }
+    
+    /**
+     * Indica si se lanzan navegadores en segundo plano al iniciar la suite
+     * @return true si el precalentamiento está habilitado
+     */
+    public boolean esPrecalentamientoNavegadoresHabilitado() {
+        return Boolean.parseBoolean(obtenerPropiedad(ClavesPropiedades.POOL_NAVEGADORES_PRECALENTAR, "true"));
+    }
+    
+    // === MÉTODOS DE RESOLUCIÓN DE DRIVERS ===
+    
+    /**
+     * Indica si las sesiones de Chrome y Edge comparten un único proceso de driver
+     * @return true si el servicio de driver es compartido
+     */
+    public boolean esServicioDriverCompartido() {
+        return Boolean.parseBoolean(obtenerPropiedad(ClavesPropiedades.DRIVER_SERVICIO_COMPARTIDO, "true"));
+    }
+    
+    /**
+     * Obtiene el archivo donde se guarda la caché de resolución de drivers
+     * @return ruta del archivo (por defecto ~/.cache/selenium/resolucion-drivers.properties)
+     */
+    public Path obtenerArchivoCacheDrivers() {
+        String archivo = obtenerPropiedad(ClavesPropiedades.DRIVERS_CACHE_ARCHIVO, "");
+        if (archivo.trim().isEmpty()) {
+            return Paths.get(System.getProperty("user.home"), ".cache", "selenium", "resolucion-drivers.properties");
+        }
+        return Paths.get(archivo.trim());
+    }
+    
+    /**
+     * Obtiene cuántos días es válida una entrada de la caché de drivers antes de resolverla de nuevo
+     * @return vigencia en días (mínimo 0)
+     */
+    public int obtenerVigenciaCacheDriversDias() {
+        try {
+            return Math.max(0, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.DRIVERS_CACHE_DIAS, "7")));
+        } catch (NumberFormatException e) {
+            logger.warn("Vigencia de la caché de drivers inválida, usando 7 días por defecto");
+            return 7;
+        }
+    }
+    
     // === MÉTODOS DE RUTAS ===
     
     /**
@@ -283,6 +436,129 @@ public final class ConfiguracionGlobal {
         return obtenerPropiedad(ClavesPropiedades.FORMATO_CAPTURA, "PNG").toUpperCase();
     }
     
+    /**
+     * Obtiene qué abarcan las capturas de pantalla completas
+     * @return modo de captura (VENTANA por defecto)
+     */
+    public ModoCaptura obtenerModoCaptura() {
+        return ModoCaptura.desdeTexto(obtenerPropiedad(ClavesPropiedades.CAPTURAS_MODO, "VENTANA"));
+    }
+    
+    /**
+     * Obtiene la calidad JPEG de las capturas
+     * @return calidad de 1 a 100
+     */
+    public int obtenerCalidadCaptura() {
+        try {
+            return Math.max(1, Math.min(100, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.CAPTURAS_CALIDAD, "90"))));
+        } catch (NumberFormatException e) {
+            logger.warn("Calidad de captura inválida, usando 90 por defecto");
+            return 90;
+        }
+    }
+    
+    /**
+     * Obtiene el ancho máximo de las capturas; las más anchas se reducen
+     * @return ancho en píxeles, 0 para conservar el tamaño original
+     */
+    public int obtenerAnchoMaximoCaptura() {
+        try {
+            return Math.max(0, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.CAPTURAS_ANCHO_MAXIMO, "0")));
+        } catch (NumberFormatException e) {
+            logger.warn("Ancho máximo de captura inválido, se conserva el tamaño original");
+            return 0;
+        }
+    }
+    
+    /**
+     * Obtiene el ancho de las miniaturas de la galería del reporte HTML
+     * @return ancho en píxeles (mínimo 32)
+     */
+    public int obtenerAnchoMiniatura() {
+        try {
+            return Math.max(32, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.CAPTURAS_ANCHO_MINIATURA, "320")));
+        } catch (NumberFormatException e) {
+            logger.warn("Ancho de miniatura inválido, usando 320 por defecto");
+            return 320;
+        }
+    }
+    
+    /**
+     * Obtiene cuántos hilos escriben las capturas en segundo plano
+     * @return hilos de escritura (mínimo 1)
+     */
+    public int obtenerHilosEscrituraCapturas() {
+        try {
+            return Math.max(1, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.CAPTURAS_HILOS_ESCRITURA, "2")));
+        } catch (NumberFormatException e) {
+            logger.warn("Hilos de escritura de capturas inválidos, usando 2 por defecto");
+            return 2;
+        }
+    }
+    
+    /**
+     * Obtiene cuántas capturas pueden esperar a ser escritas antes de que la
+     * prueba tenga que escribirlas ella misma
+     * @return capacidad de la cola de escritura (mínimo 1)
+     */
+    public int obtenerCapacidadColaCapturas() {
+        try {
+            return Math.max(1, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.CAPTURAS_COLA_ESCRITURA, "16")));
+        } catch (NumberFormatException e) {
+            logger.warn("Capacidad de cola de capturas inválida, usando 16 por defecto");
+            return 16;
+        }
+    }
+    
+    // === MÉTODOS DE RETENCIÓN DE EVIDENCIAS ===
+    
+    /**
+     * Indica si al iniciar la suite se eliminan las evidencias antiguas
+     * @return true si la limpieza automática está habilitada
+     */
+    public boolean esLimpiezaAutomaticaHabilitada() {
+        return Boolean.parseBoolean(obtenerPropiedad(ClavesPropiedades.LIMPIEZA_AUTOMATICA, "true"));
+    }
+    
+    /**
+     * Obtiene los días que se conservan las capturas de una ejecución
+     * @return días de retención de capturas
+     */
+    public int obtenerDiasRetencionCapturas() {
+        try {
+            return Math.max(1, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.LIMPIEZA_CAPTURAS_DIAS, "7")));
+        } catch (NumberFormatException e) {
+            logger.warn("Días de retención de capturas inválidos, usando 7 por defecto");
+            return 7;
+        }
+    }
+    
+    /**
+     * Obtiene los días que se conservan los archivos de log
+     * @return días de retención de logs
+     */
+    public int obtenerDiasRetencionLogs() {
+        try {
+            return Math.max(1, Integer.parseInt(obtenerPropiedad(ClavesPropiedades.LIMPIEZA_LOGS_DIAS, "14")));
+        } catch (NumberFormatException e) {
+            logger.warn("Días de retención de logs inválidos, usando 14 por defecto");
+            return 14;
+        }
+    }
+    
+    /**
+     * Obtiene el tamaño máximo que pueden ocupar las capturas
+     * @return cuota en MB; 0 sin límite
+     */
+    public long obtenerCuotaEvidenciasMb() {
+        try {
+            return Math.max(0, Long.parseLong(obtenerPropiedad(ClavesPropiedades.LIMPIEZA_CUOTA_MB, "2048")));
+        } catch (NumberFormatException e) {
+            logger.warn("Cuota de evidencias inválida, usando 2048 MB por defecto");
+            return 2048;
+        }
+    }
+    
     /**
      * Obtiene la ruta del archivo de datos CSV
      * @return ruta del CSV
@@ -368,6 +644,47 @@ public final class ConfiguracionGlobal {
             propiedades.setProperty(ClavesPropiedades.URL_BASE, urlBaseProperty);
             logger.info("URL base sobrescrita por system property: {}", urlBaseProperty);
         }
+        
+        // Modo de esperas desde system property
+        String modoEsperasProperty = System.getProperty(ClavesPropiedades.ESPERAS_MODO);
+        if (modoEsperasProperty != null && !modoEsperasProperty.trim().isEmpty()) {
+            propiedades.setProperty(ClavesPropiedades.ESPERAS_MODO, modoEsperasProperty);
+            logger.info("Modo de esperas sobrescrito por system property: {}", modoEsperasProperty);
+        }
+        
+        // Modo de llenado de formularios desde system property
+        String modoLlenadoProperty = System.getProperty(ClavesPropiedades.FORMULARIO_MODO_LLENADO);
+        if (modoLlenadoProperty != null && !modoLlenadoProperty.trim().isEmpty()) {
+            propiedades.setProperty(ClavesPropiedades.FORMULARIO_MODO_LLENADO, modoLlenadoProperty);
+            logger.info("Modo de llenado sobrescrito por system property: {}", modoLlenadoProperty);
+        }
+        
+        // Modo de captura desde system property
+        String modoCapturaProperty = System.getProperty(ClavesPropiedades.CAPTURAS_MODO);
+        if (modoCapturaProperty != null && !modoCapturaProperty.trim().isEmpty()) {
+            propiedades.setProperty(ClavesPropiedades.CAPTURAS_MODO, modoCapturaProperty);
+            logger.info("Modo de captura sobrescrito por system property: {}", modoCapturaProperty);
+        }
+        
+        // Servicio de driver compartido desde system property
+        String servicioCompartidoProperty = System.getProperty(ClavesPropiedades.DRIVER_SERVICIO_COMPARTIDO);
+        if (servicioCompartidoProperty != null && !servicioCompartidoProperty.trim().isEmpty()) {
+            propiedades.setProperty(ClavesPropiedades.DRIVER_SERVICIO_COMPARTIDO, servicioCompartidoProperty);
+            logger.info("Servicio de driver compartido sobrescrito por system property: {}", servicioCompartidoProperty);
+        }
+        
+        // Caché de resolución de drivers desde system property (p. ej. una ruta por agente de CI)
+        String cacheDriversProperty = System.getProperty(ClavesPropiedades.DRIVERS_CACHE_ARCHIVO);
+        if (cacheDriversProperty != null && !cacheDriversProperty.trim().isEmpty()) {
+            propiedades.setProperty(ClavesPropiedades.DRIVERS_CACHE_ARCHIVO, cacheDriversProperty);
+            logger.info("Caché de drivers sobrescrita por system property: {}", cacheDriversProperty);
+        }
+        
+        String vigenciaCacheProperty = System.getProperty(ClavesPropiedades.DRIVERS_CACHE_DIAS);
+        if (vigenciaCacheProperty != null && !vigenciaCacheProperty.trim().isEmpty()) {
+            propiedades.setProperty(ClavesPropiedades.DRIVERS_CACHE_DIAS, vigenciaCacheProperty);
+            logger.info("Vigencia de la caché de drivers sobrescrita por system property: {}", vigenciaCacheProperty);
+        }
     }
     
     /**
@@ -1,19 +1,41 @@
 package com.automatizacion.proyecto.configuracion;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.automatizacion.proyecto.utilidades.ContadorComandosWebDriver;
+import com.automatizacion.proyecto.utilidades.EscuchaNavegacion;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 /**
  * Factory para la creación y configuración de WebDrivers.
@@ -23,7 +45,10 @@ import java.util.Arrays;
  * SOLUCIÓN A PROBLEMAS ESPECÍFICOS:
  * - Manejo correcto de ventanas y pestañas
  * - Configuración optimizada para formularios de login
- * - Gestión automática de drivers
+ * - Gestión automática de drivers (resueltos una vez por JVM, ver ResolutorDrivers)
+ * - Un proceso chromedriver/msedgedriver compartido por todas las sesiones
+ *   (desactivable con driver.servicio.compartido=false); solo se reinicia
+ *   cuando no le queda ninguna sesión abierta
  * - Timeouts específicos para login
  * 
  * Principios aplicados:
@@ -49,6 +74,14 @@ public final class ConfiguradorNavegador {
     private static final boolean HEADLESS_DEFAULT = false;
     private static final boolean MAXIMIZAR_DEFAULT = true;
     
+    // Un proceso de driver por tipo de navegador y JVM, compartido por todas las sesiones.
+    // Los tres mapas se protegen con el monitor de SERVICIOS_COMPARTIDOS
+    private static final Map<TipoNavegador, DriverService> SERVICIOS_COMPARTIDOS = new EnumMap<>(TipoNavegador.class);
+    private static final Map<TipoNavegador, Integer> SESIONES_POR_SERVICIO = new EnumMap<>(TipoNavegador.class);
+    // Servicios con un driver desactualizado: se reinician cuando se cierra su última sesión
+    private static final Set<TipoNavegador> SERVICIOS_OBSOLETOS = EnumSet.noneOf(TipoNavegador.class);
+    private static final AtomicBoolean hookCierreRegistrado = new AtomicBoolean(false);
+    
     /**
      * Enum para tipos de navegador (definido internamente)
      */
@@ -93,19 +126,25 @@ public final class ConfiguradorNavegador {
         WebDriver driver = null;
         
         try {
-            switch (tipoNavegador) {
-                case CHROME -> driver = crearChrome();
-                case FIREFOX -> driver = crearFirefox();
-                case EDGE -> driver = crearEdge();
-                default -> throw new IllegalArgumentException(
-                    "Tipo de navegador no soportado: " + tipoNavegador);
+            ResolutorDrivers.obtenerInstancia().resolver(tipoNavegador);
+            try {
+                driver = instanciarDriver(tipoNavegador);
+            } catch (SessionNotCreatedException e) {
+                // El driver cacheado puede no coincidir con el navegador actualizado: se re-resuelve una vez.
+                // El servicio compartido no se detiene aquí porque otras sesiones pueden estar usándolo
+                logger.warn("Sesión no creada con el driver cacheado de {}, re-resolviendo: {}",
+                    tipoNavegador, e.getMessage());
+                ResolutorDrivers.obtenerInstancia().invalidar(tipoNavegador);
+                ResolutorDrivers.obtenerInstancia().resolver(tipoNavegador);
+                marcarServicioObsoleto(tipoNavegador);
+                driver = instanciarDriver(tipoNavegador);
             }
             
             configurarNavegadorGeneral(driver);
             
             logger.info("Navegador {} creado exitosamente", tipoNavegador.getNombreCompleto());
             
-            return driver;
+            return decorarConEscuchas(driver, tipoNavegador);
             
         } catch (Exception e) {
             logger.error("Error al crear navegador {}: {}", tipoNavegador, e.getMessage());
@@ -115,12 +154,24 @@ public final class ConfiguradorNavegador {
                     driver.quit();
                 } catch (Exception ex) {
                     logger.warn("Error al cerrar driver fallido: {}", ex.getMessage());
+                } finally {
+                    if (usaServicioCompartido(tipoNavegador)) {
+                        liberarSesion(tipoNavegador);
+                    }
                 }
             }
             throw new RuntimeException("No se pudo crear el navegador", e);
         }
     }
     
+    private static WebDriver instanciarDriver(TipoNavegador tipoNavegador) {
+        return switch (tipoNavegador) {
+            case CHROME -> crearChrome();
+            case FIREFOX -> crearFirefox();
+            case EDGE -> crearEdge();
+        };
+    }
+    
     /**
      * Crea un WebDriver por defecto (Chrome)
      * @return WebDriver configurado
@@ -158,8 +209,6 @@ public final class ConfiguradorNavegador {
      * Crea y configura ChromeDriver con opciones optimizadas para login
      */
     private static WebDriver crearChrome() {
-        WebDriverManager.chromedriver().setup();
-        
         ChromeOptions opciones = new ChromeOptions();
         
         // Configuraciones básicas
@@ -192,15 +241,13 @@ public final class ConfiguradorNavegador {
         
         logger.debug("Configurando ChromeDriver con opciones optimizadas");
         
-        return new ChromeDriver(opciones);
+        return crearSesion(TipoNavegador.CHROME, opciones, () -> new ChromeDriver(opciones));
     }
     
     /**
      * Crea y configura FirefoxDriver
      */
     private static WebDriver crearFirefox() {
-        WebDriverManager.firefoxdriver().setup();
-        
         FirefoxOptions opciones = new FirefoxOptions();
         
         // Configuraciones básicas
@@ -226,8 +273,6 @@ public final class ConfiguradorNavegador {
      * Crea y configura EdgeDriver
      */
     private static WebDriver crearEdge() {
-        WebDriverManager.edgedriver().setup();
-        
         EdgeOptions opciones = new EdgeOptions();
         
         // Configuraciones similares a Chrome (basado en Chromium)
@@ -245,7 +290,163 @@ public final class ConfiguradorNavegador {
         
         logger.debug("Configurando EdgeDriver");
         
-        return new EdgeDriver(opciones);
+        return crearSesion(TipoNavegador.EDGE, opciones, () -> new EdgeDriver(opciones));
+    }
+    
+    // === SERVICIOS DE DRIVER COMPARTIDOS ===
+    
+    /**
+     * Crea la sesión contra el servicio compartido del tipo de navegador o,
+     * si no aplica, con un proceso de driver dedicado.
+     * geckodriver solo admite una sesión por proceso, por lo que Firefox
+     * siempre usa un servicio dedicado.
+     * La sesión queda contada en el servicio hasta su quit() (ver liberarSesion).
+     */
+    private static WebDriver crearSesion(TipoNavegador tipoNavegador, Capabilities opciones,
+                                         Supplier<WebDriver> creacionDedicada) {
+        if (!usaServicioCompartido(tipoNavegador)) {
+            return creacionDedicada.get();
+        }
+        
+        DriverService servicio = reservarServicioCompartido(tipoNavegador);
+        try {
+            // RemoteWebDriver no detiene el servicio al hacer quit(); Augmenter recupera HasCdp y afines
+            return new Augmenter().augment(new RemoteWebDriver(servicio.getUrl(), opciones));
+        } catch (RuntimeException e) {
+            liberarSesion(tipoNavegador);
+            throw e;
+        }
+    }
+    
+    private static boolean usaServicioCompartido(TipoNavegador tipoNavegador) {
+        if (tipoNavegador == TipoNavegador.FIREFOX) {
+            return false;
+        }
+        return ConfiguracionGlobal.obtenerInstancia().esServicioDriverCompartido();
+    }
+    
+    /**
+     * Obtiene (iniciándolo la primera vez) el servicio de driver compartido del
+     * tipo indicado y le suma una sesión. Un servicio obsoleto se sigue usando
+     * mientras tenga sesiones abiertas; sin ellas se reinicia con el driver actual.
+     */
+    private static DriverService reservarServicioCompartido(TipoNavegador tipoNavegador) {
+        synchronized (SERVICIOS_COMPARTIDOS) {
+            int sesiones = SESIONES_POR_SERVICIO.getOrDefault(tipoNavegador, 0);
+            DriverService servicio = SERVICIOS_COMPARTIDOS.get(tipoNavegador);
+            if (servicio != null && servicio.isRunning()
+                    && !(sesiones == 0 && SERVICIOS_OBSOLETOS.contains(tipoNavegador))) {
+                SESIONES_POR_SERVICIO.put(tipoNavegador, sesiones + 1);
+                return servicio;
+            }
+            if (servicio != null) {
+                SERVICIOS_COMPARTIDOS.remove(tipoNavegador);
+                detener(tipoNavegador, servicio);
+            }
+            SERVICIOS_OBSOLETOS.remove(tipoNavegador);
+            
+            File ejecutable = new File(ResolutorDrivers.obtenerInstancia().resolver(tipoNavegador).obtenerRuta());
+            servicio = switch (tipoNavegador) {
+                case CHROME -> new ChromeDriverService.Builder()
+                    .usingDriverExecutable(ejecutable).usingAnyFreePort().build();
+                case EDGE -> new EdgeDriverService.Builder()
+                    .usingDriverExecutable(ejecutable).usingAnyFreePort().build();
+                case FIREFOX -> throw new IllegalArgumentException(
+                    "Firefox no admite un servicio de driver compartido");
+            };
+            
+            long inicio = System.nanoTime();
+            try {
+                servicio.start();
+            } catch (IOException e) {
+                throw new RuntimeException("No se pudo iniciar el servicio de driver para " + tipoNavegador, e);
+            }
+            logger.info("Servicio de driver compartido para {} iniciado en {} ({} ms)",
+                tipoNavegador.getNombreCompleto(), servicio.getUrl(), (System.nanoTime() - inicio) / 1_000_000);
+            
+            SERVICIOS_COMPARTIDOS.put(tipoNavegador, servicio);
+            SESIONES_POR_SERVICIO.put(tipoNavegador, sesiones + 1);
+            registrarHookCierre();
+            return servicio;
+        }
+    }
+    
+    /**
+     * Descuenta una sesión del servicio compartido; si era la última de un
+     * servicio obsoleto, lo detiene para que la próxima sesión use el driver actual
+     */
+    private static void liberarSesion(TipoNavegador tipoNavegador) {
+        DriverService obsoleto = null;
+        synchronized (SERVICIOS_COMPARTIDOS) {
+            int sesiones = Math.max(0, SESIONES_POR_SERVICIO.getOrDefault(tipoNavegador, 0) - 1);
+            SESIONES_POR_SERVICIO.put(tipoNavegador, sesiones);
+            if (sesiones == 0 && SERVICIOS_OBSOLETOS.remove(tipoNavegador)) {
+                obsoleto = SERVICIOS_COMPARTIDOS.remove(tipoNavegador);
+            }
+        }
+        if (obsoleto != null) {
+            detener(tipoNavegador, obsoleto);
+        }
+    }
+    
+    /**
+     * Marca el servicio compartido como obsoleto tras re-resolver su driver:
+     * se detiene ya si no tiene sesiones y, si las tiene, al cerrarse la última
+     */
+    private static void marcarServicioObsoleto(TipoNavegador tipoNavegador) {
+        if (!usaServicioCompartido(tipoNavegador)) {
+            return;
+        }
+        DriverService libre = null;
+        synchronized (SERVICIOS_COMPARTIDOS) {
+            if (!SERVICIOS_COMPARTIDOS.containsKey(tipoNavegador)) {
+                return;
+            }
+            int sesiones = SESIONES_POR_SERVICIO.getOrDefault(tipoNavegador, 0);
+            if (sesiones == 0) {
+                libre = SERVICIOS_COMPARTIDOS.remove(tipoNavegador);
+            } else {
+                SERVICIOS_OBSOLETOS.add(tipoNavegador);
+                logger.warn("El servicio de {} tiene {} sesiones abiertas: se reiniciará al cerrarse la última",
+                    tipoNavegador.getNombreCompleto(), sesiones);
+            }
+        }
+        if (libre != null) {
+            detener(tipoNavegador, libre);
+        }
+    }
+    
+    private static void registrarHookCierre() {
+        if (hookCierreRegistrado.compareAndSet(false, true)) {
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(ConfiguradorNavegador::detenerServiciosCompartidos, "cierre-servicios-driver"));
+        }
+    }
+    
+    private static void detener(TipoNavegador tipoNavegador, DriverService servicio) {
+        servicio.stop();
+        logger.info("Servicio de driver compartido para {} detenido", tipoNavegador.getNombreCompleto());
+    }
+    
+    /**
+     * Detiene los servicios de driver compartidos. Las sesiones deben
+     * cerrarse antes; se invoca al cerrar el pool y desde el hook de cierre de la JVM.
+     */
+    public static void detenerServiciosCompartidos() {
+        List<Map.Entry<TipoNavegador, DriverService>> servicios;
+        synchronized (SERVICIOS_COMPARTIDOS) {
+            servicios = new ArrayList<>(SERVICIOS_COMPARTIDOS.entrySet());
+            SERVICIOS_COMPARTIDOS.clear();
+            SESIONES_POR_SERVICIO.clear();
+            SERVICIOS_OBSOLETOS.clear();
+        }
+        for (Map.Entry<TipoNavegador, DriverService> servicio : servicios) {
+            try {
+                detener(servicio.getKey(), servicio.getValue());
+            } catch (Exception e) {
+                logger.warn("Error al detener el servicio de driver de {}: {}", servicio.getKey(), e.getMessage());
+            }
+        }
     }
     
     /**
@@ -254,7 +455,8 @@ public final class ConfiguradorNavegador {
      */
     private static void configurarNavegadorGeneral(WebDriver driver) {
         // Timeouts específicos para formularios de login
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(TIMEOUT_IMPLICITO));
+        Duration timeoutImplicito = obtenerEsperaImplicita();
+        driver.manage().timeouts().implicitlyWait(timeoutImplicito);
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(TIMEOUT_CARGA_PAGINA));
         driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(TIMEOUT_EXPLICITO));
         
@@ -267,7 +469,19 @@ public final class ConfiguradorNavegador {
         // IMPORTANTE: Eliminamos todas las cookies y storage para login limpio
         driver.manage().deleteAllCookies();
         
-        logger.info("Navegador configurado - Timeouts: {}s", TIMEOUT_EXPLICITO);
+        logger.info("Navegador configurado - Timeouts: {}s, implícito: {}s", TIMEOUT_EXPLICITO, timeoutImplicito.toSeconds());
+    }
+    
+    /**
+     * Implicit wait que se aplica a cada navegador creado. En modo EXPLICITO es 0
+     * para que las comprobaciones de ausencia sean instantáneas. Quien lo acote
+     * temporalmente debe restablecer este valor.
+     * 
+     * @return implicit wait de los navegadores según esperas.modo
+     */
+    public static Duration obtenerEsperaImplicita() {
+        return ConfiguracionGlobal.obtenerInstancia().obtenerModoEsperas().esExplicito()
+            ? Duration.ZERO : Duration.ofSeconds(TIMEOUT_IMPLICITO);
     }
     
     /**
@@ -339,6 +553,101 @@ public final class ConfiguradorNavegador {
         }
     }
     
+    /**
+     * Restablece el navegador a un estado limpio para ser reutilizado
+     * entre pruebas sin necesidad de cerrarlo y volver a lanzarlo:
+     * cierra ventanas extra, elimina cookies y storage y recarga la última
+     * página http(s) visitada (about:blank en otro caso). La sesión queda
+     * aparcada en esa página con un DOM nuevo, de modo que la siguiente prueba
+     * que empiece en la misma URL no necesita navegar.
+     * 
+     * @param driver WebDriver a restablecer
+     * @return true si el navegador quedó limpio y puede reutilizarse
+     */
+    public static boolean restablecerEstadoNavegador(WebDriver driver) {
+        try {
+            // Cerrar ventanas/pestañas adicionales conservando una sola
+            Set<String> ventanas = driver.getWindowHandles();
+            String ventanaPrincipal = ventanas.iterator().next();
+            if (ventanas.size() > 1) {
+                for (String ventana : ventanas) {
+                    if (!ventana.equals(ventanaPrincipal)) {
+                        driver.switchTo().window(ventana);
+                        driver.close();
+                    }
+                }
+                logger.debug("Cerradas {} ventanas adicionales", ventanas.size() - 1);
+            }
+            driver.switchTo().window(ventanaPrincipal);
+            String ultimaUrl = driver.getCurrentUrl();
+            
+            // El storage es por origen: se limpia antes de abandonar la página actual
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            
+            // deleteAllCookies solo afecta al dominio actual; en Chromium se limpian todas vía CDP
+            driver.manage().deleteAllCookies();
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            
+            // Limpiar cookies y storage no revierte el DOM ya renderizado (formularios rellenos,
+            // sesión visible): se vuelve a cargar la página, ya sin cookies, en lugar de abandonarla
+            driver.get(esPaginaAparcable(ultimaUrl) ? ultimaUrl : "about:blank");
+            return true;
+            
+        } catch (Exception e) {
+            logger.warn("No se pudo restablecer el estado del navegador: {}", e.getMessage());
+            return false;
+        }
+    }
+    
+    private static boolean esPaginaAparcable(String url) {
+        return url != null && (url.startsWith("http://") || url.startsWith("https://"));
+    }
+    
+    /**
+     * Envuelve el driver con las escuchas de la suite (conteo de comandos y,
+     * con servicio compartido, liberación de la sesión al hacer quit()).
+     * El driver decorado conserva las interfaces del original (JavascriptExecutor,
+     * TakesScreenshot, HasCdp...), por lo que el resto del código no cambia.
+     * 
+     * @param driver driver recién creado
+     * @param tipoNavegador tipo del navegador creado
+     * @return driver decorado
+     */
+    private static WebDriver decorarConEscuchas(WebDriver driver, TipoNavegador tipoNavegador) {
+        if (!usaServicioCompartido(tipoNavegador)) {
+            return new EventFiringDecorator<WebDriver>(
+                ContadorComandosWebDriver.obtenerInstancia(),
+                EscuchaNavegacion.obtenerInstancia()).decorate(driver);
+        }
+        return new EventFiringDecorator<WebDriver>(
+            ContadorComandosWebDriver.obtenerInstancia(),
+            EscuchaNavegacion.obtenerInstancia(),
+            new LiberacionSesion(tipoNavegador)).decorate(driver);
+    }
+    
+    /**
+     * Descuenta la sesión de su servicio compartido la primera vez que se
+     * cierra (cerrarNavegador puede repetir quit() si el primero falla)
+     */
+    private static final class LiberacionSesion implements WebDriverListener {
+        private final TipoNavegador tipoNavegador;
+        private final AtomicBoolean liberada = new AtomicBoolean(false);
+        
+        LiberacionSesion(TipoNavegador tipoNavegador) {
+            this.tipoNavegador = tipoNavegador;
+        }
+        
+        @Override
+        public void beforeQuit(WebDriver driver) {
+            if (liberada.compareAndSet(false, true)) {
+                liberarSesion(tipoNavegador);
+            }
+        }
+    }
+    
     // === MÉTODOS DE CONFIGURACIÓN ===
     
     /**
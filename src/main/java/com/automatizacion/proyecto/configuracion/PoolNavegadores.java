@@ -0,0 +1,349 @@
+package com.automatizacion.proyecto.configuracion;
+
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador.TipoNavegador;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de sesiones de navegador reutilizables entre pruebas.
+ * Evita el arranque en frío del navegador en cada método de prueba:
+ * las sesiones se entregan ya iniciadas y, al devolverse, se restablecen
+ * (cookies, storage, ventanas extra) y quedan aparcadas en su última
+ * página en lugar de cerrarse.
+ * Además puede precalentar sesiones en segundo plano durante el arranque
+ * de la suite, de modo que la primera prueba no espere el lanzamiento.
+ *
+ * Principios aplicados:
+ * - Singleton: Un único pool por JVM
+ * - Object Pool: Reutilización de recursos costosos de crear
+ * - Single Responsibility: Solo gestiona el ciclo de vida de las sesiones
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class PoolNavegadores {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolNavegadores.class);
+
+    private static volatile PoolNavegadores instancia;
+    private static final Object LOCK = new Object();
+
+    private static final long INTERVALO_ESPERA_PRECALENTAMIENTO_MS = 100;
+    
+    private final Map<TipoNavegador, BlockingDeque<SesionNavegador>> sesionesDisponibles = new ConcurrentHashMap<>();
+    private final Map<WebDriver, SesionNavegador> sesionesEnUso = new ConcurrentHashMap<>();
+    private final Map<TipoNavegador, AtomicInteger> lanzamientosPendientes = new ConcurrentHashMap<>();
+    private ExecutorService ejecutorPrecalentamiento;
+
+    private final boolean habilitado;
+    private final int maximoReusos;
+
+    // Métricas del pool
+    private final AtomicInteger lanzamientos = new AtomicInteger();
+    private final AtomicInteger reutilizaciones = new AtomicInteger();
+    private final AtomicInteger reemplazos = new AtomicInteger();
+    private final AtomicInteger descartes = new AtomicInteger();
+    private final AtomicInteger precalentados = new AtomicInteger();
+    private final LongAdder tiempoLanzamientoMs = new LongAdder();
+    private final LongAdder tiempoEsperaPrecalentamientoMs = new LongAdder();
+
+    /**
+     * Constructor privado para implementar Singleton
+     */
+    private PoolNavegadores() {
+        ConfiguracionGlobal config = ConfiguracionGlobal.obtenerInstancia();
+        this.habilitado = config.esPoolNavegadoresHabilitado();
+        this.maximoReusos = config.obtenerMaximoReusosNavegador();
+        logger.info("Pool de navegadores inicializado - Habilitado: {}, Máximo reusos: {}", habilitado, maximoReusos);
+    }
+
+    /**
+     * Obtiene la instancia única del pool (Thread-safe)
+     * @return instancia única de PoolNavegadores
+     */
+    public static PoolNavegadores obtenerInstancia() {
+        if (instancia == null) {
+            synchronized (LOCK) {
+                if (instancia == null) {
+                    instancia = new PoolNavegadores();
+                }
+            }
+        }
+        return instancia;
+    }
+
+    // === ENTREGA Y DEVOLUCIÓN DE SESIONES ===
+
+    /**
+     * Entrega un navegador listo para usar. Reutiliza una sesión disponible
+     * si está sana; en caso contrario la reemplaza por una nueva.
+     *
+     * @param tipoNavegador tipo de navegador requerido
+     * @return WebDriver en estado limpio
+     */
+    public WebDriver obtenerNavegador(TipoNavegador tipoNavegador) {
+        BlockingDeque<SesionNavegador> disponibles = obtenerCola(tipoNavegador);
+
+        SesionNavegador sesion;
+        while ((sesion = tomarSesionDisponible(tipoNavegador, disponibles)) != null) {
+            if (ConfiguradorNavegador.verificarNavegador(sesion.driver)) {
+                if (sesion.usos > 0) {
+                    reutilizaciones.incrementAndGet();
+                }
+                sesion.usos++;
+                sesionesEnUso.put(sesion.driver, sesion);
+                logger.debug("Entregando navegador {} (uso #{})", tipoNavegador, sesion.usos);
+                return sesion.driver;
+            }
+
+            logger.warn("Sesión de {} no saludable, se reemplaza por una nueva", tipoNavegador);
+            reemplazos.incrementAndGet();
+            ConfiguradorNavegador.cerrarNavegador(sesion.driver);
+        }
+
+        sesion = lanzarSesion(tipoNavegador);
+        sesion.usos++;
+        sesionesEnUso.put(sesion.driver, sesion);
+        return sesion.driver;
+    }
+
+    /**
+     * Devuelve un navegador al pool. Si el restablecimiento falla, la sesión
+     * superó el máximo de reusos o el pool está deshabilitado, se cierra.
+     *
+     * @param driver WebDriver entregado previamente por el pool
+     */
+    public void devolverNavegador(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        SesionNavegador sesion = sesionesEnUso.remove(driver);
+        if (sesion == null) {
+            logger.warn("Navegador no pertenece al pool, se cierra directamente");
+            ConfiguradorNavegador.cerrarNavegador(driver);
+            return;
+        }
+
+        if (!habilitado || sesion.usos >= maximoReusos) {
+            ConfiguradorNavegador.cerrarNavegador(driver);
+            return;
+        }
+
+        if (ConfiguradorNavegador.restablecerEstadoNavegador(driver)) {
+            obtenerCola(sesion.tipo).offerFirst(sesion);
+        } else {
+            logger.warn("No se pudo restablecer el navegador {}, se descarta", sesion.tipo);
+            descartes.incrementAndGet();
+            ConfiguradorNavegador.cerrarNavegador(driver);
+        }
+    }
+
+    /**
+     * Descarta un navegador sin devolverlo al pool (p. ej. tras un fallo grave)
+     * @param driver WebDriver a descartar
+     */
+    public void descartarNavegador(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (sesionesEnUso.remove(driver) != null) {
+            descartes.incrementAndGet();
+        }
+        ConfiguradorNavegador.cerrarNavegador(driver);
+    }
+
+    // === PRECALENTAMIENTO ===
+
+    /**
+     * Lanza navegadores en segundo plano y los deja estacionados en la URL indicada.
+     * Las pruebas que pidan un navegador antes de que termine algún lanzamiento
+     * esperan a ese lanzamiento en lugar de iniciar uno propio.
+     *
+     * @param tipoNavegador tipo de navegador a precalentar
+     * @param cantidad número de sesiones a lanzar (paralelismo previsto)
+     * @param urlInicial URL donde quedan estacionadas las sesiones (null para no navegar)
+     */
+    public synchronized void precalentar(TipoNavegador tipoNavegador, int cantidad, String urlInicial) {
+        if (!habilitado || cantidad <= 0) {
+            return;
+        }
+        if (ejecutorPrecalentamiento == null || ejecutorPrecalentamiento.isShutdown()) {
+            ejecutorPrecalentamiento = Executors.newFixedThreadPool(cantidad, tarea -> {
+                Thread hilo = new Thread(tarea, "precalentamiento-navegador");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+
+        AtomicInteger pendientes = obtenerPendientes(tipoNavegador);
+        for (int i = 0; i < cantidad; i++) {
+            pendientes.incrementAndGet();
+            ejecutorPrecalentamiento.execute(() -> {
+                try {
+                    SesionNavegador sesion = lanzarSesion(tipoNavegador);
+                    if (urlInicial != null) {
+                        try {
+                            sesion.driver.get(urlInicial);
+                        } catch (RuntimeException e) {
+                            // El navegador ya está lanzado: cerrarlo para que no quede huérfano
+                            descartes.incrementAndGet();
+                            ConfiguradorNavegador.cerrarNavegador(sesion.driver);
+                            throw e;
+                        }
+                    }
+                    precalentados.incrementAndGet();
+                    obtenerCola(tipoNavegador).offerLast(sesion);
+                } catch (Exception e) {
+                    logger.warn("Falló el precalentamiento de {}: {}", tipoNavegador, e.getMessage());
+                } finally {
+                    pendientes.decrementAndGet();
+                }
+            });
+        }
+        logger.info("Precalentando {} navegador(es) {} en segundo plano", cantidad, tipoNavegador);
+    }
+
+    /**
+     * Toma una sesión disponible; si no hay ninguna pero quedan lanzamientos
+     * de precalentamiento en curso, espera a que alguno termine.
+     */
+    private SesionNavegador tomarSesionDisponible(TipoNavegador tipoNavegador, BlockingDeque<SesionNavegador> disponibles) {
+        SesionNavegador sesion = disponibles.pollFirst();
+        if (sesion != null) {
+            return sesion;
+        }
+
+        AtomicInteger pendientes = obtenerPendientes(tipoNavegador);
+        long inicio = System.nanoTime();
+        try {
+            while (sesion == null && pendientes.get() > 0) {
+                sesion = disponibles.pollFirst(INTERVALO_ESPERA_PRECALENTAMIENTO_MS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            tiempoEsperaPrecalentamientoMs.add((System.nanoTime() - inicio) / 1_000_000);
+        }
+        return sesion != null ? sesion : disponibles.pollFirst();
+    }
+
+    /**
+     * Cierra todas las sesiones disponibles y en uso
+     */
+    public void cerrarTodos() {
+        int cerradas = 0;
+
+        // Esperar a que terminen los lanzamientos en curso para no dejar navegadores huérfanos
+        synchronized (this) {
+            if (ejecutorPrecalentamiento != null) {
+                ejecutorPrecalentamiento.shutdown();
+                try {
+                    if (!ejecutorPrecalentamiento.awaitTermination(2, TimeUnit.MINUTES)) {
+                        logger.warn("Lanzamientos de precalentamiento aún en curso al cerrar el pool");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ejecutorPrecalentamiento = null;
+            }
+        }
+
+        for (BlockingDeque<SesionNavegador> disponibles : sesionesDisponibles.values()) {
+            SesionNavegador sesion;
+            while ((sesion = disponibles.pollFirst()) != null) {
+                ConfiguradorNavegador.cerrarNavegador(sesion.driver);
+                cerradas++;
+            }
+        }
+
+        for (WebDriver driver : sesionesEnUso.keySet()) {
+            sesionesEnUso.remove(driver);
+            ConfiguradorNavegador.cerrarNavegador(driver);
+            cerradas++;
+        }
+
+        ConfiguradorNavegador.detenerServiciosCompartidos();
+        logger.info("Pool de navegadores cerrado - Sesiones cerradas: {}", cerradas);
+    }
+
+    // === MÉTRICAS ===
+
+    /**
+     * Calcula el tiempo promedio de arranque de un navegador
+     * @return milisegundos promedio por lanzamiento (0 si no hubo lanzamientos)
+     */
+    public long obtenerTiempoPromedioLanzamientoMs() {
+        int total = lanzamientos.get();
+        return total == 0 ? 0 : tiempoLanzamientoMs.sum() / total;
+    }
+
+    /**
+     * Estima el tiempo de arranque ahorrado gracias a la reutilización
+     * @return milisegundos ahorrados estimados
+     */
+    public long obtenerTiempoAhorradoMs() {
+        return reutilizaciones.get() * obtenerTiempoPromedioLanzamientoMs();
+    }
+
+    /**
+     * Genera un resumen de uso del pool para los logs de la suite
+     * @return string con el resumen
+     */
+    public String generarResumen() {
+        return String.format(
+            "Pool de navegadores - Lanzamientos: %d (promedio %d ms, precalentados %d), Reutilizaciones: %d, " +
+            "Reemplazos: %d, Descartes: %d, Espera por precalentamiento: %d ms, Tiempo de arranque ahorrado: %.1fs",
+            lanzamientos.get(), obtenerTiempoPromedioLanzamientoMs(), precalentados.get(), reutilizaciones.get(),
+            reemplazos.get(), descartes.get(), tiempoEsperaPrecalentamientoMs.sum(), obtenerTiempoAhorradoMs() / 1000.0);
+    }
+
+    // === MÉTODOS PRIVADOS ===
+
+    private BlockingDeque<SesionNavegador> obtenerCola(TipoNavegador tipoNavegador) {
+        return sesionesDisponibles.computeIfAbsent(tipoNavegador, tipo -> new LinkedBlockingDeque<>());
+    }
+
+    private AtomicInteger obtenerPendientes(TipoNavegador tipoNavegador) {
+        return lanzamientosPendientes.computeIfAbsent(tipoNavegador, tipo -> new AtomicInteger());
+    }
+
+    private SesionNavegador lanzarSesion(TipoNavegador tipoNavegador) {
+        long inicio = System.nanoTime();
+        WebDriver driver = ConfiguradorNavegador.crearNavegador(tipoNavegador);
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        lanzamientos.incrementAndGet();
+        tiempoLanzamientoMs.add(duracionMs);
+        logger.info("Navegador {} lanzado en {} ms", tipoNavegador, duracionMs);
+
+        return new SesionNavegador(driver, tipoNavegador);
+    }
+
+    /**
+     * Sesión de navegador administrada por el pool
+     */
+    private static final class SesionNavegador {
+        private final WebDriver driver;
+        private final TipoNavegador tipo;
+        private int usos;
+
+        private SesionNavegador(WebDriver driver, TipoNavegador tipo) {
+            this.driver = driver;
+            this.tipo = tipo;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.automatizacion.proyecto.configuracion;
+
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador.TipoNavegador;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolutor de binarios de driver (chromedriver, geckodriver, msedgedriver)
+ * compartido por toda la JVM.
+ *
+ * Cada driver se resuelve una sola vez por JVM y el resultado (ruta y versión)
+ * se persiste en un archivo de caché local. Con la caché caliente no se invoca
+ * WebDriverManager, por lo que la creación de navegadores funciona sin red.
+ *
+ * Propiedades de configuración (config.properties o -D):
+ * - drivers.cache.archivo: ruta del archivo de caché
+ * - drivers.cache.dias: vigencia de una entrada antes de volver a resolverla
+ *
+ * Principios aplicados:
+ * - Singleton: Una única caché de resolución por JVM
+ * - Memoization: Resolución costosa realizada una sola vez
+ * - Fail-Safe: Si la re-resolución falla se usa la entrada vencida
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class ResolutorDrivers {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResolutorDrivers.class);
+
+    private static volatile ResolutorDrivers instancia;
+    private static final Object LOCK = new Object();
+
+    private final Path archivoCache;
+    private final Duration vigenciaCache;
+    private final Properties cacheDisco = new Properties();
+    private final Map<TipoNavegador, DriverResuelto> cacheMemoria = new ConcurrentHashMap<>();
+
+    // Métricas de resolución
+    private final AtomicInteger aciertosMemoria = new AtomicInteger();
+    private final AtomicInteger aciertosDisco = new AtomicInteger();
+    private final AtomicInteger resolucionesRemotas = new AtomicInteger();
+    private final LongAdder tiempoResolucionMs = new LongAdder();
+
+    private ResolutorDrivers() {
+        ConfiguracionGlobal config = ConfiguracionGlobal.obtenerInstancia();
+        this.archivoCache = config.obtenerArchivoCacheDrivers();
+        this.vigenciaCache = Duration.ofDays(config.obtenerVigenciaCacheDriversDias());
+        cargarCacheDisco();
+    }
+
+    /**
+     * Obtiene la instancia única del resolutor (Thread-safe)
+     * @return instancia única de ResolutorDrivers
+     */
+    public static ResolutorDrivers obtenerInstancia() {
+        if (instancia == null) {
+            synchronized (LOCK) {
+                if (instancia == null) {
+                    instancia = new ResolutorDrivers();
+                }
+            }
+        }
+        return instancia;
+    }
+
+    // === RESOLUCIÓN ===
+
+    /**
+     * Resuelve el binario del driver para el navegador indicado y publica su ruta
+     * en la propiedad del sistema que Selenium consulta (webdriver.*.driver)
+     *
+     * @param tipoNavegador tipo de navegador
+     * @return driver resuelto (ruta y versión)
+     */
+    public DriverResuelto resolver(TipoNavegador tipoNavegador) {
+        DriverResuelto memorizado = cacheMemoria.get(tipoNavegador);
+        if (memorizado != null) {
+            aciertosMemoria.incrementAndGet();
+            return memorizado;
+        }
+
+        // computeIfAbsent garantiza una sola resolución aunque varios hilos lleguen a la vez
+        DriverResuelto resuelto = cacheMemoria.computeIfAbsent(tipoNavegador, this::resolverSinMemoria);
+        System.setProperty(obtenerPropiedadSistema(tipoNavegador), resuelto.obtenerRuta());
+        return resuelto;
+    }
+
+    /**
+     * Descarta la resolución de un navegador (p. ej. cuando el driver cacheado
+     * ya no es compatible con el navegador instalado) para forzar una nueva
+     *
+     * @param tipoNavegador tipo de navegador
+     */
+    public void invalidar(TipoNavegador tipoNavegador) {
+        cacheMemoria.remove(tipoNavegador);
+        synchronized (cacheDisco) {
+            cacheDisco.remove(clave(tipoNavegador, "ruta"));
+            cacheDisco.remove(clave(tipoNavegador, "version"));
+            cacheDisco.remove(clave(tipoNavegador, "resuelto"));
+            guardarCacheDisco();
+        }
+        logger.info("Resolución de driver invalidada para {}", tipoNavegador);
+    }
+
+    /**
+     * Olvida solo la caché en memoria (la de disco se conserva)
+     */
+    public void limpiarMemoria() {
+        cacheMemoria.clear();
+    }
+
+    // === MÉTRICAS ===
+
+    /**
+     * Genera un resumen de uso del resolutor para los logs de la suite
+     * @return string con el resumen
+     */
+    public String generarResumen() {
+        return String.format(
+            "Resolución de drivers - Aciertos memoria: %d, Aciertos caché disco: %d, " +
+            "Resoluciones con WebDriverManager: %d, Tiempo total de resolución: %d ms",
+            aciertosMemoria.get(), aciertosDisco.get(), resolucionesRemotas.get(), tiempoResolucionMs.sum());
+    }
+
+    // === MÉTODOS PRIVADOS ===
+
+    private DriverResuelto resolverSinMemoria(TipoNavegador tipoNavegador) {
+        long inicio = System.nanoTime();
+        try {
+            DriverResuelto enDisco = leerEntradaDisco(tipoNavegador);
+            if (enDisco != null && !enDisco.estaVencido(vigenciaCache)) {
+                aciertosDisco.incrementAndGet();
+                logger.info("Driver {} desde caché local: {} ({})",
+                    tipoNavegador, enDisco.obtenerRuta(), enDisco.obtenerVersion());
+                return enDisco;
+            }
+
+            try {
+                DriverResuelto resuelto = resolverConWebDriverManager(tipoNavegador);
+                resolucionesRemotas.incrementAndGet();
+                guardarEntradaDisco(tipoNavegador, resuelto);
+                return resuelto;
+            } catch (Exception e) {
+                if (enDisco != null) {
+                    logger.warn("No se pudo re-resolver el driver {} ({}), se usa la entrada vencida de la caché",
+                        tipoNavegador, e.getMessage());
+                    aciertosDisco.incrementAndGet();
+                    return enDisco;
+                }
+                throw new IllegalStateException("No se pudo resolver el driver para " + tipoNavegador, e);
+            }
+        } finally {
+            tiempoResolucionMs.add((System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    private DriverResuelto resolverConWebDriverManager(TipoNavegador tipoNavegador) {
+        WebDriverManager gestor = switch (tipoNavegador) {
+            case CHROME -> WebDriverManager.chromedriver();
+            case FIREFOX -> WebDriverManager.firefoxdriver();
+            case EDGE -> WebDriverManager.edgedriver();
+        };
+        gestor.setup();
+
+        String ruta = gestor.getDownloadedDriverPath();
+        if (ruta == null || ruta.isEmpty()) {
+            ruta = System.getProperty(obtenerPropiedadSistema(tipoNavegador));
+        }
+        if (ruta == null || ruta.isEmpty()) {
+            throw new IllegalStateException("WebDriverManager no devolvió la ruta del driver");
+        }
+
+        logger.info("Driver {} resuelto con WebDriverManager: {} ({})",
+            tipoNavegador, ruta, gestor.getDownloadedDriverVersion());
+        return new DriverResuelto(ruta, gestor.getDownloadedDriverVersion(), Instant.now());
+    }
+
+    private DriverResuelto leerEntradaDisco(TipoNavegador tipoNavegador) {
+        String ruta;
+        String version;
+        String resuelto;
+        synchronized (cacheDisco) {
+            ruta = cacheDisco.getProperty(clave(tipoNavegador, "ruta"));
+            version = cacheDisco.getProperty(clave(tipoNavegador, "version"), "desconocida");
+            resuelto = cacheDisco.getProperty(clave(tipoNavegador, "resuelto"));
+        }
+
+        if (ruta == null || !Files.isExecutable(Paths.get(ruta))) {
+            return null;
+        }
+
+        try {
+            return new DriverResuelto(ruta, version, Instant.parse(resuelto));
+        } catch (Exception e) {
+            return new DriverResuelto(ruta, version, Instant.EPOCH);
+        }
+    }
+
+    private void guardarEntradaDisco(TipoNavegador tipoNavegador, DriverResuelto resuelto) {
+        synchronized (cacheDisco) {
+            cacheDisco.setProperty(clave(tipoNavegador, "ruta"), resuelto.obtenerRuta());
+            cacheDisco.setProperty(clave(tipoNavegador, "version"), String.valueOf(resuelto.obtenerVersion()));
+            cacheDisco.setProperty(clave(tipoNavegador, "resuelto"), resuelto.obtenerFechaResolucion().toString());
+            guardarCacheDisco();
+        }
+    }
+
+    private void cargarCacheDisco() {
+        if (!Files.exists(archivoCache)) {
+            logger.debug("Sin caché de drivers en {}", archivoCache);
+            return;
+        }
+        try (InputStream entrada = Files.newInputStream(archivoCache)) {
+            cacheDisco.load(entrada);
+            logger.debug("Caché de drivers cargada desde {}", archivoCache);
+        } catch (IOException e) {
+            logger.warn("No se pudo leer la caché de drivers {}: {}", archivoCache, e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe la caché en un archivo temporal y lo mueve de forma atómica,
+     * para que otra JVM nunca lea un archivo a medio escribir
+     */
+    private void guardarCacheDisco() {
+        try {
+            Path directorio = archivoCache.toAbsolutePath().getParent();
+            Files.createDirectories(directorio);
+            Path temporal = Files.createTempFile(directorio, "resolucion-drivers", ".tmp");
+            try (OutputStream salida = Files.newOutputStream(temporal)) {
+                cacheDisco.store(salida, "Drivers resueltos - generado automáticamente");
+            }
+            Files.move(temporal, archivoCache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("No se pudo guardar la caché de drivers {}: {}", archivoCache, e.getMessage());
+        }
+    }
+
+    private static String clave(TipoNavegador tipoNavegador, String campo) {
+        return "driver." + tipoNavegador.getIdentificador() + "." + campo;
+    }
+
+    private static String obtenerPropiedadSistema(TipoNavegador tipoNavegador) {
+        return switch (tipoNavegador) {
+            case CHROME -> "webdriver.chrome.driver";
+            case FIREFOX -> "webdriver.gecko.driver";
+            case EDGE -> "webdriver.edge.driver";
+        };
+    }
+
+    /**
+     * Resultado de la resolución de un driver
+     */
+    public static final class DriverResuelto {
+        private final String ruta;
+        private final String version;
+        private final Instant fechaResolucion;
+
+        private DriverResuelto(String ruta, String version, Instant fechaResolucion) {
+            this.ruta = ruta;
+            this.version = version;
+            this.fechaResolucion = fechaResolucion;
+        }
+
+        public String obtenerRuta() {
+            return ruta;
+        }
+
+        public String obtenerVersion() {
+            return version;
+        }
+
+        public Instant obtenerFechaResolucion() {
+            return fechaResolucion;
+        }
+
+        private boolean estaVencido(Duration vigencia) {
+            return fechaResolucion.plus(vigencia).isBefore(Instant.now());
+        }
+    }
+}
@@ -11,6 +11,9 @@ package com.automatizacion.proyecto.ejecutor;
 import com.automatizacion.proyecto.enums.TipoMensaje;
 import com.automatizacion.proyecto.utilidades.GeneradorReporteHTML;
 import com.automatizacion.proyecto.utilidades.GestorCapturaPantalla;
+import com.automatizacion.proyecto.utilidades.RegistroResultados;
+import com.automatizacion.proyecto.utilidades.ReporteEnVivo;
+import com.automatizacion.proyecto.utilidades.ResultadoPrueba;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,6 +24,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,6 +57,10 @@ public class EjecutorFinalEntrega {
     private static final String COMANDO_MAVEN_TEST = "mvn clean test -Dtest=PruebasLoginCompletas,PruebasRegistro";
     private static final String COMANDO_ALLURE = "mvn allure:report";
     
+    // Resultados que la suite (otro proceso) dejó en ruta.reportes
+    private List<ResultadoPrueba> resultadosEjecucion = List.of();
+    private Path directorioResultados;
+    
     /**
      * Método principal de ejecución
      */
@@ -134,7 +142,14 @@ public class EjecutorFinalEntrega {
     private void ejecutarSuitePruebas() {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("🧪 FASE 2: Ejecutando suite de pruebas"));
         
+        // Sin config.properties de pruebas en el classpath se usa el directorio de reportes del proyecto
+        Path archivoResultados = RegistroResultados.obtenerRutaArchivo();
+        Path archivoResultadosProyecto = Paths.get(DIRECTORIO_REPORTES, RegistroResultados.ARCHIVO_RESULTADOS);
         try {
+            // Los resultados de una ejecución anterior no deben llegar al reporte
+            Files.deleteIfExists(archivoResultados);
+            Files.deleteIfExists(archivoResultadosProyecto);
+            
             // Ejecutar pruebas con Maven
             logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Ejecutando comando: " + COMANDO_MAVEN_TEST));
             
@@ -166,6 +181,34 @@ public class EjecutorFinalEntrega {
             logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(
                 "📋 Continuando con generación de reportes con datos disponibles"));
         }
+        
+        resultadosEjecucion = RegistroResultados.cargar(archivoResultados);
+        directorioResultados = archivoResultados.toAbsolutePath().getParent();
+        if (resultadosEjecucion.isEmpty()) {
+            resultadosEjecucion = RegistroResultados.cargar(archivoResultadosProyecto);
+            directorioResultados = archivoResultadosProyecto.toAbsolutePath().getParent();
+        }
+        long fallidas = resultadosEjecucion.stream().filter(r -> ResultadoPrueba.FALLIDA.equals(r.estado())).count();
+        long omitidas = resultadosEjecucion.stream().filter(r -> ResultadoPrueba.OMITIDA.equals(r.estado())).count();
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "📋 Resultados registrados: %d pruebas (%d exitosas, %d fallidas, %d omitidas)",
+            resultadosEjecucion.size(), resultadosEjecucion.size() - fallidas - omitidas, fallidas, omitidas)));
+    }
+    
+    /**
+     * Copia el reporte en vivo que la suite dejó finalizado (cascarón, datos y resultados)
+     */
+    private void copiarReporteEnVivo() {
+        if (directorioResultados == null) {
+            return;
+        }
+        for (String archivo : new String[] {ReporteEnVivo.ARCHIVO_REPORTE, ReporteEnVivo.ARCHIVO_DATOS,
+                                            RegistroResultados.ARCHIVO_RESULTADOS}) {
+            Path origen = directorioResultados.resolve(archivo);
+            if (Files.exists(origen)) {
+                copiarArchivo(origen.toString(), DIRECTORIO_ENTREGA + "/reportes/");
+            }
+        }
     }
     
     /**
@@ -200,6 +243,7 @@ public class EjecutorFinalEntrega {
             logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("📝 Generando reporte HTML personalizado"));
             
             GeneradorReporteHTML generador = new GeneradorReporteHTML();
+            generador.agregarResultados(resultadosEjecucion);
             String rutaReporte = generador.generarReporteCompleto();
             
             if (rutaReporte != null) {
@@ -207,6 +251,7 @@ public class EjecutorFinalEntrega {
                 
                 // Copiar a directorio de entrega
                 copiarArchivo(rutaReporte, DIRECTORIO_ENTREGA + "/reportes/");
+                copiarReporteEnVivo();
                 
             } else {
                 logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("⚠️ No se pudo generar reporte HTML"));
@@ -0,0 +1,50 @@
+package com.automatizacion.proyecto.enums;
+
+/**
+ * Enumeración que define qué abarcan las capturas de pantalla completas.
+ * 
+ * Se configura con capturas.modo en config.properties (o -Dcapturas.modo=PAGINA_COMPLETA);
+ * por defecto se usa VENTANA.
+ * 
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public enum ModoCaptura {
+
+    /**
+     * Solo lo visible en la ventana, como la captura estándar de WebDriver
+     */
+    VENTANA,
+
+    /**
+     * Toda la página en un único comando (DevTools en Chrome/Edge, captura
+     * completa nativa en Firefox); en otros navegadores se captura la ventana
+     */
+    PAGINA_COMPLETA;
+
+    /**
+     * Convierte un texto de configuración en modo de captura
+     * @param valor texto configurado (sin distinguir mayúsculas)
+     * @return modo correspondiente (VENTANA si está vacío o es inválido)
+     */
+    public static ModoCaptura desdeTexto(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return VENTANA;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return VENTANA;
+        }
+    }
+
+    /**
+     * Indica si el modo abarca la página entera
+     * @return true si es el modo PAGINA_COMPLETA
+     */
+    public boolean esPaginaCompleta() {
+        return this == PAGINA_COMPLETA;
+    }
+}
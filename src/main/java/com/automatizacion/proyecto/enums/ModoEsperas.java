@@ -0,0 +1,50 @@
+package com.automatizacion.proyecto.enums;
+
+/**
+ * Enumeración que define cómo se esperan los elementos de la página.
+ * 
+ * Se configura con esperas.modo en config.properties
+ * (o -Desperas.modo=EXPLICITO); por defecto se usa IMPLICITO.
+ * 
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public enum ModoEsperas {
+
+    /**
+     * Implicit wait global: cada búsqueda, incluso las de ausencia, espera hasta el timeout
+     */
+    IMPLICITO,
+
+    /**
+     * Implicit wait en cero: las búsquedas positivas usan esperas explícitas
+     * y las comprobaciones de ausencia responden al instante
+     */
+    EXPLICITO;
+
+    /**
+     * Convierte un texto de configuración en modo de esperas
+     * @param valor texto configurado (sin distinguir mayúsculas)
+     * @return modo correspondiente (IMPLICITO si está vacío o es inválido)
+     */
+    public static ModoEsperas desdeTexto(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return IMPLICITO;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return IMPLICITO;
+        }
+    }
+
+    /**
+     * Indica si el modo usa implicit wait en cero
+     * @return true si es el modo EXPLICITO
+     */
+    public boolean esExplicito() {
+        return this == EXPLICITO;
+    }
+}
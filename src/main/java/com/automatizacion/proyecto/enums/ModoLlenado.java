@@ -0,0 +1,51 @@
+package com.automatizacion.proyecto.enums;
+
+/**
+ * Enumeración que define cómo se llenan los formularios de las páginas.
+ * 
+ * Se configura globalmente con formulario.modo.llenado en config.properties
+ * (o -Dformulario.modo.llenado=LOTE) y cada página puede cambiarlo para una
+ * prueba concreta; por defecto se usa ESCRITURA.
+ * 
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public enum ModoLlenado {
+
+    /**
+     * Escritura real con sendKeys campo por campo, como lo haría un usuario
+     */
+    ESCRITURA,
+
+    /**
+     * Todos los campos se asignan y verifican en un único script, disparando
+     * los eventos input/change que escucha la página
+     */
+    LOTE;
+
+    /**
+     * Convierte un texto de configuración en modo de llenado
+     * @param valor texto configurado (sin distinguir mayúsculas)
+     * @return modo correspondiente (ESCRITURA si está vacío o es inválido)
+     */
+    public static ModoLlenado desdeTexto(String valor) {
+        if (valor == null || valor.trim().isEmpty()) {
+            return ESCRITURA;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ESCRITURA;
+        }
+    }
+
+    /**
+     * Indica si el modo llena el formulario en un único script
+     * @return true si es el modo LOTE
+     */
+    public boolean esLote() {
+        return this == LOTE;
+    }
+}
@@ -0,0 +1,156 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Caché de elementos por localizador para un page object.
+ *
+ * Las búsquedas repetidas del mismo By dentro de una misma navegación
+ * devuelven el elemento ya resuelto sin enviar otro findElement. La caché se
+ * vacía cuando avanza la época de EscuchaNavegacion (navegación, click,
+ * submit...). Los elementos entregados son proxies: si el DOM se rehace sin
+ * navegar y el elemento queda obsoleto, se vuelve a buscar de forma
+ * transparente y se repite la operación una vez.
+ *
+ * Las métricas se acumulan en el ContextoPrueba del hilo:
+ * - elementos.cache.aciertos: búsquedas ahorradas
+ * - elementos.cache.busquedas: búsquedas reales en el navegador
+ *
+ * Principios aplicados:
+ * - Proxy: El elemento cacheado se re-resuelve solo cuando queda obsoleto
+ * - Thread Confinement: Cada page object (y su caché) pertenece a un hilo
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class CacheElementos {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheElementos.class);
+
+    public static final String METRICA_ACIERTOS = "elementos.cache.aciertos";
+    public static final String METRICA_BUSQUEDAS = "elementos.cache.busquedas";
+
+    private final Function<By, WebElement> buscador;
+    private final Map<By, WebElement> elementos = new HashMap<>();
+    private long epoca = EscuchaNavegacion.obtenerEpoca();
+
+    /**
+     * @param buscador búsqueda real del elemento (con la espera que use la página)
+     */
+    public CacheElementos(Function<By, WebElement> buscador) {
+        this.buscador = buscador;
+    }
+
+    /**
+     * Obtiene el elemento del localizador, buscándolo solo si no está en caché
+     * para la navegación actual
+     *
+     * @param localizador localizador del elemento
+     * @return elemento (proxy que se re-resuelve si queda obsoleto)
+     */
+    public WebElement obtener(By localizador) {
+        descartarSiHuboNavegacion();
+
+        WebElement cacheado = elementos.get(localizador);
+        if (cacheado != null) {
+            acumular(METRICA_ACIERTOS);
+            return cacheado;
+        }
+
+        WebElement elemento = crearProxy(localizador, resolver(localizador));
+        elementos.put(localizador, elemento);
+        return elemento;
+    }
+
+    /**
+     * Vacía la caché (p. ej. tras una acción que rehace el formulario)
+     */
+    public void invalidar() {
+        elementos.clear();
+        epoca = EscuchaNavegacion.obtenerEpoca();
+    }
+
+    // === MÉTODOS PRIVADOS ===
+
+    private void descartarSiHuboNavegacion() {
+        long epocaActual = EscuchaNavegacion.obtenerEpoca();
+        if (epocaActual != epoca) {
+            elementos.clear();
+            epoca = epocaActual;
+        }
+    }
+
+    private WebElement resolver(By localizador) {
+        acumular(METRICA_BUSQUEDAS);
+        return buscador.apply(localizador);
+    }
+
+    private WebElement crearProxy(By localizador, WebElement inicial) {
+        ElementoReResoluble manejador = new ElementoReResoluble(localizador, inicial);
+        return (WebElement) Proxy.newProxyInstance(
+            CacheElementos.class.getClassLoader(),
+            new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+            manejador);
+    }
+
+    private static void acumular(String metrica) {
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        if (contexto != null) {
+            contexto.acumularMetrica(metrica, 1);
+        }
+    }
+
+    /**
+     * Delegación al elemento real; ante StaleElementReferenceException lo busca
+     * de nuevo con el mismo localizador y repite la llamada una vez
+     */
+    private final class ElementoReResoluble implements InvocationHandler {
+        private final By localizador;
+        private WebElement actual;
+
+        private ElementoReResoluble(By localizador, WebElement inicial) {
+            this.localizador = localizador;
+            this.actual = inicial;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            if ("getWrappedElement".equals(metodo.getName())) {
+                return actual;
+            }
+            if ("toString".equals(metodo.getName())) {
+                return "Elemento cacheado [" + localizador + "]";
+            }
+            try {
+                return metodo.invoke(actual, argumentos);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+                logger.debug("Elemento obsoleto {}, se vuelve a buscar", localizador);
+                actual = resolver(localizador);
+                try {
+                    return metodo.invoke(actual, argumentos);
+                } catch (InvocationTargetException reintento) {
+                    throw reintento.getCause();
+                }
+            }
+        }
+    }
+}
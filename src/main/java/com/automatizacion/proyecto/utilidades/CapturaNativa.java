@@ -0,0 +1,148 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.HasFullPageScreenshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Capturas de página completa y de regiones en un único comando, sin scroll
+ * ni pausas previas.
+ *
+ * - Chrome/Edge: Page.captureScreenshot de DevTools con captureBeyondViewport
+ *   y un clip en coordenadas del documento (la página entera o el rectángulo
+ *   de un elemento)
+ * - Firefox: captura completa nativa de geckodriver (solo página completa)
+ *
+ * Si el navegador no ofrece la capacidad (u ocurre un error) los métodos
+ * devuelven null y GestorCapturaPantalla usa la captura estándar.
+ *
+ * Principios aplicados:
+ * - Single Responsibility: Solo obtiene los bytes de capturas nativas
+ * - Graceful Degradation: null indica que debe usarse la alternativa estándar
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class CapturaNativa {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapturaNativa.class);
+
+    // Límite de altura de Chrome para una sola captura (en píxeles CSS)
+    private static final int ALTO_MAXIMO = 16384;
+
+    private CapturaNativa() {
+        throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
+    }
+
+    // === CAPACIDADES ===
+
+    /**
+     * Indica si el navegador puede capturar la página entera en un comando
+     * @param driver WebDriver activo (decorado o no)
+     * @return true en Chrome/Edge y Firefox
+     */
+    public static boolean soportaPaginaCompleta(WebDriver driver) {
+        return buscarCapacidad(driver, HasCdp.class) != null
+            || buscarCapacidad(driver, HasFullPageScreenshot.class) != null;
+    }
+
+    // === CAPTURAS ===
+
+    /**
+     * Captura la página entera, incluida la parte fuera de la ventana
+     * @param driver WebDriver activo
+     * @return bytes PNG, o null si el navegador no lo permite
+     */
+    public static byte[] capturarPaginaCompleta(WebDriver driver) {
+        try {
+            HasCdp cdp = buscarCapacidad(driver, HasCdp.class);
+            if (cdp != null) {
+                Map<String, Object> metricas = cdp.executeCdpCommand("Page.getLayoutMetrics", Map.of());
+                Object tamano = metricas.containsKey("cssContentSize")
+                    ? metricas.get("cssContentSize") : metricas.get("contentSize");
+                if (tamano instanceof Map<?, ?> contenido) {
+                    int ancho = ((Number) contenido.get("width")).intValue();
+                    int alto = ((Number) contenido.get("height")).intValue();
+                    return capturarClip(cdp, new Rectangle(0, 0, alto, ancho));
+                }
+                return null;
+            }
+
+            HasFullPageScreenshot firefox = buscarCapacidad(driver, HasFullPageScreenshot.class);
+            if (firefox != null) {
+                return firefox.getFullPageScreenshotAs(OutputType.BYTES);
+            }
+        } catch (Exception e) {
+            logger.debug("Captura de página completa no disponible: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Captura exactamente la región de un elemento, esté o no en la ventana
+     * @param driver WebDriver activo
+     * @param elemento elemento a capturar
+     * @return bytes PNG, o null si el navegador no lo permite
+     */
+    public static byte[] capturarElemento(WebDriver driver, WebElement elemento) {
+        try {
+            HasCdp cdp = buscarCapacidad(driver, HasCdp.class);
+            if (cdp == null) {
+                return null;
+            }
+            // El rectángulo de WebDriver ya está en coordenadas del documento
+            Rectangle region = elemento.getRect();
+            return capturarClip(cdp, region);
+        } catch (Exception e) {
+            logger.debug("Captura nativa de elemento no disponible: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // === MÉTODOS PRIVADOS ===
+
+    private static byte[] capturarClip(HasCdp cdp, Rectangle region) {
+        if (region.getWidth() <= 0 || region.getHeight() <= 0) {
+            return null;
+        }
+        Map<String, Object> clip = Map.of(
+            "x", region.getX(),
+            "y", region.getY(),
+            "width", region.getWidth(),
+            "height", Math.min(region.getHeight(), ALTO_MAXIMO),
+            "scale", 1);
+        Map<String, Object> resultado = cdp.executeCdpCommand("Page.captureScreenshot", Map.of(
+            "format", "png",
+            "captureBeyondViewport", true,
+            "clip", clip));
+        Object datos = resultado.get("data");
+        return datos instanceof String base64 ? Base64.getDecoder().decode(base64) : null;
+    }
+
+    /**
+     * Busca la capacidad en el driver o en los que envuelve; se prefiere el
+     * más externo para que el comando pase por las escuchas del decorador
+     */
+    private static <T> T buscarCapacidad(WebDriver driver, Class<T> capacidad) {
+        WebDriver actual = driver;
+        while (actual != null) {
+            if (capacidad.isInstance(actual)) {
+                return capacidad.cast(actual);
+            }
+            WebDriver envuelto = actual instanceof WrapsDriver envoltorio ? envoltorio.getWrappedDriver() : null;
+            actual = envuelto != actual ? envuelto : null;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,185 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * Recodificación de las capturas que entrega Selenium (siempre PNG).
+ *
+ * Según formato.captura y capturas.calidad convierte a JPEG con la calidad
+ * configurada y, si capturas.ancho.maximo es mayor que cero, reduce las
+ * imágenes más anchas manteniendo la proporción. Un PNG sin reducción se
+ * deja intacto (sin decodificar). Las capturas de fallos usan sinPerdida().
+ *
+ * La codificación la ejecuta EscritorCapturas en sus hilos, nunca el hilo
+ * de la prueba.
+ *
+ * Principios aplicados:
+ * - Strategy: El escritor recibe el codificador de cada captura
+ * - Immutability: Los parámetros se fijan al crear el codificador
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class CodificadorCapturas {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodificadorCapturas.class);
+
+    private static final CodificadorCapturas SIN_PERDIDA = new CodificadorCapturas("PNG", 100, 0);
+
+    private final boolean jpeg;
+    private final int calidad;
+    private final int anchoMaximo;
+
+    /**
+     * @param formato PNG, JPG o JPEG (otro valor se trata como PNG)
+     * @param calidad calidad JPEG de 1 a 100
+     * @param anchoMaximo ancho máximo en píxeles; 0 para no reducir
+     */
+    public CodificadorCapturas(String formato, int calidad, int anchoMaximo) {
+        String formatoNormalizado = formato == null ? "PNG" : formato.trim().toUpperCase();
+        if (!formatoNormalizado.equals("PNG") && !formatoNormalizado.equals("JPG") && !formatoNormalizado.equals("JPEG")) {
+            logger.warn("Formato de captura no soportado '{}', se usa PNG", formato);
+        }
+        this.jpeg = formatoNormalizado.equals("JPG") || formatoNormalizado.equals("JPEG");
+        this.calidad = Math.max(1, Math.min(100, calidad));
+        this.anchoMaximo = Math.max(0, anchoMaximo);
+    }
+
+    /**
+     * Crea el codificador configurado para las capturas habituales
+     * @return codificador según formato.captura, capturas.calidad y capturas.ancho.maximo
+     */
+    public static CodificadorCapturas desdeConfiguracion() {
+        ConfiguracionGlobal config = ConfiguracionGlobal.obtenerInstancia();
+        return new CodificadorCapturas(config.obtenerFormatoCaptura(), config.obtenerCalidadCaptura(),
+            config.obtenerAnchoMaximoCaptura());
+    }
+
+    /**
+     * Codificador que conserva el PNG original sin cambios (capturas de fallos)
+     * @return codificador sin pérdida
+     */
+    public static CodificadorCapturas sinPerdida() {
+        return SIN_PERDIDA;
+    }
+
+    // === PROPIEDADES DEL RESULTADO ===
+
+    /**
+     * @return extensión del archivo resultante, con punto
+     */
+    public String obtenerExtension() {
+        return jpeg ? ".jpg" : ".png";
+    }
+
+    /**
+     * @return tipo MIME del archivo resultante
+     */
+    public String obtenerTipoMime() {
+        return jpeg ? "image/jpeg" : "image/png";
+    }
+
+    /**
+     * Identifica los parámetros de codificación, para no confundir en el
+     * almacén por contenido la misma captura codificada de formas distintas
+     * @return firma vacía si la imagen no se modifica
+     */
+    public String obtenerFirma() {
+        StringBuilder firma = new StringBuilder();
+        if (jpeg) {
+            firma.append("_q").append(calidad);
+        }
+        if (anchoMaximo > 0) {
+            firma.append("_w").append(anchoMaximo);
+        }
+        return firma.toString();
+    }
+
+    /**
+     * @return true si la imagen se guarda tal como la entregó el driver
+     */
+    public boolean conservaOriginal() {
+        return !jpeg && anchoMaximo == 0;
+    }
+
+    // === CODIFICACIÓN ===
+
+    /**
+     * Recodifica una captura PNG
+     * @param png bytes PNG entregados por el driver
+     * @return bytes en el formato configurado (los mismos si conservaOriginal())
+     * @throws IOException si la imagen no puede leerse o escribirse
+     */
+    public byte[] codificar(byte[] png) throws IOException {
+        if (conservaOriginal()) {
+            return png;
+        }
+
+        BufferedImage imagen = ImageIO.read(new ByteArrayInputStream(png));
+        if (imagen == null) {
+            throw new IOException("La captura no es una imagen legible");
+        }
+        BufferedImage destino = reducir(imagen);
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(png.length / (jpeg ? 4 : 1));
+        if (jpeg) {
+            escribirJpeg(destino, salida);
+        } else {
+            ImageIO.write(destino, "png", salida);
+        }
+        return salida.toByteArray();
+    }
+
+    private BufferedImage reducir(BufferedImage imagen) {
+        boolean reducir = anchoMaximo > 0 && imagen.getWidth() > anchoMaximo;
+        // JPEG no admite canal alfa: se dibuja siempre sobre una imagen RGB
+        if (!reducir && (!jpeg || !imagen.getColorModel().hasAlpha())) {
+            return imagen;
+        }
+
+        int ancho = reducir ? anchoMaximo : imagen.getWidth();
+        int alto = reducir ? Math.max(1, Math.round(imagen.getHeight() * (anchoMaximo / (float) imagen.getWidth())))
+            : imagen.getHeight();
+        BufferedImage destino = new BufferedImage(ancho, alto,
+            jpeg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D grafico = destino.createGraphics();
+        try {
+            grafico.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            grafico.drawImage(imagen, 0, 0, ancho, alto, Color.WHITE, null);
+        } finally {
+            grafico.dispose();
+        }
+        return destino;
+    }
+
+    private void escribirJpeg(BufferedImage imagen, ByteArrayOutputStream salida) throws IOException {
+        ImageWriter escritor = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream flujo = ImageIO.createImageOutputStream(salida)) {
+            ImageWriteParam parametros = escritor.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(calidad / 100f);
+            escritor.setOutput(flujo);
+            escritor.write(null, new IIOImage(imagen, null, null), parametros);
+        } finally {
+            escritor.dispose();
+        }
+    }
+}
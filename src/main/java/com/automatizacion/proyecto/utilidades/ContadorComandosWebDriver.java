@@ -0,0 +1,70 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escucha de WebDriver que cuenta los comandos enviados al driver.
+ *
+ * Cada llamada sobre el WebDriver, sus WebElement o los objetos de
+ * navegación/opciones es una petición HTTP al driver; los accesores que solo
+ * devuelven objetos locales (manage(), navigate(), switchTo()...) no cuentan.
+ * El total se acumula por prueba en la métrica comandos.webdriver del
+ * ContextoPrueba del hilo y globalmente para toda la JVM.
+ *
+ * Principios aplicados:
+ * - Observer: Se engancha al driver vía EventFiringDecorator sin tocar las páginas
+ * - Thread Confinement: El conteo por prueba va al contexto del hilo que envía el comando
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class ContadorComandosWebDriver implements WebDriverListener {
+
+    public static final String METRICA_COMANDOS = "comandos.webdriver";
+
+    private static final ContadorComandosWebDriver INSTANCIA = new ContadorComandosWebDriver();
+
+    // Métodos que se resuelven en el cliente sin enviar ningún comando al driver
+    private static final Set<String> METODOS_LOCALES = Set.of(
+        "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+        "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private final LongAdder total = new LongAdder();
+
+    private ContadorComandosWebDriver() {
+    }
+
+    /**
+     * Obtiene la escucha compartida (no guarda estado por driver)
+     * @return instancia única del contador
+     */
+    public static ContadorComandosWebDriver obtenerInstancia() {
+        return INSTANCIA;
+    }
+
+    @Override
+    public void beforeAnyCall(Object objetivo, Method metodo, Object[] argumentos) {
+        if (METODOS_LOCALES.contains(metodo.getName())) {
+            return;
+        }
+        total.increment();
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        if (contexto != null) {
+            contexto.acumularMetrica(METRICA_COMANDOS, 1);
+        }
+    }
+
+    /**
+     * Obtiene el total de comandos enviados en la JVM
+     * @return número de comandos
+     */
+    public long obtenerTotal() {
+        return total.sum();
+    }
+}
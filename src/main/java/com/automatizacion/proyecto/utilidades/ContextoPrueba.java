@@ -0,0 +1,208 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Contexto de ejecución confinado al hilo de cada prueba.
+ * Agrupa el driver, las evidencias, los tiempos y los componentes
+ * (page objects, gestores) de la prueba en curso, de modo que con
+ * parallel="methods" cada hilo trabaja sobre su propia sesión.
+ *
+ * Principios aplicados:
+ * - Thread Confinement: Un contexto por hilo vía ThreadLocal
+ * - Single Responsibility: Solo mantiene el estado de la prueba actual
+ * - Fail-Fast: Acceso sin contexto activo produce error explícito
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class ContextoPrueba {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContextoPrueba.class);
+
+    private static final ThreadLocal<ContextoPrueba> CONTEXTO_HILO = new ThreadLocal<>();
+
+    private final String nombrePrueba;
+    private final WebDriver driver;
+    private final Instant inicio;
+    private final String nombreHilo;
+    private final List<String> evidencias = new ArrayList<>();
+    private final Map<Class<?>, Object> componentes = new HashMap<>();
+    private final Map<String, Long> metricas = new ConcurrentHashMap<>();
+    private boolean exitosa;
+
+    private ContextoPrueba(String nombrePrueba, WebDriver driver) {
+        this.nombrePrueba = nombrePrueba;
+        this.driver = driver;
+        this.inicio = Instant.now();
+        this.nombreHilo = Thread.currentThread().getName();
+    }
+
+    // === CICLO DE VIDA ===
+
+    /**
+     * Crea el contexto de la prueba y lo asocia al hilo actual
+     *
+     * @param nombrePrueba nombre del método de prueba
+     * @param driver WebDriver exclusivo de la prueba
+     * @return contexto creado
+     */
+    public static ContextoPrueba iniciar(String nombrePrueba, WebDriver driver) {
+        ContextoPrueba anterior = CONTEXTO_HILO.get();
+        if (anterior != null) {
+            logger.warn("El hilo {} aún tenía el contexto de '{}', se reemplaza por '{}'",
+                anterior.nombreHilo, anterior.nombrePrueba, nombrePrueba);
+        }
+
+        ContextoPrueba contexto = new ContextoPrueba(nombrePrueba, driver);
+        CONTEXTO_HILO.set(contexto);
+        logger.debug("Contexto iniciado para '{}' en hilo {}", nombrePrueba, contexto.nombreHilo);
+        return contexto;
+    }
+
+    /**
+     * Obtiene el contexto asociado al hilo actual
+     * @return contexto activo o null si no hay prueba en curso
+     */
+    public static ContextoPrueba actual() {
+        return CONTEXTO_HILO.get();
+    }
+
+    /**
+     * Obtiene el contexto del hilo actual exigiendo que exista
+     * @return contexto activo
+     * @throws IllegalStateException si no hay prueba en curso en este hilo
+     */
+    public static ContextoPrueba requerido() {
+        ContextoPrueba contexto = CONTEXTO_HILO.get();
+        if (contexto == null) {
+            throw new IllegalStateException(
+                "No hay contexto de prueba activo en el hilo " + Thread.currentThread().getName());
+        }
+        return contexto;
+    }
+
+    /**
+     * Obtiene el driver de la prueba en curso en este hilo
+     * @return WebDriver del contexto o null si no hay prueba en curso
+     */
+    public static WebDriver obtenerDriverActual() {
+        ContextoPrueba contexto = CONTEXTO_HILO.get();
+        return contexto != null ? contexto.driver : null;
+    }
+
+    /**
+     * Libera el contexto del hilo actual
+     * @return contexto liberado o null si no existía
+     */
+    public static ContextoPrueba finalizar() {
+        ContextoPrueba contexto = CONTEXTO_HILO.get();
+        CONTEXTO_HILO.remove();
+        return contexto;
+    }
+
+    // === COMPONENTES DE LA PRUEBA ===
+
+    /**
+     * Obtiene un componente de la prueba (page object, gestor de evidencias...)
+     * creándolo con el driver del contexto la primera vez que se solicita
+     *
+     * @param tipo clase del componente
+     * @param fabrica función que crea el componente a partir del driver
+     * @return instancia del componente exclusiva de esta prueba
+     */
+    public <T> T obtenerComponente(Class<T> tipo, Function<WebDriver, ? extends T> fabrica) {
+        Object componente = componentes.get(tipo);
+        if (componente == null) {
+            componente = fabrica.apply(driver);
+            componentes.put(tipo, componente);
+        }
+        return tipo.cast(componente);
+    }
+
+    /**
+     * Registra la ruta de una evidencia generada durante la prueba
+     * @param rutaEvidencia ruta del archivo generado
+     */
+    public void registrarEvidencia(String rutaEvidencia) {
+        if (rutaEvidencia != null) {
+            synchronized (evidencias) {
+                evidencias.add(rutaEvidencia);
+            }
+        }
+    }
+
+    /**
+     * Obtiene las evidencias generadas durante la prueba
+     * @return copia inmutable de las rutas registradas
+     */
+    public List<String> obtenerEvidencias() {
+        synchronized (evidencias) {
+            return Collections.unmodifiableList(new ArrayList<>(evidencias));
+        }
+    }
+
+    // === MÉTRICAS DE LA PRUEBA ===
+
+    /**
+     * Acumula un valor en una métrica de la prueba (tiempos ahorrados, contadores...)
+     * @param nombre nombre de la métrica
+     * @param valor valor a sumar
+     */
+    public void acumularMetrica(String nombre, long valor) {
+        metricas.merge(nombre, valor, Long::sum);
+    }
+
+    /**
+     * Obtiene el valor acumulado de una métrica
+     * @param nombre nombre de la métrica
+     * @return valor acumulado o 0 si no se registró
+     */
+    public long obtenerMetrica(String nombre) {
+        return metricas.getOrDefault(nombre, 0L);
+    }
+
+    // === GETTERS ===
+
+    public String obtenerNombrePrueba() {
+        return nombrePrueba;
+    }
+
+    public WebDriver obtenerDriver() {
+        return driver;
+    }
+
+    public Instant obtenerInicio() {
+        return inicio;
+    }
+
+    public String obtenerNombreHilo() {
+        return nombreHilo;
+    }
+
+    public Duration obtenerDuracion() {
+        return Duration.between(inicio, Instant.now());
+    }
+
+    public boolean esExitosa() {
+        return exitosa;
+    }
+
+    public void marcarResultado(boolean exitosa) {
+        this.exitosa = exitosa;
+    }
+}
@@ -0,0 +1,337 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escritor en segundo plano de las capturas de pantalla.
+ *
+ * El hilo de prueba solo toma la captura y la entrega aquí con su ruta ya
+ * asignada; la creación de directorios, la escritura en disco y el volcado
+ * del adjunto de Allure ocurren en un pool pequeño de hilos. El adjunto se
+ * reserva en el hilo de prueba (prepareAttachment) para que quede asociado
+ * a la prueba correcta y se escribe después desde el pool. La recodificación
+ * (JPEG, reducción de tamaño) también ocurre en el pool, vía CodificadorCapturas.
+ *
+ * Las imágenes se guardan por contenido: cada captura distinta se escribe
+ * una sola vez en el almacén (ruta.capturas/.contenido/sha256.ext) y la ruta
+ * de la prueba es un enlace duro a ella (simbólico o copia si el sistema de
+ * archivos no lo admite). Una captura idéntica a otra ya guardada solo cuesta
+ * el enlace.
+ *
+ * La cola es acotada: si se llena, la captura se escribe en el propio hilo
+ * de prueba (CallerRunsPolicy), lo que frena al productor en lugar de
+ * acumular imágenes en memoria. Al final de la suite esperarPendientes()
+ * garantiza que todas las capturas estén en disco antes de los reportes.
+ *
+ * Principios aplicados:
+ * - Singleton: Un único pool de escritura por JVM
+ * - Producer/Consumer: Las pruebas producen capturas, el pool las persiste
+ * - Back-pressure: Cola acotada con ejecución en el hilo llamante
+ * - Content-Addressable Storage: Una copia por contenido, nombres como referencias
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class EscritorCapturas {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscritorCapturas.class);
+
+    private static final EscritorCapturas INSTANCIA = new EscritorCapturas();
+
+    public static final String DIRECTORIO_CONTENIDO = ".contenido";
+
+    private final ThreadPoolExecutor ejecutor;
+    private final Set<CompletableFuture<Path>> pendientes = ConcurrentHashMap.newKeySet();
+    private final Path directorioContenido;
+
+    // Contenidos ya presentes en el almacén; el valor no importa, solo la clave
+    private final Map<Path, Boolean> contenidosConocidos = new ConcurrentHashMap<>();
+
+    // Métricas
+    private final LongAdder escritas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+    private final LongAdder escritasEnHiloPrueba = new LongAdder();
+    private final LongAdder bytesEscritos = new LongAdder();
+    private final LongAdder tiempoEscrituraMs = new LongAdder();
+    private final LongAdder duplicadas = new LongAdder();
+    private final LongAdder bytesOriginales = new LongAdder();
+    private final LongAdder codificadas = new LongAdder();
+    private final LongAdder tiempoCodificacionMs = new LongAdder();
+    private final LongAdder bytesAhorrados = new LongAdder();
+
+    private EscritorCapturas() {
+        ConfiguracionGlobal config = ConfiguracionGlobal.obtenerInstancia();
+        int hilos = config.obtenerHilosEscrituraCapturas();
+        this.directorioContenido = Paths.get(config.obtenerRutaCapturas()).toAbsolutePath().resolve(DIRECTORIO_CONTENIDO);
+        AtomicInteger secuencia = new AtomicInteger();
+
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(config.obtenerCapacidadColaCapturas()),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "escritor-capturas-" + secuencia.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.ejecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Obtiene el escritor compartido
+     * @return instancia única del escritor
+     */
+    public static EscritorCapturas obtenerInstancia() {
+        return INSTANCIA;
+    }
+
+    // === ENCOLADO ===
+
+    /**
+     * Encola la escritura de una captura. Debe llamarse desde el hilo de la
+     * prueba para que el adjunto de Allure quede asociado a ella.
+     *
+     * @param imagen bytes PNG de la captura tal como los devolvió el driver
+     * @param destino ruta final del archivo, con la extensión del codificador
+     * @param nombreAdjunto nombre del adjunto en Allure (null para no adjuntar)
+     * @param codificador formato en que se guarda la captura
+     * @return futuro que se completa con la ruta cuando el archivo está en disco
+     */
+    public CompletableFuture<Path> encolar(byte[] imagen, Path destino, String nombreAdjunto,
+                                           CodificadorCapturas codificador) {
+        String fuenteAllure = reservarAdjunto(nombreAdjunto, codificador);
+        Thread hiloPrueba = Thread.currentThread();
+        CompletableFuture<Path> futuro = new CompletableFuture<>();
+        pendientes.add(futuro);
+        futuro.whenComplete((ruta, error) -> pendientes.remove(futuro));
+
+        ejecutor.execute(() -> {
+            if (Thread.currentThread() == hiloPrueba) {
+                escritasEnHiloPrueba.increment();
+            }
+            try {
+                escribir(imagen, destino, fuenteAllure, codificador);
+                futuro.complete(destino);
+            } catch (Exception e) {
+                fallidas.increment();
+                logger.error("No se pudo escribir la captura {}: {}", destino, e.getMessage());
+                futuro.completeExceptionally(e);
+            }
+        });
+        return futuro;
+    }
+
+    /**
+     * Espera a que terminen todas las escrituras encoladas hasta el momento
+     * @param timeout tiempo máximo de espera
+     * @return true si no quedó ninguna escritura pendiente
+     */
+    public boolean esperarPendientes(Duration timeout) {
+        CompletableFuture<?>[] actuales = pendientes.toArray(new CompletableFuture<?>[0]);
+        if (actuales.length == 0) {
+            return true;
+        }
+        try {
+            CompletableFuture.allOf(actuales).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Los fallos individuales ya quedaron registrados; solo importa si terminaron
+            logger.debug("Espera de capturas pendientes terminada: {}", e.getMessage());
+        }
+        long restantes = pendientes.stream().filter(futuro -> !futuro.isDone()).count();
+        if (restantes > 0) {
+            logger.warn("Quedaron {} capturas sin escribir tras {} ms", restantes, timeout.toMillis());
+        }
+        return restantes == 0;
+    }
+
+    // === ESCRITURA ===
+
+    private String reservarAdjunto(String nombreAdjunto, CodificadorCapturas codificador) {
+        if (nombreAdjunto == null) {
+            return null;
+        }
+        try {
+            AllureLifecycle ciclo = Allure.getLifecycle();
+            if (ciclo.getCurrentTestCaseOrStep().isEmpty()) {
+                return null;
+            }
+            return ciclo.prepareAttachment(nombreAdjunto, codificador.obtenerTipoMime(),
+                codificador.obtenerExtension().substring(1));
+        } catch (Exception e) {
+            logger.warn("No se pudo reservar el adjunto de Allure {}: {}", nombreAdjunto, e.getMessage());
+            return null;
+        }
+    }
+
+    private void escribir(byte[] imagen, Path destino, String fuenteAllure,
+                          CodificadorCapturas codificador) throws IOException {
+        long inicio = System.nanoTime();
+        bytesOriginales.add(imagen.length);
+
+        // La clave es el PNG original: una captura repetida no se vuelve a codificar
+        Path contenido = directorioContenido.resolve(
+            calcularHash(imagen) + codificador.obtenerFirma() + codificador.obtenerExtension());
+        byte[] codificada = almacenarContenido(contenido, imagen, codificador);
+        boolean nuevo = codificada != null;
+
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        boolean enlazado = enlazar(contenido, destino);
+        RetencionEvidencias.obtenerInstancia().registrar(destino, contenido, Files.size(contenido));
+        if (!nuevo) {
+            duplicadas.increment();
+            if (enlazado) {
+                bytesAhorrados.add(Files.size(contenido));
+            }
+        }
+        if (fuenteAllure != null) {
+            try (InputStream adjunto = nuevo ? new ByteArrayInputStream(codificada) : Files.newInputStream(contenido)) {
+                Allure.getLifecycle().writeAttachment(fuenteAllure, adjunto);
+            }
+        }
+
+        escritas.increment();
+        tiempoEscrituraMs.add((System.nanoTime() - inicio) / 1_000_000);
+        logger.debug("Captura {} {}: {}", destino, nuevo ? "escrita" : "reutilizada", contenido.getFileName());
+    }
+
+    /**
+     * Codifica y guarda el contenido en el almacén si todavía no está
+     * @return bytes escritos ahora, o null si el contenido ya existía
+     */
+    private byte[] almacenarContenido(Path contenido, byte[] imagen,
+                                      CodificadorCapturas codificador) throws IOException {
+        AtomicReference<byte[]> escritoAhora = new AtomicReference<>();
+        if (!Files.exists(contenido)) {
+            // Pudo borrarlo la limpieza de capturas antiguas desde que se guardó
+            contenidosConocidos.remove(contenido);
+        }
+        try {
+            // computeIfAbsent serializa a los hilos que guardan el mismo contenido a la vez
+            contenidosConocidos.computeIfAbsent(contenido, ruta -> {
+                try {
+                    if (!Files.exists(ruta)) {
+                        byte[] codificada = codificar(imagen, codificador);
+                        Files.createDirectories(ruta.getParent());
+                        Path temporal = Files.createTempFile(ruta.getParent(), "captura", ".parcial");
+                        Files.write(temporal, codificada);
+                        Files.move(temporal, ruta, StandardCopyOption.ATOMIC_MOVE);
+                        escritoAhora.set(codificada);
+                    }
+                    return Boolean.TRUE;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (escritoAhora.get() != null) {
+            bytesEscritos.add(escritoAhora.get().length);
+        } else {
+            // Los enlaces duros comparten la fecha del archivo: se renueva para que la
+            // limpieza por antigüedad no borre un contenido que se acaba de volver a usar
+            Files.setLastModifiedTime(contenido, FileTime.fromMillis(System.currentTimeMillis()));
+        }
+        return escritoAhora.get();
+    }
+
+    private byte[] codificar(byte[] imagen, CodificadorCapturas codificador) throws IOException {
+        if (codificador.conservaOriginal()) {
+            return imagen;
+        }
+        long inicio = System.nanoTime();
+        byte[] codificada = codificador.codificar(imagen);
+        codificadas.increment();
+        tiempoCodificacionMs.add((System.nanoTime() - inicio) / 1_000_000);
+        return codificada;
+    }
+
+    /**
+     * Crea la ruta de la prueba como referencia al contenido
+     * @return true si es un enlace (no ocupa disco adicional), false si hubo que copiar
+     */
+    private boolean enlazar(Path contenido, Path destino) throws IOException {
+        Files.deleteIfExists(destino);
+        try {
+            Files.createLink(destino, contenido);
+            return true;
+        } catch (IOException | UnsupportedOperationException sinEnlaceDuro) {
+            try {
+                Path relativa = destino.toAbsolutePath().getParent().relativize(contenido);
+                Files.createSymbolicLink(destino, relativa);
+                return true;
+            } catch (IOException | UnsupportedOperationException sinEnlaceSimbolico) {
+                Files.copy(contenido, destino, StandardCopyOption.REPLACE_EXISTING);
+                return false;
+            }
+        }
+    }
+
+    private static String calcularHash(byte[] imagen) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imagen));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+
+    // === MÉTRICAS ===
+
+    /**
+     * Obtiene el número de capturas aún no escritas
+     * @return capturas en cola o en escritura
+     */
+    public int obtenerPendientes() {
+        return pendientes.size();
+    }
+
+    /**
+     * Genera un resumen de la escritura de capturas
+     * @return string con el resumen
+     */
+    public String generarResumen() {
+        long total = escritas.sum();
+        return String.format(
+            "Escritor de capturas - Capturas: %d, Fallidas: %d, Escritas en el hilo de prueba por cola llena: %d, " +
+            "Tiempo total de escritura: %d ms%n" +
+            "  Deduplicación: %d repetidas (%.1f%%), %.1f KB escritos, %.1f KB ahorrados%n" +
+            "  Codificación: %d imágenes en %d ms, %.1f KB originales (PNG del driver)",
+            total, fallidas.sum(), escritasEnHiloPrueba.sum(), tiempoEscrituraMs.sum(),
+            duplicadas.sum(), total == 0 ? 0.0 : 100.0 * duplicadas.sum() / total,
+            bytesEscritos.sum() / 1024.0, bytesAhorrados.sum() / 1024.0,
+            codificadas.sum(), tiempoCodificacionMs.sum(), bytesOriginales.sum() / 1024.0);
+    }
+}
@@ -0,0 +1,132 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+
+/**
+ * Escucha de WebDriver que marca cada posible cambio de documento
+ * (navegación, click, submit, Enter, cambio de ventana o frame) avanzando la
+ * "época de navegación" del hilo que envió el comando.
+ *
+ * Las cachés de las páginas (elementos, estado) guardan la época en la que
+ * se llenaron y se descartan en cuanto la época avanza. La época es por hilo
+ * porque cada hilo de prueba maneja su propio navegador; un hilo que usara
+ * varios drivers solo invalidaría de más, nunca de menos.
+ *
+ * Principios aplicados:
+ * - Observer: Se engancha al driver vía EventFiringDecorator
+ * - Thread Confinement: Una época por hilo vía ThreadLocal
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class EscuchaNavegacion implements WebDriverListener {
+
+    private static final EscuchaNavegacion INSTANCIA = new EscuchaNavegacion();
+
+    private static final ThreadLocal<long[]> EPOCA_HILO = ThreadLocal.withInitial(() -> new long[1]);
+
+    private EscuchaNavegacion() {
+    }
+
+    /**
+     * Obtiene la escucha compartida (el estado vive en el hilo, no en la escucha)
+     * @return instancia única de la escucha
+     */
+    public static EscuchaNavegacion obtenerInstancia() {
+        return INSTANCIA;
+    }
+
+    // === ÉPOCA DE NAVEGACIÓN ===
+
+    /**
+     * Obtiene la época de navegación actual del hilo
+     * @return contador que avanza con cada posible cambio de documento
+     */
+    public static long obtenerEpoca() {
+        return EPOCA_HILO.get()[0];
+    }
+
+    /**
+     * Avanza la época manualmente, para acciones que pueden navegar sin pasar
+     * por un comando observable (p. ej. un click hecho con JavaScript)
+     */
+    public static void registrarCambio() {
+        EPOCA_HILO.get()[0]++;
+    }
+
+    // === EVENTOS QUE PUEDEN CAMBIAR EL DOCUMENTO ===
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navegacion, String url) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navegacion, URL url) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navegacion) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navegacion) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navegacion) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterClick(WebElement elemento) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterSubmit(WebElement elemento) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterSendKeys(WebElement elemento, CharSequence... teclas) {
+        // Un Enter escrito en un campo envía el formulario
+        for (CharSequence tecla : teclas) {
+            String texto = String.valueOf(tecla);
+            if (texto.indexOf('\n') >= 0 || texto.indexOf(Keys.ENTER.charAt(0)) >= 0
+                    || texto.indexOf(Keys.RETURN.charAt(0)) >= 0) {
+                registrarCambio();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void afterClose(WebDriver driver) {
+        registrarCambio();
+    }
+
+    @Override
+    public void afterAnyCall(Object objetivo, Method metodo, Object[] argumentos, Object resultado) {
+        // switchTo().window/frame/defaultContent cambian el documento sobre el que se trabaja
+        if (objetivo instanceof WebDriver.TargetLocator) {
+            registrarCambio();
+        }
+    }
+}
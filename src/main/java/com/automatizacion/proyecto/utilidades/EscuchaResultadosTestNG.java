@@ -0,0 +1,161 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Escucha de TestNG que registra cada resultado en RegistroResultados en
+ * cuanto la prueba termina, en el mismo hilo que la ejecutó.
+ *
+ * Toma el estado, la duración, los grupos, la fila de datos y las evidencias
+ * que la prueba registró en su ContextoPrueba (TestNG avisa antes de los
+ * @AfterMethod, con el contexto aún activo). Las evidencias posteriores, como
+ * la captura del fallo, se vinculan con vincularEvidencia(). Cada resultado
+ * se agrega también a ReporteEnVivo, que al terminar la suite solo se marca
+ * como finalizado.
+ *
+ * Se declara en testng.xml; TestNG crea una instancia por suite, por eso el
+ * estado vive en RegistroResultados.
+ *
+ * Principios aplicados:
+ * - Observer: Se engancha al ciclo de vida de TestNG sin tocar las pruebas
+ * - Low Overhead: Registrar es armar un objeto y encolarlo sin bloqueos
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public class EscuchaResultadosTestNG implements ITestListener, ISuiteListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EscuchaResultadosTestNG.class);
+
+    private static final String ATRIBUTO_RESULTADO = ResultadoPrueba.class.getName();
+
+    // Los parámetros se acortan para que una fila grande no infle el reporte
+    private static final int LONGITUD_MAXIMA_DATOS = 200;
+
+    private final RegistroResultados registro;
+    private final ReporteEnVivo reporte;
+
+    /**
+     * Escucha de la suite: usa el registro y el reporte en vivo compartidos
+     */
+    public EscuchaResultadosTestNG() {
+        this(RegistroResultados.obtenerInstancia(), ReporteEnVivo.obtenerInstancia());
+    }
+
+    /**
+     * Escucha sobre un registro y un reporte propios (p. ej. para medirla aislada)
+     * @param registro almacén donde se registran los resultados
+     * @param reporte reporte en vivo donde se agregan
+     */
+    public EscuchaResultadosTestNG(RegistroResultados registro, ReporteEnVivo reporte) {
+        this.registro = registro;
+        this.reporte = reporte;
+    }
+
+    // === EVENTOS DE PRUEBA ===
+
+    @Override
+    public void onTestSuccess(ITestResult resultado) {
+        registrar(resultado, ResultadoPrueba.EXITOSA);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult resultado) {
+        registrar(resultado, ResultadoPrueba.FALLIDA);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult resultado) {
+        registrar(resultado, ResultadoPrueba.OMITIDA);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult resultado) {
+        // TestNG la cuenta como exitosa dentro del porcentaje permitido
+        registrar(resultado, ResultadoPrueba.EXITOSA);
+    }
+
+    // === EVENTOS DE SUITE ===
+
+    @Override
+    public void onStart(ISuite suite) {
+        try {
+            reporte.iniciar();
+        } catch (IOException e) {
+            logger.warn("Reporte en vivo no disponible para la suite '{}': {}", suite.getName(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        reporte.finalizar(registro.generarResumen());
+        logger.info("Reporte de la suite '{}' finalizado: {}", suite.getName(), reporte.obtenerArchivoReporte());
+    }
+
+    // === EVIDENCIAS POSTERIORES ===
+
+    /**
+     * Agrega una evidencia generada después de registrar el resultado
+     * (p. ej. la captura del fallo tomada en @AfterMethod)
+     *
+     * @param resultado resultado de TestNG de la prueba
+     * @param rutaEvidencia ruta del archivo generado (se ignora si es null)
+     */
+    public static void vincularEvidencia(ITestResult resultado, String rutaEvidencia) {
+        if (rutaEvidencia != null && resultado.getAttribute(ATRIBUTO_RESULTADO) instanceof ResultadoPrueba registrado) {
+            registrado.evidencias().add(rutaEvidencia);
+            ReporteEnVivo.obtenerInstancia().agregar(registrado);
+        }
+    }
+
+    // === MÉTODOS PRIVADOS ===
+
+    private void registrar(ITestResult resultado, String estado) {
+        String metodo = resultado.getMethod().getMethodName();
+        Throwable error = resultado.getThrowable();
+
+        ResultadoPrueba registrado = new ResultadoPrueba(
+            resultado.getTestClass().getName(),
+            metodo,
+            resultado.getMethod().getDescription(),
+            estado,
+            resultado.getStartMillis(),
+            Math.max(0, resultado.getEndMillis() - resultado.getStartMillis()),
+            List.of(resultado.getMethod().getGroups()),
+            describirDatos(resultado.getParameters()),
+            new CopyOnWriteArrayList<>(evidenciasDelContexto(metodo)),
+            Thread.currentThread().getName(),
+            error == null ? null : error.getClass().getSimpleName() + ": " + error.getMessage());
+
+        resultado.setAttribute(ATRIBUTO_RESULTADO, registrado);
+        registro.registrar(registrado);
+        reporte.agregar(registrado);
+    }
+
+    private static List<String> evidenciasDelContexto(String metodo) {
+        // Una prueba omitida por dependencia no llega a crear contexto en este hilo
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        return contexto != null && metodo.equals(contexto.obtenerNombrePrueba())
+            ? contexto.obtenerEvidencias() : List.of();
+    }
+
+    private static String describirDatos(Object[] parametros) {
+        if (parametros == null || parametros.length == 0) {
+            return null;
+        }
+        String datos = Arrays.deepToString(parametros);
+        return datos.length() <= LONGITUD_MAXIMA_DATOS ? datos : datos.substring(0, LONGITUD_MAXIMA_DATOS - 1) + "…";
+    }
+}
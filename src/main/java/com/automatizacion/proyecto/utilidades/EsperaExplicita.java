@@ -1,6 +1,7 @@
 package com.automatizacion.proyecto.utilidades;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -9,6 +10,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,11 +23,15 @@ import java.util.List;
  * - Esperas para formularios de login
  * - Timeouts personalizables
  * - Logging detallado
+ * - Motor de esperas en el navegador: la condición se evalúa dentro de la
+ *   página (MutationObserver + requestAnimationFrame) y responde en cuanto
+ *   se cumple, sin una ida y vuelta de WebDriver por cada sondeo
  * 
  * Principios aplicados:
  * - Single Responsibility: Solo maneja esperas
  * - Dependency Injection: Recibe WebDriver como parámetro
  * - Fail-Safe: Manejo robusto de errores
+ * - Fail-Fast: Los timeouts se acotan al PresupuestoEspera activo del hilo
  * 
  * @author Antonio B. Arriagada LL.
  * @author Dante Escalona Bustos
@@ -44,6 +51,41 @@ public class EsperaExplicita {
     private static final int TIMEOUT_CORTO = 5;
     private static final int TIMEOUT_LARGO = 30;
     
+    // Motor de esperas en el navegador
+    public static final String METRICA_ESPERA_AHORRADA_MS = "esperas.ahorradas.ms";
+    private static final int QUIETUD_DOM_MS = 150;
+    // Una página con animaciones, spinners o relojes nunca queda quieta: pasado este
+    // plazo (como mínimo, o QUIETUD_DOM_MS veces este factor) se deja de exigir la quietud
+    private static final long LIMITE_QUIETUD_MINIMO_MS = 2_000;
+    private static final int FACTOR_LIMITE_QUIETUD = 10;
+    // Por debajo del scriptTimeout de ConfiguradorNavegador (15s) para que el script responda antes
+    private static final long LIMITE_SCRIPT_MS = 14_000;
+    private static final int MAXIMO_REINTENTOS_SCRIPT = 3;
+    private static final String SCRIPT_MOTOR_ESPERA =
+        "var listo = arguments[arguments.length - 1];" +
+        "var limiteMs = arguments[0], quietudMs = arguments[1], limiteQuietudMs = arguments[2];" +
+        "var args = Array.prototype.slice.call(arguments, 3, arguments.length - 1);" +
+        "var inicio = Date.now(), ultimaMutacion = Date.now(), terminado = false, observador = null;" +
+        "var cumple = function() { /*PREDICADO*/ };" +
+        "function evaluar() { try { return cumple.apply(null, args); } catch (e) { return null; } }" +
+        "function terminar(resultado) {" +
+        "  if (terminado) { return; } terminado = true;" +
+        "  if (observador) { observador.disconnect(); } listo(resultado); }" +
+        "function revisar() {" +
+        "  if (terminado) { return; }" +
+        "  var ahora = Date.now();" +
+        "  var quieto = ahora - ultimaMutacion >= quietudMs || ahora - inicio >= limiteQuietudMs;" +
+        "  var valor = document.readyState === 'complete' && quieto ? evaluar() : null;" +
+        "  if (valor) { terminar(valor); return; }" +
+        "  if (ahora - inicio >= limiteMs) { terminar(null); return; }" +
+        "  if (document.visibilityState === 'visible' && window.requestAnimationFrame) {" +
+        "    window.requestAnimationFrame(revisar); } else { setTimeout(revisar, 20); } }" +
+        "if (window.MutationObserver && document.documentElement) {" +
+        "  observador = new MutationObserver(function() { ultimaMutacion = Date.now(); });" +
+        "  observador.observe(document.documentElement," +
+        "    {childList: true, subtree: true, attributes: true, characterData: true}); }" +
+        "revisar();";
+    
     /**
      * Constructor con timeout por defecto
      * @param driver WebDriver activo
@@ -74,7 +116,7 @@ public class EsperaExplicita {
      */
     public boolean esperarElementoVisible(WebElement elemento) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(elemento));
+            espera().until(ExpectedConditions.visibilityOf(elemento));
             logger.debug("Elemento visible encontrado");
             return true;
         } catch (Exception e) {
@@ -90,7 +132,7 @@ public class EsperaExplicita {
      */
     public boolean esperarElementoClickeable(WebElement elemento) {
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(elemento));
+            espera().until(ExpectedConditions.elementToBeClickable(elemento));
             logger.debug("Elemento clickeable encontrado");
             return true;
         } catch (Exception e) {
@@ -106,7 +148,7 @@ public class EsperaExplicita {
      */
     public boolean esperarElementoInvisible(WebElement elemento) {
         try {
-            wait.until(ExpectedConditions.invisibilityOf(elemento));
+            espera().until(ExpectedConditions.invisibilityOf(elemento));
             logger.debug("Elemento se volvió invisible");
             return true;
         } catch (Exception e) {
@@ -124,7 +166,7 @@ public class EsperaExplicita {
      */
     public WebElement esperarPresenciaElemento(By localizador) {
         try {
-            WebElement elemento = wait.until(ExpectedConditions.presenceOfElementLocated(localizador));
+            WebElement elemento = espera().until(ExpectedConditions.presenceOfElementLocated(localizador));
             logger.debug("Elemento presente encontrado: {}", localizador);
             return elemento;
         } catch (Exception e) {
@@ -140,7 +182,7 @@ public class EsperaExplicita {
      */
     public WebElement esperarVisibilidadElemento(By localizador) {
         try {
-            WebElement elemento = wait.until(ExpectedConditions.visibilityOfElementLocated(localizador));
+            WebElement elemento = espera().until(ExpectedConditions.visibilityOfElementLocated(localizador));
             logger.debug("Elemento visible encontrado: {}", localizador);
             return elemento;
         } catch (Exception e) {
@@ -156,7 +198,7 @@ public class EsperaExplicita {
      */
     public WebElement esperarElementoClickeable(By localizador) {
         try {
-            WebElement elemento = wait.until(ExpectedConditions.elementToBeClickable(localizador));
+            WebElement elemento = espera().until(ExpectedConditions.elementToBeClickable(localizador));
             logger.debug("Elemento clickeable encontrado: {}", localizador);
             return elemento;
         } catch (Exception e) {
@@ -175,7 +217,7 @@ public class EsperaExplicita {
      */
     public boolean esperarTextoEnElemento(By localizador, String texto) {
         try {
-            wait.until(ExpectedConditions.textToBePresentInElementLocated(localizador, texto));
+            espera().until(ExpectedConditions.textToBePresentInElementLocated(localizador, texto));
             logger.debug("Texto '{}' encontrado en elemento {}", texto, localizador);
             return true;
         } catch (Exception e) {
@@ -193,7 +235,7 @@ public class EsperaExplicita {
      */
     public boolean esperarAtributoElemento(By localizador, String atributo, String valor) {
         try {
-            wait.until(ExpectedConditions.attributeToBe(localizador, atributo, valor));
+            espera().until(ExpectedConditions.attributeToBe(localizador, atributo, valor));
             logger.debug("Atributo '{}={}' encontrado en elemento {}", atributo, valor, localizador);
             return true;
         } catch (Exception e) {
@@ -223,12 +265,12 @@ public class EsperaExplicita {
             logger.debug("Esperando formulario de login completo");
             
             // Esperar formulario principal
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(selectorFormulario)));
+            espera().until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(selectorFormulario)));
             
             // Esperar campos específicos
-            wait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(selectorUsuario)));
-            wait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(selectorPassword)));
-            wait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(selectorBoton)));
+            espera().until(ExpectedConditions.elementToBeClickable(By.cssSelector(selectorUsuario)));
+            espera().until(ExpectedConditions.elementToBeClickable(By.cssSelector(selectorPassword)));
+            espera().until(ExpectedConditions.elementToBeClickable(By.cssSelector(selectorBoton)));
             
             logger.info("Formulario de login completamente cargado");
             return true;
@@ -246,7 +288,7 @@ public class EsperaExplicita {
      */
     public boolean esperarMensajeResultadoLogin(String selectorMensaje) {
         try {
-            wait.until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(selectorMensaje)));
+            espera().until(ExpectedConditions.visibilityOfElementLocated(By.cssSelector(selectorMensaje)));
             logger.debug("Mensaje de resultado de login apareció");
             return true;
         } catch (Exception e) {
@@ -265,7 +307,7 @@ public class EsperaExplicita {
      */
     public List<WebElement> esperarMultiplesElementos(By localizador, int cantidadMinima) {
         try {
-            List<WebElement> elementos = wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(localizador, cantidadMinima - 1));
+            List<WebElement> elementos = espera().until(ExpectedConditions.numberOfElementsToBeMoreThan(localizador, cantidadMinima - 1));
             logger.debug("Encontrados {} elementos con localizador {}", elementos.size(), localizador);
             return elementos;
         } catch (Exception e) {
@@ -283,7 +325,7 @@ public class EsperaExplicita {
      * @return WebElement encontrado o null si timeout
      */
     public WebElement esperarVisibilidadElementoConTimeout(By localizador, int timeoutSegundos) {
-        WebDriverWait waitPersonalizado = new WebDriverWait(driver, Duration.ofSeconds(timeoutSegundos));
+        WebDriverWait waitPersonalizado = new WebDriverWait(driver, PresupuestoEspera.limitar(Duration.ofSeconds(timeoutSegundos)));
         try {
             WebElement elemento = waitPersonalizado.until(ExpectedConditions.visibilityOfElementLocated(localizador));
             logger.debug("Elemento visible encontrado con timeout personalizado {}s: {}", timeoutSegundos, localizador);
@@ -302,7 +344,7 @@ public class EsperaExplicita {
      */
     public boolean esperarCargaCompletaPagina() {
         try {
-            wait.until(webDriver -> 
+            espera().until(webDriver -> 
                 ((org.openqa.selenium.JavascriptExecutor) webDriver)
                     .executeScript("return document.readyState").equals("complete"));
             logger.debug("Página completamente cargada");
@@ -320,7 +362,7 @@ public class EsperaExplicita {
      */
     public boolean esperarNuevaVentana(int cantidadVentanasEsperadas) {
         try {
-            wait.until(ExpectedConditions.numberOfWindowsToBe(cantidadVentanasEsperadas));
+            espera().until(ExpectedConditions.numberOfWindowsToBe(cantidadVentanasEsperadas));
             logger.debug("Nuevas ventanas detectadas. Total: {}", cantidadVentanasEsperadas);
             return true;
         } catch (Exception e) {
@@ -329,6 +371,169 @@ public class EsperaExplicita {
         }
     }
     
+    // === MOTOR DE ESPERAS EN EL NAVEGADOR ===
+    
+    /**
+     * Espera a que la página termine de cargar, jQuery (si existe) no tenga peticiones
+     * pendientes y el DOM deje de cambiar durante una ventana de quietud
+     * 
+     * @return true si el DOM se estabilizó antes del timeout
+     */
+    public boolean esperarDomEstable() {
+        return esperarDomEstable(QUIETUD_DOM_MS);
+    }
+    
+    /**
+     * Espera a que el DOM no tenga mutaciones durante la ventana indicada. Si la
+     * página cambia sin parar (animaciones, relojes), la quietud deja de exigirse
+     * pasado max(quietudMs * 10, 2 s) y basta con la carga completa y jQuery inactivo.
+     * 
+     * @param quietudMs milisegundos sin mutaciones para considerar el DOM estable
+     * @return true si el DOM se estabilizó (o se agotó el plazo de quietud) antes del timeout
+     */
+    public boolean esperarDomEstable(int quietudMs) {
+        long limiteQuietudMs = Math.max((long) quietudMs * FACTOR_LIMITE_QUIETUD, LIMITE_QUIETUD_MINIMO_MS);
+        long inicio = System.currentTimeMillis();
+        boolean estable = ejecutarEsperaEnNavegador("return !window.jQuery || window.jQuery.active === 0;",
+            quietudMs, limiteQuietudMs) != null;
+        if (estable && System.currentTimeMillis() - inicio >= limiteQuietudMs) {
+            logger.debug("DOM con mutaciones continuas: se continúa tras {} ms sin quietud de {} ms",
+                limiteQuietudMs, quietudMs);
+        }
+        return estable;
+    }
+    
+    /**
+     * Espera a que un predicado JavaScript se cumpla, evaluándolo dentro de la
+     * página en cada mutación del DOM y en cada frame
+     * 
+     * @param predicadoJs cuerpo de una función que retorna boolean; recibe los argumentos en arguments[0..n]
+     * @param argumentos argumentos para el predicado (WebElement, String, números...)
+     * @return true si el predicado se cumplió antes del timeout
+     */
+    public boolean esperarCondicionEnNavegador(String predicadoJs, Object... argumentos) {
+        return ejecutarEsperaEnNavegador(predicadoJs, 0, 0, argumentos) != null;
+    }
+    
+    /**
+     * Espera a que se cumpla cualquiera de las condiciones y devuelve la primera
+     * que lo hizo. Todas se evalúan juntas dentro de la página en un único script,
+     * por lo que la espera dura lo que tarde la aplicación en responder y no la
+     * suma de los timeouts de cada comprobación. Si varias se cumplen a la vez
+     * gana la primera en el orden recibido.
+     * 
+     * @param condiciones condiciones con nombre (ver {@link #condicion(String, String, Object...)})
+     * @return nombre de la condición ganadora o null si ninguna se cumplió antes del timeout
+     */
+    public String esperarPrimeraCondicion(CondicionNavegador... condiciones) {
+        StringBuilder predicado = new StringBuilder("var nombres = arguments[0], argumentos = arguments[1];");
+        predicado.append("var condiciones = [");
+        List<String> nombres = new ArrayList<>();
+        List<List<Object>> argumentos = new ArrayList<>();
+        for (int i = 0; i < condiciones.length; i++) {
+            predicado.append(i > 0 ? "," : "").append("function() { ").append(condiciones[i].predicadoJs).append(" }");
+            nombres.add(condiciones[i].nombre);
+            argumentos.add(Arrays.asList(condiciones[i].argumentos));
+        }
+        predicado.append("];");
+        predicado.append("for (var i = 0; i < condiciones.length; i++) {");
+        predicado.append("  try { if (condiciones[i].apply(null, argumentos[i])) { return nombres[i]; } } catch (e) {}");
+        predicado.append("}");
+        predicado.append("return null;");
+        
+        long inicio = System.currentTimeMillis();
+        Object ganadora = ejecutarEsperaEnNavegador(predicado.toString(), 0, 0, nombres, argumentos);
+        if (ganadora == null) {
+            logger.warn("Ninguna de las condiciones {} se cumplió en {}s", nombres, timeoutDefault);
+            return null;
+        }
+        logger.debug("Condición '{}' cumplida en {} ms", ganadora, System.currentTimeMillis() - inicio);
+        return ganadora.toString();
+    }
+    
+    /**
+     * Crea una condición con nombre para {@link #esperarPrimeraCondicion(CondicionNavegador...)}
+     * 
+     * @param nombre nombre con el que se identifica la condición si gana
+     * @param predicadoJs cuerpo de función JavaScript que retorna boolean
+     * @param argumentos argumentos del predicado (arguments[0..n])
+     * @return condición para la espera
+     */
+    public static CondicionNavegador condicion(String nombre, String predicadoJs, Object... argumentos) {
+        return new CondicionNavegador(nombre, predicadoJs, argumentos);
+    }
+    
+    /**
+     * Contabiliza en el contexto de la prueba el tiempo ahorrado al sustituir
+     * una pausa fija por una espera basada en condiciones. Solo debe llamarse
+     * con la duración de una espera real que ocupa el lugar de la pausa.
+     * 
+     * @param pausaFijaMs duración de la pausa fija que se usaba antes
+     * @param esperaRealMs tiempo que realmente tomó la espera
+     */
+    public static void registrarPausaReemplazada(long pausaFijaMs, long esperaRealMs) {
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        if (contexto != null) {
+            contexto.acumularMetrica(METRICA_ESPERA_AHORRADA_MS, pausaFijaMs - esperaRealMs);
+        }
+    }
+    
+    /**
+     * Ejecuta el motor de espera como script asíncrono. Si la página navega
+     * mientras se espera, el script se pierde con el documento y se vuelve a
+     * lanzar sobre el nuevo documento hasta agotar el timeout.
+     * El plazo de quietud se cuenta desde la primera ejecución, no por documento.
+     * Aunque el presupuesto ya esté agotado el predicado se evalúa una vez.
+     */
+    private Object ejecutarEsperaEnNavegador(String predicadoJs, int quietudMs, long limiteQuietudMs,
+                                             Object... argumentos) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        String script = SCRIPT_MOTOR_ESPERA.replace("/*PREDICADO*/", predicadoJs);
+        long inicio = System.currentTimeMillis();
+        long limite = inicio + PresupuestoEspera.limitarMs(timeoutDefault * 1000L);
+        int fallosConsecutivos = 0;
+        boolean evaluada = false;
+        
+        while (true) {
+            long restanteMs = limite - System.currentTimeMillis();
+            if (restanteMs <= 0 && evaluada) {
+                logger.warn("Timeout de {}s en espera dentro del navegador", timeoutDefault);
+                return null;
+            }
+            
+            Object[] parametros = new Object[argumentos.length + 3];
+            parametros[0] = Math.max(0, Math.min(restanteMs, LIMITE_SCRIPT_MS));
+            parametros[1] = quietudMs;
+            parametros[2] = Math.max(0, inicio + limiteQuietudMs - System.currentTimeMillis());
+            System.arraycopy(argumentos, 0, parametros, 3, argumentos.length);
+            
+            try {
+                Object resultado = js.executeAsyncScript(script, parametros);
+                evaluada = true;
+                if (resultado != null) {
+                    return resultado;
+                }
+                fallosConsecutivos = 0;
+            } catch (Exception e) {
+                // Documento descargado por una navegación: se reintenta sobre la nueva página
+                if (++fallosConsecutivos > MAXIMO_REINTENTOS_SCRIPT) {
+                    logger.warn("Espera en navegador abortada tras {} fallos: {}", fallosConsecutivos, e.getMessage());
+                    return null;
+                }
+                logger.debug("Espera en navegador interrumpida, reintentando: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Espera con el timeout de la instancia, acotado al presupuesto activo
+     * del hilo para que las esperas anidadas no sumen sus timeouts
+     */
+    private WebDriverWait espera() {
+        long limiteMs = PresupuestoEspera.limitarMs(timeoutDefault * 1000L);
+        return limiteMs >= timeoutDefault * 1000L ? wait : new WebDriverWait(driver, Duration.ofMillis(limiteMs));
+    }
+    
     // === MÉTODOS DE UTILIDAD ===
     
     /**
@@ -356,4 +561,23 @@ public class EsperaExplicita {
     public static EsperaExplicita timeoutLargo(WebDriver driver) {
         return new EsperaExplicita(driver, TIMEOUT_LARGO);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Condición con nombre evaluada dentro del navegador
+     */
+    public static final class CondicionNavegador {
+        private final String nombre;
+        private final String predicadoJs;
+        private final Object[] argumentos;
+        
+        private CondicionNavegador(String nombre, String predicadoJs, Object[] argumentos) {
+            this.nombre = nombre;
+            this.predicadoJs = predicadoJs;
+            this.argumentos = argumentos;
+        }
+        
+        public String obtenerNombre() {
+            return nombre;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Miniaturas JPEG de las capturas para la galería del reporte HTML.
+ *
+ * La lista de capturas se reparte con fork-join (se divide hasta tramos de
+ * pocas imágenes que se procesan en el pool común). Cada miniatura se nombra
+ * con el SHA-256 de la captura y los parámetros de codificación, así que en
+ * una nueva generación de las capturas sin cambios solo se calcula el hash,
+ * sin decodificar ni escribir; capturas idénticas comparten miniatura.
+ * Las miniaturas que ya no corresponden a ninguna captura (p. ej. porque
+ * RetencionEvidencias la borró) se eliminan con eliminarHuerfanas().
+ *
+ * Principios aplicados:
+ * - Fork-Join: Divide y procesa la lista de capturas en paralelo
+ * - Content Addressing: El hash del contenido identifica la miniatura en caché
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class GeneradorMiniaturas {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorMiniaturas.class);
+
+    public static final String DIRECTORIO_MINIATURAS = "miniaturas";
+
+    private static final int CALIDAD_MINIATURA = 75;
+    // Tramo que una tarea procesa sin dividirse más
+    private static final int UMBRAL_DIVISION = 4;
+
+    private final Path directorioMiniaturas;
+    private final CodificadorCapturas codificador;
+
+    // Métricas
+    private final LongAdder generadas = new LongAdder();
+    private final LongAdder reutilizadas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+    private final LongAdder eliminadas = new LongAdder();
+    private final LongAdder bytesMiniaturas = new LongAdder();
+    private final LongAdder bytesCapturas = new LongAdder();
+    private final LongAdder tiempoMs = new LongAdder();
+
+    /**
+     * @param directorioMiniaturas directorio de las miniaturas (se reutiliza entre ejecuciones)
+     * @param ancho ancho máximo de cada miniatura en píxeles
+     */
+    public GeneradorMiniaturas(Path directorioMiniaturas, int ancho) {
+        this.directorioMiniaturas = directorioMiniaturas;
+        this.codificador = new CodificadorCapturas("JPG", CALIDAD_MINIATURA, ancho);
+    }
+
+    // === GENERACIÓN ===
+
+    /**
+     * Obtiene la miniatura de cada captura, creando solo las que faltan
+     *
+     * @param capturas archivos de imagen (PNG o JPEG)
+     * @return miniatura de cada captura; las que no pudieron procesarse no aparecen
+     * @throws IOException si no se puede crear el directorio de miniaturas
+     */
+    public Map<Path, Path> generar(List<Path> capturas) throws IOException {
+        Files.createDirectories(directorioMiniaturas);
+        Map<Path, Path> miniaturas = new ConcurrentHashMap<>();
+        long inicio = System.nanoTime();
+        ForkJoinPool.commonPool().invoke(new TareaMiniaturas(capturas, 0, capturas.size(), miniaturas));
+        tiempoMs.add((System.nanoTime() - inicio) / 1_000_000);
+        return miniaturas;
+    }
+
+    /**
+     * Elimina las miniaturas que ninguna captura actual referencia
+     *
+     * @param vigentes miniaturas que se conservan (las devueltas por generar())
+     * @return cantidad de miniaturas eliminadas
+     * @throws IOException si no se puede listar el directorio de miniaturas
+     */
+    public int eliminarHuerfanas(Collection<Path> vigentes) throws IOException {
+        if (!Files.isDirectory(directorioMiniaturas)) {
+            return 0;
+        }
+        Set<Path> conservar = new HashSet<>();
+        for (Path miniatura : vigentes) {
+            conservar.add(miniatura.getFileName());
+        }
+        int eliminadasAhora = 0;
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorioMiniaturas)) {
+            for (Path archivo : archivos) {
+                if (Files.isRegularFile(archivo) && !conservar.contains(archivo.getFileName())
+                        && Files.deleteIfExists(archivo)) {
+                    eliminadasAhora++;
+                }
+            }
+        }
+        eliminadas.add(eliminadasAhora);
+        logger.debug("Miniaturas huérfanas eliminadas de {}: {}", directorioMiniaturas, eliminadasAhora);
+        return eliminadasAhora;
+    }
+
+    private Path obtenerMiniatura(Path captura) throws IOException {
+        byte[] imagen = Files.readAllBytes(captura);
+        bytesCapturas.add(imagen.length);
+        Path destino = directorioMiniaturas.resolve(calcularHash(imagen) + codificador.obtenerFirma()
+            + codificador.obtenerExtension());
+        if (Files.exists(destino)) {
+            reutilizadas.increment();
+            bytesMiniaturas.add(Files.size(destino));
+            return destino;
+        }
+
+        byte[] miniatura = codificador.codificar(imagen);
+        // Escritura atómica: otra tarea con la misma captura puede estar escribiendo el mismo archivo
+        Path temporal = Files.createTempFile(directorioMiniaturas, "miniatura", ".parcial");
+        try {
+            Files.write(temporal, miniatura);
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        generadas.increment();
+        bytesMiniaturas.add(miniatura.length);
+        return destino;
+    }
+
+    private static String calcularHash(byte[] imagen) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(imagen));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // === MÉTRICAS ===
+
+    public long obtenerGeneradas() {
+        return generadas.sum();
+    }
+
+    public long obtenerReutilizadas() {
+        return reutilizadas.sum();
+    }
+
+    public long obtenerEliminadas() {
+        return eliminadas.sum();
+    }
+
+    public long obtenerBytesMiniaturas() {
+        return bytesMiniaturas.sum();
+    }
+
+    public long obtenerBytesCapturas() {
+        return bytesCapturas.sum();
+    }
+
+    /**
+     * Genera un resumen de las miniaturas procesadas
+     * @return resumen formateado
+     */
+    public String generarResumen() {
+        return String.format(
+            "Miniaturas - Generadas: %d, Reutilizadas: %d, Fallidas: %d, Huérfanas eliminadas: %d, Tiempo: %d ms, " +
+            "%.1f KB de miniaturas para %.1f KB de capturas",
+            generadas.sum(), reutilizadas.sum(), fallidas.sum(), eliminadas.sum(), tiempoMs.sum(),
+            bytesMiniaturas.sum() / 1024.0, bytesCapturas.sum() / 1024.0);
+    }
+
+    // === TAREA FORK-JOIN ===
+
+    // RecursiveAction es Serializable, pero la tarea nunca se serializa
+    private final class TareaMiniaturas extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Path> capturas;
+        private final int desde;
+        private final int hasta;
+        private final transient Map<Path, Path> miniaturas;
+
+        TareaMiniaturas(List<Path> capturas, int desde, int hasta, Map<Path, Path> miniaturas) {
+            this.capturas = capturas;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.miniaturas = miniaturas;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                for (int i = desde; i < hasta; i++) {
+                    Path captura = capturas.get(i);
+                    try {
+                        miniaturas.put(captura, obtenerMiniatura(captura));
+                    } catch (IOException | RuntimeException e) {
+                        fallidas.increment();
+                        logger.warn("No se pudo crear la miniatura de {}: {}", captura, e.getMessage());
+                    }
+                }
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new TareaMiniaturas(capturas, desde, mitad, miniaturas),
+                new TareaMiniaturas(capturas, mitad, hasta, miniaturas));
+        }
+    }
+}
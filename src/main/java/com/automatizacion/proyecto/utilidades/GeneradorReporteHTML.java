@@ -8,31 +8,55 @@ package com.automatizacion.proyecto.utilidades;
  */
 
 
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
 import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.CharacterEscapes;
+import com.fasterxml.jackson.core.io.SerializedString;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Generador de reportes HTML para evidencias finales del proyecto
  * 
  * Genera un reporte HTML completo con:
  * - Resumen ejecutivo del proyecto
- * - Casos de prueba ejecutados
- * - Capturas de pantalla integradas
+ * - Casos de prueba ejecutados (tomados de RegistroResultados)
+ * - Capturas de pantalla integradas (miniaturas; la imagen completa se carga al hacer click)
  * - Estadísticas de ejecución
  * - Información de los autores
  * 
+ * El documento se escribe sección a sección en un flujo UTF-8 con búfer, sin
+ * armarlo completo en memoria. Las secciones independientes y voluminosas
+ * (estadísticas, casos, galería) se generan en paralelo en fragmentos que se
+ * vuelcan en orden. El archivo se escribe como temporal y se mueve al final,
+ * así un error nunca deja un reporte a medias.
+ * 
  * @author Antonio B. Arriagada LL.
  * @author Dante Escalona Bustos
  * @author Roberto Rivas Lopez
@@ -43,10 +67,19 @@ public class GeneradorReporteHTML {
     private static final Logger logger = LoggerFactory.getLogger(GeneradorReporteHTML.class);
     private static final String DIRECTORIO_REPORTES = "reportes";
     private static final String DIRECTORIO_CAPTURAS = "capturas";
+    private static final int TAMANO_BUFER_ESCRITURA = 64 * 1024;
+    private static final String ESTADO_DESCONOCIDO = "UNKNOWN";
+    private static final List<String> ESTADOS_CASO = List.of("PASSED", "FAILED", "SKIPPED", ESTADO_DESCONOCIDO);
+    private static final JsonFactory FABRICA_JSON = new JsonFactoryBuilder()
+        .characterEscapes(new EscapesScriptHTML())
+        .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+        .build();
     
     private List<CasoPrueba> casosEjecutados;
     private List<String> capturas;
+    private Map<String, String> miniaturas;
     private EstadisticasEjecucion estadisticas;
+    private boolean datosPreparados;
     
     /**
      * Constructor
@@ -54,6 +87,7 @@ public class GeneradorReporteHTML {
     public GeneradorReporteHTML() {
         this.casosEjecutados = new ArrayList<>();
         this.capturas = new ArrayList<>();
+        this.miniaturas = new HashMap<>();
         this.estadisticas = new EstadisticasEjecucion();
         
         crearDirectorioReportes();
@@ -66,26 +100,13 @@ public class GeneradorReporteHTML {
         try {
             logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Iniciando generación de reporte HTML"));
             
-            // Recopilar información
-            recopilarCasosPrueba();
-            recopilarCapturas();
-            calcularEstadisticas();
-            
-            // Generar HTML
             String nombreArchivo = "Reporte_Final_Automatizacion_" + 
                                  LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".html";
-            String rutaCompleta = DIRECTORIO_REPORTES + File.separator + nombreArchivo;
-            
-            String contenidoHTML = construirHTML();
-            
-            // Escribir archivo
-            FileWriter writer = new FileWriter(rutaCompleta);
-            writer.write(contenidoHTML);
-            writer.close();
+            Path rutaCompleta = generarReporteEn(Paths.get(DIRECTORIO_REPORTES, nombreArchivo));
             
             logger.info(TipoMensaje.EXITO.formatearMensaje("Reporte HTML generado: " + rutaCompleta));
             
-            return rutaCompleta;
+            return rutaCompleta.toString();
             
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje("Error generando reporte HTML: " + e.getMessage()));
@@ -94,28 +115,88 @@ public class GeneradorReporteHTML {
     }
     
     /**
-     * Construye el contenido HTML del reporte
+     * Genera el reporte en la ruta indicada
+     * 
+     * @param destino archivo HTML a crear (se reemplaza si existe)
+     * @return ruta del reporte generado
+     * @throws IOException si no se puede escribir el archivo
      */
-    private String construirHTML() {
-        StringBuilder html = new StringBuilder();
+    public Path generarReporteEn(Path destino) throws IOException {
+        Path directorio = destino.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, "reporte", ".parcial");
+        try {
+            try (Writer salida = new BufferedWriter(new OutputStreamWriter(
+                    Files.newOutputStream(temporal), StandardCharsets.UTF_8), TAMANO_BUFER_ESCRITURA)) {
+                escribirHTML(salida);
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+        return destino;
+    }
+    
+    /**
+     * Escribe el documento HTML completo en el flujo indicado
+     * 
+     * @param salida flujo de destino (no se cierra)
+     * @throws IOException si falla la escritura
+     */
+    public void escribirHTML(Writer salida) throws IOException {
+        prepararDatos();
+        
+        // Las secciones independientes se generan mientras se escriben las anteriores
+        CompletableFuture<FragmentosHTML> seccionEstadisticas = generarEnParalelo(this::construirEstadisticas);
+        CompletableFuture<FragmentosHTML> seccionCasos = generarEnParalelo(this::construirCasosPrueba);
+        CompletableFuture<FragmentosHTML> seccionGaleria = generarEnParalelo(this::construirGaleriaEvidencias);
         
         // Cabecera HTML
-        html.append(construirCabecera());
+        salida.write(construirCabecera());
         
         // Cuerpo del reporte
-        html.append("<body>");
-        html.append(construirEncabezado());
-        html.append(construirResumenEjecutivo());
-        html.append(construirAutores());
-        html.append(construirEstadisticas());
-        html.append(construirCasosPrueba());
-        html.append(construirGaleriaEvidencias());
-        html.append(construirConclusiones());
-        html.append(construirPie());
-        html.append("</body>");
-        html.append("</html>");
-        
-        return html.toString();
+        salida.write("<body>");
+        salida.write(construirEncabezado());
+        salida.write(construirResumenEjecutivo());
+        salida.write(construirAutores());
+        volcar(seccionEstadisticas, salida);
+        volcar(seccionCasos, salida);
+        volcar(seccionGaleria, salida);
+        salida.write(construirConclusiones());
+        salida.write(construirPie());
+        salida.write("</body>");
+        salida.write("</html>");
+    }
+    
+    /**
+     * Agrega un caso al reporte; sin casos agregados se muestran los casos de referencia
+     * 
+     * @param id identificador del caso
+     * @param descripcion descripción breve
+     * @param estado PASSED, FAILED o SKIPPED
+     */
+    public void agregarCaso(String id, String descripcion, String estado) {
+        casosEjecutados.add(new CasoPrueba(id, descripcion, estado, null, null));
+    }
+    
+    /**
+     * Agrega los resultados de una ejecución como casos del reporte
+     * 
+     * @param resultados resultados registrados por EscuchaResultadosTestNG
+     */
+    public void agregarResultados(Collection<ResultadoPrueba> resultados) {
+        for (ResultadoPrueba resultado : resultados) {
+            casosEjecutados.add(CasoPrueba.desde(resultado));
+        }
+    }
+    
+    /**
+     * Agrega una captura a la galería, además de las encontradas en el directorio de capturas
+     * 
+     * @param archivo ruta del archivo relativa al directorio de capturas
+     */
+    public void agregarCaptura(String archivo) {
+        capturas.add(archivo);
     }
     
     /**
@@ -252,6 +333,59 @@ public class GeneradorReporteHTML {
             border-left: 5px solid #f39c12;
         }
         
+        .test-case.unknown {
+            border-left: 5px solid #3498db;
+        }
+        
+        .filtros-casos {
+            display: flex;
+            flex-wrap: wrap;
+            gap: 15px;
+            align-items: center;
+            margin: 20px 0 10px 0;
+        }
+        
+        .vista-casos {
+            height: 520px;
+            overflow-y: auto;
+            position: relative;
+            background: white;
+            border-radius: 0 0 10px 10px;
+            box-shadow: 0 2px 4px rgba(0,0,0,0.1);
+        }
+        
+        .filas-casos {
+            position: absolute;
+            top: 0;
+            left: 0;
+            right: 0;
+        }
+        
+        .fila-caso {
+            display: grid;
+            grid-template-columns: 110px 260px 1fr 90px 180px;
+            gap: 10px;
+            align-items: center;
+            height: 34px;
+            padding: 0 10px;
+            border-bottom: 1px solid #eee;
+            white-space: nowrap;
+            cursor: pointer;
+        }
+        
+        .fila-caso span {
+            overflow: hidden;
+            text-overflow: ellipsis;
+        }
+        
+        .fila-caso.encabezado {
+            background: #2c3e50;
+            color: white;
+            font-weight: bold;
+            border-radius: 10px 10px 0 0;
+            cursor: default;
+        }
+        
         .evidence-gallery {
             display: grid;
             grid-template-columns: repeat(auto-fit, minmax(300px, 1fr));
@@ -272,6 +406,32 @@ public class GeneradorReporteHTML {
             object-fit: cover;
         }
         
+        .evidence-item a {
+            display: block;
+            cursor: zoom-in;
+        }
+        
+        .visor {
+            position: fixed;
+            inset: 0;
+            background: rgba(0,0,0,0.85);
+            display: flex;
+            align-items: center;
+            justify-content: center;
+            z-index: 1000;
+            cursor: zoom-out;
+        }
+        
+        .visor[hidden] {
+            display: none;
+        }
+        
+        .visor img {
+            max-width: 95vw;
+            max-height: 95vh;
+            box-shadow: 0 0 20px rgba(0,0,0,0.5);
+        }
+        
         .evidence-item .caption {
             padding: 15px;
             text-align: center;
@@ -324,6 +484,11 @@ public class GeneradorReporteHTML {
             border-left: 5px solid #3498db;
         }
         
+        .highlight.sin-resultados {
+            background: #fdecea;
+            border-left-color: #e74c3c;
+        }
+        
         .timeline {
             position: relative;
             padding-left: 30px;
@@ -458,8 +623,8 @@ public class GeneradorReporteHTML {
     /**
      * Construye la sección de estadísticas
      */
-    private String construirEstadisticas() {
-        return String.format("""
+    private void construirEstadisticas(Writer salida) throws IOException {
+        salida.write(String.format("""
         <div class="section">
             <h2>📊 Estadísticas de Ejecución</h2>
             <div class="stats-grid">
@@ -541,16 +706,14 @@ public class GeneradorReporteHTML {
         estadisticas.casosOmitidos,
         capturas.size(),
         estadisticas.porcentajeExito
-        );
+        ));
     }
     
     /**
      * Construye la sección de casos de prueba
      */
-    private String construirCasosPrueba() {
-        StringBuilder sb = new StringBuilder();
-        
-        sb.append("""
+    private void construirCasosPrueba(Writer salida) throws IOException {
+        salida.write("""
         <div class="section">
             <h2>🧪 Casos de Prueba Ejecutados</h2>
             <div class="highlight">
@@ -569,56 +732,329 @@ public class GeneradorReporteHTML {
             
         """);
         
-        // Agregar casos principales simulados
-        sb.append("""
-            <div class="test-case passed">
-                <h4>✅ LOGIN_REAL_001 - Login exitoso con credenciales reales</h4>
-                <p><strong>Descripción:</strong> Verificar login exitoso con credenciales practice/SuperSecretPassword!</p>
-                <p><strong>Resultado:</strong> <span class="badge success">PASÓ</span></p>
-                <p><strong>Evidencia:</strong> Redirección exitosa a área segura detectada</p>
+        if (casosEjecutados.isEmpty()) {
+            salida.write("""
+            <div class="highlight sin-resultados" id="sin-resultados">
+                <h3>⚠️ Sin resultados registrados</h3>
+                <p>No se encontraron resultados de ninguna ejecución: los totales de este reporte están en cero
+                y la tabla de casos está vacía. Ejecuta la suite antes de generar el reporte.</p>
             </div>
             
-            <div class="test-case passed">
-                <h4>✅ LOGIN_NEG_001 - Login fallido con username incorrecto</h4>
-                <p><strong>Descripción:</strong> Verificar rechazo de username inexistente</p>
-                <p><strong>Resultado:</strong> <span class="badge success">PASÓ</span></p>
-                <p><strong>Evidencia:</strong> Mensaje "Your username is invalid!" mostrado correctamente</p>
-            </div>
-            
-            <div class="test-case passed">
-                <h4>✅ LOGIN_SEC_001 - Prevención de inyección SQL</h4>
-                <p><strong>Descripción:</strong> Verificar que la aplicación bloquea intentos de SQL injection</p>
-                <p><strong>Resultado:</strong> <span class="badge success">PASÓ</span></p>
-                <p><strong>Evidencia:</strong> Aplicación rechaza caracteres maliciosos sin ejecutar código</p>
-            </div>
-            
-            <div class="test-case passed">
-                <h4>✅ REG_001 - Registro exitoso con datos válidos</h4>
-                <p><strong>Descripción:</strong> Verificar registro de usuario con datos válidos</p>
-                <p><strong>Resultado:</strong> <span class="badge success">PASÓ</span></p>
-                <p><strong>Evidencia:</strong> Usuario registrado correctamente, redirección exitosa</p>
+        """);
+        }
+        
+        // Los casos se emiten una sola vez como datos JSON; el navegador dibuja solo las filas visibles
+        salida.write("""
+            <div class="filtros-casos">
+                <label>Estado: <select id="filtro-estado">
+                    <option value="">Todos</option>
+                    <option value="PASSED">✅ Pasó</option>
+                    <option value="FAILED">❌ Falló</option>
+                    <option value="SKIPPED">⏭️ Omitida</option>
+                    <option value="UNKNOWN">❔ Desconocido</option>
+                </select></label>
+                <label>Grupo: <select id="filtro-grupo"><option value="">Todos</option></select></label>
+                <label>Por página: <select id="tamano-pagina">
+                    <option value="100">100</option>
+                    <option value="1000" selected>1000</option>
+                    <option value="0">Todos</option>
+                </select></label>
+                <button type="button" id="pagina-anterior">◀</button>
+                <span id="info-pagina"></span>
+                <button type="button" id="pagina-siguiente">▶</button>
             </div>
-            
-            <div class="test-case passed">
-                <h4>✅ REG_NEG_001 - Validación de email inválido</h4>
-                <p><strong>Descripción:</strong> Verificar validación de formato de email</p>
-                <p><strong>Resultado:</strong> <span class="badge success">PASÓ</span></p>
-                <p><strong>Evidencia:</strong> Mensaje de error mostrado para email sin formato válido</p>
+            <div class="fila-caso encabezado"><span>Resultado</span><span>Caso</span><span>Descripción</span><span>Duración</span><span>Grupos</span></div>
+            <div class="vista-casos" id="vista-casos">
+                <div id="espaciador-casos"></div>
+                <div class="filas-casos" id="filas-casos"></div>
             </div>
-            
+            <div class="test-case" id="detalle-caso"><p>Selecciona un caso para ver su detalle.</p></div>
+            <script type="application/json" id="datos-casos">""");
+        escribirDatosCasos(salida);
+        salida.write("""
+</script>
+            <script>
+                (function () {
+                    var ALTO_FILA = 34;
+                    var RESERVA = 10;
+                    var ESTADOS = {
+                        PASSED: ['✅ PASÓ', 'success', 'passed'],
+                        FAILED: ['❌ FALLÓ', 'danger', 'failed'],
+                        SKIPPED: ['⏭️ OMITIDA', 'warning', 'skipped'],
+                        UNKNOWN: ['❔ DESCONOCIDO', 'info', 'unknown']
+                    };
+                    var datos = JSON.parse(document.getElementById('datos-casos').textContent);
+                    var filtroEstado = document.getElementById('filtro-estado');
+                    var filtroGrupo = document.getElementById('filtro-grupo');
+                    var tamanoPagina = document.getElementById('tamano-pagina');
+                    var anterior = document.getElementById('pagina-anterior');
+                    var siguiente = document.getElementById('pagina-siguiente');
+                    var infoPagina = document.getElementById('info-pagina');
+                    var vista = document.getElementById('vista-casos');
+                    var espaciador = document.getElementById('espaciador-casos');
+                    var filas = document.getElementById('filas-casos');
+                    var detalle = document.getElementById('detalle-caso');
+                    var filtrados = [];
+                    var pagina = [];
+                    var numeroPagina = 0;
+                    var dibujoPendiente = false;
+
+                    datos.grupos.forEach(function (grupo, indice) {
+                        var opcion = document.createElement('option');
+                        opcion.value = indice;
+                        opcion.textContent = grupo;
+                        filtroGrupo.appendChild(opcion);
+                    });
+
+                    function filtrar() {
+                        var estado = filtroEstado.value;
+                        var grupo = filtroGrupo.value === '' ? -1 : Number(filtroGrupo.value);
+                        filtrados = [];
+                        for (var i = 0; i < datos.casos.length; i++) {
+                            var caso = datos.casos[i];
+                            if ((estado === '' || datos.estados[caso[2]] === estado)
+                                    && (grupo < 0 || caso[4].indexOf(grupo) >= 0)) {
+                                filtrados.push(i);
+                            }
+                        }
+                        numeroPagina = 0;
+                        mostrarPagina();
+                    }
+
+                    function casosPorPagina() {
+                        var tamano = Number(tamanoPagina.value);
+                        return tamano > 0 ? tamano : Math.max(1, filtrados.length);
+                    }
+
+                    function mostrarPagina() {
+                        var paginas = Math.max(1, Math.ceil(filtrados.length / casosPorPagina()));
+                        var desde = numeroPagina * casosPorPagina();
+                        pagina = filtrados.slice(desde, desde + casosPorPagina());
+                        infoPagina.textContent = 'Página ' + (numeroPagina + 1) + ' de ' + paginas
+                            + ' · ' + filtrados.length + ' de ' + datos.casos.length + ' casos';
+                        anterior.disabled = numeroPagina === 0;
+                        siguiente.disabled = numeroPagina >= paginas - 1;
+                        espaciador.style.height = (pagina.length * ALTO_FILA) + 'px';
+                        vista.scrollTop = 0;
+                        dibujar();
+                    }
+
+                    // Solo existen en el DOM las filas visibles y una reserva alrededor
+                    function dibujar() {
+                        dibujoPendiente = false;
+                        var primera = Math.max(0, Math.floor(vista.scrollTop / ALTO_FILA) - RESERVA);
+                        var ultima = Math.min(pagina.length,
+                            Math.ceil((vista.scrollTop + vista.clientHeight) / ALTO_FILA) + RESERVA);
+                        var fragmento = document.createDocumentFragment();
+                        for (var i = primera; i < ultima; i++) {
+                            fragmento.appendChild(crearFila(pagina[i]));
+                        }
+                        filas.style.transform = 'translateY(' + (primera * ALTO_FILA) + 'px)';
+                        filas.textContent = '';
+                        filas.appendChild(fragmento);
+                    }
+
+                    function celda(fila, texto, clase) {
+                        var elemento = document.createElement('span');
+                        elemento.textContent = texto == null ? '' : texto;
+                        if (clase) {
+                            elemento.className = clase;
+                        }
+                        fila.appendChild(elemento);
+                    }
+
+                    function estadoDe(caso) {
+                        return ESTADOS[datos.estados[caso[2]]] || ESTADOS.UNKNOWN;
+                    }
+
+                    function gruposDe(caso) {
+                        return caso[4].map(function (grupo) { return datos.grupos[grupo]; }).join(', ');
+                    }
+
+                    function crearFila(indice) {
+                        var caso = datos.casos[indice];
+                        var fila = document.createElement('div');
+                        fila.className = 'fila-caso';
+                        fila.dataset.indice = indice;
+                        var insignia = document.createElement('span');
+                        celda(insignia, estadoDe(caso)[0], 'badge ' + estadoDe(caso)[1]);
+                        fila.appendChild(insignia);
+                        celda(fila, caso[0]);
+                        celda(fila, caso[1]);
+                        celda(fila, caso[3] == null ? '-' : caso[3] + ' ms');
+                        celda(fila, gruposDe(caso));
+                        return fila;
+                    }
+
+                    function mostrarDetalle(indice) {
+                        var caso = datos.casos[indice];
+                        var campos = [
+                            ['Caso', caso[0] + ' - ' + caso[1]],
+                            ['Resultado', estadoDe(caso)[0]],
+                            ['Descripción', caso[8]],
+                            ['Duración', caso[3] == null ? null : caso[3] + ' ms'],
+                            ['Grupos', gruposDe(caso)],
+                            ['Datos', caso[6]],
+                            ['Evidencia', caso[7]],
+                            ['Capturas', (caso[5] || []).join(', ')]
+                        ];
+                        detalle.className = 'test-case ' + estadoDe(caso)[2];
+                        detalle.textContent = '';
+                        campos.forEach(function (campo) {
+                            if (campo[1]) {
+                                var parrafo = document.createElement('p');
+                                var etiqueta = document.createElement('strong');
+                                etiqueta.textContent = campo[0] + ': ';
+                                parrafo.appendChild(etiqueta);
+                                parrafo.appendChild(document.createTextNode(campo[1]));
+                                detalle.appendChild(parrafo);
+                            }
+                        });
+                    }
+
+                    vista.addEventListener('scroll', function () {
+                        if (!dibujoPendiente) {
+                            dibujoPendiente = true;
+                            requestAnimationFrame(dibujar);
+                        }
+                    });
+                    filas.addEventListener('click', function (evento) {
+                        var fila = evento.target.closest('.fila-caso');
+                        if (fila) {
+                            mostrarDetalle(Number(fila.dataset.indice));
+                        }
+                    });
+                    filtroEstado.addEventListener('change', filtrar);
+                    filtroGrupo.addEventListener('change', filtrar);
+                    tamanoPagina.addEventListener('change', filtrar);
+                    anterior.addEventListener('click', function () { numeroPagina--; mostrarPagina(); });
+                    siguiente.addEventListener('click', function () { numeroPagina++; mostrarPagina(); });
+                    filtrar();
+                })();
+            </script>
         </div>
         """);
+    }
+    
+    /**
+     * Escribe los casos como JSON compacto: cada caso es un arreglo
+     * [id, descripción, estado, duración, grupos, capturas, datos, evidencia, detalle]
+     * donde estado y grupos son índices de los diccionarios "estados" y "grupos";
+     * los campos finales vacíos se omiten. Un estado que no es PASSED, FAILED ni
+     * SKIPPED se publica como UNKNOWN en lugar de confundirse con un caso exitoso
+     */
+    private void escribirDatosCasos(Writer salida) throws IOException {
+        Map<String, Integer> indiceGrupos = new LinkedHashMap<>();
+        for (CasoPrueba caso : casosEjecutados) {
+            for (String grupo : caso.grupos) {
+                indiceGrupos.putIfAbsent(grupo, indiceGrupos.size());
+            }
+        }
         
-        return sb.toString();
+        // El generador no cierra la salida: el reporte sigue escribiéndose después del bloque
+        JsonGenerator json = FABRICA_JSON.createGenerator(salida);
+        try (json) {
+            json.writeStartObject();
+            json.writeFieldName("estados");
+            escribirListaJson(json, ESTADOS_CASO);
+            json.writeFieldName("grupos");
+            escribirListaJson(json, indiceGrupos.keySet());
+            json.writeArrayFieldStart("casos");
+            for (CasoPrueba caso : casosEjecutados) {
+                escribirCasoJson(json, caso, indiceGrupos);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+    
+    private static void escribirCasoJson(JsonGenerator json, CasoPrueba caso,
+                                         Map<String, Integer> indiceGrupos) throws IOException {
+        json.writeStartArray();
+        json.writeString(caso.id);
+        json.writeString(caso.descripcion);
+        int estado = ESTADOS_CASO.indexOf(caso.estado);
+        json.writeNumber(estado >= 0 ? estado : ESTADOS_CASO.indexOf(ESTADO_DESCONOCIDO));
+        if (caso.duracionMs >= 0) {
+            json.writeNumber(caso.duracionMs);
+        } else {
+            json.writeNull();
+        }
+        json.writeStartArray();
+        for (String grupo : caso.grupos) {
+            json.writeNumber(indiceGrupos.get(grupo));
+        }
+        json.writeEndArray();
+        
+        int opcionales = 0;
+        if (caso.detalle != null) {
+            opcionales = 4;
+        } else if (caso.evidencia != null) {
+            opcionales = 3;
+        } else if (caso.datos != null) {
+            opcionales = 2;
+        } else if (!caso.capturas.isEmpty()) {
+            opcionales = 1;
+        }
+        if (opcionales >= 1) {
+            escribirListaJson(json, caso.capturas);
+        }
+        if (opcionales >= 2) {
+            json.writeString(caso.datos);
+        }
+        if (opcionales >= 3) {
+            json.writeString(caso.evidencia);
+        }
+        if (opcionales >= 4) {
+            json.writeString(caso.detalle);
+        }
+        json.writeEndArray();
+    }
+    
+    private static void escribirListaJson(JsonGenerator json, Collection<String> textos) throws IOException {
+        json.writeStartArray();
+        for (String texto : textos) {
+            json.writeString(texto);
+        }
+        json.writeEndArray();
     }
     
     /**
-     * Construye la galería de evidencias
+     * Escapes adicionales para JSON incrustado en un bloque script: "<" para
+     * que un "</script>" dentro de los datos no cierre el bloque, y U+2028 /
+     * U+2029, que los motores JavaScript antiguos tratan como saltos de línea
      */
-    private String construirGaleriaEvidencias() {
-        StringBuilder sb = new StringBuilder();
+    private static final class EscapesScriptHTML extends CharacterEscapes {
+        private static final long serialVersionUID = 1L;
+        private static final SerializedString SEPARADOR_LINEA = new SerializedString("\\u2028");
+        private static final SerializedString SEPARADOR_PARRAFO = new SerializedString("\\u2029");
+        private final int[] escapesAscii;
+        
+        EscapesScriptHTML() {
+            escapesAscii = standardAsciiEscapesForJSON();
+            escapesAscii['<'] = ESCAPE_STANDARD;
+        }
+        
+        @Override
+        public int[] getEscapeCodesForAscii() {
+            return escapesAscii;
+        }
         
-        sb.append("""
+        @Override
+        public SerializableString getEscapeSequence(int caracter) {
+            return switch (caracter) {
+                case 0x2028 -> SEPARADOR_LINEA;
+                case 0x2029 -> SEPARADOR_PARRAFO;
+                default -> null;
+            };
+        }
+    }
+    
+    /**
+     * Construye la galería de evidencias
+     */
+    private void construirGaleriaEvidencias(Writer salida) throws IOException {
+        salida.write("""
         <div class="section">
             <h2>📸 Galería de Evidencias</h2>
             <p>Capturas de pantalla automáticas generadas durante la ejecución de las pruebas:</p>
@@ -626,7 +1062,7 @@ public class GeneradorReporteHTML {
             <div class="evidence-gallery">
         """);
         
-        // Simular algunas evidencias principales
+        // Evidencias de referencia cuando no se encontraron capturas reales
         String[] evidenciasSimuladas = {
             "configuracion_inicial_login.png|Página de Login Inicial",
             "login_exitoso_pagina_final.png|Login Exitoso - Área Segura",
@@ -638,25 +1074,50 @@ public class GeneradorReporteHTML {
             "inyeccion_sql_bloqueada.png|Prevención SQL Injection"
         };
         
-        for (String evidencia : evidenciasSimuladas) {
+        List<String> evidencias = capturas.isEmpty() ? List.of(evidenciasSimuladas) : capturas;
+        for (String evidencia : evidencias) {
             String[] partes = evidencia.split("\\|");
-            String archivo = partes[0];
-            String descripcion = partes[1];
+            String archivo = escaparHtml(partes[0]);
+            String descripcion = escaparHtml(partes.length > 1 ? partes[1]
+                : partes[0].substring(partes[0].lastIndexOf('/') + 1).replaceFirst("\\.[^.]+$", ""));
+            // La galería solo descarga miniaturas; la imagen completa se pide al hacer click
+            String miniatura = miniaturas.get(partes[0]);
+            String fuente = miniatura != null ? escaparHtml(miniatura)
+                : "data:image/svg+xml,<svg xmlns=&quot;http://www.w3.org/2000/svg&quot; width=&quot;300&quot; height=&quot;200&quot;><rect width=&quot;100%&quot; height=&quot;100%&quot; fill=&quot;%23f0f0f0&quot;/><text x=&quot;50%&quot; y=&quot;50%&quot; text-anchor=&quot;middle&quot; dy=&quot;.3em&quot; font-family=&quot;Arial&quot; font-size=&quot;14&quot; fill=&quot;%23666&quot;>📸 " + descripcion + "</text></svg>";
             
-            sb.append(String.format("""
+            salida.write(String.format("""
                 <div class="evidence-item">
-                    <img src="../capturas/%s" alt="%s" onerror="this.src='data:image/svg+xml,<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"300\" height=\"200\"><rect width=\"100%%\" height=\"100%%\" fill=\"%%23f0f0f0\"/><text x=\"50%%\" y=\"50%%\" text-anchor=\"middle\" dy=\".3em\" font-family=\"Arial\" font-size=\"14\" fill=\"%%23666\">📸 %s</text></svg>'">
+                    <a href="../capturas/%s" class="ampliar"><img src="%s" alt="%s" loading="lazy" decoding="async"></a>
                     <div class="caption">
                         <h4>%s</h4>
                         <p><strong>Archivo:</strong> %s</p>
                     </div>
                 </div>
-            """, archivo, descripcion, descripcion, descripcion, archivo));
+            """, archivo, fuente, descripcion, descripcion, archivo));
         }
         
-        sb.append("""
+        salida.write("""
             </div>
             
+            <div class="visor" id="visor" hidden><img alt="Captura completa"></div>
+            <script>
+                (function () {
+                    var visor = document.getElementById('visor');
+                    var imagen = visor.querySelector('img');
+                    document.addEventListener('click', function (evento) {
+                        var enlace = evento.target.closest('a.ampliar');
+                        if (enlace) {
+                            evento.preventDefault();
+                            imagen.src = enlace.href;
+                            visor.hidden = false;
+                        } else if (evento.target.closest('#visor')) {
+                            visor.hidden = true;
+                            imagen.removeAttribute('src');
+                        }
+                    });
+                })();
+            </script>
+            
             <div class="highlight">
                 <h3>📋 Tipos de Evidencias Capturadas</h3>
                 <ul>
@@ -670,8 +1131,6 @@ public class GeneradorReporteHTML {
             </div>
         </div>
         """);
-        
-        return sb.toString();
     }
     
     /**
@@ -760,6 +1219,74 @@ public class GeneradorReporteHTML {
     // MÉTODOS AUXILIARES
     // ================================
     
+    /**
+     * Recopila los datos una sola vez, aunque se escriba el reporte varias veces
+     */
+    private void prepararDatos() {
+        if (!datosPreparados) {
+            recopilarCasosPrueba();
+            recopilarCapturas();
+            generarMiniaturas();
+            calcularEstadisticas();
+            datosPreparados = true;
+        }
+    }
+    
+    private CompletableFuture<FragmentosHTML> generarEnParalelo(Seccion seccion) {
+        return CompletableFuture.supplyAsync(() -> {
+            FragmentosHTML fragmentos = new FragmentosHTML();
+            try {
+                seccion.escribir(fragmentos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return fragmentos;
+        });
+    }
+    
+    /**
+     * Espera a que la sección esté generada y la escribe, liberando cada fragmento escrito
+     */
+    private void volcar(CompletableFuture<FragmentosHTML> seccion, Writer salida) throws IOException {
+        try {
+            seccion.join().volcarEn(salida);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static String escaparHtml(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        StringBuilder escapado = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            String reemplazo = switch (c) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (reemplazo != null && escapado == null) {
+                escapado = new StringBuilder(texto.length() + 16).append(texto, 0, i);
+            }
+            if (escapado != null) {
+                if (reemplazo != null) {
+                    escapado.append(reemplazo);
+                } else {
+                    escapado.append(c);
+                }
+            }
+        }
+        return escapado == null ? texto : escapado.toString();
+    }
+    
     private void crearDirectorioReportes() {
         try {
             Path path = Paths.get(DIRECTORIO_REPORTES);
@@ -772,12 +1299,22 @@ public class GeneradorReporteHTML {
     }
     
     private void recopilarCasosPrueba() {
-        // Simular casos ejecutados para el reporte
-        casosEjecutados.add(new CasoPrueba("LOGIN_REAL_001", "Login exitoso", "PASSED", "✅"));
-        casosEjecutados.add(new CasoPrueba("LOGIN_NEG_001", "Username incorrecto", "PASSED", "✅"));
-        casosEjecutados.add(new CasoPrueba("LOGIN_SEC_001", "SQL Injection", "PASSED", "🛡️"));
-        casosEjecutados.add(new CasoPrueba("REG_001", "Registro exitoso", "PASSED", "✅"));
-        casosEjecutados.add(new CasoPrueba("REG_NEG_001", "Email inválido", "PASSED", "❌"));
+        if (!casosEjecutados.isEmpty()) {
+            return;
+        }
+        // Resultados de esta JVM o, si las pruebas corrieron en otro proceso, los guardados al terminar la suite
+        List<ResultadoPrueba> resultados = RegistroResultados.obtenerInstancia().obtenerResultados();
+        if (resultados.isEmpty()) {
+            resultados = RegistroResultados.cargar(RegistroResultados.obtenerRutaArchivo());
+        }
+        if (!resultados.isEmpty()) {
+            agregarResultados(resultados);
+            return;
+        }
+        
+        // Sin ejecución registrada el reporte queda vacío y lo indica (ver construirCasosPrueba)
+        logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+            "No hay resultados registrados; el reporte se genera sin casos de prueba"));
     }
     
     private void recopilarCapturas() {
@@ -787,14 +1324,47 @@ public class GeneradorReporteHTML {
             if (Files.exists(capturasPath)) {
                 Files.walk(capturasPath)
                     .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".png"))
-                    .forEach(path -> capturas.add(path.getFileName().toString()));
+                    .filter(path -> path.toString().endsWith(".png") || path.toString().endsWith(".jpg"))
+                    // El almacén por contenido solo guarda los originales de las referencias
+                    .filter(path -> !path.getParent().endsWith(EscritorCapturas.DIRECTORIO_CONTENIDO))
+                    .forEach(path -> capturas.add(capturasPath.relativize(path).toString().replace('\\', '/')));
             }
         } catch (IOException e) {
             logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Error recopilando capturas: " + e.getMessage()));
         }
     }
     
+    /**
+     * Crea (o reutiliza) las miniaturas de las capturas que existen en disco
+     * y elimina las que ya no corresponden a ninguna
+     */
+    private void generarMiniaturas() {
+        Path directorioCapturas = Paths.get(DIRECTORIO_CAPTURAS);
+        List<Path> archivos = new ArrayList<>();
+        Map<Path, String> capturaPorArchivo = new HashMap<>();
+        for (String captura : capturas) {
+            Path archivo = directorioCapturas.resolve(captura);
+            if (Files.isRegularFile(archivo)) {
+                archivos.add(archivo);
+                capturaPorArchivo.put(archivo, captura);
+            }
+        }
+        
+        try {
+            GeneradorMiniaturas generador = new GeneradorMiniaturas(
+                Paths.get(DIRECTORIO_REPORTES, GeneradorMiniaturas.DIRECTORIO_MINIATURAS),
+                ConfiguracionGlobal.obtenerInstancia().obtenerAnchoMiniatura());
+            Map<Path, Path> generadas = archivos.isEmpty() ? Map.of() : generador.generar(archivos);
+            generadas.forEach((archivo, miniatura) -> miniaturas.put(
+                capturaPorArchivo.get(archivo), GeneradorMiniaturas.DIRECTORIO_MINIATURAS + "/" + miniatura.getFileName()));
+            // Las capturas que borró la retención de evidencias dejan miniaturas sin referencia
+            generador.eliminarHuerfanas(generadas.values());
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(generador.generarResumen()));
+        } catch (IOException e) {
+            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Error generando miniaturas: " + e.getMessage()));
+        }
+    }
+    
     private void calcularEstadisticas() {
         estadisticas.totalCasos = casosEjecutados.size();
         estadisticas.casosExitosos = (int) casosEjecutados.stream().filter(c -> "PASSED".equals(c.estado)).count();
@@ -814,13 +1384,96 @@ public class GeneradorReporteHTML {
         String id;
         String descripcion;
         String estado;
-        String icono;
+        String detalle;
+        String evidencia;
+        long duracionMs = -1;
+        List<String> grupos = List.of();
+        String datos;
+        List<String> capturas = List.of();
         
-        CasoPrueba(String id, String descripcion, String estado, String icono) {
+        CasoPrueba(String id, String descripcion, String estado, String detalle, String evidencia) {
             this.id = id;
             this.descripcion = descripcion;
             this.estado = estado;
-            this.icono = icono;
+            this.detalle = detalle;
+            this.evidencia = evidencia;
+        }
+        
+        static CasoPrueba desde(ResultadoPrueba resultado) {
+            String descripcion = resultado.descripcion() == null || resultado.descripcion().isBlank()
+                ? resultado.metodo() : resultado.descripcion();
+            CasoPrueba caso = new CasoPrueba(resultado.identificador(), descripcion, resultado.estado(),
+                null, resultado.error());
+            caso.duracionMs = resultado.duracionMs();
+            caso.grupos = resultado.grupos();
+            caso.datos = resultado.datos();
+            caso.capturas = resultado.evidencias().stream()
+                .map(ruta -> Paths.get(ruta).getFileName().toString())
+                .toList();
+            return caso;
+        }
+    }
+    
+    /**
+     * Sección del reporte que se escribe en un flujo
+     */
+    @FunctionalInterface
+    private interface Seccion {
+        void escribir(Writer salida) throws IOException;
+    }
+    
+    /**
+     * Destino en memoria de una sección generada en paralelo: fragmentos de
+     * tamaño acotado que se vuelcan en orden y se liberan al escribirse
+     */
+    private static final class FragmentosHTML extends Writer {
+        private static final int TAMANO_FRAGMENTO = 16 * 1024;
+        private final List<StringBuilder> fragmentos = new ArrayList<>();
+        private StringBuilder actual;
+        
+        @Override
+        public void write(char[] texto, int inicio, int longitud) {
+            while (longitud > 0) {
+                if (actual == null || actual.length() >= TAMANO_FRAGMENTO) {
+                    actual = new StringBuilder(TAMANO_FRAGMENTO);
+                    fragmentos.add(actual);
+                }
+                int cantidad = Math.min(longitud, TAMANO_FRAGMENTO - actual.length());
+                actual.append(texto, inicio, cantidad);
+                inicio += cantidad;
+                longitud -= cantidad;
+            }
+        }
+        
+        @Override
+        public void write(String texto, int inicio, int longitud) {
+            while (longitud > 0) {
+                if (actual == null || actual.length() >= TAMANO_FRAGMENTO) {
+                    actual = new StringBuilder(TAMANO_FRAGMENTO);
+                    fragmentos.add(actual);
+                }
+                int cantidad = Math.min(longitud, TAMANO_FRAGMENTO - actual.length());
+                actual.append(texto, inicio, inicio + cantidad);
+                inicio += cantidad;
+                longitud -= cantidad;
+            }
+        }
+        
+        void volcarEn(Writer salida) throws IOException {
+            for (int i = 0; i < fragmentos.size(); i++) {
+                salida.append(fragmentos.get(i));
+                fragmentos.set(i, null);
+            }
+            fragmentos.clear();
+            actual = null;
+        }
+        
+        @Override
+        public void flush() {
+        }
+        
+        @Override
+        public void close() {
         }
     }
     
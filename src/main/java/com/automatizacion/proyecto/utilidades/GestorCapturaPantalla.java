@@ -1,6 +1,7 @@
 package com.automatizacion.proyecto.utilidades;
 
 import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.automatizacion.proyecto.enums.ModoCaptura;
 import com.automatizacion.proyecto.enums.TipoMensaje;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
@@ -11,13 +12,8 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
@@ -31,6 +27,14 @@ import java.time.format.DateTimeFormatter;
  * - Validación de elementos visibles en formularios
  * - Capturas específicas para login exitoso/fallido
  * - Integración con Allure Reports
+ * - Esperas acotadas al PresupuestoEspera de la acción en curso
+ * - Escritura en disco y en Allure en segundo plano (EscritorCapturas): el hilo
+ *   de prueba solo ejecuta el comando de captura y recibe la ruta ya asignada
+ * - Recodificación según formato.captura y capturas.calidad fuera del hilo de
+ *   prueba; las capturas de error se guardan siempre como PNG sin pérdida
+ * - Página completa (capturas.modo=PAGINA_COMPLETA) y recorte exacto de
+ *   elementos en un único comando vía CapturaNativa, sin scroll ni pausas; en
+ *   navegadores sin esa capacidad se usa la captura estándar
  * 
  * Principios aplicados:
  * - Single Responsibility: Solo maneja capturas
@@ -47,11 +51,13 @@ public final class GestorCapturaPantalla {
     private static final Logger logger = LoggerFactory.getLogger(GestorCapturaPantalla.class);
     private static final ConfiguracionGlobal config = ConfiguracionGlobal.obtenerInstancia();
     
-    // Constantes para timing de capturas
+    // Pausas fijas que antes precedían a las capturas (se contabilizan como ahorro)
     private static final int ESPERA_ANTES_CAPTURA_MS = 1000;
     private static final int ESPERA_FORMULARIO_MS = 2000;
     private static final int TIMEOUT_ELEMENTO_SEG = 5;
     
+    private static final DateTimeFormatter FORMATO_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    
     // Constructor privado para clase utilitaria
     private GestorCapturaPantalla() {
         throw new UnsupportedOperationException("Clase utilitaria - no debe ser instanciada");
@@ -72,20 +78,20 @@ public final class GestorCapturaPantalla {
         
         try {
             // CRÍTICO: Esperar a que el formulario esté presente y visible
-            WebDriverWait espera = new WebDriverWait(driver, java.time.Duration.ofSeconds(TIMEOUT_ELEMENTO_SEG));
+            WebDriverWait espera = new WebDriverWait(driver, PresupuestoEspera.limitar(java.time.Duration.ofSeconds(TIMEOUT_ELEMENTO_SEG)));
             
             if (formularioSelector != null && !formularioSelector.isEmpty()) {
-                WebElement formulario = espera.until(
+                espera.until(
                     ExpectedConditions.visibilityOfElementLocated(
                         org.openqa.selenium.By.cssSelector(formularioSelector)));
                 
-                // Esperar un momento para que se rendericen los datos
-                Thread.sleep(ESPERA_FORMULARIO_MS);
+                // Esperar a que se rendericen los datos
+                esperarRenderizado(driver, ESPERA_FORMULARIO_MS);
                 
                 logger.debug(TipoMensaje.DEBUG.formatearMensaje("Formulario visible y datos cargados"));
             } else {
                 // Espera genérica si no hay selector específico
-                Thread.sleep(ESPERA_ANTES_CAPTURA_MS);
+                esperarRenderizado(driver, ESPERA_ANTES_CAPTURA_MS);
             }
             
             // Realizar la captura
@@ -117,14 +123,14 @@ public final class GestorCapturaPantalla {
         try {
             // Esperar a que aparezca el elemento de resultado
             if (selectorResultado != null && !selectorResultado.isEmpty()) {
-                WebDriverWait espera = new WebDriverWait(driver, java.time.Duration.ofSeconds(TIMEOUT_ELEMENTO_SEG));
+                WebDriverWait espera = new WebDriverWait(driver, PresupuestoEspera.limitar(java.time.Duration.ofSeconds(TIMEOUT_ELEMENTO_SEG)));
                 
                 try {
                     espera.until(ExpectedConditions.presenceOfElementLocated(
                         org.openqa.selenium.By.cssSelector(selectorResultado)));
                     
                     // Espera adicional para animaciones/transiciones
-                    Thread.sleep(ESPERA_ANTES_CAPTURA_MS);
+                    esperarRenderizado(driver, ESPERA_ANTES_CAPTURA_MS);
                     
                     logger.debug(TipoMensaje.DEBUG.formatearMensaje("Elemento de resultado encontrado"));
                 } catch (Exception e) {
@@ -143,14 +149,57 @@ public final class GestorCapturaPantalla {
     }
     
     /**
-     * Captura pantalla completa con manejo de errores robusto
-     * MEJORADO: Mejor manejo de archivos y directorios
+     * Captura pantalla completa. En el hilo de prueba solo se ejecuta el comando
+     * de captura; el archivo y el adjunto de Allure los escribe EscritorCapturas.
+     * Abarca la ventana o la página entera según capturas.modo.
      * 
      * @param driver WebDriver activo
      * @param nombreArchivo nombre del archivo sin extensión
-     * @return ruta completa del archivo guardado
+     * @return ruta completa asignada al archivo (se escribe en segundo plano)
      */
     public static String capturarPantallaCompleta(WebDriver driver, String nombreArchivo) {
+        return capturarPantalla(driver, nombreArchivo, CodificadorCapturas.desdeConfiguracion(),
+            config.obtenerModoCaptura());
+    }
+    
+    /**
+     * Captura la página entera en un único comando, sin hacer scroll.
+     * En navegadores sin esa capacidad captura solo la ventana.
+     * 
+     * @param driver WebDriver activo
+     * @param nombreArchivo nombre del archivo sin extensión
+     * @return ruta completa asignada al archivo (se escribe en segundo plano)
+     */
+    public static String capturarPaginaCompleta(WebDriver driver, String nombreArchivo) {
+        return capturarPantalla(driver, nombreArchivo, CodificadorCapturas.desdeConfiguracion(),
+            ModoCaptura.PAGINA_COMPLETA);
+    }
+    
+    /**
+     * Captura pantalla completa conservando el PNG original sin recodificar.
+     * Para evidencias de fallos, donde cada píxel puede importar.
+     * 
+     * @param driver WebDriver activo
+     * @param nombreArchivo nombre del archivo sin extensión
+     * @return ruta completa asignada al archivo (se escribe en segundo plano)
+     */
+    public static String capturarPantallaSinPerdida(WebDriver driver, String nombreArchivo) {
+        return capturarPantalla(driver, nombreArchivo, CodificadorCapturas.sinPerdida(),
+            config.obtenerModoCaptura());
+    }
+    
+    /**
+     * Captura pantalla completa usando el driver de la prueba en curso en este hilo
+     * 
+     * @param nombreArchivo nombre del archivo sin extensión
+     * @return ruta completa del archivo guardado o null si no hay prueba en curso
+     */
+    public static String capturarPantallaCompleta(String nombreArchivo) {
+        return capturarPantallaCompleta(ContextoPrueba.obtenerDriverActual(), nombreArchivo);
+    }
+    
+    private static String capturarPantalla(WebDriver driver, String nombreArchivo,
+                                           CodificadorCapturas codificador, ModoCaptura modo) {
         try {
             // Validar que el driver esté activo
             if (driver == null) {
@@ -158,34 +207,27 @@ public final class GestorCapturaPantalla {
                 return null;
             }
             
-            // Generar nombre único con timestamp
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
-            String nombreCompleto = String.format("%s_%s.%s", 
-                limpiarNombreArchivo(nombreArchivo), 
-                timestamp, 
-                config.obtenerFormatoCaptura().toLowerCase());
-            
-            // Crear directorio si no existe
-            Path directorioBase = Paths.get(config.obtenerRutaCapturas());
-            Files.createDirectories(directorioBase);
-            
-            // Ruta completa del archivo
-            Path rutaCompleta = directorioBase.resolve(nombreCompleto);
-            
-            // Tomar la captura
-            TakesScreenshot screenshot = (TakesScreenshot) driver;
-            byte[] screenshotBytes = screenshot.getScreenshotAs(OutputType.BYTES);
+            // Tomar la captura: página entera en un comando si el navegador lo permite
+            byte[] screenshotBytes = modo.esPaginaCompleta() ? CapturaNativa.capturarPaginaCompleta(driver) : null;
+            if (screenshotBytes == null) {
+                screenshotBytes = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            }
             
-            // Guardar archivo
-            Files.write(rutaCompleta, screenshotBytes);
+            // Entregar al escritor con la ruta ya asignada; la codificación ocurre allí
+            Path rutaCompleta = asignarRuta(nombreArchivo, "", codificador);
+            EscritorCapturas.obtenerInstancia().encolar(
+                screenshotBytes, rutaCompleta, rutaCompleta.getFileName().toString(), codificador);
             
-            // Adjuntar a Allure Report
-            adjuntarAAllure(screenshotBytes, nombreCompleto);
+            logger.info(TipoMensaje.EXITO.formatearMensaje("Captura encolada: " + rutaCompleta));
             
-            logger.info(TipoMensaje.EXITO.formatearMensaje(
-                "Captura guardada: " + rutaCompleta.toAbsolutePath()));
+            // Registrar la evidencia en la prueba en curso de este hilo
+            String rutaAbsoluta = rutaCompleta.toString();
+            ContextoPrueba contexto = ContextoPrueba.actual();
+            if (contexto != null) {
+                contexto.registrarEvidencia(rutaAbsoluta);
+            }
             
-            return rutaCompleta.toAbsolutePath().toString();
+            return rutaAbsoluta;
             
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje(
@@ -210,7 +252,7 @@ public final class GestorCapturaPantalla {
         logger.error(TipoMensaje.ERROR.formatearMensaje(
             "Capturando pantalla de error para: " + nombrePrueba));
         
-        String ruta = capturarPantallaCompleta(driver, nombreArchivo);
+        String ruta = capturarPantallaSinPerdida(driver, nombreArchivo);
         
         // Log adicional del error
         logger.error(TipoMensaje.ERROR.formatearMensaje(
@@ -220,23 +262,32 @@ public final class GestorCapturaPantalla {
     }
     
     /**
-     * Adjunta captura de pantalla a Allure Report
+     * Asigna la ruta absoluta de una captura con un timestamp único
      * 
-     * @param screenshotBytes bytes de la captura
-     * @param nombreArchivo nombre del archivo
+     * @param nombreArchivo nombre base del archivo
+     * @param sufijo texto que se agrega antes del timestamp
+     * @param codificador codificador que determina la extensión
+     * @return ruta absoluta dentro del directorio de capturas
      */
-    @Attachment(value = "Captura de Pantalla: {nombreArchivo}", type = "image/png")
-    private static byte[] adjuntarAAllure(byte[] screenshotBytes, String nombreArchivo) {
-        try {
-            // Adjuntar como attachment de Allure
-            Allure.addAttachment(nombreArchivo, "image/png", new ByteArrayInputStream(screenshotBytes), "png");
-            logger.debug(TipoMensaje.DEBUG.formatearMensaje("Captura adjuntada a Allure: " + nombreArchivo));
-            return screenshotBytes;
-        } catch (Exception e) {
-            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
-                "Error al adjuntar a Allure: " + e.getMessage()));
-            return screenshotBytes;
-        }
+    private static Path asignarRuta(String nombreArchivo, String sufijo, CodificadorCapturas codificador) {
+        String nombreCompleto = String.format("%s%s_%s%s", 
+            limpiarNombreArchivo(nombreArchivo), 
+            sufijo,
+            LocalDateTime.now().format(FORMATO_TIMESTAMP), 
+            codificador.obtenerExtension());
+        return Paths.get(config.obtenerRutaCapturas()).toAbsolutePath().resolve(nombreCompleto);
+    }
+    
+    /**
+     * Espera a que la página deje de cambiar, en lugar de una pausa fija
+     * 
+     * @param driver WebDriver activo
+     * @param pausaFijaReemplazadaMs pausa fija que sustituye
+     */
+    private static void esperarRenderizado(WebDriver driver, long pausaFijaReemplazadaMs) {
+        long inicio = System.currentTimeMillis();
+        new EsperaExplicita(driver, TIMEOUT_ELEMENTO_SEG).esperarDomEstable();
+        EsperaExplicita.registrarPausaReemplazada(pausaFijaReemplazadaMs, System.currentTimeMillis() - inicio);
     }
     
     /**
@@ -280,35 +331,25 @@ public final class GestorCapturaPantalla {
                 return capturarPantallaCompleta(driver, nombreArchivo + "_elemento_no_visible");
             }
             
-            // Scroll al elemento si es necesario
-            ((org.openqa.selenium.JavascriptExecutor) driver)
-                .executeScript("arguments[0].scrollIntoView(true);", elemento);
-            
-            Thread.sleep(500); // Esperar a que termine el scroll
-            
-            // Capturar el elemento específico
-            byte[] screenshotBytes = elemento.getScreenshotAs(OutputType.BYTES);
-            
-            // Generar nombre y ruta
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String nombreCompleto = String.format("%s_elemento_%s.%s", 
-                limpiarNombreArchivo(nombreArchivo), 
-                timestamp, 
-                config.obtenerFormatoCaptura().toLowerCase());
-            
-            // Crear directorio y guardar
-            Path directorioBase = Paths.get(config.obtenerRutaCapturas());
-            Files.createDirectories(directorioBase);
-            Path rutaCompleta = directorioBase.resolve(nombreCompleto);
-            Files.write(rutaCompleta, screenshotBytes);
+            // Recorte exacto del elemento sin mover la página (Chrome/Edge)
+            byte[] screenshotBytes = CapturaNativa.capturarElemento(driver, elemento);
+            if (screenshotBytes == null) {
+                // Scroll instantáneo: no hay animación que esperar
+                ((org.openqa.selenium.JavascriptExecutor) driver)
+                    .executeScript("arguments[0].scrollIntoView({block: 'center', behavior: 'instant'});", elemento);
+                screenshotBytes = elemento.getScreenshotAs(OutputType.BYTES);
+            }
             
-            // Adjuntar a Allure
-            adjuntarAAllure(screenshotBytes, nombreCompleto);
+            // Entregar al escritor con la ruta ya asignada
+            CodificadorCapturas codificador = CodificadorCapturas.desdeConfiguracion();
+            Path rutaCompleta = asignarRuta(nombreArchivo, "_elemento", codificador);
+            EscritorCapturas.obtenerInstancia().encolar(
+                screenshotBytes, rutaCompleta, rutaCompleta.getFileName().toString(), codificador);
             
             logger.info(TipoMensaje.EXITO.formatearMensaje(
-                "Captura de elemento guardada: " + rutaCompleta.toAbsolutePath()));
+                "Captura de elemento encolada: " + rutaCompleta));
             
-            return rutaCompleta.toAbsolutePath().toString();
+            return rutaCompleta.toString();
             
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje(
@@ -345,8 +386,7 @@ public final class GestorCapturaPantalla {
             // 1. Capturar formulario lleno (ANTES de enviar)
             resultado.rutaFormulario = capturarFormularioLogin(driver, nombreCaso, formularioSelector);
             
-            // 2. Pequeña pausa para procesar el envío
-            Thread.sleep(1000);
+            // 2. La espera del resultado la hace capturarResultadoLogin
             
             // 3. Capturar resultado (DESPUÉS de enviar)
             resultado.rutaResultado = capturarResultadoLogin(driver, nombreCaso, loginExitoso, resultadoSelector);
@@ -367,43 +407,17 @@ public final class GestorCapturaPantalla {
     }
     
     /**
-     * Limpia capturas antiguas para mantener el espacio en disco
+     * Limpia capturas antiguas para mantener el espacio en disco.
+     * Elimina ejecuciones completas según el índice de RetencionEvidencias,
+     * sin recorrer el directorio de capturas.
      * 
      * @param diasAntiguedad días de antigüedad para eliminar
      * @return número de archivos eliminados
      */
     public static int limpiarCapturasAntiguas(int diasAntiguedad) {
         try {
-            Path directorioBase = Paths.get(config.obtenerRutaCapturas());
-            if (!Files.exists(directorioBase)) {
-                return 0;
-            }
-            
-            long tiempoLimite = System.currentTimeMillis() - (diasAntiguedad * 24L * 60L * 60L * 1000L);
-            int archivosEliminados = 0;
-            
-            try (var stream = Files.walk(directorioBase)) {
-                var archivosAntiguos = stream
-                    .filter(Files::isRegularFile)
-                    .filter(path -> {
-                        try {
-                            return Files.getLastModifiedTime(path).toMillis() < tiempoLimite;
-                        } catch (IOException e) {
-                            return false;
-                        }
-                    })
-                    .toList();
-                
-                for (Path archivo : archivosAntiguos) {
-                    try {
-                        Files.delete(archivo);
-                        archivosEliminados++;
-                    } catch (IOException e) {
-                        logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
-                            "No se pudo eliminar archivo: " + archivo));
-                    }
-                }
-            }
+            int archivosEliminados = RetencionEvidencias.obtenerInstancia()
+                .eliminarAnterioresA(java.time.Duration.ofDays(diasAntiguedad));
             
             logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(
                 "Limpieza completada. Archivos eliminados: " + archivosEliminados));
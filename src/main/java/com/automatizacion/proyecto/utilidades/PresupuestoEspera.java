@@ -0,0 +1,216 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Presupuesto de tiempo compartido por todas las esperas de una acción.
+ *
+ * Una acción de alto nivel (p. ej. realizarLoginCompleto) abre un presupuesto
+ * con un plazo; las esperas anidadas (PaginaBase, EsperaExplicita,
+ * GestorCapturaPantalla) recortan su timeout al tiempo restante en lugar de
+ * sumar cada una el suyo, de modo que un paso que falla lo hace en el plazo
+ * de la acción y no en la suma de todos los timeouts.
+ *
+ * Los presupuestos se anidan: un paso interno nunca puede terminar después
+ * que la acción que lo contiene. Al cerrar un paso que excedió su plazo se
+ * registra el exceso para poder ajustar los presupuestos.
+ *
+ * Uso:
+ * <pre>
+ * try (PresupuestoEspera paso = PresupuestoEspera.iniciar("login", Duration.ofSeconds(30))) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * Principios aplicados:
+ * - Thread Confinement: Un presupuesto activo por hilo vía ThreadLocal
+ * - Fail-Fast: Sin tiempo restante las esperas terminan de inmediato
+ * - Transparencia: Sin presupuesto activo las esperas usan su timeout habitual
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class PresupuestoEspera implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresupuestoEspera.class);
+
+    private static final ThreadLocal<PresupuestoEspera> PRESUPUESTO_HILO = new ThreadLocal<>();
+    private static final Map<String, ExcesoPaso> EXCESOS = new ConcurrentHashMap<>();
+
+    // Margen por debajo del cual un exceso se considera ruido (logging, cierre de scripts)
+    private static final long TOLERANCIA_EXCESO_MS = 100;
+
+    private final String paso;
+    private final long asignadoMs;
+    private final long inicioNanos;
+    private final long limiteNanos;
+    private final PresupuestoEspera padre;
+    private boolean cerrado;
+
+    private PresupuestoEspera(String paso, Duration duracion, PresupuestoEspera padre) {
+        this.paso = paso;
+        this.padre = padre;
+        this.inicioNanos = System.nanoTime();
+
+        long limitePropio = inicioNanos + duracion.toNanos();
+        this.limiteNanos = padre != null ? Math.min(limitePropio, padre.limiteNanos) : limitePropio;
+        this.asignadoMs = Math.max(0, (limiteNanos - inicioNanos) / 1_000_000);
+    }
+
+    // === CICLO DE VIDA ===
+
+    /**
+     * Abre un presupuesto para un paso en el hilo actual. Si ya hay uno activo,
+     * el nuevo queda acotado por el tiempo restante del exterior.
+     *
+     * @param paso nombre del paso (se usa para agrupar los excesos)
+     * @param duracion plazo del paso
+     * @return presupuesto abierto; debe cerrarse (try-with-resources)
+     */
+    public static PresupuestoEspera iniciar(String paso, Duration duracion) {
+        PresupuestoEspera presupuesto = new PresupuestoEspera(paso, duracion, PRESUPUESTO_HILO.get());
+        PRESUPUESTO_HILO.set(presupuesto);
+        logger.debug("Presupuesto de espera '{}' iniciado: {} ms", paso, presupuesto.asignadoMs);
+        return presupuesto;
+    }
+
+    /**
+     * Cierra el paso, restaura el presupuesto exterior y registra el exceso
+     * si el paso terminó después de su plazo
+     */
+    @Override
+    public void close() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+
+        if (PRESUPUESTO_HILO.get() == this) {
+            if (padre != null) {
+                PRESUPUESTO_HILO.set(padre);
+            } else {
+                PRESUPUESTO_HILO.remove();
+            }
+        }
+
+        long usadoMs = (System.nanoTime() - inicioNanos) / 1_000_000;
+        long excesoMs = usadoMs - asignadoMs;
+        if (excesoMs > TOLERANCIA_EXCESO_MS) {
+            EXCESOS.computeIfAbsent(paso, clave -> new ExcesoPaso()).registrar(excesoMs);
+            logger.warn("Paso '{}' excedió su presupuesto de espera: {} ms usados de {} ms", paso, usadoMs, asignadoMs);
+        }
+    }
+
+    // === CONSUMO DEL PRESUPUESTO ===
+
+    /**
+     * Acota un timeout al tiempo restante del presupuesto activo
+     * @param solicitado timeout que usaría la espera por sí sola
+     * @return el menor entre el solicitado y el restante (el solicitado si no hay presupuesto)
+     */
+    public static Duration limitar(Duration solicitado) {
+        return Duration.ofMillis(limitarMs(solicitado.toMillis()));
+    }
+
+    /**
+     * Acota un timeout en milisegundos al tiempo restante del presupuesto activo
+     * @param solicitadoMs timeout que usaría la espera por sí sola
+     * @return el menor entre el solicitado y el restante (el solicitado si no hay presupuesto)
+     */
+    public static long limitarMs(long solicitadoMs) {
+        PresupuestoEspera actual = PRESUPUESTO_HILO.get();
+        if (actual == null) {
+            return solicitadoMs;
+        }
+        return Math.min(solicitadoMs, actual.restanteMs());
+    }
+
+    /**
+     * Indica si el presupuesto activo ya no tiene tiempo restante
+     * @return true si hay presupuesto y está agotado
+     */
+    public static boolean estaAgotado() {
+        PresupuestoEspera actual = PRESUPUESTO_HILO.get();
+        return actual != null && actual.restanteMs() <= 0;
+    }
+
+    /**
+     * Falla de inmediato si el presupuesto activo está agotado. Se usa antes de
+     * reintentos que, sin tiempo restante, solo retrasarían el fallo.
+     *
+     * @throws TimeoutException si el presupuesto está agotado
+     */
+    public static void verificarDisponible() {
+        PresupuestoEspera actual = PRESUPUESTO_HILO.get();
+        if (actual != null && actual.restanteMs() <= 0) {
+            throw new TimeoutException("Presupuesto de espera agotado en el paso '" + actual.paso
+                + "' (" + actual.asignadoMs + " ms)");
+        }
+    }
+
+    /**
+     * Pausa acotada al presupuesto activo
+     * @param milisegundos pausa solicitada
+     * @throws InterruptedException si el hilo es interrumpido
+     */
+    public static void dormir(long milisegundos) throws InterruptedException {
+        long pausa = limitarMs(milisegundos);
+        if (pausa > 0) {
+            Thread.sleep(pausa);
+        }
+    }
+
+    private long restanteMs() {
+        return Math.max(0, (limiteNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    // === MÉTRICAS ===
+
+    /**
+     * Genera un resumen de los pasos que excedieron su presupuesto
+     * @return string con el resumen, ordenado por nombre de paso
+     */
+    public static String generarResumen() {
+        if (EXCESOS.isEmpty()) {
+            return "Presupuestos de espera - Ningún paso excedió su plazo";
+        }
+        StringBuilder resumen = new StringBuilder("Presupuestos de espera excedidos:");
+        new TreeMap<>(EXCESOS).forEach((paso, exceso) -> resumen.append(String.format(
+            "%n  %s: %d veces, exceso total %d ms, máximo %d ms",
+            paso, exceso.veces.sum(), exceso.totalMs.sum(), exceso.maximoMs.get())));
+        return resumen.toString();
+    }
+
+    /**
+     * Olvida los excesos registrados
+     */
+    public static void reiniciarMetricas() {
+        EXCESOS.clear();
+    }
+
+    /**
+     * Excesos acumulados de un paso
+     */
+    private static final class ExcesoPaso {
+        private final LongAdder veces = new LongAdder();
+        private final LongAdder totalMs = new LongAdder();
+        private final AtomicLong maximoMs = new AtomicLong();
+
+        private void registrar(long excesoMs) {
+            veces.increment();
+            totalMs.add(excesoMs);
+            maximoMs.accumulateAndGet(excesoMs, Math::max);
+        }
+    }
+}
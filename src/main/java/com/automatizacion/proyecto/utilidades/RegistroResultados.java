@@ -0,0 +1,182 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Almacén de los resultados de la ejecución en curso.
+ *
+ * EscuchaResultadosTestNG registra aquí cada prueba al terminar, desde el
+ * hilo que la ejecutó. El registro no usa bloqueos: una cola enlazada
+ * concurrente y contadores LongAdder por estado, de modo que los hilos de
+ * parallel="methods" nunca se esperan entre sí.
+ *
+ * ReporteEnVivo agrega cada resultado como una línea JSON a
+ * ruta.reportes/resultados.jsonl a medida que llega, para que
+ * GeneradorReporteHTML y EjecutorFinalEntrega los lean con cargar() aunque
+ * las pruebas corran en otro proceso (o aún no hayan terminado).
+ *
+ * Principios aplicados:
+ * - Singleton: Un único almacén por JVM
+ * - Lock-Free: Registro con estructuras concurrentes sin sincronización
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class RegistroResultados {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegistroResultados.class);
+
+    public static final String ARCHIVO_RESULTADOS = "resultados.jsonl";
+
+    private static final ObjectMapper MAPEADOR = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectReader LECTOR_JSON = MAPEADOR.readerFor(ResultadoPrueba.class);
+
+    private static final RegistroResultados INSTANCIA = new RegistroResultados();
+
+    private final ConcurrentLinkedQueue<ResultadoPrueba> resultados = new ConcurrentLinkedQueue<>();
+    private final LongAdder exitosas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+    private final LongAdder omitidas = new LongAdder();
+
+    /**
+     * Crea un almacén independiente (el de la suite es obtenerInstancia())
+     */
+    public RegistroResultados() {
+    }
+
+    /**
+     * Obtiene el almacén de la ejecución en curso
+     * @return instancia única del almacén
+     */
+    public static RegistroResultados obtenerInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * @return archivo donde se guardan los resultados según ruta.reportes
+     */
+    public static Path obtenerRutaArchivo() {
+        return Paths.get(ConfiguracionGlobal.obtenerInstancia().obtenerRutaReportes(), ARCHIVO_RESULTADOS);
+    }
+
+    // === REGISTRO ===
+
+    /**
+     * Registra el resultado de una prueba; seguro desde cualquier hilo
+     * @param resultado resultado a registrar
+     */
+    public void registrar(ResultadoPrueba resultado) {
+        resultados.offer(resultado);
+        switch (resultado.estado()) {
+            case ResultadoPrueba.FALLIDA -> fallidas.increment();
+            case ResultadoPrueba.OMITIDA -> omitidas.increment();
+            default -> exitosas.increment();
+        }
+    }
+
+    /**
+     * Obtiene los resultados registrados hasta el momento, en orden de llegada
+     * @return copia inmutable de los resultados
+     */
+    public List<ResultadoPrueba> obtenerResultados() {
+        return List.copyOf(resultados);
+    }
+
+    /**
+     * Cuenta los resultados con un estado
+     * @param estado PASSED, FAILED o SKIPPED
+     * @return cantidad registrada
+     */
+    public long contar(String estado) {
+        return switch (estado) {
+            case ResultadoPrueba.EXITOSA -> exitosas.sum();
+            case ResultadoPrueba.FALLIDA -> fallidas.sum();
+            case ResultadoPrueba.OMITIDA -> omitidas.sum();
+            default -> 0;
+        };
+    }
+
+    /**
+     * @return cantidad total de resultados registrados
+     */
+    public long obtenerTotal() {
+        return exitosas.sum() + fallidas.sum() + omitidas.sum();
+    }
+
+    /**
+     * Descarta todos los resultados registrados
+     */
+    public void limpiar() {
+        resultados.clear();
+        exitosas.reset();
+        fallidas.reset();
+        omitidas.reset();
+    }
+
+    // === PERSISTENCIA ===
+
+    /**
+     * Lee resultados en líneas JSON; si una clave se repite vale la última
+     * línea (en la posición de la primera) y las líneas ilegibles se omiten
+     *
+     * @param archivo archivo de líneas JSON
+     * @return resultados leídos, vacío si el archivo no existe
+     */
+    public static List<ResultadoPrueba> cargar(Path archivo) {
+        Map<String, ResultadoPrueba> leidos = new LinkedHashMap<>();
+        if (!Files.isRegularFile(archivo)) {
+            return new ArrayList<>();
+        }
+        try (BufferedReader entrada = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+                try {
+                    ResultadoPrueba resultado = LECTOR_JSON.readValue(linea);
+                    leidos.put(resultado.clave(), resultado);
+                } catch (IOException e) {
+                    logger.warn("Resultado ilegible en {}: {}", archivo, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudieron leer los resultados de {}: {}", archivo, e.getMessage());
+        }
+        return new ArrayList<>(leidos.values());
+    }
+
+    // === RESUMEN ===
+
+    /**
+     * Genera un resumen de los resultados registrados
+     * @return resumen formateado
+     */
+    public String generarResumen() {
+        long total = obtenerTotal();
+        return String.format("Resultados registrados: %d (exitosas: %d, fallidas: %d, omitidas: %d, %.1f%% de éxito)",
+            total, exitosas.sum(), fallidas.sum(), omitidas.sum(),
+            total == 0 ? 0.0 : 100.0 * exitosas.sum() / total);
+    }
+}
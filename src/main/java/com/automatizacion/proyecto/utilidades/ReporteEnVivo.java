@@ -0,0 +1,418 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reporte que se puede abrir en cualquier momento de la ejecución.
+ *
+ * Cada resultado se agrega, en cuanto termina la prueba, a dos archivos de
+ * solo anexado en ruta.reportes:
+ * - resultados.jsonl: una línea JSON por resultado (lo que leen
+ *   GeneradorReporteHTML y EjecutorFinalEntrega con RegistroResultados.cargar)
+ * - resultados-en-vivo.js: las mismas líneas envueltas en resultadoEnVivo(...),
+ *   para que el navegador las cargue como script también desde file://
+ *
+ * reporte-en-vivo.html es un cascarón fijo que se escribe al iniciar: recarga
+ * el script cada pocos segundos y solo dibuja las líneas nuevas. Una línea con
+ * la clave de un resultado anterior lo actualiza (p. ej. al vincular la
+ * captura del fallo). Finalizar solo agrega una marca de cierre: no se
+ * reconstruye nada.
+ *
+ * El hilo de prueba solo encola el resultado; un único hilo anexador lo
+ * serializa y escribe las líneas por lotes, vaciándolas al disco cada
+ * INTERVALO_VACIADO_MS y al finalizar. Cada lote contiene líneas completas,
+ * así que si la JVM termina de forma abrupta el reporte parcial sigue siendo
+ * válido (solo faltan las últimas líneas). La cola es acotada: si se llena,
+ * el hilo de prueba espera a que haya lugar en lugar de acumular resultados
+ * en memoria.
+ *
+ * Principios aplicados:
+ * - Append-Only: Nunca se reescribe una línea ya escrita
+ * - Producer/Consumer: Las pruebas encolan, un solo hilo escribe
+ * - Back-pressure: Cola acotada que frena al productor
+ * - Single Responsibility: Solo mantiene los archivos del reporte en vivo
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class ReporteEnVivo {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReporteEnVivo.class);
+
+    public static final String ARCHIVO_REPORTE = "reporte-en-vivo.html";
+    public static final String ARCHIVO_DATOS = "resultados-en-vivo.js";
+
+    private static final int INTERVALO_RECARGA_MS = 3000;
+    private static final int INTERVALO_VACIADO_MS = 500;
+    private static final int CAPACIDAD_COLA = 4096;
+    // Un lote grande se escribe aunque no haya pasado el intervalo
+    private static final int TAMANO_MAXIMO_LOTE = 256 * 1024;
+    private static final long TIEMPO_MAXIMO_CIERRE_MS = 30_000;
+
+    private static final ObjectMapper MAPEADOR = new ObjectMapper();
+    private static final ObjectWriter ESCRITOR_JSON = MAPEADOR.writerFor(ResultadoPrueba.class);
+
+    private static final ReporteEnVivo INSTANCIA =
+        new ReporteEnVivo(RegistroResultados.obtenerRutaArchivo().toAbsolutePath().getParent());
+
+    private final Path archivoResultados;
+    private final Path archivoDatos;
+    private final Path archivoReporte;
+
+    private final BlockingQueue<Linea> cola = new ArrayBlockingQueue<>(CAPACIDAD_COLA);
+    private final LongAdder esperasColaLlena = new LongAdder();
+
+    // Protegidos por this; los archivos solo los toca el hilo anexador
+    private Thread anexador;
+    private boolean iniciado;
+    private volatile boolean abierto;
+
+    /**
+     * Elemento de la cola: un resultado, la marca de cierre o un pedido de vaciado
+     */
+    private record Linea(ResultadoPrueba resultado, String cierre, CompletableFuture<Void> vaciado) {
+    }
+
+    /**
+     * @param directorio directorio donde se escriben los archivos del reporte
+     */
+    public ReporteEnVivo(Path directorio) {
+        this.archivoResultados = directorio.resolve(RegistroResultados.ARCHIVO_RESULTADOS);
+        this.archivoDatos = directorio.resolve(ARCHIVO_DATOS);
+        this.archivoReporte = directorio.resolve(ARCHIVO_REPORTE);
+    }
+
+    /**
+     * Obtiene el reporte en vivo de la suite, en ruta.reportes
+     * @return instancia única del reporte
+     */
+    public static ReporteEnVivo obtenerInstancia() {
+        return INSTANCIA;
+    }
+
+    // === CICLO DE VIDA ===
+
+    /**
+     * Escribe el cascarón HTML, abre los archivos de datos y arranca el hilo
+     * anexador; la primera vez descarta los resultados de ejecuciones anteriores
+     *
+     * @throws IOException si no se pueden crear los archivos
+     */
+    public synchronized void iniciar() throws IOException {
+        if (anexador != null) {
+            return;
+        }
+        Files.createDirectories(archivoReporte.getParent());
+        StandardOpenOption modo = iniciado ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+        if (!iniciado) {
+            Files.writeString(archivoReporte, construirCascaron(), StandardCharsets.UTF_8);
+        }
+        BufferedWriter salidaResultados = Files.newBufferedWriter(archivoResultados, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, modo);
+        BufferedWriter salidaDatos;
+        try {
+            salidaDatos = Files.newBufferedWriter(archivoDatos, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, modo);
+        } catch (IOException e) {
+            salidaResultados.close();
+            throw e;
+        }
+        iniciado = true;
+        abierto = true;
+        anexador = new Thread(() -> anexar(salidaResultados, salidaDatos), "reporte-en-vivo");
+        anexador.setDaemon(true);
+        anexador.start();
+        logger.info("Reporte en vivo disponible en {}", archivoReporte.toAbsolutePath());
+    }
+
+    /**
+     * Encola un resultado (o su versión actualizada) para los archivos en vivo.
+     * Solo espera si la cola está llena.
+     *
+     * @param resultado resultado de la prueba
+     */
+    public void agregar(ResultadoPrueba resultado) {
+        if (abierto) {
+            encolar(new Linea(resultado, null, null));
+        }
+    }
+
+    /**
+     * Espera a que los resultados encolados hasta el momento estén en disco
+     * @param timeout tiempo máximo de espera
+     * @return true si se escribieron todos a tiempo
+     */
+    public boolean esperarPendientes(Duration timeout) {
+        if (!abierto) {
+            return true;
+        }
+        CompletableFuture<Void> vaciado = new CompletableFuture<>();
+        encolar(new Linea(null, null, vaciado));
+        try {
+            vaciado.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.warn("Quedaron resultados del reporte en vivo sin escribir: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Escribe lo pendiente, marca el reporte como terminado y cierra los archivos
+     * @param resumen texto que muestra el reporte al terminar
+     */
+    public void finalizar(String resumen) {
+        Thread hilo;
+        synchronized (this) {
+            if (anexador == null) {
+                return;
+            }
+            hilo = anexador;
+            anexador = null;
+            abierto = false;
+        }
+        // La marca de cierre va detrás de todo lo encolado antes
+        encolar(new Linea(null, resumen, null));
+        try {
+            hilo.join(TIEMPO_MAXIMO_CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (hilo.isAlive()) {
+            logger.warn("El reporte en vivo no terminó de escribirse tras {} ms", TIEMPO_MAXIMO_CIERRE_MS);
+        }
+        if (esperasColaLlena.sum() > 0) {
+            logger.info("Reporte en vivo: {} resultados esperaron por cola llena", esperasColaLlena.sum());
+        }
+    }
+
+    // === RUTAS ===
+
+    public Path obtenerArchivoReporte() {
+        return archivoReporte;
+    }
+
+    public Path obtenerArchivoDatos() {
+        return archivoDatos;
+    }
+
+    public Path obtenerArchivoResultados() {
+        return archivoResultados;
+    }
+
+    // === MÉTODOS PRIVADOS ===
+
+    private void encolar(Linea linea) {
+        if (cola.offer(linea)) {
+            return;
+        }
+        esperasColaLlena.increment();
+        try {
+            cola.put(linea);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Resultado descartado del reporte en vivo por interrupción");
+        }
+    }
+
+    /**
+     * Bucle del hilo anexador: acumula líneas completas y las escribe por lotes
+     */
+    private void anexar(BufferedWriter salidaResultados, BufferedWriter salidaDatos) {
+        StringBuilder loteResultados = new StringBuilder();
+        StringBuilder loteDatos = new StringBuilder();
+        long ultimoVaciado = System.nanoTime();
+        try (salidaResultados; salidaDatos) {
+            while (true) {
+                Linea linea = cola.poll(INTERVALO_VACIADO_MS, TimeUnit.MILLISECONDS);
+                if (linea != null && linea.resultado() != null) {
+                    agregarLinea(linea.resultado(), loteResultados, loteDatos);
+                }
+                if (linea != null && linea.cierre() != null) {
+                    loteDatos.append("reporteFinalizado(")
+                        .append(MAPEADOR.writeValueAsString(linea.cierre())).append(");\n");
+                    vaciar(loteResultados, salidaResultados, loteDatos, salidaDatos);
+                    return;
+                }
+                boolean vencido = System.nanoTime() - ultimoVaciado >= TimeUnit.MILLISECONDS.toNanos(INTERVALO_VACIADO_MS);
+                if (linea == null || linea.vaciado() != null || vencido || loteDatos.length() >= TAMANO_MAXIMO_LOTE) {
+                    vaciar(loteResultados, salidaResultados, loteDatos, salidaDatos);
+                    ultimoVaciado = System.nanoTime();
+                }
+                if (linea != null && linea.vaciado() != null) {
+                    linea.vaciado().complete(null);
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            logger.warn("El reporte en vivo dejó de actualizarse: {}", e.getMessage());
+        } finally {
+            // Sin hilo anexador nadie consume: se liberan los productores en espera
+            abierto = false;
+            Linea pendiente;
+            while ((pendiente = cola.poll()) != null) {
+                if (pendiente.vaciado() != null) {
+                    pendiente.vaciado().completeExceptionally(new IOException("Reporte en vivo detenido"));
+                }
+            }
+        }
+    }
+
+    private static void agregarLinea(ResultadoPrueba resultado, StringBuilder loteResultados, StringBuilder loteDatos) {
+        String json;
+        try {
+            json = ESCRITOR_JSON.writeValueAsString(resultado);
+        } catch (JsonProcessingException e) {
+            logger.warn("No se pudo serializar el resultado de {}: {}", resultado.identificador(), e.getMessage());
+            return;
+        }
+        loteResultados.append(json).append('\n');
+        loteDatos.append("resultadoEnVivo(").append(json).append(");\n");
+    }
+
+    private static void vaciar(StringBuilder loteResultados, BufferedWriter salidaResultados,
+                               StringBuilder loteDatos, BufferedWriter salidaDatos) throws IOException {
+        if (loteDatos.isEmpty()) {
+            return;
+        }
+        salidaResultados.append(loteResultados);
+        salidaResultados.flush();
+        salidaDatos.append(loteDatos);
+        salidaDatos.flush();
+        loteResultados.setLength(0);
+        loteDatos.setLength(0);
+    }
+
+    private String construirCascaron() {
+        String inicio = LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"));
+        return """
+<!DOCTYPE html>
+<html lang="es">
+<head>
+    <meta charset="UTF-8">
+    <meta name="viewport" content="width=device-width, initial-scale=1.0">
+    <title>Reporte en Vivo - Suite de Automatización Funcional</title>
+    <style>
+        body { font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif; margin: 0; color: #333; background: #f8f9fa; }
+        .header { background: linear-gradient(45deg, #2c3e50, #3498db); color: white; padding: 24px 40px; }
+        .header h1 { margin: 0 0 6px 0; }
+        .resumen { padding: 16px 40px; font-size: 1.1em; }
+        .resumen span { font-weight: bold; }
+        table { width: calc(100%% - 80px); margin: 0 40px 40px 40px; border-collapse: collapse; background: white; }
+        th, td { padding: 6px 10px; border-bottom: 1px solid #e1e4e8; text-align: left; vertical-align: top; }
+        th { background: #2c3e50; color: white; position: sticky; top: 0; }
+        .passed { color: #27ae60; }
+        .failed { color: #e74c3c; }
+        .skipped { color: #f39c12; }
+    </style>
+</head>
+<body>
+    <div class="header">
+        <h1>🧪 Reporte en Vivo</h1>
+        <p>Iniciado el %s · <span id="estado">⏳ Suite en curso (se actualiza cada %d s)</span></p>
+    </div>
+    <div class="resumen">
+        <span id="total">0</span> pruebas ·
+        <span class="passed" id="PASSED">0</span> exitosas ·
+        <span class="failed" id="FAILED">0</span> fallidas ·
+        <span class="skipped" id="SKIPPED">0</span> omitidas
+    </div>
+    <table>
+        <thead><tr><th>Estado</th><th>Prueba</th><th>Duración</th><th>Grupos</th><th>Datos</th><th>Error</th><th>Evidencias</th></tr></thead>
+        <tbody id="casos"></tbody>
+    </table>
+    <script>
+        var ARCHIVO_DATOS = '%s';
+        var INTERVALO_MS = %d;
+        var filas = {};
+        var estados = {};
+        var procesadas = 0;
+        var vistas = 0;
+        var finalizado = false;
+
+        function celda(fila, texto, clase) {
+            var td = fila.insertCell();
+            td.textContent = texto == null ? '' : texto;
+            if (clase) { td.className = clase; }
+        }
+
+        function contar(estado, delta) {
+            var contador = document.getElementById(estado);
+            if (contador) { contador.textContent = Number(contador.textContent) + delta; }
+        }
+
+        // Cada recarga vuelve a ejecutar todas las líneas; solo se dibujan las nuevas
+        function resultadoEnVivo(r) {
+            if (vistas++ < procesadas) { return; }
+            procesadas++;
+            var clave = [r.clase, r.metodo, r.datos, r.hilo, r.inicioMs].join('#');
+            var fila = filas[clave];
+            if (fila) {
+                contar(estados[clave], -1);
+                fila.innerHTML = '';
+            } else {
+                fila = document.getElementById('casos').insertRow();
+                filas[clave] = fila;
+                var total = document.getElementById('total');
+                total.textContent = Number(total.textContent) + 1;
+            }
+            estados[clave] = r.estado;
+            contar(r.estado, 1);
+            celda(fila, r.estado, r.estado.toLowerCase());
+            celda(fila, r.clase.substring(r.clase.lastIndexOf('.') + 1) + '.' + r.metodo
+                + (r.descripcion ? ' - ' + r.descripcion : ''));
+            celda(fila, r.duracionMs + ' ms');
+            celda(fila, r.grupos.join(', '));
+            celda(fila, r.datos);
+            celda(fila, r.error);
+            celda(fila, r.evidencias.map(function (e) { return e.split(/[\\\\/]/).pop(); }).join(', '));
+        }
+
+        function reporteFinalizado(resumen) {
+            if (vistas++ < procesadas) { return; }
+            procesadas++;
+            finalizado = true;
+            document.getElementById('estado').textContent = '✅ Suite finalizada - ' + resumen;
+        }
+
+        function cargar() {
+            vistas = 0;
+            var script = document.createElement('script');
+            script.src = ARCHIVO_DATOS + '?t=' + Date.now();
+            script.onload = script.onerror = function () {
+                script.remove();
+                if (!finalizado) { setTimeout(cargar, INTERVALO_MS); }
+            };
+            document.body.appendChild(script);
+        }
+
+        cargar();
+    </script>
+</body>
+</html>
+""".formatted(inicio, INTERVALO_RECARGA_MS / 1000, ARCHIVO_DATOS, INTERVALO_RECARGA_MS);
+    }
+}
@@ -0,0 +1,63 @@
+package com.automatizacion.proyecto.utilidades;
+
+import java.util.List;
+
+/**
+ * Resultado de una prueba tal como terminó: estado, duración, grupos, fila
+ * de datos y evidencias vinculadas.
+ *
+ * Lo crea EscuchaResultadosTestNG al terminar cada prueba y lo guarda
+ * RegistroResultados; se serializa como una línea JSON. La lista de
+ * evidencias admite agregados concurrentes porque la captura del fallo se
+ * toma después de registrar el resultado.
+ *
+ * Principios aplicados:
+ * - Value Object: Todos los datos se fijan al crearlo (salvo las evidencias)
+ * - Single Responsibility: Solo describe un resultado, no lo calcula
+ *
+ * @param clase nombre completo de la clase de prueba
+ * @param metodo nombre del método de prueba
+ * @param descripcion descripción declarada en @Test (puede ser null)
+ * @param estado PASSED, FAILED o SKIPPED
+ * @param inicioMs instante de inicio en milisegundos de época
+ * @param duracionMs duración de la prueba en milisegundos
+ * @param grupos grupos de TestNG de la prueba
+ * @param datos parámetros de la fila del DataProvider (null sin parámetros)
+ * @param evidencias rutas de capturas y archivos generados por la prueba
+ * @param hilo hilo que ejecutó la prueba
+ * @param error mensaje de la excepción que hizo fallar u omitir la prueba
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public record ResultadoPrueba(String clase, String metodo, String descripcion, String estado,
+                              long inicioMs, long duracionMs, List<String> grupos, String datos,
+                              List<String> evidencias, String hilo, String error) {
+
+    public static final String EXITOSA = "PASSED";
+    public static final String FALLIDA = "FAILED";
+    public static final String OMITIDA = "SKIPPED";
+
+    public ResultadoPrueba {
+        grupos = grupos != null ? grupos : List.of();
+        evidencias = evidencias != null ? evidencias : List.of();
+    }
+
+    /**
+     * Identifica la ejecución concreta (método, fila de datos, hilo e inicio);
+     * una línea posterior con la misma clave actualiza a la anterior
+     * @return clave de la ejecución
+     */
+    public String clave() {
+        return clase + "#" + metodo + "#" + datos + "#" + hilo + "#" + inicioMs;
+    }
+
+    /**
+     * @return clase simple y método, p. ej. PruebasLoginCompletas.testLoginExitoso
+     */
+    public String identificador() {
+        return clase.substring(clase.lastIndexOf('.') + 1) + "." + metodo;
+    }
+}
@@ -0,0 +1,418 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Retención de evidencias con límite de antigüedad y cuota de disco.
+ *
+ * EscritorCapturas registra cada captura escrita en un índice de texto
+ * (ruta.capturas/.retencion/indice.tsv) con su ejecución, fecha y tamaño.
+ * Al iniciar la suite, un hilo en segundo plano lee ese índice (no recorre el
+ * árbol de capturas) y elimina ejecuciones completas:
+ * - las que no registraron nada en limpieza.capturas.dias
+ * - después, las menos recientes hasta quedar dentro de limpieza.cuota.mb
+ *
+ * Los contenidos compartidos de .contenido solo se borran cuando ninguna
+ * ejecución conservada los referencia. La ejecución en curso nunca se borra.
+ * Los logs se limpian por antigüedad (limpieza.logs.dias) listando solo su
+ * directorio. El árbol completo se recorre una única vez, cuando aún no existe
+ * índice, para incorporar las capturas anteriores agrupadas por día.
+ *
+ * Principios aplicados:
+ * - Single Responsibility: Solo decide qué evidencias se conservan
+ * - Incremental: El índice evita recorrer y consultar cada archivo en cada ejecución
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+public final class RetencionEvidencias {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetencionEvidencias.class);
+
+    public static final String DIRECTORIO_INDICE = ".retencion";
+    private static final String ARCHIVO_INDICE = "indice.tsv";
+    private static final String SIN_CONTENIDO = "-";
+    private static final DateTimeFormatter FORMATO_EJECUCION = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+    private static final AtomicInteger SECUENCIA = new AtomicInteger();
+
+    private static final RetencionEvidencias INSTANCIA = desdeConfiguracion();
+
+    private final Path directorioCapturas;
+    private final Path directorioLogs;
+    private final Path archivoIndice;
+    private final Duration edadMaximaCapturas;
+    private final Duration edadMaximaLogs;
+    private final long cuotaBytes;
+    private final String ejecucion;
+    private final long inicioEjecucion = System.currentTimeMillis();
+
+    private final Object cerrojoIndice = new Object();
+    private CompletableFuture<ResumenRetencion> limpieza;
+    private volatile ResumenRetencion ultimoResumen;
+
+    /**
+     * @param directorioCapturas directorio raíz de las capturas
+     * @param directorioLogs directorio de logs (null para no limpiarlos)
+     * @param edadMaximaCapturas antigüedad máxima de una ejecución
+     * @param edadMaximaLogs antigüedad máxima de un archivo de log
+     * @param cuotaBytes tamaño total permitido de las capturas; 0 sin límite
+     */
+    public RetencionEvidencias(Path directorioCapturas, Path directorioLogs, Duration edadMaximaCapturas,
+                               Duration edadMaximaLogs, long cuotaBytes) {
+        this.directorioCapturas = directorioCapturas.toAbsolutePath().normalize();
+        this.directorioLogs = directorioLogs == null ? null : directorioLogs.toAbsolutePath().normalize();
+        this.archivoIndice = this.directorioCapturas.resolve(DIRECTORIO_INDICE).resolve(ARCHIVO_INDICE);
+        this.edadMaximaCapturas = edadMaximaCapturas;
+        this.edadMaximaLogs = edadMaximaLogs;
+        this.cuotaBytes = Math.max(0, cuotaBytes);
+        this.ejecucion = LocalDateTime.now().format(FORMATO_EJECUCION) + "_"
+            + ProcessHandle.current().pid() + "_" + SECUENCIA.incrementAndGet();
+    }
+
+    private static RetencionEvidencias desdeConfiguracion() {
+        ConfiguracionGlobal config = ConfiguracionGlobal.obtenerInstancia();
+        Path archivoLog = Paths.get(config.obtenerArchivoLog()).toAbsolutePath();
+        return new RetencionEvidencias(
+            Paths.get(config.obtenerRutaCapturas()),
+            archivoLog.getParent(),
+            Duration.ofDays(config.obtenerDiasRetencionCapturas()),
+            Duration.ofDays(config.obtenerDiasRetencionLogs()),
+            config.obtenerCuotaEvidenciasMb() * 1024L * 1024L);
+    }
+
+    /**
+     * Obtiene el servicio de retención configurado
+     * @return instancia única del servicio
+     */
+    public static RetencionEvidencias obtenerInstancia() {
+        return INSTANCIA;
+    }
+
+    // === REGISTRO ===
+
+    /**
+     * Registra una evidencia escrita por la ejecución en curso
+     *
+     * @param archivo ruta de la evidencia
+     * @param contenido contenido compartido al que enlaza (null si es un archivo independiente)
+     * @param bytes tamaño en disco
+     */
+    public void registrar(Path archivo, Path contenido, long bytes) {
+        Entrada entrada = new Entrada(ejecucion, System.currentTimeMillis(), bytes,
+            relativizar(archivo), contenido == null ? SIN_CONTENIDO : relativizar(contenido));
+        synchronized (cerrojoIndice) {
+            try {
+                Files.createDirectories(archivoIndice.getParent());
+                Files.writeString(archivoIndice, entrada.aLinea() + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                logger.warn("No se pudo registrar la evidencia {} para su retención: {}", archivo, e.getMessage());
+            }
+        }
+    }
+
+    // === LIMPIEZA ===
+
+    /**
+     * Lanza la limpieza en un hilo en segundo plano (una sola vez por servicio)
+     * @return futuro con el resumen de la limpieza
+     */
+    public synchronized CompletableFuture<ResumenRetencion> iniciarEnSegundoPlano() {
+        if (limpieza == null) {
+            limpieza = new CompletableFuture<>();
+            Thread hilo = new Thread(() -> {
+                try {
+                    limpieza.complete(aplicar());
+                } catch (Exception e) {
+                    logger.warn("Error en la limpieza de evidencias: {}", e.getMessage());
+                    limpieza.completeExceptionally(e);
+                }
+            }, "retencion-evidencias");
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+        return limpieza;
+    }
+
+    /**
+     * Aplica la antigüedad máxima y la cuota configuradas
+     * @return resumen de lo eliminado
+     * @throws IOException si el índice no puede leerse o reescribirse
+     */
+    public ResumenRetencion aplicar() throws IOException {
+        return aplicar(edadMaximaCapturas, cuotaBytes);
+    }
+
+    /**
+     * Elimina las ejecuciones sin actividad en el periodo indicado, sin aplicar cuota
+     * @param edadMaxima antigüedad máxima
+     * @return número de archivos eliminados
+     * @throws IOException si el índice no puede leerse o reescribirse
+     */
+    public int eliminarAnterioresA(Duration edadMaxima) throws IOException {
+        return aplicar(edadMaxima, 0).archivosEliminados();
+    }
+
+    private ResumenRetencion aplicar(Duration edadMaxima, long cuota) throws IOException {
+        long inicio = System.nanoTime();
+        boolean sembrado = false;
+        List<Entrada> entradas;
+        synchronized (cerrojoIndice) {
+            if (!Files.exists(archivoIndice)) {
+                sembrarIndice();
+                sembrado = true;
+            }
+            entradas = leerIndice();
+        }
+
+        // Ejecuciones en orden de uso: la menos reciente primero
+        Map<String, List<Entrada>> porEjecucion = new LinkedHashMap<>();
+        Map<String, Long> ultimoUso = new HashMap<>();
+        Map<String, Integer> referencias = new HashMap<>();
+        Map<String, Long> tamanoContenido = new HashMap<>();
+        for (Entrada entrada : entradas) {
+            porEjecucion.computeIfAbsent(entrada.ejecucion(), clave -> new ArrayList<>()).add(entrada);
+            ultimoUso.merge(entrada.ejecucion(), entrada.registrado(), Math::max);
+            if (entrada.tieneContenido()) {
+                referencias.merge(entrada.contenido(), 1, Integer::sum);
+                tamanoContenido.put(entrada.contenido(), entrada.bytes());
+            }
+        }
+        List<String> candidatas = new ArrayList<>(porEjecucion.keySet());
+        candidatas.remove(ejecucion);
+        candidatas.sort((a, b) -> Long.compare(ultimoUso.get(a), ultimoUso.get(b)));
+
+        long totalBytes = tamanoContenido.values().stream().mapToLong(Long::longValue).sum()
+            + entradas.stream().filter(e -> !e.tieneContenido()).mapToLong(Entrada::bytes).sum();
+        long limiteEdad = System.currentTimeMillis() - edadMaxima.toMillis();
+
+        int ejecucionesEliminadas = 0;
+        int archivosEliminados = 0;
+        long bytesLiberados = 0;
+        List<String> eliminadas = new ArrayList<>();
+        for (String candidata : candidatas) {
+            boolean vencida = ultimoUso.get(candidata) < limiteEdad;
+            boolean excedeCuota = cuota > 0 && totalBytes > cuota;
+            if (!vencida && !excedeCuota) {
+                break;
+            }
+            for (Entrada entrada : porEjecucion.get(candidata)) {
+                if (Files.deleteIfExists(resolver(entrada.archivo()))) {
+                    archivosEliminados++;
+                }
+                long liberados = entrada.tieneContenido()
+                    ? liberarContenido(entrada, referencias, tamanoContenido) : entrada.bytes();
+                bytesLiberados += liberados;
+                totalBytes -= liberados;
+            }
+            eliminadas.add(candidata);
+            ejecucionesEliminadas++;
+        }
+
+        if (!eliminadas.isEmpty()) {
+            compactarIndice(eliminadas);
+        }
+        int logsEliminados = limpiarLogs();
+
+        ResumenRetencion resumen = new ResumenRetencion(entradas.size(), porEjecucion.size(), sembrado,
+            ejecucionesEliminadas, archivosEliminados, logsEliminados, bytesLiberados, totalBytes,
+            (System.nanoTime() - inicio) / 1_000_000);
+        ultimoResumen = resumen;
+        logger.info(resumen.toString());
+        return resumen;
+    }
+
+    /**
+     * Descuenta una referencia al contenido y lo borra si era la última
+     * @return bytes liberados
+     */
+    private long liberarContenido(Entrada entrada, Map<String, Integer> referencias,
+                                  Map<String, Long> tamanoContenido) throws IOException {
+        int restantes = referencias.merge(entrada.contenido(), -1, Integer::sum);
+        if (restantes > 0) {
+            return 0;
+        }
+        Path contenido = resolver(entrada.contenido());
+        // Un contenido reutilizado en esta ejecución renovó su fecha: se conserva
+        if (Files.exists(contenido) && Files.getLastModifiedTime(contenido).toMillis() >= inicioEjecucion) {
+            return 0;
+        }
+        Files.deleteIfExists(contenido);
+        return tamanoContenido.getOrDefault(entrada.contenido(), 0L);
+    }
+
+    private int limpiarLogs() {
+        if (directorioLogs == null || !Files.isDirectory(directorioLogs)) {
+            return 0;
+        }
+        long limite = System.currentTimeMillis() - edadMaximaLogs.toMillis();
+        int eliminados = 0;
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directorioLogs)) {
+            for (Path log : logs) {
+                if (Files.isRegularFile(log) && Files.getLastModifiedTime(log).toMillis() < limite
+                        && Files.deleteIfExists(log)) {
+                    eliminados++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudieron limpiar los logs antiguos: {}", e.getMessage());
+        }
+        return eliminados;
+    }
+
+    // === ÍNDICE ===
+
+    private List<Entrada> leerIndice() throws IOException {
+        List<Entrada> entradas = new ArrayList<>();
+        if (!Files.exists(archivoIndice)) {
+            return entradas;
+        }
+        for (String linea : Files.readAllLines(archivoIndice, StandardCharsets.UTF_8)) {
+            Entrada entrada = Entrada.desdeLinea(linea);
+            if (entrada != null) {
+                entradas.add(entrada);
+            }
+        }
+        return entradas;
+    }
+
+    /**
+     * Reescribe el índice sin las ejecuciones eliminadas. Se relee bajo el
+     * cerrojo para no perder los registros hechos mientras se borraba.
+     */
+    private void compactarIndice(List<String> eliminadas) throws IOException {
+        synchronized (cerrojoIndice) {
+            Path temporal = archivoIndice.resolveSibling(ARCHIVO_INDICE + ".parcial");
+            try (BufferedWriter escritor = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                for (Entrada entrada : leerIndice()) {
+                    if (!eliminadas.contains(entrada.ejecucion())) {
+                        escritor.write(entrada.aLinea());
+                        escritor.newLine();
+                    }
+                }
+            }
+            Files.move(temporal, archivoIndice, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Primera ejecución con el índice: incorpora las capturas existentes,
+     * agrupadas en ejecuciones por día de modificación
+     */
+    private void sembrarIndice() throws IOException {
+        Path directorioIndice = archivoIndice.getParent();
+        Files.createDirectories(directorioIndice);
+        try (BufferedWriter escritor = Files.newBufferedWriter(archivoIndice, StandardCharsets.UTF_8);
+             Stream<Path> archivos = Files.walk(directorioCapturas)) {
+            for (Path archivo : (Iterable<Path>) archivos.filter(Files::isRegularFile)
+                    .filter(ruta -> !ruta.startsWith(directorioIndice))::iterator) {
+                long modificado = Files.getLastModifiedTime(archivo).toMillis();
+                String dia = DateTimeFormatter.BASIC_ISO_DATE.format(
+                    Instant.ofEpochMilli(modificado).atZone(ZoneId.systemDefault()));
+                escritor.write(new Entrada("anterior_" + dia, modificado, Files.size(archivo),
+                    relativizar(archivo), SIN_CONTENIDO).aLinea());
+                escritor.newLine();
+            }
+        }
+        logger.info("Índice de retención creado en {}", archivoIndice);
+    }
+
+    private String relativizar(Path ruta) {
+        Path absoluta = ruta.toAbsolutePath().normalize();
+        return absoluta.startsWith(directorioCapturas)
+            ? directorioCapturas.relativize(absoluta).toString() : absoluta.toString();
+    }
+
+    private Path resolver(String ruta) {
+        return directorioCapturas.resolve(ruta);
+    }
+
+    // === MÉTRICAS ===
+
+    /**
+     * Obtiene el identificador de la ejecución en curso
+     * @return identificador con fecha, proceso y secuencia
+     */
+    public String obtenerEjecucion() {
+        return ejecucion;
+    }
+
+    /**
+     * Genera un resumen de la última limpieza
+     * @return texto descriptivo
+     */
+    public String generarResumen() {
+        ResumenRetencion resumen = ultimoResumen;
+        return resumen == null ? "Retención de evidencias - limpieza no ejecutada" : resumen.toString();
+    }
+
+    /**
+     * Resultado de una limpieza
+     */
+    public record ResumenRetencion(int entradasIndice, int ejecuciones, boolean indiceCreado,
+                                   int ejecucionesEliminadas, int archivosEliminados, int logsEliminados,
+                                   long bytesLiberados, long bytesConservados, long duracionMs) {
+        @Override
+        public String toString() {
+            return String.format("Retención de evidencias - Índice: %d entradas en %d ejecuciones%s, " +
+                    "Eliminadas: %d ejecuciones (%d archivos, %.1f MB), Logs eliminados: %d, " +
+                    "Conservado: %.1f MB, Duración: %d ms",
+                entradasIndice, ejecuciones, indiceCreado ? " (creado ahora)" : "",
+                ejecucionesEliminadas, archivosEliminados, bytesLiberados / 1048576.0, logsEliminados,
+                bytesConservados / 1048576.0, duracionMs);
+        }
+    }
+
+    /**
+     * Línea del índice: ejecución, fecha de registro, bytes, archivo y contenido
+     */
+    private record Entrada(String ejecucion, long registrado, long bytes, String archivo, String contenido) {
+
+        boolean tieneContenido() {
+            return !SIN_CONTENIDO.equals(contenido);
+        }
+
+        String aLinea() {
+            return String.join("\t", ejecucion, Long.toString(registrado), Long.toString(bytes), archivo, contenido);
+        }
+
+        static Entrada desdeLinea(String linea) {
+            String[] campos = linea.split("\t");
+            if (campos.length != 5) {
+                return null;
+            }
+            try {
+                return new Entrada(campos[0], Long.parseLong(campos[1]), Long.parseLong(campos[2]), campos[3], campos[4]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,56 +1,102 @@
 package com.automatizacion.proyecto.base;
 
 import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
-import com.automatizacion.proyecto.configuracion.ConfiguracionNavegador;
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador;
+import com.automatizacion.proyecto.configuracion.PoolNavegadores;
+import com.automatizacion.proyecto.configuracion.ResolutorDrivers;
 import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.paginas.PaginaBase;
+import com.automatizacion.proyecto.utilidades.CacheElementos;
+import com.automatizacion.proyecto.utilidades.ContadorComandosWebDriver;
+import com.automatizacion.proyecto.utilidades.ContextoPrueba;
+import com.automatizacion.proyecto.utilidades.EscritorCapturas;
+import com.automatizacion.proyecto.utilidades.EscuchaResultadosTestNG;
+import com.automatizacion.proyecto.utilidades.EsperaExplicita;
 import com.automatizacion.proyecto.utilidades.GestorCapturaPantalla;
+import com.automatizacion.proyecto.utilidades.GestorEvidencias;
+import com.automatizacion.proyecto.utilidades.PresupuestoEspera;
+import com.automatizacion.proyecto.utilidades.RegistroResultados;
+import com.automatizacion.proyecto.utilidades.RetencionEvidencias;
 import io.qameta.allure.Step;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
+import org.testng.xml.XmlSuite;
 import java.lang.reflect.Method;
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class BaseTest {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
-    protected WebDriver driver;
-    protected ConfiguracionGlobal configuracion;
-    protected GestorCapturaPantalla gestorCaptura;
-    protected String nombrePruebaActual;
-    protected LocalDateTime inicioEjecucion;
-    protected boolean pruebaExitosa;
+    protected final ConfiguracionGlobal configuracion = ConfiguracionGlobal.obtenerInstancia();
+    
+    // Métricas de arranque de la suite
+    private static volatile long inicioSuiteNanos;
+    private static volatile long arranqueSuiteMs;
+    private static volatile long tiempoHastaPrimeraPruebaMs = -1;
+    private static final AtomicBoolean primeraPruebaIniciada = new AtomicBoolean();
+    
+    // Tiempo de espera ahorrado por clase de prueba al sustituir pausas fijas
+    private static final Map<String, LongAdder> esperaAhorradaPorClaseMs = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> pruebasPorClase = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> comandosPorClase = new ConcurrentHashMap<>();
+    
+    // Navegaciones iniciales de la suite (ver @PaginaInicial)
+    private static final LongAdder navegacionesRealizadas = new LongAdder();
+    private static final LongAdder navegacionesEvitadas = new LongAdder();
+    private static final LongAdder pruebasSinPaginaInicial = new LongAdder();
     
     @BeforeSuite(alwaysRun = true)
-    public void configuracionSuite() {
+    public void configuracionSuite(ITestContext contextoTestNG) {
+        inicioSuiteNanos = System.nanoTime();
+        primeraPruebaIniciada.set(false);
         logger.info(TipoMensaje.CONFIGURACION.formatearMensaje("INICIANDO SUITE DE AUTOMATIZACIÓN"));
-        configuracion = ConfiguracionGlobal.obtenerInstancia();
-        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Configuración cargada: " + configuracion.obtenerInformacionEstado()));
+        
+        // Los navegadores arrancan en segundo plano mientras se completa el resto del arranque
+        if (configuracion.esPrecalentamientoNavegadoresHabilitado()) {
+            PoolNavegadores.obtenerInstancia().precalentar(
+                    ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion(),
+                    obtenerParalelismoPlanificado(contextoTestNG),
+                    configuracion.obtenerUrlBase());
+        }
+        
+        // Las evidencias antiguas se eliminan en segundo plano, sin retrasar la primera prueba
+        if (configuracion.esLimpiezaAutomaticaHabilitada()) {
+            RetencionEvidencias.obtenerInstancia().iniciarEnSegundoPlano();
+        }
+        
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Configuración cargada:\n" + configuracion.generarResumenConfiguracion()));
+        arranqueSuiteMs = (System.nanoTime() - inicioSuiteNanos) / 1_000_000;
     }
     
     @BeforeMethod(alwaysRun = true)
     public void configuracionBasePrueba(Method metodo) {
-        nombrePruebaActual = metodo.getName();
-        inicioEjecucion = LocalDateTime.now();
-        pruebaExitosa = false;
+        String nombrePrueba = metodo.getName();
         
-        logger.info(TipoMensaje.PRUEBA.formatearMensaje("INICIANDO PRUEBA: " + nombrePruebaActual));
+        logger.info(TipoMensaje.PRUEBA.formatearMensaje("INICIANDO PRUEBA: " + nombrePrueba));
         
         try {
-            inicializarWebDriver();
-            gestorCaptura = new GestorCapturaPantalla(driver);
-            navegarAUrlBase();
+            // Cada hilo trabaja sobre su propio contexto: driver, evidencias, tiempos y páginas
+            ContextoPrueba.iniciar(nombrePrueba, inicializarWebDriver());
+            if (primeraPruebaIniciada.compareAndSet(false, true)) {
+                tiempoHastaPrimeraPruebaMs = (System.nanoTime() - inicioSuiteNanos) / 1_000_000;
+            }
+            navegarAPaginaInicial(metodo);
             configuracionEspecificaPrueba();
             
-            logger.info(TipoMensaje.EXITO.formatearMensaje("Configuración base completada para: " + nombrePruebaActual));
+            logger.info(TipoMensaje.EXITO.formatearMensaje("Configuración base completada para: " + nombrePrueba));
             
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje("Error en configuración base: " + e.getMessage()));
-            if (driver != null && gestorCaptura != null) {
-                gestorCaptura.capturarPantalla("ConfiguracionBase_" + nombrePruebaActual);
+            if (obtenerDriver() != null) {
+                GestorCapturaPantalla.capturarPantallaSinPerdida(obtenerDriver(), "ConfiguracionBase_" + nombrePrueba);
             }
             limpiarRecursos();
             throw new RuntimeException("Fallo en configuración base", e);
@@ -59,17 +105,26 @@ public abstract class BaseTest {
     
     @AfterMethod(alwaysRun = true)
     public void limpiezaBasePrueba(ITestResult resultado) {
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        if (contexto == null) {
+            return;
+        }
+        
         try {
-            pruebaExitosa = resultado.getStatus() == ITestResult.SUCCESS;
-            Duration duracion = Duration.between(inicioEjecucion, LocalDateTime.now());
+            boolean pruebaExitosa = resultado.getStatus() == ITestResult.SUCCESS;
+            contexto.marcarResultado(pruebaExitosa);
+            Duration duracion = contexto.obtenerDuracion();
+            
+            registrarEsperaAhorrada(contexto);
+            registrarComandosWebDriver(contexto);
+            registrarCacheElementos(contexto);
             
             if (pruebaExitosa) {
-                logger.info(TipoMensaje.EXITO.formatearMensaje("PRUEBA EXITOSA: " + nombrePruebaActual + " - Duración: " + duracion.toSeconds() + "s"));
+                logger.info(TipoMensaje.EXITO.formatearMensaje("PRUEBA EXITOSA: " + contexto.obtenerNombrePrueba() + " - Duración: " + duracion.toSeconds() + "s"));
             } else {
-                logger.error(TipoMensaje.ERROR.formatearMensaje("PRUEBA FALLIDA: " + nombrePruebaActual + " - Duración: " + duracion.toSeconds() + "s"));
-                if (gestorCaptura != null) {
-                    gestorCaptura.capturarPantalla("FALLO_" + nombrePruebaActual);
-                }
+                logger.error(TipoMensaje.ERROR.formatearMensaje("PRUEBA FALLIDA: " + contexto.obtenerNombrePrueba() + " - Duración: " + duracion.toSeconds() + "s"));
+                String capturaFallo = GestorCapturaPantalla.capturarPantallaSinPerdida(contexto.obtenerDriver(), "FALLO_" + contexto.obtenerNombrePrueba());
+                EscuchaResultadosTestNG.vincularEvidencia(resultado, capturaFallo);
             }
             
             limpiezaEspecificaPrueba();
@@ -84,40 +139,159 @@ public abstract class BaseTest {
     @AfterSuite(alwaysRun = true)
     public void limpiezaSuite() {
         logger.info(TipoMensaje.CONFIGURACION.formatearMensaje("FINALIZANDO SUITE DE AUTOMATIZACIÓN"));
+        PoolNavegadores pool = PoolNavegadores.obtenerInstancia();
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(pool.generarResumen()));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(ResolutorDrivers.obtenerInstancia().generarResumen()));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(PresupuestoEspera.generarResumen()));
+        // Las capturas encoladas deben estar en disco antes de generar los reportes
+        EscritorCapturas escritorCapturas = EscritorCapturas.obtenerInstancia();
+        escritorCapturas.esperarPendientes(Duration.ofSeconds(configuracion.obtenerTimeoutExplicito()));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(escritorCapturas.generarResumen()));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(RetencionEvidencias.obtenerInstancia().generarResumen()));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(RegistroResultados.obtenerInstancia().generarResumen()));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Navegaciones iniciales: %d realizadas, %d evitadas (navegador ya en la URL), " +
+            "%d pruebas sin página inicial",
+            navegacionesRealizadas.sum(), navegacionesEvitadas.sum(), pruebasSinPaginaInicial.sum())));
+        if (tiempoHastaPrimeraPruebaMs >= 0 && configuracion.esPrecalentamientoNavegadoresHabilitado()) {
+            // Sin precalentamiento el arranque y el primer lanzamiento ocurren uno tras otro; no se mide,
+            // el valor real se obtiene ejecutando con pool.navegadores.precalentar=false
+            long estimadoSerialMs = arranqueSuiteMs + pool.obtenerTiempoPromedioLanzamientoMs();
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Tiempo hasta la primera prueba con precalentamiento: %d ms medidos " +
+                "(ESTIMADO sin precalentamiento: %d ms = arranque + lanzamiento promedio, sin medir)",
+                tiempoHastaPrimeraPruebaMs, estimadoSerialMs)));
+        } else if (tiempoHastaPrimeraPruebaMs >= 0) {
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Tiempo hasta la primera prueba sin precalentamiento: %d ms medidos",
+                tiempoHastaPrimeraPruebaMs)));
+        }
+        esperaAhorradaPorClaseMs.forEach((clase, ahorroMs) -> logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Espera ahorrada en %s: %.1f s en %d pruebas (%.1f s por prueba)",
+            clase, ahorroMs.sum() / 1000.0, pruebasPorClase.get(clase).sum(),
+            ahorroMs.sum() / 1000.0 / Math.max(1, pruebasPorClase.get(clase).sum())))));
+        comandosPorClase.forEach((clase, comandos) -> logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Comandos WebDriver en %s: %d en %d pruebas (%.1f por prueba)",
+            clase, comandos.sum(), pruebasPorClase.get(clase).sum(),
+            comandos.sum() / (double) Math.max(1, pruebasPorClase.get(clase).sum())))));
+        pool.cerrarTodos();
+    }
+    
+    /**
+     * Acumula por clase el tiempo ahorrado frente a las pausas fijas que usaban las páginas
+     */
+    private void registrarEsperaAhorrada(ContextoPrueba contexto) {
+        long ahorroMs = contexto.obtenerMetrica(EsperaExplicita.METRICA_ESPERA_AHORRADA_MS);
+        String clase = getClass().getSimpleName();
+        esperaAhorradaPorClaseMs.computeIfAbsent(clase, c -> new LongAdder()).add(ahorroMs);
+        pruebasPorClase.computeIfAbsent(clase, c -> new LongAdder()).increment();
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Espera ahorrada frente a pausas fijas: %.1f s", ahorroMs / 1000.0)));
+    }
+    
+    /**
+     * Acumula por clase los comandos WebDriver enviados por la prueba
+     */
+    private void registrarComandosWebDriver(ContextoPrueba contexto) {
+        long comandos = contexto.obtenerMetrica(ContadorComandosWebDriver.METRICA_COMANDOS);
+        comandosPorClase.computeIfAbsent(getClass().getSimpleName(), c -> new LongAdder()).add(comandos);
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Comandos WebDriver enviados: " + comandos));
+    }
+    
+    /**
+     * Registra la tasa de aciertos de la caché de elementos de la prueba
+     * @param contexto contexto de la prueba que termina
+     */
+    private void registrarCacheElementos(ContextoPrueba contexto) {
+        long aciertos = contexto.obtenerMetrica(CacheElementos.METRICA_ACIERTOS);
+        long busquedas = contexto.obtenerMetrica(CacheElementos.METRICA_BUSQUEDAS);
+        if (aciertos + busquedas == 0) {
+            return;
+        }
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Caché de elementos: %d búsquedas ahorradas de %d (%.1f%% de aciertos)",
+            aciertos, aciertos + busquedas, 100.0 * aciertos / (aciertos + busquedas))));
     }
     
-    protected void inicializarWebDriver() {
+    /**
+     * Obtiene cuántas pruebas correrán a la vez según la configuración de la suite
+     */
+    private int obtenerParalelismoPlanificado(ITestContext contextoTestNG) {
+        XmlSuite suite = contextoTestNG.getSuite().getXmlSuite();
+        if (suite.getParallel() == null || suite.getParallel() == XmlSuite.ParallelMode.NONE) {
+            return 1;
+        }
+        return Math.max(1, suite.getThreadCount());
+    }
+    
+    protected WebDriver inicializarWebDriver() {
         try {
-            ConfiguracionNavegador configuradorNavegador = new ConfiguracionNavegador();
-            driver = configuradorNavegador.crearWebDriver();
+            WebDriver driver = PoolNavegadores.obtenerInstancia()
+                    .obtenerNavegador(ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion());
             logger.info(TipoMensaje.EXITO.formatearMensaje("WebDriver inicializado correctamente"));
+            return driver;
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje("Error inicializando WebDriver: " + e.getMessage()));
             throw new RuntimeException("No se pudo inicializar WebDriver", e);
         }
     }
     
-    protected void navegarAUrlBase() {
+    /**
+     * Carga la página declarada con @PaginaInicial (método o clase) si el
+     * navegador no está ya en su URL. Las pruebas sin declaración no navegan.
+     * El pool devuelve cada sesión aparcada, ya limpia, en la última página de
+     * la prueba anterior, así que pruebas consecutivas sobre la misma página
+     * reutilizan esa carga.
+     */
+    protected void navegarAPaginaInicial(Method metodo) {
+        PaginaInicial declaracion = metodo.getAnnotation(PaginaInicial.class);
+        if (declaracion == null) {
+            declaracion = getClass().getAnnotation(PaginaInicial.class);
+        }
+        if (declaracion == null) {
+            pruebasSinPaginaInicial.increment();
+            logger.debug(TipoMensaje.DEBUG.formatearMensaje("Prueba sin página inicial declarada, no se navega"));
+            return;
+        }
+        
         try {
-            String urlBase = configuracion.obtenerUrlRegistro(); // Para registro por defecto
-            driver.get(urlBase);
-            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Navegando a: " + urlBase));
-            Thread.sleep(2000); // Espera para carga
+            String url = obtenerPagina(declaracion.value()).obtenerUrlEsperada();
+            if (mismaUrl(obtenerDriver().getCurrentUrl(), url)) {
+                navegacionesEvitadas.increment();
+                logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Navegador ya en: " + url));
+                return;
+            }
+            
+            obtenerDriver().get(url);
+            navegacionesRealizadas.increment();
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Navegando a: " + url));
+            
+            // Espera evaluada en el navegador en lugar de una pausa fija de 2 s
+            long inicio = System.currentTimeMillis();
+            new EsperaExplicita(obtenerDriver(), configuracion.obtenerTimeoutExplicito()).esperarDomEstable();
+            EsperaExplicita.registrarPausaReemplazada(2000, System.currentTimeMillis() - inicio);
         } catch (Exception e) {
-            logger.error(TipoMensaje.ERROR.formatearMensaje("Error navegando a URL base: " + e.getMessage()));
-            throw new RuntimeException("No se pudo navegar a URL base", e);
+            logger.error(TipoMensaje.ERROR.formatearMensaje("Error navegando a la página inicial: " + e.getMessage()));
+            throw new RuntimeException("No se pudo navegar a la página inicial", e);
         }
     }
     
+    private static boolean mismaUrl(String actual, String esperada) {
+        return actual != null && quitarBarraFinal(actual).equalsIgnoreCase(quitarBarraFinal(esperada));
+    }
+    
+    private static String quitarBarraFinal(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+    
     protected void limpiarRecursos() {
-        if (driver != null) {
+        ContextoPrueba contexto = ContextoPrueba.finalizar();
+        if (contexto != null && contexto.obtenerDriver() != null) {
             try {
-                driver.quit();
-                logger.debug(TipoMensaje.DEBUG.formatearMensaje("WebDriver cerrado correctamente"));
+                PoolNavegadores.obtenerInstancia().devolverNavegador(contexto.obtenerDriver());
+                logger.debug(TipoMensaje.DEBUG.formatearMensaje("WebDriver devuelto al pool"));
             } catch (Exception e) {
-                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Error cerrando WebDriver: " + e.getMessage()));
-            } finally {
-                driver = null;
+                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Error devolviendo WebDriver al pool: " + e.getMessage()));
             }
         }
     }
@@ -151,15 +325,24 @@ public abstract class BaseTest {
     }
     
     protected WebDriver obtenerDriver() {
-        return driver;
+        return ContextoPrueba.obtenerDriverActual();
     }
     
-    protected void capturarPantalla(String nombreArchivo) {
-        if (gestorCaptura != null) {
-            gestorCaptura.capturarPantalla(nombreArchivo);
-        }
+    protected String obtenerNombrePruebaActual() {
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        return contexto != null ? contexto.obtenerNombrePrueba() : null;
     }
-
     
+    protected <T extends PaginaBase> T obtenerPagina(Class<T> tipoPagina) {
+        return PaginaBase.obtenerDelContexto(tipoPagina);
+    }
+    
+    protected GestorEvidencias obtenerGestorEvidencias() {
+        return ContextoPrueba.requerido().obtenerComponente(GestorEvidencias.class,
+                driver -> new GestorEvidencias(driver, configuracion.obtenerRutaCapturas()));
+    }
     
-}
\ No newline at end of file
+    protected String capturarPantalla(String nombreArchivo) {
+        return GestorCapturaPantalla.capturarPantallaCompleta(nombreArchivo);
+    }
+}
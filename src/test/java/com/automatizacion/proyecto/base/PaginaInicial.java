@@ -0,0 +1,36 @@
+package com.automatizacion.proyecto.base;
+
+import com.automatizacion.proyecto.paginas.PaginaBase;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declara la página en la que debe empezar una prueba.
+ *
+ * BaseTest navega a la URL de la página antes de cada prueba solo si el
+ * navegador no está ya en ella. En la clase aplica a todas sus pruebas; en
+ * un método sustituye a la de la clase. Sin declaración no se navega.
+ *
+ * Principios aplicados:
+ * - Declarativo: Cada clase de prueba indica su página en lugar de heredar una fija
+ * - Lazy Loading: La página solo se carga cuando hace falta
+ *
+ * @author Antonio B. Arriagada LL. (anarriag@gmail.com)
+ * @author Dante Escalona Bustos (Jacobo.bustos.22@gmail.com)
+ * @author Roberto Rivas Lopez (umancl@gmail.com)
+ * @version 1.0
+ */
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface PaginaInicial {
+
+    /**
+     * @return page object cuya URL esperada se carga antes de la prueba
+     */
+    Class<? extends PaginaBase> value();
+}
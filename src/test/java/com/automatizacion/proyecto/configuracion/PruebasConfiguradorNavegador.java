@@ -0,0 +1,91 @@
+package com.automatizacion.proyecto.configuracion;
+
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador.TipoNavegador;
+import io.qameta.allure.*;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pruebas del servicio de driver compartido de ConfiguradorNavegador.
+ * El tiempo de creación y la memoria por sesión se miden aparte,
+ * en MedicionesRendimiento.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasConfiguradorNavegador {
+
+    @Test(description = "Verificar que con servicio compartido 1, 4 y 8 sesiones usan un solo proceso de driver",
+          groups = {"performance"})
+    @Story("Servicio de Driver Compartido")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Crea sesiones concurrentes con el servicio compartido y cuenta los procesos de driver hijos de la JVM")
+    public void testServicioDriverCompartidoConSesionesConcurrentes() throws Exception {
+        TipoNavegador tipo = ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion();
+        if (tipo == TipoNavegador.FIREFOX) {
+            throw new SkipException("geckodriver solo admite una sesión por proceso");
+        }
+
+        String compartidoOriginal = System.getProperty("driver.servicio.compartido");
+        String headlessOriginal = System.getProperty("headless");
+        System.setProperty("driver.servicio.compartido", "true");
+        System.setProperty("headless", "true");
+        ConfiguracionGlobal.reiniciarInstancia();
+        ResolutorDrivers.obtenerInstancia().resolver(tipo);
+
+        try {
+            for (int sesiones : new int[] {1, 4, 8}) {
+                ConfiguradorNavegador.detenerServiciosCompartidos();
+                Assert.assertTrue(contarProcesosDriverConSesiones(tipo, sesiones) <= 1,
+                    "Con servicio compartido debería haber un solo proceso de driver para " + sesiones + " sesiones");
+            }
+        } finally {
+            restaurarPropiedad("driver.servicio.compartido", compartidoOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+            ConfiguradorNavegador.detenerServiciosCompartidos();
+        }
+    }
+
+    private long contarProcesosDriverConSesiones(TipoNavegador tipo, int sesiones) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(sesiones);
+        List<WebDriver> drivers = new ArrayList<>();
+        try {
+            List<Future<WebDriver>> creaciones = new ArrayList<>();
+            for (int i = 0; i < sesiones; i++) {
+                creaciones.add(ejecutor.submit(() -> ConfiguradorNavegador.crearNavegador(tipo)));
+            }
+            for (Future<WebDriver> creacion : creaciones) {
+                drivers.add(creacion.get());
+            }
+
+            String nombreDriver = tipo == TipoNavegador.EDGE ? "msedgedriver" : "chromedriver";
+            return ProcessHandle.current().descendants()
+                .filter(proceso -> proceso.info().command().map(c -> c.contains(nombreDriver)).orElse(false))
+                .count();
+        } finally {
+            drivers.forEach(ConfiguradorNavegador::cerrarNavegador);
+            ejecutor.shutdownNow();
+        }
+    }
+
+    private void restaurarPropiedad(String clave, String valor) {
+        if (valor == null) {
+            System.clearProperty(clave);
+        } else {
+            System.setProperty(clave, valor);
+        }
+    }
+}
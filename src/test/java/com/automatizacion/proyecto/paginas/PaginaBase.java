@@ -1,20 +1,37 @@
 package com.automatizacion.proyecto.paginas;
 
 import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador;
+import com.automatizacion.proyecto.enums.ModoEsperas;
+import com.automatizacion.proyecto.enums.ModoLlenado;
 import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.utilidades.CacheElementos;
+import com.automatizacion.proyecto.utilidades.ContextoPrueba;
+import com.automatizacion.proyecto.utilidades.EsperaExplicita;
+import com.automatizacion.proyecto.utilidades.EsperaExplicita.CondicionNavegador;
+import com.automatizacion.proyecto.utilidades.EscuchaNavegacion;
 import com.automatizacion.proyecto.utilidades.GestorCapturaPantalla;
+import com.automatizacion.proyecto.utilidades.PresupuestoEspera;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.PageFactory;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Clase base para implementación del patrón Page Object Model.
@@ -22,7 +39,7 @@ import java.util.Set;
  * 
  * MEJORAS ESPECÍFICAS PARA LOGIN:
  * - Manejo correcto de ventanas múltiples
- * - Esperas inteligentes para formularios
+ * - Esperas inteligentes para formularios (evaluadas dentro del navegador, sin pausas fijas)
  * - Gestión automática de capturas
  * - Validaciones robustas de elementos
  * 
@@ -43,12 +60,109 @@ public abstract class PaginaBase {
     protected final WebDriverWait espera;
     protected final ConfiguracionGlobal config;
     protected final JavascriptExecutor jsExecutor;
+    protected final EsperaExplicita esperaNavegador;
+    
+    // Se crea en el primer obtenerElemento: su buscador llama a buscarElemento, que una subclase puede redefinir
+    private CacheElementos cacheElementos;
     
     // Constantes para timeouts específicos
     protected static final int TIMEOUT_ELEMENTO_CORTO = 5;
     protected static final int TIMEOUT_ELEMENTO_LARGO = 15;
     protected static final int TIMEOUT_CARGA_PAGINA = 30;
     
+    // Indica si algún elemento que cumple el selector CSS es visible según su estilo computado
+    private static final String FUNCION_VISIBLE_EN_PAGINA =
+        "function(selector) {" +
+        "  var elementos;" +
+        "  try { elementos = document.querySelectorAll(selector); } catch (e) { return false; }" +
+        "  for (var j = 0; j < elementos.length; j++) {" +
+        "    var el = elementos[j], estilo = window.getComputedStyle(el);" +
+        "    if (estilo.display !== 'none' && estilo.visibility !== 'hidden' && estilo.visibility !== 'collapse'" +
+        "        && parseFloat(estilo.opacity) > 0 && el.getClientRects().length > 0) {" +
+        "      return true;" +
+        "    }" +
+        "  }" +
+        "  return false;" +
+        "}";
+    
+    // Recorre todos los selectores de bloqueo en la página y devuelve el primero con un elemento visible
+    private static final String FUNCION_DETECCION_BLOQUEO =
+        "function(selectores) {" +
+        "  var visible = " + FUNCION_VISIBLE_EN_PAGINA + ";" +
+        "  for (var i = 0; i < selectores.length; i++) {" +
+        "    if (visible(selectores[i])) { return selectores[i]; }" +
+        "  }" +
+        "  return null;" +
+        "}";
+    
+    // Asigna todos los campos con el setter nativo de value (compatible con frameworks que
+    // interceptan la propiedad), dispara input/change/blur y verifica en el mismo viaje.
+    // Devuelve los selectores que no se encontraron o cuyo valor final no coincide.
+    private static final String SCRIPT_LLENADO_LOTE =
+        "var selectores = arguments[0], valores = arguments[1], fallidos = [];" +
+        "function esMarcable(el) { return el.type === 'checkbox' || el.type === 'radio'; }" +
+        "for (var i = 0; i < selectores.length; i++) {" +
+        "  var el = document.querySelector(selectores[i]), valor = valores[i];" +
+        "  if (!el) { continue; }" +
+        "  if (el.focus) { el.focus(); }" +
+        "  if (esMarcable(el)) {" +
+        "    if (el.checked !== valor) { el.click(); }" +
+        "  } else {" +
+        "    var prototipo = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype" +
+        "      : el.tagName === 'SELECT' ? HTMLSelectElement.prototype : HTMLInputElement.prototype;" +
+        "    Object.getOwnPropertyDescriptor(prototipo, 'value').set.call(el, valor);" +
+        "    el.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "    el.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "  }" +
+        "  if (el.blur) { el.blur(); }" +
+        "}" +
+        "for (var j = 0; j < selectores.length; j++) {" +
+        "  var campo = document.querySelector(selectores[j]);" +
+        "  var correcto = campo && (esMarcable(campo) ? campo.checked === valores[j] : campo.value === valores[j]);" +
+        "  if (!correcto) { fallidos.push(selectores[j]); }" +
+        "}" +
+        "return fallidos;";
+    
+    // Lleva el elemento al centro de la vista y comprueba en la misma llamada que se pueda
+    // actuar sobre él; con limpiar=true además lo enfoca y lo vacía notificando a la página
+    private static final String ESTADO_ACCIONABLE = "LISTO";
+    private static final String FUNCION_PREPARAR_ACCION =
+        "function(el, limpiar) {" +
+        "  el.scrollIntoView({block: 'center', inline: 'nearest'});" +
+        "  var estilo = window.getComputedStyle(el), r = el.getBoundingClientRect();" +
+        "  if (estilo.display === 'none' || estilo.visibility === 'hidden' || r.width === 0 || r.height === 0) {" +
+        "    return 'OCULTO'; }" +
+        "  if (el.disabled || el.getAttribute('aria-disabled') === 'true') { return 'DESHABILITADO'; }" +
+        "  var encima = document.elementFromPoint(r.left + r.width / 2, r.top + r.height / 2);" +
+        "  var etiqueta = encima && encima.closest ? encima.closest('label') : null;" +
+        "  if (encima && encima !== el && !el.contains(encima) && !(etiqueta && etiqueta.control === el)) {" +
+        "    return 'CUBIERTO por ' + encima.tagName.toLowerCase() + (encima.id ? '#' + encima.id : '');" +
+        "  }" +
+        "  if (limpiar) {" +
+        "    el.focus();" +
+        "    if (el.tagName === 'INPUT' || el.tagName === 'TEXTAREA') {" +
+        "      var prototipo = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "      Object.getOwnPropertyDescriptor(prototipo, 'value').set.call(el, '');" +
+        "      el.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "    }" +
+        "  }" +
+        "  return 'LISTO';" +
+        "}";
+    private static final String SCRIPT_PREPARAR_ACCION =
+        "return (" + FUNCION_PREPARAR_ACCION + ")(arguments[0], arguments[1]);";
+    
+    private final ModoEsperas modoEsperas;
+    
+    // Implicit wait vigente en el driver; solo lo cambian (y restablecen) los pasos de evaluarPaso
+    private Duration esperaImplicitaVigente;
+    
+    private ModoLlenado modoLlenado;
+    
+    private final List<String> selectoresBloqueo;
+    
+    // Visibilidad, URL y título de la última época de navegación observada
+    private final EstadoPagina estadoPagina;
+    
     /**
      * Constructor base que inicializa componentes comunes
      * 
@@ -59,21 +173,55 @@ public abstract class PaginaBase {
         this.config = ConfiguracionGlobal.obtenerInstancia();
         this.espera = new WebDriverWait(driver, Duration.ofSeconds(config.obtenerTimeoutExplicito()));
         this.jsExecutor = (JavascriptExecutor) driver;
+        this.esperaNavegador = new EsperaExplicita(driver, config.obtenerTimeoutExplicito());
+        this.selectoresBloqueo = config.obtenerSelectoresBloqueo();
+        this.modoEsperas = config.obtenerModoEsperas();
+        this.esperaImplicitaVigente = ConfiguradorNavegador.obtenerEsperaImplicita();
+        this.modoLlenado = config.obtenerModoLlenado();
+        // Sin EscuchaNavegacion en el driver nada avisaría de los cambios: no se cachea
+        this.estadoPagina = driver instanceof Decorated ? new EstadoPagina() : null;
         
-        // Inicializar elementos de la página usando PageFactory
-        PageFactory.initElements(driver, this);
+        // Inicializar elementos de la página usando PageFactory. Sin implicit wait,
+        // los @FindBy esperan explícitamente a que el elemento aparezca
+        if (modoEsperas.esExplicito()) {
+            PageFactory.initElements(new AjaxElementLocatorFactory(driver, config.obtenerTimeoutExplicito()), this);
+        } else {
+            PageFactory.initElements(driver, this);
+        }
         
         logger.debug(TipoMensaje.DEBUG.formatearMensaje(
             "Inicializada página: " + this.getClass().getSimpleName()));
     }
     
+    // === ACCESO DESDE EL CONTEXTO DE LA PRUEBA ===
+    
+    /**
+     * Obtiene la instancia de la página asociada a la prueba en curso en este hilo,
+     * creándola con el driver del contexto la primera vez que se solicita
+     * 
+     * @param tipoPagina clase concreta de la página (con constructor público (WebDriver))
+     * @return page object exclusivo de la prueba actual
+     */
+    public static <T extends PaginaBase> T obtenerDelContexto(Class<T> tipoPagina) {
+        return ContextoPrueba.requerido().obtenerComponente(tipoPagina, driverPrueba -> {
+            try {
+                return tipoPagina.getConstructor(WebDriver.class).newInstance(driverPrueba);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(
+                    "No se pudo crear la página " + tipoPagina.getSimpleName(), e);
+            }
+        });
+    }
+    
     // === MÉTODOS ABSTRACTOS QUE DEBEN IMPLEMENTAR LAS PÁGINAS ===
     
     /**
-     * Verifica si la página está cargada correctamente
+     * Verifica en el navegador si la página está cargada correctamente.
+     * Lo invoca esPaginaVisible() solo cuando no hay un resultado vigente.
+     * 
      * @return true si la página está lista
      */
-    public abstract boolean esPaginaVisible();
+    protected abstract boolean verificarPaginaVisible();
     
     /**
      * Obtiene la URL esperada de la página
@@ -81,6 +229,65 @@ public abstract class PaginaBase {
      */
     public abstract String obtenerUrlEsperada();
     
+    // === ESTADO DE LA PÁGINA POR ÉPOCA DE NAVEGACIÓN ===
+    
+    /**
+     * Verifica si la página está cargada correctamente. Una visibilidad positiva
+     * se reutiliza hasta que EscuchaNavegacion registre un cambio (navegación,
+     * click, submit...); una negativa se vuelve a comprobar, porque la página
+     * puede terminar de cargarse sin que el driver envíe ningún comando.
+     * 
+     * @return true si la página está lista
+     */
+    public boolean esPaginaVisible() {
+        EstadoPagina estado = estadoVigente();
+        if (estado != null && estado.visible) {
+            logger.debug(TipoMensaje.DEBUG.formatearMensaje("Visibilidad de página reutilizada"));
+            return true;
+        }
+        boolean visible = verificarPaginaVisible();
+        if (estado != null) {
+            estado.visible = visible;
+        }
+        return visible;
+    }
+    
+    /**
+     * Descarta el estado cacheado de la página (visibilidad, URL y título). Para
+     * cambios que el driver no observa, p. ej. una redirección hecha por un
+     * temporizador de la página. No avanza la época de navegación: la caché de
+     * elementos se conserva y sus elementos se re-resuelven si quedaron obsoletos.
+     */
+    protected void invalidarEstadoPagina() {
+        if (estadoPagina != null) {
+            estadoPagina.epoca = -1;
+        }
+    }
+    
+    private EstadoPagina estadoVigente() {
+        if (estadoPagina == null) {
+            return null;
+        }
+        long epocaActual = EscuchaNavegacion.obtenerEpoca();
+        if (estadoPagina.epoca != epocaActual) {
+            estadoPagina.epoca = epocaActual;
+            estadoPagina.visible = false;
+            estadoPagina.url = null;
+            estadoPagina.titulo = null;
+        }
+        return estadoPagina;
+    }
+    
+    /**
+     * Estado de la página consultado en una época de navegación
+     */
+    private static final class EstadoPagina {
+        private long epoca = -1;
+        private boolean visible;
+        private String url;
+        private String titulo;
+    }
+    
     // === MÉTODOS DE NAVEGACIÓN Y CARGA ===
     
     /**
@@ -126,23 +333,14 @@ public abstract class PaginaBase {
         try {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Esperando carga completa de página"));
             
-            // Esperar a que el estado de la página sea 'complete'
-            espera.until(driver -> 
-                jsExecutor.executeScript("return document.readyState").equals("complete"));
-            
-            // Esperar a que jQuery termine (si está presente)
-            try {
-                espera.until(driver -> 
-                    (Boolean) jsExecutor.executeScript("return jQuery.active == 0"));
-                logger.debug(TipoMensaje.DEBUG.formatearMensaje("jQuery completado"));
-            } catch (Exception e) {
-                // jQuery no está presente, continuar
-                logger.debug(TipoMensaje.DEBUG.formatearMensaje("jQuery no detectado"));
+            // readyState 'complete', jQuery sin peticiones pendientes y DOM sin mutaciones,
+            // todo evaluado dentro de la página en una sola llamada
+            if (!esperarDomEstable(1000)) {
+                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                    "La página no se estabilizó en el tiempo esperado, continuando"));
+                return;
             }
             
-            // Espera adicional para formularios complejos
-            Thread.sleep(1000);
-            
             logger.debug(TipoMensaje.EXITO.formatearMensaje("Página cargada completamente"));
             
         } catch (Exception e) {
@@ -199,7 +397,7 @@ public abstract class PaginaBase {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Buscando elemento: " + localizador.toString() + " (timeout: " + timeoutSegundos + "s)"));
             
-            WebDriverWait esperaPersonalizada = new WebDriverWait(driver, Duration.ofSeconds(timeoutSegundos));
+            WebDriverWait esperaPersonalizada = esperaAcotada(timeoutSegundos);
             WebElement elemento = esperaPersonalizada.until(
                 ExpectedConditions.presenceOfElementLocated(localizador));
             
@@ -231,7 +429,7 @@ public abstract class PaginaBase {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Esperando elemento clickeable: " + localizador.toString() + " (" + timeoutSegundos + "s)"));
             
-            WebDriverWait esperaPersonalizada = new WebDriverWait(driver, Duration.ofSeconds(timeoutSegundos));
+            WebDriverWait esperaPersonalizada = esperaAcotada(timeoutSegundos);
             WebElement elemento = esperaPersonalizada.until(
                 ExpectedConditions.elementToBeClickable(localizador));
             
@@ -267,14 +465,8 @@ public abstract class PaginaBase {
                 logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                     "Intento de click " + intento + "/" + maxIntentos));
                 
-                // Asegurar que el elemento esté visible
-                if (!elemento.isDisplayed()) {
-                    scrollAElemento(elemento);
-                    Thread.sleep(500);
-                }
-                
-                // Hacer click
-                elemento.click();
+                // Scroll, verificación y click en dos comandos
+                clickDirecto(elemento);
                 
                 logger.debug(TipoMensaje.EXITO.formatearMensaje(
                     "Click exitoso en intento " + intento));
@@ -289,6 +481,8 @@ public abstract class PaginaBase {
                     // Último intento: usar JavaScript click
                     try {
                         jsExecutor.executeScript("arguments[0].click();", elemento);
+                        // El click por JavaScript no pasa por afterClick: se marca el posible cambio
+                        EscuchaNavegacion.registrarCambio();
                         logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(
                             "Click realizado con JavaScript como último recurso"));
                         return;
@@ -297,17 +491,27 @@ public abstract class PaginaBase {
                     }
                 }
                 
-                // Esperar antes del siguiente intento
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrompido durante reintentos de click", ie);
+                // Sin presupuesto restante otro intento solo retrasaría el fallo
+                if (PresupuestoEspera.estaAgotado()) {
+                    throw new RuntimeException("Presupuesto de espera agotado tras " + intento + " intentos de click", e);
                 }
+                
+                // Esperar a que el DOM se estabilice antes del siguiente intento
+                esperarDomEstable(1000);
             }
         }
     }
     
+    private String prepararParaAccion(WebElement elemento, boolean limpiar) {
+        try {
+            return String.valueOf(jsExecutor.executeScript(SCRIPT_PREPARAR_ACCION, elemento, limpiar));
+        } catch (StaleElementReferenceException e) {
+            // Un elemento de CacheElementos se re-resuelve en su siguiente llamada directa
+            elemento.isEnabled();
+            return String.valueOf(jsExecutor.executeScript(SCRIPT_PREPARAR_ACCION, elemento, limpiar));
+        }
+    }
+    
     /**
      * Ingresa texto en un campo de forma segura
      * MEJORADO: Para campos de login (usuario/password)
@@ -317,25 +521,7 @@ public abstract class PaginaBase {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Ingresando texto en campo (longitud: " + texto.length() + ")"));
             
-            // Limpiar el campo primero
-            elemento.clear();
-            
-            // Esperar un momento
-            Thread.sleep(300);
-            
-            // Ingresar el texto
-            elemento.sendKeys(texto);
-            
-            // Verificar que el texto se ingresó correctamente
-            String valorActual = elemento.getAttribute("value");
-            if (!texto.equals(valorActual)) {
-                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
-                    "Texto ingresado no coincide. Esperado longitud: " + texto.length() + 
-                    ", Actual longitud: " + valorActual.length()));
-                
-                // Reintentar con JavaScript
-                jsExecutor.executeScript("arguments[0].value = arguments[1];", elemento, texto);
-            }
+            escribirDirecto(elemento, texto);
             
             logger.debug(TipoMensaje.EXITO.formatearMensaje("Texto ingresado correctamente"));
             
@@ -353,7 +539,13 @@ public abstract class PaginaBase {
         try {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Haciendo scroll a elemento"));
             jsExecutor.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", elemento);
-            Thread.sleep(500); // Esperar que termine el scroll
+            
+            // Esperar a que el elemento esté en el viewport y deje de moverse (fin del scroll suave)
+            esperarCondicionEnNavegador(500,
+                "var e = arguments[0], r = e.getBoundingClientRect();" +
+                "var quieto = e.__posicionScroll === r.top; e.__posicionScroll = r.top;" +
+                "return quieto && r.bottom > 0 && r.top < (window.innerHeight || document.documentElement.clientHeight);",
+                elemento);
             
         } catch (Exception e) {
             logger.warn(TipoMensaje.ADVERTENCIA.formatearMensajeConExcepcion(
@@ -361,13 +553,256 @@ public abstract class PaginaBase {
         }
     }
     
+    // === PRIMITIVAS DE ACCIÓN CON MÍNIMOS COMANDOS ===
+    
+    /**
+     * Click en un elemento en dos comandos: un script que hace scroll y comprueba
+     * que sea visible, esté habilitado y no esté cubierto, y el click nativo.
+     * Si el elemento aún no es accionable se espera dentro del navegador.
+     * 
+     * @param elemento elemento a pulsar
+     * @throws ElementNotInteractableException si no llega a ser accionable
+     */
+    protected void clickDirecto(WebElement elemento) {
+        asegurarAccionable(elemento, false);
+        elemento.click();
+    }
+    
+    /**
+     * Escribe en un campo en tres comandos: un script que hace scroll, comprueba el
+     * campo, lo enfoca y lo vacía; el sendKeys; y la lectura del valor para verificarlo
+     * 
+     * @param elemento campo de texto
+     * @param texto texto a escribir
+     * @throws ElementNotInteractableException si el campo no llega a ser accionable
+     */
+    protected void escribirDirecto(WebElement elemento, String texto) {
+        asegurarAccionable(elemento, true);
+        elemento.sendKeys(texto);
+        
+        String valorActual = elemento.getAttribute("value");
+        if (!texto.equals(valorActual)) {
+            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                "Texto ingresado no coincide. Esperado longitud: " + texto.length() + 
+                ", Actual longitud: " + (valorActual == null ? 0 : valorActual.length())));
+            
+            // Reintentar con JavaScript, notificando el cambio a la página
+            jsExecutor.executeScript(
+                "arguments[0].value = arguments[1];" +
+                "arguments[0].dispatchEvent(new Event('input', {bubbles: true}));" +
+                "arguments[0].dispatchEvent(new Event('change', {bubbles: true}));", elemento, texto);
+        }
+    }
+    
+    /**
+     * Obtiene el elemento desde la caché de la página; solo se busca en el navegador
+     * la primera vez tras cada navegación (o si el elemento quedó obsoleto)
+     * 
+     * @param localizador localizador del elemento
+     * @return elemento que se re-resuelve solo si queda obsoleto
+     */
+    protected WebElement obtenerElemento(By localizador) {
+        if (cacheElementos == null) {
+            cacheElementos = new CacheElementos(buscado -> buscarElemento(buscado, TIMEOUT_ELEMENTO_LARGO));
+        }
+        return cacheElementos.obtener(localizador);
+    }
+    
+    /**
+     * Obtiene el elemento (cacheado) y hace click con clickDirecto
+     * @param localizador localizador del elemento
+     */
+    protected void clickEn(By localizador) {
+        clickDirecto(obtenerElemento(localizador));
+    }
+    
+    /**
+     * Obtiene el campo (cacheado) y escribe en él con escribirDirecto
+     * @param localizador localizador del campo
+     * @param texto texto a escribir
+     */
+    protected void escribirEn(By localizador, String texto) {
+        escribirDirecto(obtenerElemento(localizador), texto);
+    }
+    
+    /**
+     * Prepara el elemento en un solo script y, si no es accionable todavía,
+     * espera dentro del navegador a que lo sea (overlay que desaparece, botón
+     * que se habilita...)
+     */
+    private void asegurarAccionable(WebElement elemento, boolean limpiar) {
+        String estado = prepararParaAccion(elemento, limpiar);
+        if (ESTADO_ACCIONABLE.equals(estado)) {
+            return;
+        }
+        
+        logger.debug(TipoMensaje.DEBUG.formatearMensaje("Elemento aún no accionable: " + estado));
+        boolean accionable = esperaNavegador.esperarCondicionEnNavegador(
+            "return (" + FUNCION_PREPARAR_ACCION + ")(arguments[0], false) === '" + ESTADO_ACCIONABLE + "';", elemento);
+        estado = prepararParaAccion(elemento, limpiar);
+        if (!accionable || !ESTADO_ACCIONABLE.equals(estado)) {
+            throw new ElementNotInteractableException("Elemento no accionable: " + estado);
+        }
+    }
+    
+    // === ESPERAS EN EL NAVEGADOR ===
+    
+    /**
+     * Espera a que la página esté cargada y el DOM estable, evaluado dentro del navegador
+     * @return true si el DOM se estabilizó antes del timeout
+     */
+    protected boolean esperarDomEstable() {
+        return esperaNavegador.esperarDomEstable();
+    }
+    
+    /**
+     * Espera a que el DOM se estabilice en lugar de una pausa fija
+     * @param pausaFijaReemplazadaMs pausa fija que sustituye, para contabilizar el tiempo ahorrado
+     * @return true si el DOM se estabilizó antes del timeout
+     */
+    protected boolean esperarDomEstable(long pausaFijaReemplazadaMs) {
+        long inicio = System.currentTimeMillis();
+        boolean estable = esperaNavegador.esperarDomEstable();
+        EsperaExplicita.registrarPausaReemplazada(pausaFijaReemplazadaMs, System.currentTimeMillis() - inicio);
+        return estable;
+    }
+    
+    /**
+     * Espera a que un predicado JavaScript se cumpla dentro de la página en lugar de una pausa fija
+     * @param pausaFijaReemplazadaMs pausa fija que sustituye, para contabilizar el tiempo ahorrado
+     * @param predicadoJs cuerpo de función JavaScript que retorna boolean
+     * @param argumentos argumentos del predicado
+     * @return true si el predicado se cumplió antes del timeout
+     */
+    protected boolean esperarCondicionEnNavegador(long pausaFijaReemplazadaMs, String predicadoJs, Object... argumentos) {
+        long inicio = System.currentTimeMillis();
+        boolean cumplida = esperaNavegador.esperarCondicionEnNavegador(predicadoJs, argumentos);
+        EsperaExplicita.registrarPausaReemplazada(pausaFijaReemplazadaMs, System.currentTimeMillis() - inicio);
+        return cumplida;
+    }
+    
+    /**
+     * Abre el presupuesto de espera de una acción de la página. Todas las esperas
+     * que se hagan dentro (de esta página, de EsperaExplicita o de las capturas)
+     * comparten el plazo presupuesto.accion.segundos.
+     * 
+     * @param paso nombre del paso, usado para registrar los excesos
+     * @return presupuesto abierto, para usar con try-with-resources
+     */
+    protected PresupuestoEspera iniciarPresupuesto(String paso) {
+        return PresupuestoEspera.iniciar(paso, Duration.ofSeconds(config.obtenerPresupuestoAccion()));
+    }
+    
+    /**
+     * Ejecuta un paso de la acción (click, envío, espera del resultado, captura)
+     * con un presupuesto propio anidado en el de la acción, para que un exceso
+     * quede registrado con el nombre del paso y no solo con el de la acción.
+     * En modo IMPLICITO el implicit wait se acota al tiempo disponible al
+     * iniciar el paso y al terminarlo se restablece el valor que tenía antes.
+     * 
+     * @param paso nombre del paso (p. ej. "login.resultado")
+     * @param timeoutSegundos plazo del paso, acotado por el de la acción
+     * @param accion trabajo del paso
+     * @return resultado de la acción
+     */
+    protected <T> T evaluarPaso(String paso, int timeoutSegundos, Supplier<T> accion) {
+        PresupuestoEspera presupuesto = PresupuestoEspera.iniciar(paso, Duration.ofSeconds(timeoutSegundos));
+        Duration implicitoAnterior = acotarEsperaImplicita();
+        try {
+            return accion.get();
+        } finally {
+            if (implicitoAnterior != null) {
+                esperaImplicitaVigente = implicitoAnterior;
+                driver.manage().timeouts().implicitlyWait(implicitoAnterior);
+            }
+            presupuesto.close();
+        }
+    }
+    
+    /**
+     * Ejecuta un paso sin resultado con su propio presupuesto (ver evaluarPaso)
+     * @param paso nombre del paso
+     * @param timeoutSegundos plazo del paso, acotado por el de la acción
+     * @param accion trabajo del paso
+     */
+    protected void ejecutarPaso(String paso, int timeoutSegundos, Runnable accion) {
+        evaluarPaso(paso, timeoutSegundos, () -> {
+            accion.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Reduce el implicit wait al tiempo restante del presupuesto si este es menor.
+     * Solo envía un comando cuando el recorte cambia algo.
+     * 
+     * @return implicit wait que había antes del recorte, o null si no se modificó
+     */
+    private Duration acotarEsperaImplicita() {
+        if (modoEsperas.esExplicito() || esperaImplicitaVigente.isZero()) {
+            return null;
+        }
+        long vigenteMs = esperaImplicitaVigente.toMillis();
+        long acotadoMs = PresupuestoEspera.limitarMs(vigenteMs);
+        if (acotadoMs >= vigenteMs) {
+            return null;
+        }
+        Duration anterior = esperaImplicitaVigente;
+        esperaImplicitaVigente = Duration.ofMillis(acotadoMs);
+        driver.manage().timeouts().implicitlyWait(esperaImplicitaVigente);
+        return anterior;
+    }
+    
+    /**
+     * Crea una espera con el timeout indicado acotado al presupuesto activo
+     * @param timeoutSegundos timeout de la espera si no hubiera presupuesto
+     * @return WebDriverWait acotado
+     */
+    protected WebDriverWait esperaAcotada(int timeoutSegundos) {
+        return new WebDriverWait(driver, PresupuestoEspera.limitar(Duration.ofSeconds(timeoutSegundos)));
+    }
+    
+    /**
+     * Espera el primero de varios resultados posibles (error, éxito, redirección...)
+     * evaluándolos todos a la vez dentro de la página
+     * 
+     * @param pausaFijaReemplazadaMs pausa fija que sustituye, para contabilizar el tiempo ahorrado
+     * @param condiciones resultados posibles, en orden de prioridad
+     * @return nombre del resultado que se produjo o null si ninguno antes del timeout
+     */
+    protected String esperarPrimeraCondicion(long pausaFijaReemplazadaMs, CondicionNavegador... condiciones) {
+        long inicio = System.currentTimeMillis();
+        String ganadora = esperaNavegador.esperarPrimeraCondicion(condiciones);
+        EsperaExplicita.registrarPausaReemplazada(pausaFijaReemplazadaMs, System.currentTimeMillis() - inicio);
+        // Mientras se esperaba la página pudo cambiar (redirección, mensajes) sin un comando observable
+        invalidarEstadoPagina();
+        return ganadora;
+    }
+    
+    /**
+     * Crea una condición que se cumple cuando algún elemento del selector CSS es visible
+     * @param nombre nombre de la condición
+     * @param selectorCss selector CSS (admite varios separados por coma)
+     * @return condición para esperarPrimeraCondicion
+     */
+    protected static CondicionNavegador condicionVisible(String nombre, String selectorCss) {
+        return EsperaExplicita.condicion(nombre, "return (" + FUNCION_VISIBLE_EN_PAGINA + ")(arguments[0]);", selectorCss);
+    }
+    
     // === MÉTODOS DE VALIDACIÓN ===
     
     /**
-     * Verifica si un elemento está presente en la página
+     * Verifica si un elemento está presente en la página.
+     * En modo de esperas EXPLICITO la comprobación es instantánea (findElements sin implicit wait).
      */
     protected boolean estaPresente(By localizador) {
         try {
+            if (modoEsperas.esExplicito()) {
+                boolean presente = !driver.findElements(localizador).isEmpty();
+                logger.debug(TipoMensaje.DEBUG.formatearMensaje(
+                    "Elemento " + (presente ? "presente: " : "no presente: ") + localizador.toString()));
+                return presente;
+            }
             driver.findElement(localizador);
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Elemento presente: " + localizador.toString()));
@@ -380,12 +815,18 @@ public abstract class PaginaBase {
     }
     
     /**
-     * Verifica si un elemento está visible
+     * Verifica si un elemento está visible.
+     * En modo de esperas EXPLICITO la comprobación es instantánea (findElements sin implicit wait).
      */
     protected boolean estaVisible(By localizador) {
         try {
-            WebElement elemento = driver.findElement(localizador);
-            boolean visible = elemento.isDisplayed();
+            boolean visible;
+            if (modoEsperas.esExplicito()) {
+                List<WebElement> elementos = driver.findElements(localizador);
+                visible = !elementos.isEmpty() && elementos.get(0).isDisplayed();
+            } else {
+                visible = driver.findElement(localizador).isDisplayed();
+            }
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Elemento visible: " + localizador.toString() + " -> " + visible));
             return visible;
@@ -396,6 +837,24 @@ public abstract class PaginaBase {
         }
     }
     
+    /**
+     * Verifica con una consulta JavaScript si algún elemento que cumple el selector
+     * CSS es visible. No depende del implicit wait: responde al instante en ambos modos.
+     * 
+     * @param selectorCss selector CSS (admite varios separados por coma)
+     * @return true si hay al menos un elemento visible
+     */
+    protected boolean esVisibleEnPagina(String selectorCss) {
+        try {
+            return Boolean.TRUE.equals(jsExecutor.executeScript(
+                "return (" + FUNCION_VISIBLE_EN_PAGINA + ")(arguments[0]);", selectorCss));
+        } catch (Exception e) {
+            logger.debug(TipoMensaje.DEBUG.formatearMensaje(
+                "No se pudo consultar visibilidad de " + selectorCss + ": " + e.getMessage()));
+            return false;
+        }
+    }
+    
     /**
      * Obtiene el texto de un elemento de forma segura
      */
@@ -416,20 +875,34 @@ public abstract class PaginaBase {
     // === MÉTODOS DE UTILIDAD ===
     
     /**
-     * Obtiene la URL actual de la página
+     * Obtiene la URL actual de la página (una consulta por época de navegación)
      */
-    protected String obtenerUrlActual() {
+    public String obtenerUrlActual() {
+        EstadoPagina estado = estadoVigente();
+        if (estado != null && estado.url != null) {
+            return estado.url;
+        }
         String url = driver.getCurrentUrl();
         logger.debug(TipoMensaje.DEBUG.formatearMensaje("URL actual: " + url));
+        if (estado != null) {
+            estado.url = url;
+        }
         return url;
     }
     
     /**
-     * Obtiene el título de la página
+     * Obtiene el título de la página (una consulta por época de navegación)
      */
-    protected String obtenerTituloPagina() {
+    public String obtenerTituloPagina() {
+        EstadoPagina estado = estadoVigente();
+        if (estado != null && estado.titulo != null) {
+            return estado.titulo;
+        }
         String titulo = driver.getTitle();
         logger.debug(TipoMensaje.DEBUG.formatearMensaje("Título de página: " + titulo));
+        if (estado != null) {
+            estado.titulo = titulo;
+        }
         return titulo;
     }
     
@@ -463,13 +936,13 @@ public abstract class PaginaBase {
                 "Esperando formulario listo: " + selectorFormulario.toString()));
             
             // Esperar que el formulario esté presente
-            WebElement formulario = espera.until(ExpectedConditions.presenceOfElementLocated(selectorFormulario));
+            WebElement formulario = esperaAcotada(config.obtenerTimeoutExplicito()).until(ExpectedConditions.presenceOfElementLocated(selectorFormulario));
             
             // Esperar que esté visible
-            espera.until(ExpectedConditions.visibilityOf(formulario));
+            esperaAcotada(config.obtenerTimeoutExplicito()).until(ExpectedConditions.visibilityOf(formulario));
             
-            // Espera adicional para que se carguen todos los campos
-            Thread.sleep(500);
+            // Esperar a que terminen de renderizarse los campos
+            esperarDomEstable(500);
             
             logger.debug(TipoMensaje.EXITO.formatearMensaje("Formulario listo"));
             return true;
@@ -501,6 +974,50 @@ public abstract class PaginaBase {
         return true;
     }
     
+    /**
+     * Cambia el modo de llenado de formularios de esta página (p. ej. para una prueba concreta)
+     * @param modoLlenado ESCRITURA (sendKeys) o LOTE (un único script)
+     */
+    public void usarModoLlenado(ModoLlenado modoLlenado) {
+        this.modoLlenado = modoLlenado;
+    }
+    
+    /**
+     * Obtiene el modo de llenado de formularios de esta página
+     * @return modo de llenado (por defecto el de formulario.modo.llenado)
+     */
+    public ModoLlenado obtenerModoLlenado() {
+        return modoLlenado;
+    }
+    
+    /**
+     * Llena varios campos en un único script y verifica sus valores en el mismo viaje.
+     * Los campos de texto reciben String; los checkbox/radio, Boolean.
+     * 
+     * @param valoresPorSelector valores por selector CSS, en el orden en que se llenan
+     * @return selectores que no se encontraron o no quedaron con el valor esperado (vacía si todo bien)
+     */
+    protected List<String> llenarCamposEnLote(Map<String, Object> valoresPorSelector) {
+        List<String> selectores = new ArrayList<>(valoresPorSelector.keySet());
+        List<Object> valores = new ArrayList<>(valoresPorSelector.values());
+        
+        Object resultado = jsExecutor.executeScript(SCRIPT_LLENADO_LOTE, selectores, valores);
+        
+        List<String> fallidos = new ArrayList<>();
+        if (resultado instanceof List<?> lista) {
+            lista.forEach(selector -> fallidos.add(String.valueOf(selector)));
+        }
+        
+        if (fallidos.isEmpty()) {
+            logger.debug(TipoMensaje.EXITO.formatearMensaje(
+                "Formulario llenado en lote: " + selectores.size() + " campos"));
+        } else {
+            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                "Campos no llenados en lote: " + fallidos));
+        }
+        return fallidos;
+    }
+    
     /**
      * Limpia y llena un campo de formulario
      */
@@ -531,15 +1048,15 @@ public abstract class PaginaBase {
             WebElement boton = esperarElementoClickeable(selectorBoton);
             clickSeguro(boton);
             
-            // Esperar un momento para que se procese el envío
-            Thread.sleep(1000);
+            // Esperar a que se procese el envío (respuesta o navegación)
+            esperarDomEstable(1000);
             
             logger.info(TipoMensaje.EXITO.formatearMensaje("Formulario enviado"));
             
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensajeConExcepcion(
                 "Error enviando formulario", e));
-            throw e;
+            throw new RuntimeException("No se pudo enviar el formulario", e);
         }
     }
     
@@ -551,7 +1068,7 @@ public abstract class PaginaBase {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Esperando mensaje de resultado: " + selectorMensaje.toString()));
             
-            WebDriverWait esperaPersonalizada = new WebDriverWait(driver, Duration.ofSeconds(timeoutSegundos));
+            WebDriverWait esperaPersonalizada = esperaAcotada(timeoutSegundos);
             esperaPersonalizada.until(ExpectedConditions.visibilityOfElementLocated(selectorMensaje));
             
             logger.debug(TipoMensaje.EXITO.formatearMensaje("Mensaje de resultado apareció"));
@@ -576,8 +1093,10 @@ public abstract class PaginaBase {
             }
             
             // Verificar que no haya overlays o loaders activos
-            if (hayElementosBloqueo()) {
-                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Elementos de bloqueo presentes"));
+            String selectorBloqueo = detectarElementoBloqueo();
+            if (selectorBloqueo != null) {
+                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                    "Elemento de bloqueo presente: " + selectorBloqueo));
                 return false;
             }
             
@@ -592,49 +1111,45 @@ public abstract class PaginaBase {
     }
     
     /**
-     * Verifica si hay elementos que bloquean la interacción (loaders, overlays)
+     * Busca en una sola llamada al navegador algún elemento de bloqueo visible
+     * (loaders, overlays) según los selectores configurados en bloqueo.selectores.
+     * La visibilidad se evalúa con el estilo computado, sin depender del implicit wait.
+     * 
+     * @return selector del primer elemento de bloqueo visible o null si no hay ninguno
      */
-    private boolean hayElementosBloqueo() {
-        // Selectores comunes de elementos de bloqueo
-        String[] selectoresBloqueo = {
-            ".loading", ".loader", ".spinner", 
-            ".overlay", ".modal-backdrop",
-            "[style*='display: block'][style*='position: fixed']"
-        };
-        
-        for (String selector : selectoresBloqueo) {
-            try {
-                if (estaVisible(By.cssSelector(selector))) {
-                    logger.debug(TipoMensaje.DEBUG.formatearMensaje(
-                        "Elemento de bloqueo encontrado: " + selector));
-                    return true;
-                }
-            } catch (Exception e) {
-                // Continuar con el siguiente selector
+    protected String detectarElementoBloqueo() {
+        try {
+            Object selector = jsExecutor.executeScript(
+                "return (" + FUNCION_DETECCION_BLOQUEO + ")(arguments[0]);", selectoresBloqueo);
+            if (selector != null) {
+                logger.debug(TipoMensaje.DEBUG.formatearMensaje(
+                    "Elemento de bloqueo encontrado: " + selector));
             }
+            return selector != null ? selector.toString() : null;
+        } catch (Exception e) {
+            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                "No se pudo verificar elementos de bloqueo: " + e.getMessage()));
+            return null;
         }
-        
-        return false;
     }
     
     /**
      * Espera a que desaparezcan los elementos de bloqueo
      */
     protected boolean esperarDesaparicionElementosBloqueo(int timeoutSegundos) {
-        try {
-            logger.debug(TipoMensaje.DEBUG.formatearMensaje("Esperando desaparición de elementos de bloqueo"));
-            
-            WebDriverWait esperaPersonalizada = new WebDriverWait(driver, Duration.ofSeconds(timeoutSegundos));
-            esperaPersonalizada.until(driver -> !hayElementosBloqueo());
-            
+        logger.debug(TipoMensaje.DEBUG.formatearMensaje("Esperando desaparición de elementos de bloqueo"));
+        
+        // La comprobación se repite dentro de la página en cada mutación/frame
+        boolean desaparecieron = new EsperaExplicita(driver, timeoutSegundos).esperarCondicionEnNavegador(
+            "return (" + FUNCION_DETECCION_BLOQUEO + ")(arguments[0]) === null;", selectoresBloqueo);
+        
+        if (desaparecieron) {
             logger.debug(TipoMensaje.EXITO.formatearMensaje("Elementos de bloqueo han desaparecido"));
-            return true;
-            
-        } catch (Exception e) {
+        } else {
             logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
-                "Timeout esperando desaparición de elementos de bloqueo: " + e.getMessage()));
-            return false;
+                "Timeout esperando desaparición de elementos de bloqueo: " + detectarElementoBloqueo()));
         }
+        return desaparecieron;
     }
     
     /**
@@ -646,8 +1161,11 @@ public abstract class PaginaBase {
         info.append("Clase: ").append(this.getClass().getSimpleName()).append("\n");
         info.append("URL Actual: ").append(obtenerUrlActual()).append("\n");
         info.append("Título: ").append(obtenerTituloPagina()).append("\n");
-        info.append("Visible: ").append(esPaginaVisible()).append("\n");
-        info.append("Lista para interacción: ").append(esPaginaListaParaInteraccion()).append("\n");
+        boolean visible = esPaginaVisible();
+        String selectorBloqueo = detectarElementoBloqueo();
+        info.append("Visible: ").append(visible).append("\n");
+        info.append("Elemento de bloqueo: ").append(selectorBloqueo != null ? selectorBloqueo : "ninguno").append("\n");
+        info.append("Lista para interacción: ").append(visible && selectorBloqueo == null).append("\n");
         info.append("Timestamp: ").append(System.currentTimeMillis()).append("\n");
         info.append("========================");
         
@@ -663,7 +1181,9 @@ public abstract class PaginaBase {
         try {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje(
                 "Pausa controlada: " + milisegundos + "ms"));
-            Thread.sleep(milisegundos);
+            PresupuestoEspera.dormir(milisegundos);
+            // Durante la pausa la página pudo cambiar por sí sola
+            invalidarEstadoPagina();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
@@ -1,13 +1,16 @@
 package com.automatizacion.proyecto.paginas;
 
-import com.automatizacion.proyecto.base.PaginaBase;
 import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.utilidades.EsperaExplicita;
 import com.automatizacion.proyecto.utilidades.GestorCapturaPantalla;
+import com.automatizacion.proyecto.utilidades.PresupuestoEspera;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Página de Login usando el patrón Page Object Model.
@@ -55,17 +58,23 @@ public class PaginaLogin extends PaginaBase {
     
     // === SELECTORES COMO CONSTANTES ===
     private static final String SELECTOR_FORMULARIO = "form, .login-form";
+    private static final String SELECTOR_CAMPO_USUARIO = "#username";
+    private static final String SELECTOR_CAMPO_PASSWORD = "#password";
     private static final String SELECTOR_MENSAJE_ERROR = ".alert-danger, .error-message, .text-danger";
     private static final String SELECTOR_MENSAJE_EXITO = ".alert-success, .success-message, .text-success";
     private static final String SELECTOR_DASHBOARD = "#secure, .secure-area, .main-content";
     
+    // === RESULTADOS POSIBLES DEL LOGIN ===
+    private static final String RESULTADO_ERROR = "ERROR";
+    private static final String RESULTADO_DASHBOARD = "DASHBOARD";
+    private static final String RESULTADO_BIENVENIDA = "BIENVENIDA";
+    private static final String RESULTADO_REDIRECCION = "REDIRECCION";
+    
     // === LOCALIZADORES BY ===
-    private static final By BY_CAMPO_USUARIO = By.id("username");
-    private static final By BY_CAMPO_PASSWORD = By.id("password");
+    private static final By BY_CAMPO_USUARIO = By.cssSelector(SELECTOR_CAMPO_USUARIO);
+    private static final By BY_CAMPO_PASSWORD = By.cssSelector(SELECTOR_CAMPO_PASSWORD);
     private static final By BY_BOTON_LOGIN = By.id("login-button");
     private static final By BY_MENSAJE_ERROR = By.cssSelector(SELECTOR_MENSAJE_ERROR);
-    private static final By BY_MENSAJE_EXITO = By.cssSelector(SELECTOR_MENSAJE_EXITO);
-    private static final By BY_DASHBOARD = By.cssSelector(SELECTOR_DASHBOARD);
     
     /**
      * Constructor que inicializa la página de login
@@ -81,7 +90,7 @@ public class PaginaLogin extends PaginaBase {
     // === IMPLEMENTACIÓN DE MÉTODOS ABSTRACTOS ===
     
     @Override
-    public boolean esPaginaVisible() {
+    protected boolean verificarPaginaVisible() {
         try {
             // Verificar múltiples indicadores de que estamos en la página de login
             boolean formularioPresente = estaPresente(By.cssSelector(SELECTOR_FORMULARIO));
@@ -123,35 +132,44 @@ public class PaginaLogin extends PaginaBase {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje(
             "Iniciando login completo para usuario: " + usuario));
         
-        try {
+        // Todas las esperas del login (campos, click, resultado, capturas) comparten un plazo;
+        // cada paso abre además el suyo para que los excesos se registren por paso
+        PresupuestoEspera presupuesto = iniciarPresupuesto("login");
+        try (presupuesto) {
             // 1. Verificar que estamos en la página correcta
             if (!esPaginaVisible()) {
                 throw new RuntimeException("No estamos en la página de login");
             }
             
-            // 2. Limpiar campos primero
-            limpiarCamposLogin();
-            
-            // 3. Llenar formulario
-            ingresarCredenciales(usuario, password);
+            // 2-3. Limpiar campos y llenar formulario
+            ejecutarPaso("login.formulario", TIMEOUT_ELEMENTO_LARGO, () -> {
+                limpiarCamposLogin();
+                ingresarCredenciales(usuario, password);
+            });
             
             // 4. CAPTURA CRÍTICA: Formulario lleno ANTES de enviar
             logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje(
                 "Capturando formulario lleno antes de enviar"));
-            GestorCapturaPantalla.capturarFormularioLogin(driver, nombreCaso, SELECTOR_FORMULARIO);
+            ejecutarPaso("login.captura", TIMEOUT_ELEMENTO_LARGO, () ->
+                GestorCapturaPantalla.capturarFormularioLogin(driver, nombreCaso, SELECTOR_FORMULARIO));
             
-            // 5. Enviar formulario
-            boolean loginExitoso = enviarFormularioLogin();
+            // 5. Enviar formulario (click y envío)
+            if (!evaluarPaso("login.envio", TIMEOUT_ELEMENTO_LARGO, this::enviarFormularioLogin)) {
+                throw new RuntimeException("No se pudo enviar el formulario de login");
+            }
             
-            // 6. Esperar resultado y obtener estado
-            String estadoLogin = esperarYObtenerResultadoLogin();
+            // 6. Esperar resultado y obtener estado (el resultado real, no el del click)
+            String estadoLogin = evaluarPaso("login.resultado", config.obtenerTimeoutExplicito(),
+                this::esperarYObtenerResultadoLogin);
+            boolean loginExitoso = estadoLogin.startsWith("EXITOSO");
             
             // 7. CAPTURA CRÍTICA: Resultado DESPUÉS de enviar
             logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje(
                 "Capturando resultado de login: " + (loginExitoso ? "exitoso" : "fallido")));
             
             String selectorResultado = loginExitoso ? SELECTOR_DASHBOARD : SELECTOR_MENSAJE_ERROR;
-            GestorCapturaPantalla.capturarResultadoLogin(driver, nombreCaso, loginExitoso, selectorResultado);
+            ejecutarPaso("login.captura", TIMEOUT_ELEMENTO_LARGO, () ->
+                GestorCapturaPantalla.capturarResultadoLogin(driver, nombreCaso, loginExitoso, selectorResultado));
             
             // 8. Log del resultado
             logger.info(TipoMensaje.EXITO.formatearMensaje(
@@ -177,22 +195,28 @@ public class PaginaLogin extends PaginaBase {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando credenciales"));
         
         try {
-            // Ingresar usuario
-            WebElement campoUser = esperarElementoClickeable(BY_CAMPO_USUARIO, TIMEOUT_ELEMENTO_LARGO);
-            ingresarTextoSeguro(campoUser, usuario);
+            // En modo LOTE usuario y password se asignan y verifican en un único script
+            if (obtenerModoLlenado().esLote()) {
+                Map<String, Object> valores = new LinkedHashMap<>();
+                valores.put(SELECTOR_CAMPO_USUARIO, usuario);
+                valores.put(SELECTOR_CAMPO_PASSWORD, password);
+                if (llenarCamposEnLote(valores).isEmpty()) {
+                    return;
+                }
+                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                    "Llenado en lote incompleto, se escriben las credenciales campo por campo"));
+            }
+            
+            // Ingresar usuario (escribirEn ya verifica el valor escrito)
+            escribirEn(BY_CAMPO_USUARIO, usuario);
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Usuario ingresado"));
             
-            // Pequeña pausa entre campos
-            Thread.sleep(500);
+            // sendKeys es síncrono: no hace falta pausa entre campos
             
             // Ingresar password
-            WebElement campoPass = esperarElementoClickeable(BY_CAMPO_PASSWORD, TIMEOUT_ELEMENTO_LARGO);
-            ingresarTextoSeguro(campoPass, password);
+            escribirEn(BY_CAMPO_PASSWORD, password);
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Password ingresado"));
             
-            // Verificar que los campos no estén vacíos
-            verificarCamposLlenos();
-            
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje(
                 "Error ingresando credenciales: " + e.getMessage()));
@@ -210,16 +234,16 @@ public class PaginaLogin extends PaginaBase {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("Enviando formulario de login"));
         
         try {
-            // Buscar y hacer click en el botón de login
-            WebElement boton = esperarElementoClickeable(BY_BOTON_LOGIN, TIMEOUT_ELEMENTO_LARGO);
+            // Buscar el botón; clickSeguro comprueba en el mismo script que sea clickeable
+            WebElement boton = obtenerElemento(BY_BOTON_LOGIN);
             
             // Hacer click de forma segura
             clickSeguro(boton);
             
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Formulario enviado"));
             
-            // Esperar un momento para que inicie el procesamiento
-            Thread.sleep(1000);
+            // Esperar a que se procese el envío (respuesta o navegación)
+            esperarDomEstable(1000);
             
             return true;
             
@@ -240,33 +264,37 @@ public class PaginaLogin extends PaginaBase {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("Esperando resultado de login"));
         
         try {
-            // Esperar a que desaparezca cualquier indicador de carga
-            esperarDesaparicionIndicadorCarga();
-            
-            // Verificar si hay mensaje de error (login fallido)
-            if (hayMensajeError()) {
-                String mensajeError = obtenerMensajeError();
-                logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Login fallido: " + mensajeError));
-                return "FALLIDO: " + mensajeError;
-            }
-            
-            // Verificar si hay redirección o dashboard (login exitoso)
-            if (esLoginExitoso()) {
-                logger.info(TipoMensaje.EXITO.formatearMensaje("Login exitoso - Dashboard cargado"));
-                return "EXITOSO: Acceso concedido";
+            // Error, dashboard, mensaje de bienvenida y cambio de URL se evalúan juntos:
+            // la espera termina en cuanto la aplicación responde con cualquiera de ellos
+            String resultado = esperaNavegador.esperarPrimeraCondicion(
+                condicionVisible(RESULTADO_ERROR, SELECTOR_MENSAJE_ERROR),
+                condicionVisible(RESULTADO_DASHBOARD, SELECTOR_DASHBOARD),
+                condicionVisible(RESULTADO_BIENVENIDA, SELECTOR_MENSAJE_EXITO),
+                EsperaExplicita.condicion(RESULTADO_REDIRECCION,
+                    "return window.location.href.toLowerCase().indexOf('login') < 0;"));
+            
+            if (resultado == null) {
+                logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Resultado de login incierto"));
+                return "INCIERTO: No se pudo determinar el resultado";
             }
             
-            // Verificar cambio de URL
-            String urlActual = obtenerUrlActual();
-            if (!urlActual.contains("login")) {
-                logger.info(TipoMensaje.EXITO.formatearMensaje("Login exitoso - URL cambió a: " + urlActual));
-                return "EXITOSO: Redirección a " + urlActual;
+            switch (resultado) {
+                case RESULTADO_ERROR -> {
+                    String mensajeError = obtenerMensajeError();
+                    logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Login fallido: " + mensajeError));
+                    return "FALLIDO: " + mensajeError;
+                }
+                case RESULTADO_REDIRECCION -> {
+                    String urlActual = obtenerUrlActual();
+                    logger.info(TipoMensaje.EXITO.formatearMensaje("Login exitoso - URL cambió a: " + urlActual));
+                    return "EXITOSO: Redirección a " + urlActual;
+                }
+                default -> {
+                    logger.info(TipoMensaje.EXITO.formatearMensaje("Login exitoso - Dashboard cargado"));
+                    return "EXITOSO: Acceso concedido";
+                }
             }
             
-            // Si llegamos aquí, el resultado es incierto
-            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Resultado de login incierto"));
-            return "INCIERTO: No se pudo determinar el resultado";
-            
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje(
                 "Error obteniendo resultado: " + e.getMessage()));
@@ -282,8 +310,9 @@ public class PaginaLogin extends PaginaBase {
      */
     public boolean esLoginExitoso() {
         try {
-            // Método 1: Buscar elementos del dashboard
-            if (estaVisible(BY_DASHBOARD)) {
+            // Métodos 1 y 3: dashboard o mensaje de bienvenida visibles, en una sola consulta
+            // JavaScript que no paga el implicit wait cuando no existen
+            if (esVisibleEnPagina(SELECTOR_DASHBOARD + ", " + SELECTOR_MENSAJE_EXITO)) {
                 return true;
             }
             
@@ -293,11 +322,6 @@ public class PaginaLogin extends PaginaBase {
                 return true;
             }
             
-            // Método 3: Buscar mensaje de bienvenida
-            if (estaVisible(BY_MENSAJE_EXITO)) {
-                return true;
-            }
-            
             // Método 4: Verificar que no estamos en página de login
             return !esPaginaVisible();
             
@@ -313,7 +337,7 @@ public class PaginaLogin extends PaginaBase {
      * @return true si hay error
      */
     public boolean hayMensajeError() {
-        return estaVisible(BY_MENSAJE_ERROR);
+        return esVisibleEnPagina(SELECTOR_MENSAJE_ERROR);
     }
     
     /**
@@ -324,47 +348,16 @@ public class PaginaLogin extends PaginaBase {
         return obtenerTextoSeguro(BY_MENSAJE_ERROR);
     }
     
-    /**
-     * Verifica que los campos estén llenos antes de enviar
-     */
-    private void verificarCamposLlenos() {
-        try {
-            String valorUsuario = campoUsuario.getAttribute("value");
-            String valorPassword = campoPassword.getAttribute("value");
-            
-            if (valorUsuario == null || valorUsuario.trim().isEmpty()) {
-                throw new RuntimeException("Campo usuario está vacío");
-            }
-            
-            if (valorPassword == null || valorPassword.trim().isEmpty()) {
-                throw new RuntimeException("Campo password está vacío");
-            }
-            
-            logger.debug(TipoMensaje.DEBUG.formatearMensaje("Campos verificados - llenos correctamente"));
-            
-        } catch (Exception e) {
-            logger.error(TipoMensaje.ERROR.formatearMensaje(
-                "Error verificando campos: " + e.getMessage()));
-            throw new RuntimeException("Los campos no están llenos correctamente", e);
-        }
-    }
-    
-    // === MÉTODOS DE UTILIDAD ===
-    
     /**
      * Limpia los campos de login
      */
     public void limpiarCamposLogin() {
         try {
-            if (estaPresente(BY_CAMPO_USUARIO)) {
-                WebElement campoUser = buscarElemento(BY_CAMPO_USUARIO);
-                campoUser.clear();
-            }
-            
-            if (estaPresente(BY_CAMPO_PASSWORD)) {
-                WebElement campoPass = buscarElemento(BY_CAMPO_PASSWORD);
-                campoPass.clear();
-            }
+            // Ambos campos en un solo comando; un campo ausente simplemente se omite
+            Map<String, Object> vacios = new LinkedHashMap<>();
+            vacios.put(SELECTOR_CAMPO_USUARIO, "");
+            vacios.put(SELECTOR_CAMPO_PASSWORD, "");
+            llenarCamposEnLote(vacios);
             
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Campos de login limpiados"));
             
@@ -374,24 +367,6 @@ public class PaginaLogin extends PaginaBase {
         }
     }
     
-    /**
-     * Espera a que desaparezca el indicador de carga
-     */
-    private void esperarDesaparicionIndicadorCarga() {
-        try {
-            // Esperar hasta 10 segundos a que desaparezca el indicador de carga
-            espera.until(ExpectedConditions.invisibilityOfElementLocated(
-                By.cssSelector(".loading, .spinner")));
-            
-            logger.debug(TipoMensaje.DEBUG.formatearMensaje("Indicador de carga desapareció"));
-            
-        } catch (Exception e) {
-            // Si no hay indicador de carga o no desaparece, continuar
-            logger.debug(TipoMensaje.DEBUG.formatearMensaje(
-                "No hay indicador de carga o no desapareció"));
-        }
-    }
-    
     /**
      * Obtiene información del estado actual de la página
      * @return información de estado para debugging
@@ -437,7 +412,7 @@ public class PaginaLogin extends PaginaBase {
                     logger.info(TipoMensaje.INFORMATIVO.formatearMensaje("Logout realizado"));
                     
                     // Esperar a volver a página de login
-                    Thread.sleep(2000);
+                    esperarDomEstable(2000);
                     return;
                 }
             }
@@ -4,19 +4,57 @@
 // ===============================================
 package com.automatizacion.proyecto.paginas;
 
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
 import com.automatizacion.proyecto.datos.ModeloDatosPrueba;
 import com.automatizacion.proyecto.enums.TipoMensaje;
 import com.automatizacion.proyecto.paginas.interfaces.IPaginaRegistro;
+import com.automatizacion.proyecto.utilidades.CapturaNativa;
+import com.automatizacion.proyecto.utilidades.EsperaExplicita;
+import com.automatizacion.proyecto.utilidades.PresupuestoEspera;
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     
     private static final Logger logger = LoggerFactory.getLogger(PaginaRegistro.class);
     
+    // Selectores de los campos para el llenado en lote (mismos elementos que los @FindBy)
+    private static final String SELECTOR_CAMPO_NOMBRE = "#username";
+    private static final String SELECTOR_CAMPO_EMAIL = "#email";
+    private static final String SELECTOR_CAMPO_PASSWORD = "#password";
+    private static final String SELECTOR_CAMPO_CONFIRMAR_PASSWORD = "#confirm-password";
+    private static final String SELECTOR_CHECKBOX_TERMINOS = "#terms";
+    
+    // === RESULTADOS POSIBLES DEL REGISTRO ===
+    private static final String SELECTOR_MENSAJE_EXITO = ".success-message";
+    // Los mismos que revisa hayErroresValidacion(); incluye el de mensajeError
+    private static final String SELECTOR_ERRORES = ".error-message, .field-error, .alert-danger";
+    private static final String RESULTADO_EXITO = "EXITO";
+    private static final String RESULTADO_ERROR = "ERROR";
+    private static final String RESULTADO_REDIRECCION = "REDIRECCION";
+    // El navegador bloqueó el envío por la validación HTML5 (required, type=email...)
+    private static final String RESULTADO_INVALIDO = "INVALIDO";
+    
+    // === LOCALIZADORES BY ===
+    private static final By BY_CAMPO_NOMBRE = By.cssSelector(SELECTOR_CAMPO_NOMBRE);
+    private static final By BY_CAMPO_PASSWORD = By.cssSelector(SELECTOR_CAMPO_PASSWORD);
+    private static final By BY_BOTON_REGISTRAR = By.xpath("//button[text()='Register']");
+    private static final By BY_CHECKBOX_TERMINOS = By.cssSelector(SELECTOR_CHECKBOX_TERMINOS);
+    private static final By BY_MENSAJE_EXITO = By.cssSelector(SELECTOR_MENSAJE_EXITO);
+    private static final By BY_MENSAJE_ERROR = By.className("error-message");
+    private static final By BY_ERROR_NOMBRE = By.xpath("//div[@class='field-error'][contains(.,'username')]");
+    private static final By BY_ERROR_EMAIL = By.xpath("//div[@class='field-error'][contains(.,'email')]");
+    private static final By BY_ERROR_PASSWORD = By.xpath("//div[@class='field-error'][contains(.,'password')]");
+    
     @FindBy(id = "username")
     private WebElement campoNombre;
     
@@ -32,35 +70,17 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     @FindBy(xpath = "//button[text()='Register']")
     private WebElement botonRegistrar;
     
-    @FindBy(id = "terms")
-    private WebElement checkboxTerminos;
-    
-    @FindBy(className = "success-message")
-    private WebElement mensajeExito;
-    
-    @FindBy(className = "error-message")
-    private WebElement mensajeError;
-    
-    @FindBy(xpath = "//div[@class='field-error'][contains(.,'username')]")
-    private WebElement errorNombre;
-    
-    @FindBy(xpath = "//div[@class='field-error'][contains(.,'email')]")
-    private WebElement errorEmail;
-    
-    @FindBy(xpath = "//div[@class='field-error'][contains(.,'password')]")
-    private WebElement errorPassword;
-    
     public PaginaRegistro(WebDriver driver) {
         super(driver);
         logger.debug(TipoMensaje.DEBUG.formatearMensaje("PaginaRegistro inicializada"));
     }
     
     @Override
-    public boolean esPaginaVisible() {
+    protected boolean verificarPaginaVisible() {
         try {
-            return esperarElementoVisible(campoNombre, 10) && 
-                   esperarElementoVisible(campoPassword, 5) &&
-                   esperarElementoVisible(botonRegistrar, 5);
+            return estaVisible(BY_CAMPO_NOMBRE) &&
+                   estaVisible(BY_CAMPO_PASSWORD) &&
+                   estaVisible(BY_BOTON_REGISTRAR);
         } catch (Exception e) {
             logger.error(TipoMensaje.ERROR.formatearMensaje("Error verificando visibilidad página registro: " + e.getMessage()));
             return false;
@@ -68,16 +88,45 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     }
     
     @Override
+    public String obtenerUrlEsperada() {
+        return config.obtenerUrlRegistro();
+    }
+    
+    @Override
+    public boolean esperarCargaPagina(int timeoutSegundos) {
+        try {
+            esperaAcotada(timeoutSegundos).until(d ->
+                "complete".equals(ejecutarJavaScript("return document.readyState;")));
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                "La página de registro no terminó de cargar en " + timeoutSegundos + "s"));
+            return false;
+        }
+    }
+    
+    @Override
+    public void navegarAtras() {
+        logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("Volviendo a la página anterior"));
+        driver.navigate().back();
+        esperarCargaCompletaPagina();
+    }
+    
+    @Override
+    public void actualizarPagina() {
+        refrescarPagina();
+    }
+    
     public void validarElementosPagina() {
         logger.info(TipoMensaje.VALIDACION.formatearMensaje("Validando elementos de página registro"));
         
-        if (!esElementoVisible(campoNombre)) {
+        if (!estaVisible(BY_CAMPO_NOMBRE)) {
             throw new RuntimeException("Campo nombre no está visible");
         }
-        if (!esElementoVisible(campoPassword)) {
+        if (!estaVisible(BY_CAMPO_PASSWORD)) {
             throw new RuntimeException("Campo password no está visible");
         }
-        if (!esElementoVisible(botonRegistrar)) {
+        if (!estaVisible(BY_BOTON_REGISTRAR)) {
             throw new RuntimeException("Botón registrar no está visible");
         }
         
@@ -89,43 +138,15 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("Llenando formulario completo de registro"));
         
         try {
-            // Scroll para asegurar que los elementos están visibles
-            manejadorScroll.scrollAlInicio();
-            Thread.sleep(500);
-            
-            if (datos.getNombre() != null && !datos.getNombre().isEmpty()) {
-                logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando nombre: " + datos.getNombre()));
-                ingresarNombre(datos.getNombre());
-                Thread.sleep(500); // Pausa entre campos
-            }
-            
-            if (datos.getEmail() != null && !datos.getEmail().isEmpty()) {
-                logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando email: " + datos.getEmail()));
-                ingresarEmail(datos.getEmail());
-                Thread.sleep(500);
-            }
-            
-            if (datos.getPassword() != null && !datos.getPassword().isEmpty()) {
-                logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando password"));
-                ingresarPassword(datos.getPassword());
-                Thread.sleep(500);
-            }
-            
-            if (datos.getConfirmacionPassword() != null && !datos.getConfirmacionPassword().isEmpty()) {
-                logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando confirmación password"));
-                ingresarConfirmarPassword(datos.getConfirmacionPassword());
-                Thread.sleep(500);
-            }
-            
-            if (datos.isAceptarTerminos()) {
-                logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Aceptando términos"));
-                aceptarTerminos();
-                Thread.sleep(500);
+            // En modo LOTE todos los campos se llenan y verifican en un único script;
+            // si alguno no queda bien se repite el formulario escribiendo campo por campo
+            if (!obtenerModoLlenado().esLote() || !llenarFormularioEnLote(datos)) {
+                llenarFormularioCampoPorCampo(datos);
             }
             
             // Scroll final para mostrar todo el formulario lleno
             scrollParaCaptura();
-            Thread.sleep(1000);
+            esperarDomEstable(1000);
             
             logger.info(TipoMensaje.EXITO.formatearMensaje("Formulario de registro completado correctamente"));
             
@@ -135,10 +156,67 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
         }
     }
     
+    /**
+     * Llena el formulario escribiendo cada campo con sendKeys
+     */
+    private void llenarFormularioCampoPorCampo(ModeloDatosPrueba datos) {
+        // Llevar el primer campo a la vista; cada escritura hace además su propio scroll
+        scrollAElemento(campoNombre);
+        
+        if (datos.getNombre() != null && !datos.getNombre().isEmpty()) {
+            logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando nombre: " + datos.getNombre()));
+            ingresarNombre(datos.getNombre()); // sendKeys es síncrono, sin pausa entre campos
+        }
+        
+        if (datos.getEmail() != null && !datos.getEmail().isEmpty()) {
+            logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando email: " + datos.getEmail()));
+            ingresarEmail(datos.getEmail());
+        }
+        
+        if (datos.getPassword() != null && !datos.getPassword().isEmpty()) {
+            logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando password"));
+            ingresarPassword(datos.getPassword());
+        }
+        
+        if (datos.getConfirmacionPassword() != null && !datos.getConfirmacionPassword().isEmpty()) {
+            logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando confirmación password"));
+            ingresarConfirmarPassword(datos.getConfirmacionPassword());
+        }
+        
+        if (datos.isAceptarTerminos()) {
+            logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Aceptando términos"));
+            aceptarTerminos();
+        }
+    }
+    
+    /**
+     * Llena y verifica todo el formulario en un único script
+     * @return true si todos los campos quedaron con el valor esperado
+     */
+    private boolean llenarFormularioEnLote(ModeloDatosPrueba datos) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        agregarSiTieneValor(valores, SELECTOR_CAMPO_NOMBRE, datos.getNombre());
+        agregarSiTieneValor(valores, SELECTOR_CAMPO_EMAIL, datos.getEmail());
+        agregarSiTieneValor(valores, SELECTOR_CAMPO_PASSWORD, datos.getPassword());
+        agregarSiTieneValor(valores, SELECTOR_CAMPO_CONFIRMAR_PASSWORD, datos.getConfirmacionPassword());
+        if (datos.isAceptarTerminos()) {
+            valores.put(SELECTOR_CHECKBOX_TERMINOS, Boolean.TRUE);
+        }
+        
+        logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Llenando formulario en lote: " + valores.keySet()));
+        return llenarCamposEnLote(valores).isEmpty();
+    }
+    
+    private static void agregarSiTieneValor(Map<String, Object> valores, String selector, String valor) {
+        if (valor != null && !valor.isEmpty()) {
+            valores.put(selector, valor);
+        }
+    }
+    
     @Override
     public void ingresarNombre(String nombre) {
         logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando nombre: " + nombre));
-        ingresarTextoSeguro(campoNombre, nombre, true);
+        ingresarTextoSeguro(campoNombre, nombre);
     }
     
     @Override
@@ -149,26 +227,27 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     @Override
     public void ingresarEmail(String email) {
         logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando email: " + email));
-        ingresarTextoSeguro(campoEmail, email, true);
+        ingresarTextoSeguro(campoEmail, email);
     }
     
     @Override
     public void ingresarPassword(String password) {
         logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando password"));
-        ingresarTextoSeguro(campoPassword, password, true);
+        ingresarTextoSeguro(campoPassword, password);
     }
     
     @Override
     public void ingresarConfirmarPassword(String confirmarPassword) {
         logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Ingresando confirmación de password"));
-        ingresarTextoSeguro(campoConfirmarPassword, confirmarPassword, true);
+        ingresarTextoSeguro(campoConfirmarPassword, confirmarPassword);
     }
     
     @Override
     public void aceptarTerminos() {
         logger.debug(TipoMensaje.PASO_PRUEBA.formatearMensaje("Aceptando términos y condiciones"));
         try {
-            if (esperarElementoClickeable(checkboxTerminos, TIMEOUT_DEFECTO) && !checkboxTerminos.isSelected()) {
+            WebElement checkboxTerminos = esperarElementoClickeable(BY_CHECKBOX_TERMINOS);
+            if (!checkboxTerminos.isSelected()) {
                 clickSeguro(checkboxTerminos);
                 logger.debug(TipoMensaje.EXITO.formatearMensaje("Términos aceptados"));
             }
@@ -187,38 +266,43 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     public boolean registrarUsuario(ModeloDatosPrueba datos) {
         logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje("Iniciando proceso de registro de usuario"));
         
-        try {
-            // 1. Scroll al inicio para ver el formulario
-            manejadorScroll.scrollAlInicio();
-            Thread.sleep(1000);
-            
-            // 2. Llenar formulario
-            llenarFormularioCompleto(datos);
+        // Todas las esperas del registro (formulario, click, resultado) comparten un plazo;
+        // cada paso abre además el suyo para que los excesos se registren por paso
+        PresupuestoEspera presupuesto = iniciarPresupuesto("registro");
+        try (presupuesto) {
+            // 1-2. Esperar el formulario y llenarlo (el llenado hace su propio scroll)
+            ejecutarPaso("registro.formulario", TIMEOUT_ELEMENTO_LARGO, () -> {
+                esperarDomEstable(1000);
+                llenarFormularioCompleto(datos);
+            });
             
             // 3. Captura ANTES de hacer click (con datos visibles)
-            capturarPantalla("formulario_lleno_" + datos.getCasoPrueba());
+            ejecutarPaso("registro.captura", TIMEOUT_ELEMENTO_LARGO, () ->
+                capturarPantalla("formulario_lleno_" + datos.getCasoPrueba()));
             
             // 4. Hacer click en registrar
-            clickBotonRegistrar();
+            ejecutarPaso("registro.click", TIMEOUT_ELEMENTO_LARGO, this::clickBotonRegistrar);
             
-            // 5. Esperar procesamiento
-            Thread.sleep(3000); // Más tiempo para procesamiento
+            // 5. La espera de la respuesta la hacen verificarRegistroExitoso/Fallido,
+            //    que terminan en cuanto aparece el primer resultado
             
             // 6. Verificar resultado
             if (datos.isEsValido()) {
-                boolean exitoso = verificarRegistroExitoso();
+                boolean exitoso = evaluarPaso("registro.resultado", config.obtenerTimeoutExplicito(),
+                    this::verificarRegistroExitoso);
                 logger.info(TipoMensaje.EXITO.formatearMensaje("Registro completado - Exitoso: " + exitoso));
                 
                 if (!exitoso) {
                     // Debug: capturar estado actual para análisis
                     capturarPantalla("debug_registro_no_exitoso_" + datos.getCasoPrueba());
-                    logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("URL actual: " + driver.getCurrentUrl()));
-                    logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Título actual: " + driver.getTitle()));
+                    logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("URL actual: " + obtenerUrlActual()));
+                    logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Título actual: " + obtenerTituloPagina()));
                 }
                 
                 return exitoso;
             } else {
-                boolean fallido = verificarRegistroFallido();
+                boolean fallido = evaluarPaso("registro.resultado", config.obtenerTimeoutExplicito(),
+                    this::verificarRegistroFallido);
                 logger.info(TipoMensaje.EXITO.formatearMensaje("Registro completado - Falló como esperado: " + fallido));
                 return fallido;
             }
@@ -233,30 +317,25 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     @Override
     public boolean verificarRegistroExitoso() {
         try {
-            // Esperar un poco más para que se procese la respuesta
-            Thread.sleep(2000);
+            String resultado = esperarResultadoRegistro(2000);
             
-            // 1. Verificar mensaje de éxito
-            if (esElementoVisible(mensajeExito)) {
-                String mensaje = obtenerTextoSeguro(mensajeExito);
+            // 1. Mensaje de éxito o redirección detectados en la misma espera
+            if (RESULTADO_EXITO.equals(resultado)) {
+                String mensaje = obtenerTextoSeguro(BY_MENSAJE_EXITO);
                 logger.info(TipoMensaje.EXITO.formatearMensaje("Registro exitoso detectado con mensaje: " + mensaje));
                 return true;
             }
-            
-            // 2. Verificar redirección por URL
-            String urlActual = driver.getCurrentUrl();
-            logger.debug(TipoMensaje.DEBUG.formatearMensaje("URL actual para verificación: " + urlActual));
-            
-            if (urlActual.contains("success") || 
-                urlActual.contains("welcome") || 
-                urlActual.contains("dashboard") ||
-                urlActual.contains("home") ||
-                !urlActual.contains("register")) {
-                logger.info(TipoMensaje.EXITO.formatearMensaje("Registro exitoso detectado por cambio de URL: " + urlActual));
+            if (RESULTADO_REDIRECCION.equals(resultado)) {
+                logger.info(TipoMensaje.EXITO.formatearMensaje("Registro exitoso detectado por cambio de URL: " + obtenerUrlActual()));
                 return true;
             }
+            if (RESULTADO_ERROR.equals(resultado) || RESULTADO_INVALIDO.equals(resultado)) {
+                logger.debug(TipoMensaje.DEBUG.formatearMensaje("El registro se rechazó por validación: " + resultado));
+                return false;
+            }
             
-            // 3. Verificar cambio en el título
+            // 2. Sin resultado antes del timeout: heurísticas de respaldo
+            // 2a. Verificar cambio en el título
             String titulo = obtenerTituloPagina();
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Título actual: " + titulo));
             
@@ -268,7 +347,7 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
                 return true;
             }
             
-            // 4. Verificar ausencia de errores
+            // 2b. Verificar ausencia de errores
             boolean hayErrores = hayErroresValidacion();
             if (!hayErrores && !esPaginaVisible()) {
                 logger.info(TipoMensaje.EXITO.formatearMensaje("Registro exitoso detectado por ausencia de errores y cambio de página"));
@@ -287,11 +366,18 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
     @Override
     public boolean verificarRegistroFallido() {
         try {
-            boolean enPaginaRegistro = esPaginaVisible();
-            boolean hayErrores = hayErroresValidacion();
-            boolean hayMensajeError = esElementoVisible(mensajeError);
+            // Si la aplicación responde con éxito o redirección la espera termina
+            // sin agotar el timeout buscando un error que no va a aparecer
+            String resultado = esperarResultadoRegistro(0);
             
-            boolean registroFallo = enPaginaRegistro && (hayErrores || hayMensajeError);
+            boolean registroFallo;
+            if (resultado == null) {
+                // Sin resultado en el plazo: se revisa el estado actual (SELECTOR_ERRORES incluye mensajeError)
+                registroFallo = esPaginaVisible() && hayErroresValidacion();
+            } else {
+                registroFallo = (RESULTADO_ERROR.equals(resultado) || RESULTADO_INVALIDO.equals(resultado))
+                    && esPaginaVisible();
+            }
             
             if (registroFallo) {
                 String mensajeError = obtenerMensajeError();
@@ -306,11 +392,35 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
         }
     }
     
+    /**
+     * Espera el primer resultado del envío del formulario: mensaje de éxito,
+     * errores de validación, redirección fuera de la página de registro o
+     * formulario rechazado por la validación HTML5 del navegador
+     * 
+     * @param pausaFijaReemplazadaMs pausa fija que sustituye esta espera
+     * @return RESULTADO_EXITO, RESULTADO_ERROR, RESULTADO_REDIRECCION, RESULTADO_INVALIDO
+     *         o null si no hubo respuesta
+     */
+    private String esperarResultadoRegistro(long pausaFijaReemplazadaMs) {
+        String resultado = esperarPrimeraCondicion(pausaFijaReemplazadaMs,
+            condicionVisible(RESULTADO_EXITO, SELECTOR_MENSAJE_EXITO),
+            condicionVisible(RESULTADO_ERROR, SELECTOR_ERRORES),
+            EsperaExplicita.condicion(RESULTADO_REDIRECCION,
+                "var url = window.location.href.toLowerCase();" +
+                "return url.indexOf('register') < 0 || /success|welcome|dashboard|home/.test(url);"),
+            EsperaExplicita.condicion(RESULTADO_INVALIDO,
+                "return window.location.href.toLowerCase().indexOf('register') >= 0" +
+                "  && document.querySelector('form:invalid') !== null;"));
+        
+        logger.debug(TipoMensaje.DEBUG.formatearMensaje("Resultado del registro: " + resultado));
+        return resultado;
+    }
+    
     @Override
     public String obtenerMensajeError() {
         try {
-            if (esElementoVisible(mensajeError)) {
-                String mensaje = obtenerTextoSeguro(mensajeError);
+            if (estaVisible(BY_MENSAJE_ERROR)) {
+                String mensaje = obtenerTextoSeguro(BY_MENSAJE_ERROR);
                 if (!mensaje.isEmpty()) {
                     return mensaje;
                 }
@@ -318,14 +428,14 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
             
             StringBuilder erroresCompletos = new StringBuilder();
             
-            if (esElementoVisible(errorNombre)) {
-                erroresCompletos.append(obtenerTextoSeguro(errorNombre)).append("; ");
+            if (estaVisible(BY_ERROR_NOMBRE)) {
+                erroresCompletos.append(obtenerTextoSeguro(BY_ERROR_NOMBRE)).append("; ");
             }
-            if (esElementoVisible(errorEmail)) {
-                erroresCompletos.append(obtenerTextoSeguro(errorEmail)).append("; ");
+            if (estaVisible(BY_ERROR_EMAIL)) {
+                erroresCompletos.append(obtenerTextoSeguro(BY_ERROR_EMAIL)).append("; ");
             }
-            if (esElementoVisible(errorPassword)) {
-                erroresCompletos.append(obtenerTextoSeguro(errorPassword)).append("; ");
+            if (estaVisible(BY_ERROR_PASSWORD)) {
+                erroresCompletos.append(obtenerTextoSeguro(BY_ERROR_PASSWORD)).append("; ");
             }
             
             String resultado = erroresCompletos.toString();
@@ -343,8 +453,8 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
      */
     public boolean hayErroresValidacion() {
         try {
-            return driver.findElements(org.openqa.selenium.By.cssSelector(".error-message, .field-error, .alert-danger"))
-                        .stream().anyMatch(org.openqa.selenium.WebElement::isDisplayed);
+            return driver.findElements(By.cssSelector(SELECTOR_ERRORES))
+                        .stream().anyMatch(WebElement::isDisplayed);
         } catch (Exception e) {
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Error verificando errores de validación: " + e.getMessage()));
             return false;
@@ -355,18 +465,18 @@ public class PaginaRegistro extends PaginaBase implements IPaginaRegistro {
      * Scroll para mostrar formulario completo en capturas
      */
     private void scrollParaCaptura() {
+        // La captura de página completa incluye el formulario sin mover la página
+        if (ConfiguracionGlobal.obtenerInstancia().obtenerModoCaptura().esPaginaCompleta()
+                && CapturaNativa.soportaPaginaCompleta(driver)) {
+            return;
+        }
+        
         try {
-            // Buscar el formulario de registro
-            org.openqa.selenium.WebElement formulario = driver.findElement(org.openqa.selenium.By.tagName("form"));
-            if (formulario != null) {
-                manejadorScroll.scrollHastaElemento(formulario);
-            } else {
-                // Si no encuentra form, scroll al primer input
-                org.openqa.selenium.WebElement primerInput = driver.findElement(org.openqa.selenium.By.tagName("input"));
-                manejadorScroll.scrollHastaElemento(primerInput);
-            }
+            // Buscar el formulario de registro; sin form, el primer campo
+            List<WebElement> formularios = driver.findElements(By.tagName("form"));
+            scrollAElemento(formularios.isEmpty() ? campoNombre : formularios.get(0));
         } catch (Exception e) {
-            manejadorScroll.scrollAlInicio(); // Fallback
+            ejecutarJavaScript("window.scrollTo(0, 0);"); // Fallback
             logger.debug(TipoMensaje.DEBUG.formatearMensaje("Scroll para captura - fallback al inicio"));
         }
     }
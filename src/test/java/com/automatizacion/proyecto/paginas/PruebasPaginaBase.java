@@ -0,0 +1,140 @@
+package com.automatizacion.proyecto.paginas;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador;
+import com.automatizacion.proyecto.enums.ModoLlenado;
+import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.utilidades.ContadorComandosWebDriver;
+import com.automatizacion.proyecto.utilidades.ServidorFixture;
+import io.qameta.allure.*;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Pruebas de PaginaBase sobre PaginaLogin contra el servidor fixture local:
+ * comandos WebDriver por llenado de formulario y reutilización del estado
+ * de la página entre navegaciones.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasPaginaBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(PruebasPaginaBase.class);
+
+    private static final int REPETICIONES = 10;
+
+    @Test(description = "Verificar que el llenado en lote usa menos comandos WebDriver que campo por campo",
+          groups = {"performance"})
+    @Story("Llenado de Formularios")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Cuenta comandos WebDriver por formulario en modo ESCRITURA y LOTE contra el fixture local")
+    public void testLlenadoFormularioPorModo() {
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+        WebDriver navegador = null;
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(4)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+            ConfiguracionGlobal.reiniciarInstancia();
+
+            // El driver ya viene decorado con ContadorComandosWebDriver
+            navegador = ConfiguradorNavegador.crearNavegador(ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion());
+            navegador.get(fixture.obtenerUrlBase() + "/login");
+
+            PaginaLogin pagina = new PaginaLogin(navegador);
+            long escritura = contarComandosLlenado(pagina, ModoLlenado.ESCRITURA);
+            long lote = contarComandosLlenado(pagina, ModoLlenado.LOTE);
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Llenado del formulario de login (%d formularios) - ESCRITURA: %d comandos; LOTE: %d comandos",
+                REPETICIONES, escritura, lote)));
+
+            Assert.assertTrue(lote < escritura, "El llenado en lote debería usar menos comandos WebDriver");
+        } finally {
+            if (navegador != null) {
+                ConfiguradorNavegador.cerrarNavegador(navegador);
+            }
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    @Test(description = "Verificar que el estado de la página se reutiliza hasta la siguiente navegación",
+          groups = {"performance"})
+    @Story("Estado de Página")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Consulta esPaginaVisible repetidamente y comprueba que solo la primera consulta de cada navegación envía comandos")
+    public void testEstadoPaginaSeReutilizaHastaNavegar() {
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+        WebDriver navegador = null;
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(4)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+            ConfiguracionGlobal.reiniciarInstancia();
+
+            navegador = ConfiguradorNavegador.crearNavegador(ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion());
+            navegador.get(fixture.obtenerUrlBase() + "/login");
+            PaginaLogin pagina = new PaginaLogin(navegador);
+
+            long primera = contarComandos(pagina::esPaginaVisible);
+            long repetidas = contarComandos(() -> {
+                for (int i = 0; i < REPETICIONES; i++) {
+                    Assert.assertTrue(pagina.esPaginaVisible(), "La página de login debería seguir visible");
+                }
+            });
+            navegador.navigate().refresh();
+            long trasNavegar = contarComandos(pagina::esPaginaVisible);
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Estado de página - primera consulta: %d comandos, %d consultas repetidas: %d comandos, " +
+                "tras refrescar: %d comandos", primera, REPETICIONES, repetidas, trasNavegar)));
+
+            Assert.assertTrue(primera > 0, "La primera consulta debe ir al navegador");
+            Assert.assertEquals(repetidas, 0, "Las consultas repetidas no deberían enviar comandos");
+            Assert.assertTrue(trasNavegar > 0, "Tras navegar el estado debe volver a consultarse");
+        } finally {
+            if (navegador != null) {
+                ConfiguradorNavegador.cerrarNavegador(navegador);
+            }
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    private long contarComandosLlenado(PaginaLogin pagina, ModoLlenado modo) {
+        pagina.usarModoLlenado(modo);
+        return contarComandos(() -> {
+            for (int i = 0; i < REPETICIONES; i++) {
+                pagina.ingresarCredenciales("usuario" + i, "password" + i);
+            }
+        });
+    }
+
+    private long contarComandos(Runnable operacion) {
+        ContadorComandosWebDriver contador = ContadorComandosWebDriver.obtenerInstancia();
+        long comandosIniciales = contador.obtenerTotal();
+        operacion.run();
+        return contador.obtenerTotal() - comandosIniciales;
+    }
+
+    private void restaurarPropiedad(String clave, String valor) {
+        if (valor == null) {
+            System.clearProperty(clave);
+        } else {
+            System.setProperty(clave, valor);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.automatizacion.proyecto.pruebas;
 
 import com.automatizacion.proyecto.base.BaseTest;
+import com.automatizacion.proyecto.base.PaginaInicial;
 import com.automatizacion.proyecto.enums.TipoMensaje;
 import com.automatizacion.proyecto.paginas.PaginaRegistro;
 import org.openqa.selenium.By;
@@ -15,6 +16,7 @@ import java.util.List;
  * 
  * @author Roberto Rivas Lopez
  */
+@PaginaInicial(PaginaRegistro.class)
 public class InspectorPagina extends BaseTest {
     
     @Test(description = "Inspeccionar elementos de la página de registro")
@@ -42,15 +44,15 @@ public class InspectorPagina extends BaseTest {
         logPasoPrueba("Contando elementos en la página");
         
         // Contar inputs
-        List<WebElement> inputs = driver.findElements(By.tagName("input"));
+        List<WebElement> inputs = obtenerDriver().findElements(By.tagName("input"));
         logValidacion("Número de inputs encontrados: " + inputs.size());
         
         // Contar botones
-        List<WebElement> botones = driver.findElements(By.tagName("button"));
+        List<WebElement> botones = obtenerDriver().findElements(By.tagName("button"));
         logValidacion("Número de botones encontrados: " + botones.size());
         
         // Contar links
-        List<WebElement> links = driver.findElements(By.tagName("a"));
+        List<WebElement> links = obtenerDriver().findElements(By.tagName("a"));
         logValidacion("Número de links encontrados: " + links.size());
         
         capturarPantalla("conteo_elementos");
@@ -62,17 +64,17 @@ public class InspectorPagina extends BaseTest {
         
         try {
             // Verificar campo username
-            WebElement campoUsername = driver.findElement(By.id("username"));
+            WebElement campoUsername = obtenerDriver().findElement(By.id("username"));
             Assert.assertTrue(campoUsername.isDisplayed(), "Campo username debe estar visible");
             logValidacion("Campo username encontrado y visible");
             
             // Verificar campo password
-            WebElement campoPassword = driver.findElement(By.id("password"));
+            WebElement campoPassword = obtenerDriver().findElement(By.id("password"));
             Assert.assertTrue(campoPassword.isDisplayed(), "Campo password debe estar visible");
             logValidacion("Campo password encontrado y visible");
             
             // Verificar botón register
-            List<WebElement> botonesRegister = driver.findElements(By.xpath("//button[text()='Register']"));
+            List<WebElement> botonesRegister = obtenerDriver().findElements(By.xpath("//button[text()='Register']"));
             Assert.assertFalse(botonesRegister.isEmpty(), "Debe existir botón Register");
             logValidacion("Botón Register encontrado");
             
@@ -1,7 +1,9 @@
 package com.automatizacion.proyecto.pruebas;
 
 import com.automatizacion.proyecto.base.BaseTest;
+import com.automatizacion.proyecto.base.PaginaInicial;
 import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.paginas.PaginaRegistro;
 import org.testng.annotations.Test;
 
 /**
@@ -10,6 +12,7 @@ import org.testng.annotations.Test;
  * 
  * @author Roberto Rivas Lopez
  */
+@PaginaInicial(PaginaRegistro.class)
 public class InspectorSimple extends BaseTest {
     
     @Test(description = "Inspección simple de elementos web")
@@ -17,11 +20,11 @@ public class InspectorSimple extends BaseTest {
         logPasoPrueba("Ejecutando inspección simple de elementos");
         
         // Verificar que el driver está funcionando
-        String titulo = driver.getTitle();
+        String titulo = obtenerDriver().getTitle();
         logValidacion("Título de página: " + titulo);
         
         // Verificar que la URL es correcta
-        String urlActual = driver.getCurrentUrl();
+        String urlActual = obtenerDriver().getCurrentUrl();
         logValidacion("URL actual: " + urlActual);
         
         capturarPantalla("inspeccion_simple");
@@ -0,0 +1,184 @@
+package com.automatizacion.proyecto.pruebas;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.utilidades.ContextoPrueba;
+import com.automatizacion.proyecto.utilidades.ServidorFixture;
+import io.qameta.allure.*;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de estrés del contexto confinado por hilo.
+ * Ejecuta todos los métodos de PruebasLogin con parallel="methods" y 8+ hilos
+ * contra un servidor fixture local, y verifica que ninguna prueba vea el
+ * driver, el contexto o la página de otra.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/estres.xml [-Dhilos.estres=12]
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Ejecución Paralela")
+public class PruebasConcurrenciaLogin {
+
+    private static final Logger logger = LoggerFactory.getLogger(PruebasConcurrenciaLogin.class);
+
+    private static final int HILOS = Math.max(8, Integer.getInteger("hilos.estres", 8));
+
+    @Test(description = "Verificar que PruebasLogin no comparte estado entre hilos con 8+ hilos",
+          groups = {"stress", "login"})
+    @Story("Aislamiento entre Hilos")
+    @Severity(SeverityLevel.CRITICAL)
+    @Description("Ejecuta PruebasLogin en paralelo contra un fixture local y detecta interferencias entre sesiones")
+    public void testPruebasLoginSinInterferenciaEntreHilos() {
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(HILOS * 2)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+            ConfiguracionGlobal.reiniciarInstancia();
+
+            VerificadorAislamiento verificador = new VerificadorAislamiento();
+            ejecutarPruebasLoginEnParalelo(verificador);
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Estrés con %d hilos - Pruebas: %d (exitosas %d, fallidas %d), Concurrencia máxima: %d, " +
+                "Solicitudes al fixture: %d, Logins exitosos/fallidos: %d/%d",
+                HILOS, verificador.ejecutadas.get(), verificador.exitosas.get(), verificador.fallidas.get(),
+                verificador.maximoConcurrente.get(), fixture.obtenerTotalSolicitudes(),
+                fixture.obtenerLoginsExitosos(), fixture.obtenerLoginsFallidos())));
+
+            Assert.assertTrue(verificador.violaciones.isEmpty(),
+                "Interferencias entre hilos detectadas: " + verificador.violaciones);
+            Assert.assertTrue(verificador.ejecutadas.get() > 0, "Debería haberse ejecutado al menos una prueba");
+            Assert.assertTrue(verificador.maximoConcurrente.get() > 1,
+                "Las pruebas deberían haberse ejecutado en paralelo");
+            Assert.assertEquals(verificador.fallidas.get(), 0,
+                "Pruebas fallidas en la ejecución anidada: " + verificador.detalleFallos);
+
+        } finally {
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    private void ejecutarPruebasLoginEnParalelo(VerificadorAislamiento verificador) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("EstresConcurrenciaLogin");
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(HILOS);
+
+        XmlTest test = new XmlTest(suite);
+        test.setName("PruebasLoginParalelas");
+        test.setXmlClasses(List.of(new XmlClass(PruebasLogin.class)));
+
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setXmlSuites(List.of(suite));
+        testng.addListener(verificador);
+        testng.run();
+    }
+
+    private void restaurarPropiedad(String clave, String valor) {
+        if (valor == null) {
+            System.clearProperty(clave);
+        } else {
+            System.setProperty(clave, valor);
+        }
+    }
+
+    /**
+     * Listener que valida, en el propio hilo de cada prueba, que el contexto
+     * corresponde al método en ejecución y que ningún driver está en uso por
+     * dos pruebas a la vez.
+     */
+    private static final class VerificadorAislamiento implements IInvokedMethodListener {
+
+        private final Map<WebDriver, String> driversEnUso = new ConcurrentHashMap<>();
+        private final Map<Thread, ContextoPrueba> contextosPorHilo = new ConcurrentHashMap<>();
+        private final Queue<String> violaciones = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger enCurso = new AtomicInteger();
+        private final AtomicInteger maximoConcurrente = new AtomicInteger();
+        private final AtomicInteger ejecutadas = new AtomicInteger();
+        private final AtomicInteger exitosas = new AtomicInteger();
+        private final AtomicInteger fallidas = new AtomicInteger();
+        private final Queue<String> detalleFallos = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void beforeInvocation(IInvokedMethod metodo, ITestResult resultado) {
+            if (!metodo.isTestMethod()) {
+                return;
+            }
+
+            String nombre = metodo.getTestMethod().getMethodName();
+            ContextoPrueba contexto = ContextoPrueba.actual();
+            if (contexto == null) {
+                violaciones.add(nombre + ": sin contexto en el hilo " + Thread.currentThread().getName());
+                return;
+            }
+            if (!nombre.equals(contexto.obtenerNombrePrueba())) {
+                violaciones.add(nombre + ": el hilo tiene el contexto de " + contexto.obtenerNombrePrueba());
+            }
+
+            String otraPrueba = driversEnUso.putIfAbsent(contexto.obtenerDriver(), nombre);
+            if (otraPrueba != null) {
+                violaciones.add(nombre + ": driver en uso simultáneo por " + otraPrueba);
+            }
+
+            contextosPorHilo.put(Thread.currentThread(), contexto);
+            maximoConcurrente.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public void afterInvocation(IInvokedMethod metodo, ITestResult resultado) {
+            if (!metodo.isTestMethod()) {
+                return;
+            }
+
+            String nombre = metodo.getTestMethod().getMethodName();
+            ContextoPrueba esperado = contextosPorHilo.remove(Thread.currentThread());
+            ContextoPrueba contexto = ContextoPrueba.actual();
+            if (esperado == null) {
+                return;
+            }
+
+            if (contexto != esperado) {
+                violaciones.add(nombre + ": el contexto del hilo cambió durante la prueba");
+            }
+            if (!driversEnUso.remove(esperado.obtenerDriver(), nombre)) {
+                violaciones.add(nombre + ": el driver fue reasignado durante la prueba");
+            }
+
+            enCurso.decrementAndGet();
+            ejecutadas.incrementAndGet();
+            if (resultado.isSuccess()) {
+                exitosas.incrementAndGet();
+            } else {
+                fallidas.incrementAndGet();
+                Throwable causa = resultado.getThrowable();
+                detalleFallos.add(nombre + (causa != null ? ": " + causa.getMessage() : ""));
+            }
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.automatizacion.proyecto.pruebas;
 
-import com.automatizacion.proyecto.paginas.PruebaBase;
+import com.automatizacion.proyecto.base.BaseTest;
+import com.automatizacion.proyecto.base.PaginaInicial;
 import com.automatizacion.proyecto.enums.TipoMensaje;
 import com.automatizacion.proyecto.paginas.PaginaLogin;
-import com.automatizacion.proyecto.utilidades.GestorCapturaPantalla;
 import io.qameta.allure.*;
 import org.testng.Assert;
 import org.testng.annotations.*;
@@ -29,9 +29,8 @@ import org.testng.annotations.*;
  */
 @Epic("Autenticación de Usuarios")
 @Feature("Login de Usuario")
-public class PruebasLogin extends PruebaBase {
-    
-    private PaginaLogin paginaLogin;
+@PaginaInicial(PaginaLogin.class)
+public class PruebasLogin extends BaseTest {
     
     // === DATOS DE PRUEBA ===
     private static final String USUARIO_VALIDO = "practice";
@@ -45,14 +44,9 @@ public class PruebasLogin extends PruebaBase {
             "Configurando prueba de login"));
         
         try {
-            // Inicializar página de login
-            paginaLogin = new PaginaLogin(driver);
-            
-            // Navegar a la página de login
-            paginaLogin.navegarAPagina();
-            
+            // BaseTest ya cargó la página de login declarada con @PaginaInicial
             // Verificar que estamos en la página correcta
-            Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+            Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
                 "La página de login debería estar visible");
             
             logger.info(TipoMensaje.EXITO.formatearMensaje(
@@ -71,14 +65,14 @@ public class PruebasLogin extends PruebaBase {
             "Ejecutando limpieza post-prueba"));
         
         try {
-            if (paginaLogin != null) {
+            if (obtenerDriver() != null) {
                 // Intentar logout si estamos logueados
-                if (paginaLogin.esLoginExitoso()) {
-                    paginaLogin.realizarLogout();
+                if (obtenerPaginaLogin().esLoginExitoso()) {
+                    obtenerPaginaLogin().realizarLogout();
                 }
                 
                 // Limpiar campos por si acaso
-                paginaLogin.limpiarCamposLogin();
+                obtenerPaginaLogin().limpiarCamposLogin();
             }
             
         } catch (Exception e) {
@@ -103,7 +97,7 @@ public class PruebasLogin extends PruebaBase {
         String casoPrueba = "LOGIN_EXITOSO";
         
         // ACT: Realizar login completo con capturas correctas
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_VALIDO, PASSWORD_VALIDO, casoPrueba);
         
         // ASSERT: Verificar que el login fue exitoso
@@ -111,10 +105,10 @@ public class PruebasLogin extends PruebaBase {
             "El login debería ser exitoso con credenciales válidas");
         
         // Verificaciones adicionales
-        Assert.assertTrue(paginaLogin.esLoginExitoso(), 
+        Assert.assertTrue(obtenerPaginaLogin().esLoginExitoso(), 
             "El estado de la página debería indicar login exitoso");
         
-        Assert.assertFalse(paginaLogin.hayMensajeError(), 
+        Assert.assertFalse(obtenerPaginaLogin().hayMensajeError(), 
             "No debería haber mensajes de error");
         
         logValidacion("Login exitoso verificado correctamente");
@@ -132,18 +126,18 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Verificando acceso al dashboard");
         
         // ARRANGE & ACT: Login y verificación
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_VALIDO, PASSWORD_VALIDO, "ACCESO_DASHBOARD");
         
         // ASSERT: Verificar acceso al dashboard
         Assert.assertTrue(loginExitoso, "Login debería ser exitoso");
         
         // Verificar que no estamos en página de login
-        Assert.assertFalse(paginaLogin.esPaginaVisible(), 
+        Assert.assertFalse(obtenerPaginaLogin().esPaginaVisible(), 
             "No deberíamos estar en la página de login después del login exitoso");
         
         // Verificar URL cambió
-        String urlActual = paginaLogin.obtenerUrlActual();
+        String urlActual = obtenerPaginaLogin().obtenerUrlActual();
         Assert.assertFalse(urlActual.toLowerCase().contains("login"), 
             "La URL no debería contener 'login' después del login exitoso");
         
@@ -163,19 +157,19 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando login con credenciales inválidas");
         
         // ACT: Intentar login con credenciales incorrectas
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_INVALIDO, PASSWORD_INVALIDO, "LOGIN_CREDENCIALES_INVALIDAS");
         
         // ASSERT: Verificar que el login falló
         Assert.assertFalse(loginExitoso, 
             "El login debería fallar con credenciales inválidas");
         
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "Deberíamos permanecer en la página de login");
         
         // Verificar mensaje de error (si existe)
-        if (paginaLogin.hayMensajeError()) {
-            String mensajeError = paginaLogin.obtenerMensajeError();
+        if (obtenerPaginaLogin().hayMensajeError()) {
+            String mensajeError = obtenerPaginaLogin().obtenerMensajeError();
             Assert.assertFalse(mensajeError.isEmpty(), 
                 "Debería mostrarse un mensaje de error específico");
             logValidacion("Mensaje de error mostrado: " + mensajeError);
@@ -195,14 +189,14 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando usuario válido con password incorrecto");
         
         // ACT: Login con usuario válido pero password incorrecto
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_VALIDO, PASSWORD_INVALIDO, "LOGIN_PASSWORD_INCORRECTO");
         
         // ASSERT: Verificar rechazo
         Assert.assertFalse(loginExitoso, 
             "El login debería fallar con password incorrecto");
         
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "Deberíamos permanecer en la página de login");
         
         logValidacion("Rechazo de password incorrecto verificado");
@@ -219,14 +213,14 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando usuario inexistente");
         
         // ACT: Login con usuario que no existe
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_INVALIDO, PASSWORD_VALIDO, "LOGIN_USUARIO_INEXISTENTE");
         
         // ASSERT: Verificar rechazo
         Assert.assertFalse(loginExitoso, 
             "El login debería fallar con usuario inexistente");
         
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "Deberíamos permanecer en la página de login");
         
         logValidacion("Rechazo de usuario inexistente verificado");
@@ -245,14 +239,14 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando validación de campos vacíos");
         
         // ACT: Intentar login sin ingresar datos
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             "", "", "LOGIN_CAMPOS_VACIOS");
         
         // ASSERT: Verificar que no se permite login vacío
         Assert.assertFalse(loginExitoso, 
             "El login no debería ser posible con campos vacíos");
         
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "Deberíamos permanecer en la página de login");
         
         logValidacion("Validación de campos vacíos funcionando");
@@ -269,14 +263,14 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando validación con solo usuario");
         
         // ACT: Login con solo usuario, sin password
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_VALIDO, "", "LOGIN_SOLO_USUARIO");
         
         // ASSERT: Verificar rechazo
         Assert.assertFalse(loginExitoso, 
             "El login no debería ser posible sin password");
         
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "Deberíamos permanecer en la página de login");
         
         logValidacion("Validación de password requerido funcionando");
@@ -293,14 +287,14 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando validación con solo password");
         
         // ACT: Login con solo password, sin usuario
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             "", PASSWORD_VALIDO, "LOGIN_SOLO_PASSWORD");
         
         // ASSERT: Verificar rechazo
         Assert.assertFalse(loginExitoso, 
             "El login no debería ser posible sin usuario");
         
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "Deberíamos permanecer en la página de login");
         
         logValidacion("Validación de usuario requerido funcionando");
@@ -320,10 +314,10 @@ public class PruebasLogin extends PruebaBase {
         
         try {
             // ARRANGE: Llenar campos primero
-            paginaLogin.ingresarCredenciales("test_user", "test_password");
+            obtenerPaginaLogin().ingresarCredenciales("test_user", "test_password");
             
             // ACT: Limpiar campos
-            paginaLogin.limpiarCamposLogin();
+            obtenerPaginaLogin().limpiarCamposLogin();
             
             // ASSERT: Verificar que los campos están vacíos
             // (Esta verificación depende de la implementación específica)
@@ -354,7 +348,7 @@ public class PruebasLogin extends PruebaBase {
                 "Intento fallido " + i + "/" + intentos));
             
             // ACT: Realizar login fallido
-            boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+            boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
                 USUARIO_INVALIDO, PASSWORD_INVALIDO, 
                 "LOGIN_MULTIPLES_INTENTOS_" + i);
             
@@ -362,7 +356,7 @@ public class PruebasLogin extends PruebaBase {
             Assert.assertFalse(loginExitoso, 
                 "Login debería fallar en intento " + i);
             
-            Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+            Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
                 "Página de login debería seguir visible después del intento " + i);
             
             // Pequeña pausa entre intentos
@@ -391,7 +385,7 @@ public class PruebasLogin extends PruebaBase {
         
         try {
             // ACT: Ingresar credenciales
-            paginaLogin.ingresarCredenciales("test", "secretpassword");
+            obtenerPaginaLogin().ingresarCredenciales("test", "secretpassword");
             
             // ASSERT: Verificar que el campo password tiene tipo "password"
             // (Esta verificación depende de los elementos web específicos)
@@ -419,14 +413,14 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Verificando elementos de interfaz");
         
         // ASSERT: Verificar que la página está visible (ya validado en @BeforeMethod)
-        Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+        Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
             "La página de login debería estar completamente visible");
         
         // Capturar estado inicial de la página
         capturarPantalla("interfaz_elementos_presentes");
         
         // Log del estado actual
-        String estadoPagina = paginaLogin.obtenerEstadoPagina();
+        String estadoPagina = obtenerPaginaLogin().obtenerEstadoPagina();
         logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(
             "Estado de página verificado:\n" + estadoPagina));
         
@@ -446,17 +440,17 @@ public class PruebasLogin extends PruebaBase {
         logPasoPrueba("Probando flujo completo login-logout");
         
         // ACT 1: Login exitoso
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_VALIDO, PASSWORD_VALIDO, "FLUJO_COMPLETO_LOGIN");
         
         // ASSERT 1: Verificar login
         Assert.assertTrue(loginExitoso, "Login debería ser exitoso");
-        Assert.assertTrue(paginaLogin.esLoginExitoso(), "Estado debería ser logueado");
+        Assert.assertTrue(obtenerPaginaLogin().esLoginExitoso(), "Estado debería ser logueado");
         
         capturarPantalla("flujo_completo_despues_login");
         
         // ACT 2: Logout
-        paginaLogin.realizarLogout();
+        obtenerPaginaLogin().realizarLogout();
         
         // ASSERT 2: Verificar logout (volver a página de login)
         // Esperar un momento para la transición
@@ -468,8 +462,8 @@ public class PruebasLogin extends PruebaBase {
         
         // Verificar que estamos de vuelta en login
         try {
-            paginaLogin.navegarAPagina(); // Asegurar que estamos en login
-            Assert.assertTrue(paginaLogin.esPaginaVisible(), 
+            obtenerPaginaLogin().navegarAPagina(); // Asegurar que estamos en login
+            Assert.assertTrue(obtenerPaginaLogin().esPaginaVisible(), 
                 "Deberíamos volver a la página de login después del logout");
         } catch (Exception e) {
             logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
@@ -496,7 +490,7 @@ public class PruebasLogin extends PruebaBase {
         long tiempoInicio = System.currentTimeMillis();
         
         // ACT: Realizar login y medir tiempo
-        boolean loginExitoso = paginaLogin.realizarLoginCompleto(
+        boolean loginExitoso = obtenerPaginaLogin().realizarLoginCompleto(
             USUARIO_VALIDO, PASSWORD_VALIDO, "TIEMPO_RESPUESTA");
         
         long tiempoFinal = System.currentTimeMillis();
@@ -516,33 +510,20 @@ public class PruebasLogin extends PruebaBase {
         logValidacion("Tiempo de respuesta verificado: " + tiempoTranscurrido + "ms");
     }
     
-    // === MÉTODO DE UTILIDAD ===
-    
-    /**
-     * Método auxiliar para capturar pantalla en las pruebas
-     */
-    private void capturarPantalla(String nombreArchivo) {
-        try {
-            String nombreCompleto = "login_" + nombreArchivo;
-            GestorCapturaPantalla.capturarPantallaCompleta(driver, nombreCompleto);
-            
-        } catch (Exception e) {
-            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
-                "Error capturando pantalla: " + e.getMessage()));
-        }
-    }
+    // === MÉTODOS DE UTILIDAD ===
     
     /**
-     * Método auxiliar para logging de pasos de prueba
+     * Página de login de la prueba en curso (una instancia por hilo)
      */
-    private void logPasoPrueba(String mensaje) {
-        logger.info(TipoMensaje.PASO_PRUEBA.formatearMensaje(mensaje));
+    private PaginaLogin obtenerPaginaLogin() {
+        return obtenerPagina(PaginaLogin.class);
     }
     
     /**
-     * Método auxiliar para logging de validaciones
+     * Captura pantalla con el prefijo de las pruebas de login
      */
-    private void logValidacion(String mensaje) {
-        logger.info(TipoMensaje.VALIDACION.formatearMensaje(mensaje));
+    @Override
+    protected String capturarPantalla(String nombreArchivo) {
+        return super.capturarPantalla("login_" + nombreArchivo);
     }
-}
\ No newline at end of file
+}
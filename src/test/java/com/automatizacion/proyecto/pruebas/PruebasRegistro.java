@@ -1,6 +1,7 @@
 package com.automatizacion.proyecto.pruebas;
 
 import com.automatizacion.proyecto.base.BaseTest;
+import com.automatizacion.proyecto.base.PaginaInicial;
 import com.automatizacion.proyecto.datos.ModeloDatosPrueba;
 import com.automatizacion.proyecto.datos.ProveedorDatos;
 import com.automatizacion.proyecto.enums.TipoMensaje;
@@ -21,21 +22,18 @@ import org.openqa.selenium.By;
  */
 @Epic("Gestión de Usuarios")
 @Feature("Registro de Usuarios")
+@PaginaInicial(PaginaRegistro.class)
 public class PruebasRegistro extends BaseTest {
 
-    private PaginaRegistro paginaRegistro;
-
     @BeforeMethod(alwaysRun = true)
     public void configuracionEspecificaRegistro() {
-        paginaRegistro = new PaginaRegistro(obtenerDriver());
-
         logPasoPrueba("Verificando que la página de registro está visible");
-        boolean paginaVisible = paginaRegistro.esPaginaVisible();
+        boolean paginaVisible = obtenerPaginaRegistro().esPaginaVisible();
         Assert.assertTrue(paginaVisible, "La página de registro debería estar visible");
 
         if (paginaVisible) {
             logValidacion("Página de registro cargada correctamente");
-            paginaRegistro.validarElementosPagina();
+            obtenerPaginaRegistro().validarElementosPagina();
         }
     }
 
@@ -65,7 +63,7 @@ public class PruebasRegistro extends BaseTest {
         // Captura inicial de la página
         capturarPantalla("inicio_" + datos.getCasoPrueba());
 
-        boolean registroExitoso = paginaRegistro.registrarUsuario(datos);
+        boolean registroExitoso = obtenerPaginaRegistro().registrarUsuario(datos);
 
         // Captura final del resultado
         capturarPantalla("resultado_" + datos.getCasoPrueba());
@@ -74,13 +72,13 @@ public class PruebasRegistro extends BaseTest {
 
         if (!registroExitoso) {
             // Debug adicional si falla
-            String urlActual = driver.getCurrentUrl();
-            String titulo = driver.getTitle();
+            String urlActual = obtenerDriver().getCurrentUrl();
+            String titulo = obtenerDriver().getTitle();
             logValidacion("DEBUG - URL actual: " + urlActual);
             logValidacion("DEBUG - Título actual: " + titulo);
 
             // Verificar si hay mensajes de error
-            String mensajeError = paginaRegistro.obtenerMensajeError();
+            String mensajeError = obtenerPaginaRegistro().obtenerMensajeError();
             if (!mensajeError.isEmpty()) {
                 logValidacion("DEBUG - Mensaje de error encontrado: " + mensajeError);
             }
@@ -90,7 +88,7 @@ public class PruebasRegistro extends BaseTest {
                 String.format("El registro debería ser exitoso con datos válidos. " +
                         "Datos: %s, URL actual: %s",
                         datos.getCasoPrueba(),
-                        driver.getCurrentUrl()));
+                        obtenerDriver().getCurrentUrl()));
 
         logger.info(TipoMensaje.EXITO.formatearMensaje("Test de registro exitoso completado"));
     }
@@ -118,12 +116,12 @@ public class PruebasRegistro extends BaseTest {
 
         logPasoPrueba("Ejecutando registro con email inválido");
 
-        boolean registroFallido = paginaRegistro.registrarUsuario(datos);
+        boolean registroFallido = obtenerPaginaRegistro().registrarUsuario(datos);
 
         logValidacion("Verificando que el registro falló como esperado");
         Assert.assertTrue(registroFallido, "El registro debería fallar con email inválido");
 
-        String mensajeError = paginaRegistro.obtenerMensajeError();
+        String mensajeError = obtenerPaginaRegistro().obtenerMensajeError();
         logValidacion("Mensaje de error obtenido: " + mensajeError);
 
         capturarPantalla("validacion_email_invalido");
@@ -153,12 +151,12 @@ public class PruebasRegistro extends BaseTest {
 
         logPasoPrueba("Ejecutando registro con contraseñas diferentes");
 
-        boolean registroFallido = paginaRegistro.registrarUsuario(datos);
+        boolean registroFallido = obtenerPaginaRegistro().registrarUsuario(datos);
 
         logValidacion("Verificando que el registro falló por contraseñas diferentes");
         Assert.assertTrue(registroFallido, "El registro debería fallar cuando las contraseñas no coinciden");
 
-        String mensajeError = paginaRegistro.obtenerMensajeError();
+        String mensajeError = obtenerPaginaRegistro().obtenerMensajeError();
         logValidacion("Mensaje de error obtenido: " + mensajeError);
 
         capturarPantalla("validacion_passwords_diferentes");
@@ -188,7 +186,7 @@ public class PruebasRegistro extends BaseTest {
 
         logPasoPrueba("Ejecutando registro con campos vacíos");
 
-        boolean registroFallido = paginaRegistro.registrarUsuario(datos);
+        boolean registroFallido = obtenerPaginaRegistro().registrarUsuario(datos);
 
         logValidacion("Verificando que el registro falló por campos vacíos");
         Assert.assertTrue(registroFallido, "El registro debería fallar con campos obligatorios vacíos");
@@ -206,12 +204,12 @@ public class PruebasRegistro extends BaseTest {
 
         logPasoPrueba("Verificando elementos básicos de la página");
 
-        Assert.assertTrue(paginaRegistro.esPaginaVisible(), "La página de registro debe estar visible");
+        Assert.assertTrue(obtenerPaginaRegistro().esPaginaVisible(), "La página de registro debe estar visible");
 
         logValidacion("Validando elementos específicos del formulario");
-        paginaRegistro.validarElementosPagina();
+        obtenerPaginaRegistro().validarElementosPagina();
 
-        String titulo = paginaRegistro.obtenerTituloPagina();
+        String titulo = obtenerPaginaRegistro().obtenerTituloPagina();
         logValidacion("Título de página obtenido: " + titulo);
         Assert.assertFalse(titulo.isEmpty(), "El título de la página no debe estar vacío");
 
@@ -228,7 +226,7 @@ public class PruebasRegistro extends BaseTest {
 
         logPasoPrueba("Ejecutando registro con datos: " + datos.getCasoPrueba());
 
-        boolean registroExitoso = paginaRegistro.registrarUsuario(datos);
+        boolean registroExitoso = obtenerPaginaRegistro().registrarUsuario(datos);
 
         logValidacion("Verificando resultado del registro para: " + datos.getCasoPrueba());
         Assert.assertTrue(registroExitoso, "El registro debería ser exitoso para: " + datos.getCasoPrueba());
@@ -245,7 +243,7 @@ public class PruebasRegistro extends BaseTest {
 
         logPasoPrueba("Ejecutando validación con datos: " + datos.getCasoPrueba());
 
-        boolean registroFallido = paginaRegistro.registrarUsuario(datos);
+        boolean registroFallido = obtenerPaginaRegistro().registrarUsuario(datos);
 
         logValidacion("Verificando que falló como esperado para: " + datos.getCasoPrueba());
         Assert.assertTrue(registroFallido, "El registro debería fallar para: " + datos.getCasoPrueba());
@@ -256,10 +254,17 @@ public class PruebasRegistro extends BaseTest {
     // Método auxiliar para evitar errores de compilación con By
     private void verificarElementoPorId(String id) {
         try {
-            driver.findElement(By.id(id));
+            obtenerDriver().findElement(By.id(id));
             logValidacion("Elemento encontrado: " + id);
         } catch (Exception e) {
             logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje("Elemento no encontrado: " + id));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Página de registro de la prueba en curso (una instancia por hilo)
+     */
+    private PaginaRegistro obtenerPaginaRegistro() {
+        return obtenerPagina(PaginaRegistro.class);
+    }
+}
@@ -0,0 +1,516 @@
+package com.automatizacion.proyecto.rendimiento;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador;
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador.TipoNavegador;
+import com.automatizacion.proyecto.configuracion.ResolutorDrivers;
+import com.automatizacion.proyecto.enums.ModoEsperas;
+import com.automatizacion.proyecto.enums.ModoLlenado;
+import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.automatizacion.proyecto.paginas.PaginaLogin;
+import com.automatizacion.proyecto.pruebas.PruebasLogin;
+import com.automatizacion.proyecto.utilidades.CapturaNativa;
+import com.automatizacion.proyecto.utilidades.CodificadorCapturas;
+import com.automatizacion.proyecto.utilidades.DatosSinteticos;
+import com.automatizacion.proyecto.utilidades.EscuchaResultadosTestNG;
+import com.automatizacion.proyecto.utilidades.GeneradorMiniaturas;
+import com.automatizacion.proyecto.utilidades.GeneradorReporteHTML;
+import com.automatizacion.proyecto.utilidades.ManejadorScrollPagina;
+import com.automatizacion.proyecto.utilidades.RegistroResultados;
+import com.automatizacion.proyecto.utilidades.ReporteEnVivo;
+import com.automatizacion.proyecto.utilidades.ResultadoPrueba;
+import com.automatizacion.proyecto.utilidades.ServidorFixture;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.qameta.allure.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Mediciones de tiempo de la infraestructura de pruebas.
+ * Solo registran lo medido: dependen de la máquina y del JIT, así que no
+ * verifican umbrales y quedan fuera de la suite funcional y de rendimiento.xml.
+ * Las comprobaciones deterministas de cada componente están en sus propias
+ * clases de prueba (PruebasGeneradorReporteHTML, PruebasPaginaBase...).
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/mediciones.xml [-Drendimiento.creaciones=20]
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Mediciones")
+public class MedicionesRendimiento {
+
+    private static final Logger logger = LoggerFactory.getLogger(MedicionesRendimiento.class);
+
+    private static final int CREACIONES = Integer.getInteger("rendimiento.creaciones", 10);
+    private static final int CASOS_REPORTE = 10_000;
+    private static final int RESULTADOS_SINTETICOS = 50_000;
+    private static final int CAPTURAS_GALERIA = 40;
+    private static final int HILOS_REGISTRO = 8;
+
+    // === DRIVERS Y SESIONES ===
+
+    @Test(description = "Medir el coste de resolver el driver en cada creación frente al resolutor cacheado",
+          groups = {"benchmark"})
+    @Story("Resolución de Drivers")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Mide por creación el coste de WebDriverManager.setup() frente a ResolutorDrivers (memoria + disco)")
+    public void medirResolucionDriverPorCreacion() {
+        TipoNavegador tipo = ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion();
+        ResolutorDrivers resolutor = ResolutorDrivers.obtenerInstancia();
+
+        // Deja la caché en disco caliente para medir el caso habitual de una segunda ejecución
+        resolutor.resolver(tipo);
+
+        long sinResolutorMs = medirPromedioMs(() -> crearGestor(tipo).setup());
+
+        resolutor.limpiarMemoria();
+        long primeraDesdeDiscoNanos = System.nanoTime();
+        resolutor.resolver(tipo);
+        long primeraDesdeDiscoMs = (System.nanoTime() - primeraDesdeDiscoNanos) / 1_000_000;
+        long conResolutorMs = medirPromedioMs(() -> resolutor.resolver(tipo));
+
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Resolución de driver %s por creación (%d creaciones) - WebDriverManager.setup(): %d ms, " +
+            "ResolutorDrivers: primera desde disco %d ms, siguientes %d ms",
+            tipo.getNombreCompleto(), CREACIONES, sinResolutorMs, primeraDesdeDiscoMs, conResolutorMs)));
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(resolutor.generarResumen()));
+    }
+
+    @Test(description = "Medir servicio de driver compartido frente a uno por sesión con 1, 4 y 8 sesiones",
+          groups = {"benchmark"})
+    @Story("Servicio de Driver Compartido")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Mide tiempo de creación y memoria de los procesos hijos por sesión concurrente")
+    public void medirServicioDriverCompartido() throws Exception {
+        TipoNavegador tipo = ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion();
+        if (tipo == TipoNavegador.FIREFOX) {
+            throw new SkipException("geckodriver solo admite una sesión por proceso");
+        }
+
+        String compartidoOriginal = System.getProperty("driver.servicio.compartido");
+        String headlessOriginal = System.getProperty("headless");
+        System.setProperty("headless", "true");
+        ResolutorDrivers.obtenerInstancia().resolver(tipo);
+
+        try {
+            for (int sesiones : new int[] {1, 4, 8}) {
+                MedicionSesiones dedicado = medirSesionesConcurrentes(tipo, sesiones, false);
+                MedicionSesiones compartido = medirSesionesConcurrentes(tipo, sesiones, true);
+
+                logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                    "%d sesiones %s - Dedicado: %d ms, %d MB/sesión | Compartido: %d ms, %d MB/sesión",
+                    sesiones, tipo.getNombreCompleto(), dedicado.tiempoMs(), dedicado.memoriaPorSesionMb(),
+                    compartido.tiempoMs(), compartido.memoriaPorSesionMb())));
+            }
+        } finally {
+            restaurarPropiedad("driver.servicio.compartido", compartidoOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+            ConfiguradorNavegador.detenerServiciosCompartidos();
+        }
+    }
+
+    private MedicionSesiones medirSesionesConcurrentes(TipoNavegador tipo, int sesiones, boolean compartido)
+            throws Exception {
+        System.setProperty("driver.servicio.compartido", String.valueOf(compartido));
+        ConfiguracionGlobal.reiniciarInstancia();
+        ConfiguradorNavegador.detenerServiciosCompartidos();
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(sesiones);
+        List<WebDriver> drivers = new ArrayList<>();
+        try {
+            long inicio = System.nanoTime();
+            List<Future<WebDriver>> creaciones = new ArrayList<>();
+            for (int i = 0; i < sesiones; i++) {
+                creaciones.add(ejecutor.submit(() -> ConfiguradorNavegador.crearNavegador(tipo)));
+            }
+            for (Future<WebDriver> creacion : creaciones) {
+                drivers.add(creacion.get());
+            }
+            long tiempoMs = (System.nanoTime() - inicio) / 1_000_000;
+            long memoriaMb = ProcessHandle.current().descendants().mapToLong(this::leerMemoriaResidenteKb).sum() / 1024;
+            return new MedicionSesiones(tiempoMs, memoriaMb / sesiones);
+        } finally {
+            drivers.forEach(ConfiguradorNavegador::cerrarNavegador);
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Lee la memoria residente de un proceso desde /proc (solo Linux; 0 en otros sistemas)
+     */
+    private long leerMemoriaResidenteKb(ProcessHandle proceso) {
+        Path estado = Path.of("/proc", String.valueOf(proceso.pid()), "status");
+        try {
+            return Files.readAllLines(estado).stream()
+                .filter(linea -> linea.startsWith("VmRSS:"))
+                .mapToLong(linea -> Long.parseLong(linea.replaceAll("[^0-9]", "")))
+                .findFirst().orElse(0);
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // === ESPERAS Y PÁGINAS ===
+
+    @Test(description = "Medir el tiempo del grupo negativo de PruebasLogin con implicit wait y sin él",
+          groups = {"benchmark"})
+    @Story("Modo de Esperas")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Ejecuta el grupo 'negativo' de PruebasLogin contra el fixture local en modo IMPLICITO y EXPLICITO")
+    public void medirGrupoNegativoLoginPorModoDeEsperas() {
+        String modoOriginal = System.getProperty("esperas.modo");
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(4)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+
+            long implicitoMs = ejecutarGrupoNegativoLogin(ModoEsperas.IMPLICITO);
+            long explicitoMs = ejecutarGrupoNegativoLogin(ModoEsperas.EXPLICITO);
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Grupo negativo de PruebasLogin - IMPLICITO: %d ms, EXPLICITO: %d ms (%.1fx)",
+                implicitoMs, explicitoMs, implicitoMs / (double) Math.max(1, explicitoMs))));
+        } finally {
+            restaurarPropiedad("esperas.modo", modoOriginal);
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    /**
+     * Ejecuta el grupo negativo de PruebasLogin en una suite propia. El @AfterSuite de
+     * BaseTest cierra el pool, así cada modo arranca con navegadores nuevos.
+     */
+    private long ejecutarGrupoNegativoLogin(ModoEsperas modo) {
+        System.setProperty("esperas.modo", modo.name());
+        ConfiguracionGlobal.reiniciarInstancia();
+
+        XmlSuite suite = new XmlSuite();
+        suite.setName("NegativoLogin" + modo.name());
+        XmlTest test = new XmlTest(suite);
+        test.setName("PruebasLoginNegativas");
+        test.addIncludedGroup("negativo");
+        test.setXmlClasses(List.of(new XmlClass(PruebasLogin.class)));
+
+        TestListenerAdapter resultados = new TestListenerAdapter();
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setXmlSuites(List.of(suite));
+        testng.addListener(resultados);
+
+        long inicio = System.nanoTime();
+        testng.run();
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Modo %s - Pruebas: %d exitosas, %d fallidas en %d ms",
+            modo, resultados.getPassedTests().size(), resultados.getFailedTests().size(), duracionMs)));
+        for (ITestResult fallida : resultados.getFailedTests()) {
+            logger.warn(TipoMensaje.ADVERTENCIA.formatearMensaje(
+                "Fallida en modo " + modo + ": " + fallida.getName()));
+        }
+        return duracionMs;
+    }
+
+    @Test(description = "Medir el llenado del formulario de login escribiendo campo por campo y en lote",
+          groups = {"benchmark"})
+    @Story("Llenado de Formularios")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Mide milisegundos por formulario en modo ESCRITURA y LOTE contra el fixture local")
+    public void medirLlenadoFormularioPorModo() {
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+        WebDriver navegador = null;
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(4)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+            ConfiguracionGlobal.reiniciarInstancia();
+
+            navegador = ConfiguradorNavegador.crearNavegador(ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion());
+            navegador.get(fixture.obtenerUrlBase() + "/login");
+
+            PaginaLogin pagina = new PaginaLogin(navegador);
+            double escrituraMs = medirLlenadoMs(pagina, ModoLlenado.ESCRITURA);
+            double loteMs = medirLlenadoMs(pagina, ModoLlenado.LOTE);
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Llenado del formulario de login (%d formularios) - ESCRITURA: %.1f ms, LOTE: %.1f ms por formulario",
+                CREACIONES, escrituraMs, loteMs)));
+        } finally {
+            if (navegador != null) {
+                ConfiguradorNavegador.cerrarNavegador(navegador);
+            }
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    private double medirLlenadoMs(PaginaLogin pagina, ModoLlenado modo) {
+        pagina.usarModoLlenado(modo);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CREACIONES; i++) {
+            pagina.ingresarCredenciales("usuario" + i, "password" + i);
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / CREACIONES;
+    }
+
+    // === CAPTURAS ===
+
+    @Test(description = "Medir cuántas capturas por segundo codifica cada formato",
+          groups = {"benchmark"})
+    @Story("Codificación de Capturas")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Codifica una captura sintética de 1920x1080 como PNG, JPEG q90 y JPEG q90 reducido a 1280 px")
+    public void medirCodificacionCapturasPorFormato() throws IOException {
+        byte[] png = DatosSinteticos.generarCaptura(1920, 1080, 0);
+        CodificadorCapturas[] codificadores = {
+            CodificadorCapturas.sinPerdida(),
+            new CodificadorCapturas("JPG", 90, 0),
+            new CodificadorCapturas("JPG", 90, 1280)
+        };
+
+        StringBuilder informe = new StringBuilder("Codificación de capturas 1920x1080 (")
+            .append(png.length / 1024).append(" KB PNG del driver)");
+        for (CodificadorCapturas codificador : codificadores) {
+            codificador.codificar(png); // calentamiento
+            long inicio = System.nanoTime();
+            byte[] resultado = null;
+            for (int j = 0; j < CREACIONES; j++) {
+                resultado = codificador.codificar(png);
+            }
+            double ms = (System.nanoTime() - inicio) / 1_000_000.0;
+            informe.append(String.format(" - %s%s: %.1f img/s, %d KB",
+                codificador.obtenerExtension(), codificador.obtenerFirma(),
+                CREACIONES * 1000.0 / Math.max(ms, 1), resultado.length / 1024));
+        }
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(informe.toString()));
+    }
+
+    @Test(description = "Medir la captura de página completa en un comando frente a scroll y pausa",
+          groups = {"benchmark"})
+    @Story("Captura de Página Completa")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Sobre una página más alta que la ventana mide la captura nativa de página completa frente a scroll suave, pausa y captura de ventana")
+    public void medirCapturaPaginaCompleta() {
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+        WebDriver navegador = null;
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(4)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+            ConfiguracionGlobal.reiniciarInstancia();
+
+            navegador = ConfiguradorNavegador.crearNavegador(ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion());
+            if (!CapturaNativa.soportaPaginaCompleta(navegador)) {
+                throw new SkipException("El navegador configurado no admite capturas de página completa");
+            }
+            navegador.get(fixture.obtenerUrlBase() + "/register");
+            ((JavascriptExecutor) navegador).executeScript(
+                "document.body.style.minHeight = (3 * window.innerHeight) + 'px';");
+
+            long inicio = System.nanoTime();
+            for (int i = 0; i < CREACIONES; i++) {
+                CapturaNativa.capturarPaginaCompleta(navegador);
+            }
+            double msNativa = (System.nanoTime() - inicio) / 1_000_000.0 / CREACIONES;
+
+            ManejadorScrollPagina manejadorScroll = new ManejadorScrollPagina(navegador);
+            inicio = System.nanoTime();
+            manejadorScroll.scrollHastaElemento(navegador.findElement(By.tagName("form")));
+            ((TakesScreenshot) navegador).getScreenshotAs(OutputType.BYTES);
+            double msScroll = (System.nanoTime() - inicio) / 1_000_000.0;
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Captura de página completa - nativa: %.1f ms; scroll y pausa: %.1f ms", msNativa, msScroll)));
+        } finally {
+            if (navegador != null) {
+                ConfiguradorNavegador.cerrarNavegador(navegador);
+            }
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    // === RESULTADOS Y REPORTES ===
+
+    @Test(description = "Medir el costo de registrar resultados desde varios hilos a la vez",
+          groups = {"benchmark"})
+    @Story("Registro de resultados")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Notifica 50.000 resultados sintéticos a EscuchaResultadosTestNG desde 8 hilos y mide el costo por resultado")
+    public void medirRegistroResultados() throws Exception {
+        // Calentamiento para no medir la carga de clases ni el JIT
+        ReporteEnVivo reporteCalentamiento = new ReporteEnVivo(Files.createTempDirectory("calentamiento"));
+        reporteCalentamiento.iniciar();
+        EscuchaResultadosTestNG calentamiento = new EscuchaResultadosTestNG(new RegistroResultados(), reporteCalentamiento);
+        for (int i = 0; i < RESULTADOS_SINTETICOS / 10; i++) {
+            DatosSinteticos.notificar(calentamiento, DatosSinteticos.crearResultadoTestNG(i), i);
+        }
+        reporteCalentamiento.finalizar("Calentamiento");
+
+        RegistroResultados registro = new RegistroResultados();
+        ReporteEnVivo reporte = new ReporteEnVivo(Files.createTempDirectory("resultados"));
+        reporte.iniciar();
+        EscuchaResultadosTestNG escucha = new EscuchaResultadosTestNG(registro, reporte);
+        ITestResult[] notificaciones = new ITestResult[RESULTADOS_SINTETICOS];
+        for (int i = 0; i < RESULTADOS_SINTETICOS; i++) {
+            notificaciones[i] = DatosSinteticos.crearResultadoTestNG(i);
+        }
+
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS_REGISTRO);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<Long>> tiempos = new ArrayList<>();
+        try {
+            for (int h = 0; h < HILOS_REGISTRO; h++) {
+                int hilo = h;
+                tiempos.add(hilos.submit(() -> {
+                    salida.await();
+                    long inicio = System.nanoTime();
+                    for (int i = hilo; i < RESULTADOS_SINTETICOS; i += HILOS_REGISTRO) {
+                        DatosSinteticos.notificar(escucha, notificaciones[i], i);
+                    }
+                    return System.nanoTime() - inicio;
+                }));
+            }
+            salida.countDown();
+            long totalNanos = 0;
+            for (Future<Long> tiempo : tiempos) {
+                totalNanos += tiempo.get();
+            }
+            double microsPorResultado = totalNanos / 1000.0 / RESULTADOS_SINTETICOS;
+
+            long inicioCierre = System.nanoTime();
+            reporte.finalizar(registro.generarResumen());
+            RegistroResultados.cargar(reporte.obtenerArchivoResultados());
+            double msCierreYLectura = (System.nanoTime() - inicioCierre) / 1_000_000.0;
+
+            logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+                "Registro de %d resultados vía EscuchaResultadosTestNG en %d hilos: %.2f µs por resultado " +
+                "(registro y reporte en vivo); cerrar el reporte y leer %.1f MB: %.0f ms",
+                RESULTADOS_SINTETICOS, HILOS_REGISTRO, microsPorResultado,
+                Files.size(reporte.obtenerArchivoResultados()) / 1048576.0, msCierreYLectura)));
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test(description = "Medir el cierre del reporte en vivo frente a generar el reporte HTML completo",
+          groups = {"benchmark"})
+    @Story("Reporte en vivo")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Agrega 10.000 resultados al reporte en vivo y compara finalizarlo con generar el reporte HTML completo")
+    public void medirFinalizacionReporteEnVivo() throws IOException {
+        Path directorio = Files.createTempDirectory("reporte_en_vivo");
+        ReporteEnVivo reporte = new ReporteEnVivo(directorio);
+        reporte.iniciar();
+        for (int i = 0; i < CASOS_REPORTE; i++) {
+            reporte.agregar(DatosSinteticos.crearResultado(i));
+        }
+
+        long inicioFinalizar = System.nanoTime();
+        reporte.finalizar(String.format("Resultados registrados: %d", CASOS_REPORTE));
+        double msFinalizar = (System.nanoTime() - inicioFinalizar) / 1_000_000.0;
+
+        List<ResultadoPrueba> finales = RegistroResultados.cargar(reporte.obtenerArchivoResultados());
+        GeneradorReporteHTML generador = new GeneradorReporteHTML();
+        generador.agregarResultados(finales);
+        long inicioCompleto = System.nanoTime();
+        generador.generarReporteEn(directorio.resolve("reporte_completo.html"));
+        double msCompleto = (System.nanoTime() - inicioCompleto) / 1_000_000.0;
+
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Reporte en vivo (%d resultados, %.1f MB de datos): finalizar %.2f ms; reporte HTML completo %.0f ms",
+            CASOS_REPORTE, Files.size(reporte.obtenerArchivoDatos()) / 1048576.0, msFinalizar, msCompleto)));
+    }
+
+    @Test(description = "Medir la generación de miniaturas con y sin caché",
+          groups = {"benchmark"})
+    @Story("Reporte HTML")
+    @Severity(SeverityLevel.MINOR)
+    @Description("Genera miniaturas de 40 capturas Full HD en paralelo y repite la generación con la caché")
+    public void medirGeneracionMiniaturas() throws IOException {
+        Path directorio = Files.createTempDirectory("galeria");
+        List<Path> capturas = new ArrayList<>();
+        for (int i = 0; i < CAPTURAS_GALERIA; i++) {
+            Path captura = directorio.resolve(String.format("captura_%02d.png", i));
+            Files.write(captura, DatosSinteticos.generarCaptura(1920, 1080, i));
+            capturas.add(captura);
+        }
+        Path directorioMiniaturas = directorio.resolve(GeneradorMiniaturas.DIRECTORIO_MINIATURAS);
+        int ancho = ConfiguracionGlobal.obtenerInstancia().obtenerAnchoMiniatura();
+
+        long inicio = System.nanoTime();
+        new GeneradorMiniaturas(directorioMiniaturas, ancho).generar(capturas);
+        double msPrimera = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        inicio = System.nanoTime();
+        new GeneradorMiniaturas(directorioMiniaturas, ancho).generar(capturas);
+        double msSegunda = (System.nanoTime() - inicio) / 1_000_000.0;
+
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Miniaturas de %d capturas: %.0f ms la primera vez, %.0f ms con la caché",
+            CAPTURAS_GALERIA, msPrimera, msSegunda)));
+    }
+
+    // === AUXILIARES ===
+
+    private record MedicionSesiones(long tiempoMs, long memoriaPorSesionMb) {
+    }
+
+    private WebDriverManager crearGestor(TipoNavegador tipo) {
+        return switch (tipo) {
+            case CHROME -> WebDriverManager.chromedriver();
+            case FIREFOX -> WebDriverManager.firefoxdriver();
+            case EDGE -> WebDriverManager.edgedriver();
+        };
+    }
+
+    private long medirPromedioMs(Runnable operacion) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CREACIONES; i++) {
+            operacion.run();
+        }
+        return (System.nanoTime() - inicio) / 1_000_000 / CREACIONES;
+    }
+
+    private void restaurarPropiedad(String clave, String valor) {
+        if (valor == null) {
+            System.clearProperty(clave);
+        } else {
+            System.setProperty(clave, valor);
+        }
+    }
+}
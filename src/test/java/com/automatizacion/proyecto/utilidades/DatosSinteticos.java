@@ -0,0 +1,150 @@
+package com.automatizacion.proyecto.utilidades;
+
+import org.testng.IClass;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Datos sintéticos compartidos por las pruebas de componentes y las
+ * mediciones de rendimiento: resultados, notificaciones de TestNG y capturas.
+ * Uno de cada 7 casos falla y uno de cada 11 (no múltiplo de 7) se omite.
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+public final class DatosSinteticos {
+
+    public static final String CLASE_SINTETICA = "com.automatizacion.proyecto.pruebas.PruebasSinteticas";
+
+    private DatosSinteticos() {
+    }
+
+    /**
+     * Resultado con una evidencia, grupos y parámetros, como los que registra la suite
+     */
+    public static ResultadoPrueba crearResultado(int indice) {
+        String estado;
+        if (indice % 7 == 0) {
+            estado = ResultadoPrueba.FALLIDA;
+        } else if (indice % 11 == 0) {
+            estado = ResultadoPrueba.OMITIDA;
+        } else {
+            estado = ResultadoPrueba.EXITOSA;
+        }
+        return new ResultadoPrueba(
+            CLASE_SINTETICA, "testCaso" + indice,
+            "Caso sintético número " + indice, estado, System.currentTimeMillis(), indice % 3000,
+            List.of("performance", "regression"), "[usuario" + indice + ", password" + indice + "]",
+            new CopyOnWriteArrayList<>(List.of("capturas/caso_" + indice + ".jpg")),
+            Thread.currentThread().getName(),
+            ResultadoPrueba.FALLIDA.equals(estado) ? "AssertionError: resultado esperado distinto" : null);
+    }
+
+    /**
+     * ITestResult mínimo con lo que lee EscuchaResultadosTestNG; el resto de métodos devuelve null
+     */
+    public static ITestResult crearResultadoTestNG(int indice) {
+        long inicio = System.currentTimeMillis();
+        IClass clase = simular(IClass.class, Map.of("getName", CLASE_SINTETICA));
+        ITestNGMethod metodo = simular(ITestNGMethod.class, Map.of(
+            "getMethodName", "testCaso" + indice,
+            "getDescription", "Caso sintético número " + indice,
+            "getGroups", new String[] {"performance", "regression"}));
+        Map<String, Object> respuestas = new HashMap<>(Map.of(
+            "getTestClass", clase,
+            "getMethod", metodo,
+            "getStartMillis", inicio,
+            "getEndMillis", inicio + indice % 3000,
+            "getParameters", new Object[] {"usuario" + indice, "password" + indice}));
+        if (indice % 7 == 0) {
+            respuestas.put("getThrowable", new AssertionError("resultado esperado distinto"));
+        }
+        return simular(ITestResult.class, respuestas);
+    }
+
+    /**
+     * Avisa a la escucha como lo haría TestNG según el estado del caso
+     */
+    public static void notificar(EscuchaResultadosTestNG escucha, ITestResult resultado, int indice) {
+        if (indice % 7 == 0) {
+            escucha.onTestFailure(resultado);
+        } else if (indice % 11 == 0) {
+            escucha.onTestSkipped(resultado);
+        } else {
+            escucha.onTestSuccess(resultado);
+        }
+    }
+
+    /**
+     * Cantidad de casos fallidos entre los primeros {@code total}
+     */
+    public static int contarFallidos(int total) {
+        return (total + 6) / 7;
+    }
+
+    /**
+     * Genera un PNG con texto, bloques de color, degradados y una fotografía, parecido a una página
+     */
+    public static byte[] generarCaptura(int ancho, int alto, int variante) throws IOException {
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D grafico = imagen.createGraphics();
+        try {
+            grafico.setPaint(new GradientPaint(0, 0, Color.WHITE, ancho, alto, new Color(220, 230, 245)));
+            grafico.fillRect(0, 0, ancho, alto);
+            grafico.setColor(new Color(40, 70, 140));
+            grafico.fillRect(0, 0, ancho, 80);
+            grafico.setColor(Color.WHITE);
+            grafico.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 28));
+            grafico.drawString("Captura " + variante, 40, 52);
+            grafico.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 16));
+            for (int fila = 0; fila < 40; fila++) {
+                grafico.setColor(fila % 5 == 0 ? Color.RED : Color.DARK_GRAY);
+                grafico.drawString("Formulario de registro - campo " + fila + " - texto de ejemplo para la captura",
+                    60 + (fila % 3) * 20, 120 + fila * 23);
+            }
+        } finally {
+            grafico.dispose();
+        }
+        dibujarFotografia(imagen, ancho / 2, 120, ancho / 2 - 40, alto / 2, variante);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ImageIO.write(imagen, "png", salida);
+        return salida.toByteArray();
+    }
+
+    /**
+     * Banner con textura de ruido, como las fotografías de una página real: es lo que
+     * hace que un PNG pese más que un JPEG. La semilla fija mantiene los tamaños estables.
+     */
+    private static void dibujarFotografia(BufferedImage imagen, int x, int y, int ancho, int alto, int variante) {
+        Random aleatorio = new Random(variante);
+        for (int fila = y; fila < y + alto; fila++) {
+            for (int columna = x; columna < x + ancho; columna++) {
+                int base = 90 + (columna - x) * 100 / ancho + (fila - y) * 60 / alto;
+                int rojo = Math.min(255, base + aleatorio.nextInt(40));
+                int verde = Math.min(255, base / 2 + 60 + aleatorio.nextInt(40));
+                int azul = Math.min(255, 200 - base / 3 + aleatorio.nextInt(40));
+                imagen.setRGB(columna, fila, 0xFF000000 | rojo << 16 | verde << 8 | azul);
+            }
+        }
+    }
+
+    private static <T> T simular(Class<T> tipo, Map<String, Object> respuestas) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo},
+            (proxy, metodo, argumentos) -> respuestas.get(metodo.getName())));
+    }
+}
@@ -9,9 +9,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -36,7 +39,6 @@ public class GestorEvidencias {
     private final List<String> evidenciasGeneradas;
     private final String carpetaSesion;
     
-    private static final String EXTENSION_IMAGEN = ".png";
     private static final String PREFIJO_CAPTURA = "captura_";
     private static final String PREFIJO_ERROR = "error_";
     
@@ -49,7 +51,7 @@ public class GestorEvidencias {
         this.driver = driver;
         this.rutaBaseCapturas = rutaBaseCapturas != null ? rutaBaseCapturas : "capturas/";
         this.formatoFecha = "yyyy-MM-dd_HH-mm-ss";
-        this.evidenciasGeneradas = new ArrayList<>();
+        this.evidenciasGeneradas = Collections.synchronizedList(new ArrayList<>());
         this.carpetaSesion = crearCarpetaSesion();
         
         // Crear directorio base si no existe
@@ -74,30 +76,22 @@ public class GestorEvidencias {
      * @return ruta del archivo generado
      */
     public String capturarPantalla(String descripcion) {
-        try {
-            validarDriver();
-            
-            // Generar nombre de archivo único
-            String nombreArchivo = generarNombreArchivo(descripcion, PREFIJO_CAPTURA);
-            String rutaCompleta = carpetaSesion + File.separator + nombreArchivo;
-            
-            // Tomar captura
-            File captura = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File archivoDestino = new File(rutaCompleta);
-            
-            // Copiar archivo
-            FileUtils.copyFile(captura, archivoDestino);
-            
-            // Registrar evidencia
-            evidenciasGeneradas.add(rutaCompleta);
-            log("Captura guardada: " + rutaCompleta);
-            
-            return rutaCompleta;
-            
-        } catch (IOException e) {
-            log("ERROR al capturar pantalla: " + e.getMessage());
-            throw new RuntimeException("Fallo al capturar pantalla", e);
-        }
+        validarDriver();
+        
+        // Generar nombre de archivo único
+        CodificadorCapturas codificador = CodificadorCapturas.desdeConfiguracion();
+        String nombreArchivo = generarNombreArchivo(descripcion, PREFIJO_CAPTURA, codificador.obtenerExtension());
+        String rutaCompleta = carpetaSesion + File.separator + nombreArchivo;
+        
+        // Tomar captura; EscritorCapturas la codifica y guarda por contenido en segundo plano
+        byte[] captura = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        EscritorCapturas.obtenerInstancia().encolar(captura, Paths.get(rutaCompleta), null, codificador);
+        
+        // Registrar evidencia
+        registrarEvidencia(rutaCompleta);
+        log("Captura encolada: " + rutaCompleta);
+        
+        return rutaCompleta;
     }
     
     /**
@@ -128,16 +122,16 @@ public class GestorEvidencias {
             validarDriver();
             
             String descripcion = "error_" + contextoError;
-            String nombreArchivo = generarNombreArchivo(descripcion, PREFIJO_ERROR);
+            // Las evidencias de error conservan el PNG original
+            CodificadorCapturas codificador = CodificadorCapturas.sinPerdida();
+            String nombreArchivo = generarNombreArchivo(descripcion, PREFIJO_ERROR, codificador.obtenerExtension());
             String rutaCompleta = carpetaSesion + File.separator + nombreArchivo;
             
-            File captura = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            File archivoDestino = new File(rutaCompleta);
-            
-            FileUtils.copyFile(captura, archivoDestino);
-            evidenciasGeneradas.add(rutaCompleta);
+            byte[] captura = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            EscritorCapturas.obtenerInstancia().encolar(captura, Paths.get(rutaCompleta), null, codificador);
+            registrarEvidencia(rutaCompleta);
             
-            log("Captura de error guardada: " + rutaCompleta);
+            log("Captura de error encolada: " + rutaCompleta);
             log("Mensaje del error: " + mensajeError);
             
             return rutaCompleta;
@@ -178,18 +172,22 @@ public class GestorEvidencias {
      */
     public void generarReporteEvidencias() {
         try {
+            // Los tamaños se leen del disco: primero deben terminar las escrituras pendientes
+            EscritorCapturas.obtenerInstancia().esperarPendientes(Duration.ofSeconds(30));
+            
             String nombreReporte = "reporte_evidencias_" + 
                 LocalDateTime.now().format(DateTimeFormatter.ofPattern(formatoFecha)) + ".txt";
             String rutaReporte = carpetaSesion + File.separator + nombreReporte;
             
+            List<String> evidencias = obtenerEvidenciasGeneradas();
             StringBuilder contenido = new StringBuilder();
             contenido.append("=== REPORTE DE EVIDENCIAS ===\n");
             contenido.append("Fecha: ").append(LocalDateTime.now()).append("\n");
-            contenido.append("Total de evidencias: ").append(evidenciasGeneradas.size()).append("\n");
+            contenido.append("Total de evidencias: ").append(evidencias.size()).append("\n");
             contenido.append("Carpeta de sesión: ").append(carpetaSesion).append("\n\n");
             
-            for (int i = 0; i < evidenciasGeneradas.size(); i++) {
-                String rutaEvidencia = evidenciasGeneradas.get(i);
+            for (int i = 0; i < evidencias.size(); i++) {
+                String rutaEvidencia = evidencias.get(i);
                 File archivo = new File(rutaEvidencia);
                 contenido.append(String.format("%d. %s (%.2f KB)\n", 
                     i + 1, 
@@ -240,7 +238,9 @@ public class GestorEvidencias {
      * @return lista de rutas de evidencias
      */
     public List<String> obtenerEvidenciasGeneradas() {
-        return new ArrayList<>(evidenciasGeneradas);
+        synchronized (evidenciasGeneradas) {
+            return new ArrayList<>(evidenciasGeneradas);
+        }
     }
     
     /**
@@ -257,7 +257,7 @@ public class GestorEvidencias {
      */
     public long obtenerTamanoTotalEvidencias() {
         long tamanoTotal = 0;
-        for (String rutaEvidencia : evidenciasGeneradas) {
+        for (String rutaEvidencia : obtenerEvidenciasGeneradas()) {
             File archivo = new File(rutaEvidencia);
             if (archivo.exists()) {
                 tamanoTotal += archivo.length();
@@ -278,10 +278,11 @@ public class GestorEvidencias {
         info.append("Tamaño total: ").append(String.format("%.2f KB", obtenerTamanoTotalEvidencias() / 1024.0)).append("\n");
         info.append("Directorio accesible: ").append(esDirectorioAccesible()).append("\n");
         
-        if (!evidenciasGeneradas.isEmpty()) {
+        List<String> evidencias = obtenerEvidenciasGeneradas();
+        if (!evidencias.isEmpty()) {
             info.append("\nEvidencias generadas:\n");
-            for (int i = 0; i < evidenciasGeneradas.size(); i++) {
-                String ruta = evidenciasGeneradas.get(i);
+            for (int i = 0; i < evidencias.size(); i++) {
+                String ruta = evidencias.get(i);
                 File archivo = new File(ruta);
                 info.append(String.format("  %d. %s\n", i + 1, archivo.getName()));
             }
@@ -317,6 +318,18 @@ public class GestorEvidencias {
     
     // === MÉTODOS PRIVADOS DE APOYO ===
     
+    /**
+     * Registra la evidencia en el gestor y en la prueba en curso de este hilo
+     * @param rutaEvidencia ruta del archivo generado
+     */
+    private void registrarEvidencia(String rutaEvidencia) {
+        evidenciasGeneradas.add(rutaEvidencia);
+        ContextoPrueba contexto = ContextoPrueba.actual();
+        if (contexto != null) {
+            contexto.registrarEvidencia(rutaEvidencia);
+        }
+    }
+    
     /**
      * Valida que el driver esté disponible y soporte capturas
      */
@@ -347,12 +360,13 @@ public class GestorEvidencias {
      * Genera nombre de archivo único para capturas.
      * @param descripcion descripción de la captura
      * @param prefijo prefijo del archivo
+     * @param extension extensión con punto, según el codificador
      * @return nombre de archivo único
      */
-    private String generarNombreArchivo(String descripcion, String prefijo) {
+    private String generarNombreArchivo(String descripcion, String prefijo, String extension) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern(formatoFecha));
         String descripcionLimpia = limpiarNombreArchivo(descripcion);
-        return prefijo + timestamp + "_" + descripcionLimpia + EXTENSION_IMAGEN;
+        return prefijo + timestamp + "_" + descripcionLimpia + extension;
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.automatizacion.proyecto.utilidades;
 
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
 import com.automatizacion.proyecto.enums.TipoMensaje;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
@@ -50,6 +51,12 @@ public class ManejadorScrollPagina {
     
     // NUEVO: Scroll para mostrar formulario completo en capturas
     public void scrollParaCaptura() {
+        // La captura de página completa incluye el formulario sin mover la página
+        if (ConfiguracionGlobal.obtenerInstancia().obtenerModoCaptura().esPaginaCompleta()
+                && CapturaNativa.soportaPaginaCompleta(driver)) {
+            return;
+        }
+        
         try {
             // Buscar el formulario de registro
             WebElement formulario = driver.findElement(org.openqa.selenium.By.tagName("form"));
@@ -0,0 +1,84 @@
+package com.automatizacion.proyecto.utilidades;
+
+import io.qameta.allure.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pruebas de CacheElementos con un buscador simulado (sin navegador).
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasCacheElementos {
+
+    @Test(description = "Verificar que la caché de elementos reutiliza, descarta por época y re-resuelve obsoletos",
+          groups = {"performance"})
+    @Story("Caché de Elementos")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Con un buscador simulado comprueba aciertos, invalidación al avanzar la época y re-resolución ante StaleElementReferenceException")
+    public void testCacheElementosEpocaYReResolucion() {
+        List<AtomicBoolean> obsoletos = new ArrayList<>();
+        CacheElementos cache = new CacheElementos(localizador -> {
+            AtomicBoolean obsoleto = new AtomicBoolean();
+            obsoletos.add(obsoleto);
+            return elementoSimulado("elemento" + obsoletos.size(), obsoleto);
+        });
+        By campo = By.id("username");
+
+        // Misma época: una sola búsqueda real
+        WebElement primero = cache.obtener(campo);
+        Assert.assertSame(cache.obtener(campo), primero, "La segunda búsqueda debería salir de la caché");
+        Assert.assertEquals(obsoletos.size(), 1, "Solo la primera búsqueda debería llegar al buscador");
+        Assert.assertEquals(primero.getText(), "elemento1");
+
+        // El DOM se rehace sin navegar: el proxy vuelve a buscar y repite la llamada
+        obsoletos.get(0).set(true);
+        Assert.assertEquals(primero.getText(), "elemento2", "El elemento obsoleto debería re-resolverse");
+        Assert.assertEquals(obsoletos.size(), 2);
+
+        // Navegación (o click, submit...): la época avanza y la caché se descarta
+        EscuchaNavegacion.registrarCambio();
+        WebElement trasNavegar = cache.obtener(campo);
+        Assert.assertNotSame(trasNavegar, primero, "Tras avanzar la época no debería reutilizarse el elemento");
+        Assert.assertEquals(obsoletos.size(), 3, "Tras avanzar la época debería buscarse de nuevo");
+        Assert.assertSame(cache.obtener(campo), trasNavegar);
+
+        // invalidar() vacía la caché sin depender de la época
+        cache.invalidar();
+        cache.obtener(campo);
+        Assert.assertEquals(obsoletos.size(), 4, "Tras invalidar debería buscarse de nuevo");
+
+        // Si la re-resolución también queda obsoleta, la excepción llega a quien llamó
+        CacheElementos siempreObsoleta = new CacheElementos(localizador -> elementoSimulado("x", new AtomicBoolean(true)));
+        Assert.assertThrows(StaleElementReferenceException.class, () -> siempreObsoleta.obtener(campo).getText());
+    }
+
+    /**
+     * WebElement mínimo: getText devuelve el texto indicado mientras no esté marcado como obsoleto
+     */
+    private static WebElement elementoSimulado(String texto, AtomicBoolean obsoleto) {
+        return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(), new Class<?>[] {WebElement.class},
+            (proxy, metodo, argumentos) -> {
+                if ("toString".equals(metodo.getName())) {
+                    return texto;
+                }
+                if (obsoleto.get()) {
+                    throw new StaleElementReferenceException("Elemento simulado obsoleto: " + texto);
+                }
+                return "getText".equals(metodo.getName()) ? texto : null;
+            });
+    }
+}
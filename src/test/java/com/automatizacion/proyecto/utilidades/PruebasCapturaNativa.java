@@ -0,0 +1,80 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import com.automatizacion.proyecto.configuracion.ConfiguradorNavegador;
+import io.qameta.allure.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+/**
+ * Pruebas de CapturaNativa contra el servidor fixture local.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasCapturaNativa {
+
+    @Test(description = "Verificar que la captura nativa incluye la página completa sin hacer scroll",
+          groups = {"performance"})
+    @Story("Captura de Página Completa")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Sobre una página más alta que la ventana compara el alto de la captura nativa con el de scroll y captura de ventana")
+    public void testCapturaPaginaCompletaSinScroll() throws IOException {
+        String urlBaseOriginal = System.getProperty("url.base");
+        String headlessOriginal = System.getProperty("headless");
+        WebDriver navegador = null;
+
+        try (ServidorFixture fixture = ServidorFixture.iniciar(4)) {
+            System.setProperty("url.base", fixture.obtenerUrlBase());
+            System.setProperty("headless", "true");
+            ConfiguracionGlobal.reiniciarInstancia();
+
+            navegador = ConfiguradorNavegador.crearNavegador(ConfiguradorNavegador.obtenerTipoNavegadorDesdeConfiguracion());
+            if (!CapturaNativa.soportaPaginaCompleta(navegador)) {
+                throw new SkipException("El navegador configurado no admite capturas de página completa");
+            }
+            navegador.get(fixture.obtenerUrlBase() + "/register");
+            ((JavascriptExecutor) navegador).executeScript(
+                "document.body.style.minHeight = (3 * window.innerHeight) + 'px';");
+
+            byte[] nativa = CapturaNativa.capturarPaginaCompleta(navegador);
+
+            new ManejadorScrollPagina(navegador).scrollHastaElemento(navegador.findElement(By.tagName("form")));
+            byte[] ventana = ((TakesScreenshot) navegador).getScreenshotAs(OutputType.BYTES);
+
+            Assert.assertNotNull(nativa, "La captura nativa debería estar disponible");
+            int altoNativa = ImageIO.read(new ByteArrayInputStream(nativa)).getHeight();
+            int altoScroll = ImageIO.read(new ByteArrayInputStream(ventana)).getHeight();
+            Assert.assertTrue(altoNativa > altoScroll, "La captura nativa debería incluir la página fuera de la ventana");
+        } finally {
+            if (navegador != null) {
+                ConfiguradorNavegador.cerrarNavegador(navegador);
+            }
+            restaurarPropiedad("url.base", urlBaseOriginal);
+            restaurarPropiedad("headless", headlessOriginal);
+            ConfiguracionGlobal.reiniciarInstancia();
+        }
+    }
+
+    private void restaurarPropiedad(String clave, String valor) {
+        if (valor == null) {
+            System.clearProperty(clave);
+        } else {
+            System.setProperty(clave, valor);
+        }
+    }
+}
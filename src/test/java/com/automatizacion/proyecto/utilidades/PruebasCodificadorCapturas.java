@@ -0,0 +1,37 @@
+package com.automatizacion.proyecto.utilidades;
+
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+
+/**
+ * Pruebas de CodificadorCapturas sobre una captura sintética Full HD.
+ * La velocidad de cada formato se mide aparte, en MedicionesRendimiento.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasCodificadorCapturas {
+
+    @Test(description = "Verificar que JPEG y la reducción de ancho ocupan menos que el PNG del driver",
+          groups = {"performance"})
+    @Story("Codificación de Capturas")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Codifica una captura sintética de 1920x1080 como PNG, JPEG q90 y JPEG q90 reducido a 1280 px y compara los bytes")
+    public void testCodificacionCapturasPorFormato() throws IOException {
+        byte[] png = DatosSinteticos.generarCaptura(1920, 1080, 0);
+
+        byte[] sinPerdida = CodificadorCapturas.sinPerdida().codificar(png);
+        byte[] jpeg = new CodificadorCapturas("JPG", 90, 0).codificar(png);
+        byte[] jpegReducido = new CodificadorCapturas("JPG", 90, 1280).codificar(png);
+
+        Assert.assertTrue(jpeg.length < sinPerdida.length, "El JPEG q90 debería ocupar menos que el PNG");
+        Assert.assertTrue(jpegReducido.length < jpeg.length, "Reducir el ancho debería ocupar menos que el JPEG completo");
+    }
+}
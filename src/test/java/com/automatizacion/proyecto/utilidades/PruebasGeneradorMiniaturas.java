@@ -0,0 +1,67 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.configuracion.ConfiguracionGlobal;
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pruebas de GeneradorMiniaturas: caché en disco, peso de la galería
+ * y limpieza de miniaturas huérfanas.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasGeneradorMiniaturas {
+
+    private static final int CAPTURAS_GALERIA = 40;
+
+    @Test(description = "Verificar la caché de miniaturas y el peso de la galería del reporte",
+          groups = {"performance"})
+    @Story("Reporte HTML")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Genera miniaturas de 40 capturas Full HD, repite la generación con la caché y compara el peso de la galería con miniaturas frente a las capturas completas")
+    public void testMiniaturasGaleriaDiferida() throws IOException {
+        Path directorio = Files.createTempDirectory("galeria");
+        List<Path> capturas = new ArrayList<>();
+        for (int i = 0; i < CAPTURAS_GALERIA; i++) {
+            Path captura = directorio.resolve(String.format("captura_%02d.png", i));
+            Files.write(captura, DatosSinteticos.generarCaptura(1920, 1080, i));
+            capturas.add(captura);
+        }
+        Path directorioMiniaturas = directorio.resolve(GeneradorMiniaturas.DIRECTORIO_MINIATURAS);
+        int ancho = ConfiguracionGlobal.obtenerInstancia().obtenerAnchoMiniatura();
+
+        GeneradorMiniaturas primera = new GeneradorMiniaturas(directorioMiniaturas, ancho);
+        Map<Path, Path> miniaturas = primera.generar(capturas);
+        GeneradorMiniaturas segunda = new GeneradorMiniaturas(directorioMiniaturas, ancho);
+        Map<Path, Path> reutilizadas = segunda.generar(capturas);
+
+        Assert.assertEquals(miniaturas.size(), CAPTURAS_GALERIA, "Cada captura debería tener su miniatura");
+        Assert.assertEquals(primera.obtenerGeneradas(), CAPTURAS_GALERIA, "La primera vez deberían generarse todas");
+        Assert.assertEquals(segunda.obtenerGeneradas(), 0, "Con la caché no debería generarse ninguna");
+        Assert.assertEquals(segunda.obtenerReutilizadas(), CAPTURAS_GALERIA, "Con la caché deberían reutilizarse todas");
+        Assert.assertEquals(reutilizadas, miniaturas, "La caché debería devolver las mismas miniaturas");
+        Assert.assertTrue(primera.obtenerBytesMiniaturas() * 10 < primera.obtenerBytesCapturas(),
+            "Las miniaturas deberían pesar menos de un décimo de las capturas completas");
+
+        // Una captura borrada por la retención deja su miniatura sin referencia
+        Path borrada = capturas.get(CAPTURAS_GALERIA - 1);
+        Map<Path, Path> vigentes = new HashMap<>(reutilizadas);
+        vigentes.remove(borrada);
+        Assert.assertEquals(segunda.eliminarHuerfanas(vigentes.values()), 1, "Solo debería eliminarse la miniatura huérfana");
+        Assert.assertFalse(Files.exists(miniaturas.get(borrada)), "La miniatura huérfana no debería quedar en disco");
+    }
+}
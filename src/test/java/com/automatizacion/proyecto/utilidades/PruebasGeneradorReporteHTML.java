@@ -0,0 +1,141 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas de GeneradorReporteHTML con miles de casos sintéticos:
+ * escritura en flujo y tabla de casos emitida como datos JSON.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasGeneradorReporteHTML {
+
+    private static final Logger logger = LoggerFactory.getLogger(PruebasGeneradorReporteHTML.class);
+
+    private static final int CASOS_REPORTE = 10_000;
+    private static final int CAPTURAS_REPORTE = 5_000;
+    private static final int RESULTADOS_SINTETICOS = 50_000;
+
+    @Test(description = "Comparar el reporte HTML escrito en flujo frente a armarlo completo en memoria",
+          groups = {"performance"})
+    @Story("Reporte HTML")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Genera el reporte con 10.000 casos y 5.000 capturas y compara el pico de heap escribiendo en flujo y armando el documento en memoria")
+    public void testReporteHTMLEnFlujo() throws IOException {
+        Path directorio = Files.createTempDirectory("reporte");
+        MedicionReporte enMemoria = medirReporte(directorio.resolve("en_memoria.html"), true);
+        MedicionReporte enFlujo = medirReporte(directorio.resolve("en_flujo.html"), false);
+
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Reporte HTML (%d casos, %d capturas, %.1f MB) - pico de heap en memoria %.1f MB, en flujo %.1f MB",
+            CASOS_REPORTE, CAPTURAS_REPORTE, enFlujo.bytes() / 1048576.0,
+            enMemoria.picoHeap() / 1048576.0, enFlujo.picoHeap() / 1048576.0)));
+
+        Assert.assertEquals(enFlujo.bytes(), enMemoria.bytes(), "Ambos modos deberían producir el mismo documento");
+        Assert.assertTrue(enFlujo.picoHeap() < enMemoria.picoHeap(),
+            "Escribir en flujo debería necesitar menos memoria que armar el documento completo");
+    }
+
+    @Test(description = "Verificar que el reporte emite los casos como datos JSON y no como un elemento por caso",
+          groups = {"performance"})
+    @Story("Reporte HTML")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Genera el reporte con 50.000 resultados, mide su peso por caso y verifica que los casos viajan una sola vez en el bloque de datos de la tabla virtualizada")
+    public void testTablaCasosVirtualizada() throws IOException {
+        List<ResultadoPrueba> resultados = new ArrayList<>();
+        for (int i = 0; i < RESULTADOS_SINTETICOS; i++) {
+            resultados.add(DatosSinteticos.crearResultado(i));
+        }
+        // Un texto con cierre de script no debe romper el bloque de datos
+        resultados.set(1, new ResultadoPrueba(DatosSinteticos.CLASE_SINTETICA, "testInyeccion",
+            "Entrada </script><script>alert(1)</script>", ResultadoPrueba.EXITOSA, 0, 1, List.of("security"),
+            null, List.of(), "main", null));
+
+        GeneradorReporteHTML generador = new GeneradorReporteHTML();
+        generador.agregarResultados(resultados);
+        Path destino = Files.createTempDirectory("tabla_casos").resolve("reporte.html");
+        generador.generarReporteEn(destino);
+
+        String html = Files.readString(destino);
+        String marcaDatos = "<script type=\"application/json\" id=\"datos-casos\">";
+        int inicioDatos = html.indexOf(marcaDatos) + marcaDatos.length();
+        JsonNode datos = new ObjectMapper().readTree(html.substring(inicioDatos, html.indexOf("</script>", inicioDatos)));
+        // Lo que ocupa cada caso además de sus propios textos (marcado, separadores, diccionarios)
+        long bytesTextos = resultados.stream()
+            .flatMap(resultado -> Stream.concat(
+                Stream.of(resultado.identificador(), resultado.descripcion(), resultado.datos(), resultado.error()),
+                resultado.evidencias().stream().map(ruta -> Path.of(ruta).getFileName().toString())))
+            .filter(Objects::nonNull)
+            .mapToLong(texto -> texto.getBytes(StandardCharsets.UTF_8).length)
+            .sum();
+        double sobrecostoPorCaso = (Files.size(destino) - bytesTextos) / (double) RESULTADOS_SINTETICOS;
+
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(String.format(
+            "Reporte con %d casos: %.1f MB (%.0f bytes por caso además de sus textos), %d grupos en el diccionario",
+            RESULTADOS_SINTETICOS, Files.size(destino) / 1048576.0, sobrecostoPorCaso, datos.get("grupos").size())));
+
+        Assert.assertEquals(datos.get("casos").size(), RESULTADOS_SINTETICOS, "Todos los casos deberían estar en los datos");
+        Assert.assertEquals(datos.get("casos").get(1).get(1).asText(), "Entrada </script><script>alert(1)</script>",
+            "El texto debería conservarse sin cerrar el bloque de datos");
+        Assert.assertEquals(html.split("class=\"test-case", -1).length - 1, 1,
+            "Solo debería existir el panel de detalle, no un elemento por caso");
+        Assert.assertTrue(sobrecostoPorCaso < 40,
+            "Cada caso debería agregar menos de 40 bytes a sus textos, agregó " + sobrecostoPorCaso);
+    }
+
+    private MedicionReporte medirReporte(Path destino, boolean enMemoria) throws IOException {
+        GeneradorReporteHTML generador = new GeneradorReporteHTML();
+        for (int i = 0; i < CASOS_REPORTE; i++) {
+            String estado = i % 7 == 0 ? "FAILED" : i % 11 == 0 ? "SKIPPED" : "PASSED";
+            generador.agregarCaso(String.format("CASO_%05d", i), "Caso sintético número " + i, estado);
+        }
+        for (int i = 0; i < CAPTURAS_REPORTE; i++) {
+            generador.agregarCaptura(String.format("captura_%05d_20250804_120000_000.jpg", i));
+        }
+
+        List<MemoryPoolMXBean> heap = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        System.gc();
+        heap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long enUso = heap.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+
+        if (enMemoria) {
+            StringWriter documento = new StringWriter();
+            generador.escribirHTML(documento);
+            Files.writeString(destino, documento.toString());
+        } else {
+            generador.generarReporteEn(destino);
+        }
+        long pico = heap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() - enUso;
+        return new MedicionReporte(pico, Files.size(destino));
+    }
+
+    private record MedicionReporte(long picoHeap, long bytes) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.automatizacion.proyecto.utilidades;
+
+import io.qameta.allure.*;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Pruebas de PresupuestoEspera: las esperas anidadas de una acción
+ * comparten un único plazo en lugar de sumar sus timeouts.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasPresupuestoEspera {
+
+    @Test(description = "Verificar que las esperas anidadas de una acción comparten un único presupuesto",
+          groups = {"performance"})
+    @Story("Presupuesto de Esperas")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Tres pausas anidadas de 1 s dentro de una acción de 500 ms terminan en el plazo de la acción")
+    public void testPresupuestoAcotaEsperasAnidadas() throws InterruptedException {
+        PresupuestoEspera.reiniciarMetricas();
+        long inicio = System.nanoTime();
+
+        PresupuestoEspera accion = PresupuestoEspera.iniciar("accion", Duration.ofMillis(500));
+        try (accion) {
+            for (int paso = 1; paso <= 3; paso++) {
+                PresupuestoEspera interno = PresupuestoEspera.iniciar("accion.paso" + paso, Duration.ofSeconds(1));
+                try (interno) {
+                    PresupuestoEspera.dormir(1000);
+                }
+            }
+            Assert.assertTrue(PresupuestoEspera.estaAgotado(), "El presupuesto de la acción debería estar agotado");
+            Assert.assertThrows(TimeoutException.class, PresupuestoEspera::verificarDisponible);
+        }
+
+        // Sin presupuesto compartido las tres pausas sumarían 3000 ms
+        long transcurridoMs = (System.nanoTime() - inicio) / 1_000_000;
+        Assert.assertTrue(transcurridoMs < 1000, "Las esperas anidadas no deberían sumar sus timeouts");
+        Assert.assertFalse(PresupuestoEspera.estaAgotado(), "Fuera de la acción no debería quedar presupuesto activo");
+
+        // Trabajo que no es espera (p. ej. una captura lenta) sí puede exceder el plazo y queda registrado
+        PresupuestoEspera lento = PresupuestoEspera.iniciar("paso.lento", Duration.ofMillis(10));
+        try (lento) {
+            Thread.sleep(250);
+        }
+        Assert.assertTrue(PresupuestoEspera.generarResumen().contains("paso.lento"),
+            "El exceso del paso debería quedar registrado");
+    }
+}
@@ -0,0 +1,81 @@
+package com.automatizacion.proyecto.utilidades;
+
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pruebas de RegistroResultados alimentado por EscuchaResultadosTestNG
+ * desde varios hilos, como en la suite paralela.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasRegistroResultados {
+
+    private static final int RESULTADOS_SINTETICOS = 50_000;
+    private static final int HILOS_REGISTRO = 8;
+
+    @Test(description = "Verificar que registrar resultados desde varios hilos a la vez no pierde ninguno",
+          groups = {"performance"})
+    @Story("Registro de resultados")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Notifica 50.000 resultados sintéticos a EscuchaResultadosTestNG desde 8 hilos, como en la suite, y verifica que no se pierde ninguno ni en el registro ni en el reporte en vivo")
+    public void testRegistroResultadosDesdeVariosHilos() throws Exception {
+        // Mismo camino que en la suite: TestNG avisa a la escucha en el hilo de la prueba,
+        // que registra el resultado y lo encola para el reporte en vivo
+        RegistroResultados registro = new RegistroResultados();
+        ReporteEnVivo reporte = new ReporteEnVivo(Files.createTempDirectory("resultados"));
+        reporte.iniciar();
+        EscuchaResultadosTestNG escucha = new EscuchaResultadosTestNG(registro, reporte);
+        ITestResult[] notificaciones = new ITestResult[RESULTADOS_SINTETICOS];
+        for (int i = 0; i < RESULTADOS_SINTETICOS; i++) {
+            notificaciones[i] = DatosSinteticos.crearResultadoTestNG(i);
+        }
+
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS_REGISTRO);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        try {
+            for (int h = 0; h < HILOS_REGISTRO; h++) {
+                int hilo = h;
+                tareas.add(hilos.submit(() -> {
+                    salida.await();
+                    for (int i = hilo; i < RESULTADOS_SINTETICOS; i += HILOS_REGISTRO) {
+                        DatosSinteticos.notificar(escucha, notificaciones[i], i);
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+
+            reporte.finalizar(registro.generarResumen());
+            List<ResultadoPrueba> leidos = RegistroResultados.cargar(reporte.obtenerArchivoResultados());
+
+            Assert.assertEquals(registro.obtenerTotal(), RESULTADOS_SINTETICOS, "No debería perderse ningún resultado");
+            Assert.assertEquals(registro.obtenerResultados().size(), RESULTADOS_SINTETICOS,
+                "La lista debería coincidir con los contadores");
+            Assert.assertEquals(registro.contar(ResultadoPrueba.FALLIDA), DatosSinteticos.contarFallidos(RESULTADOS_SINTETICOS),
+                "Los contadores por estado deberían ser exactos");
+            Assert.assertEquals(leidos.size(), RESULTADOS_SINTETICOS, "El reporte en vivo debería tener todos los resultados");
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.automatizacion.proyecto.utilidades;
+
+import io.qameta.allure.*;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pruebas de ReporteEnVivo: lectura a mitad de la suite, líneas de
+ * actualización y marca de cierre.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasReporteEnVivo {
+
+    private static final int CASOS_REPORTE = 10_000;
+
+    @Test(description = "Verificar que el reporte en vivo es legible durante la suite y se cierra con una sola línea",
+          groups = {"performance"})
+    @Story("Reporte en vivo")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Agrega 10.000 resultados desde 4 hilos, lee el reporte a mitad de la ejecución y verifica las actualizaciones y el cierre")
+    public void testReporteEnVivoIncremental() throws Exception {
+        Path directorio = Files.createTempDirectory("reporte_en_vivo");
+        ReporteEnVivo reporte = new ReporteEnVivo(directorio);
+        reporte.iniciar();
+        Assert.assertTrue(Files.exists(reporte.obtenerArchivoReporte()), "El cascarón HTML debería existir desde el inicio");
+
+        agregarEnParalelo(reporte, 0, CASOS_REPORTE / 2);
+        Assert.assertTrue(reporte.esperarPendientes(Duration.ofSeconds(30)), "Los resultados encolados deberían escribirse");
+        List<ResultadoPrueba> parciales = RegistroResultados.cargar(reporte.obtenerArchivoResultados());
+        Assert.assertEquals(parciales.size(), CASOS_REPORTE / 2, "El reporte parcial debería tener los resultados ya agregados");
+
+        agregarEnParalelo(reporte, CASOS_REPORTE / 2, CASOS_REPORTE);
+        // Vincular una evidencia posterior agrega una línea que actualiza al resultado
+        ResultadoPrueba conCapturaFallo = parciales.get(0);
+        conCapturaFallo.evidencias().add("capturas/FALLO_sintetico.png");
+        reporte.agregar(conCapturaFallo);
+        reporte.finalizar(String.format("Resultados registrados: %d", CASOS_REPORTE));
+
+        List<ResultadoPrueba> finales = RegistroResultados.cargar(reporte.obtenerArchivoResultados());
+        List<String> lineasDatos = Files.readAllLines(reporte.obtenerArchivoDatos());
+
+        Assert.assertEquals(finales.size(), CASOS_REPORTE, "Una línea de actualización no debería duplicar el resultado");
+        Assert.assertEquals(finales.get(0).evidencias().size(), 2, "La actualización debería reemplazar al resultado original");
+        Assert.assertEquals(lineasDatos.size(), CASOS_REPORTE + 2, "Cada resultado, la actualización y el cierre ocupan una línea");
+        Assert.assertTrue(lineasDatos.get(lineasDatos.size() - 1).startsWith("reporteFinalizado("),
+            "La última línea debería marcar el reporte como finalizado");
+    }
+
+    private static void agregarEnParalelo(ReporteEnVivo reporte, int desde, int hasta) throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int h = 0; h < 4; h++) {
+                int hilo = h;
+                tareas.add(hilos.submit(() -> {
+                    for (int i = desde + hilo; i < hasta; i += 4) {
+                        reporte.agregar(DatosSinteticos.crearResultado(i));
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
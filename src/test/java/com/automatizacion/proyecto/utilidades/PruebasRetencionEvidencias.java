@@ -0,0 +1,81 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.enums.TipoMensaje;
+import io.qameta.allure.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pruebas de RetencionEvidencias sobre un directorio temporal.
+ *
+ * Ejecución: mvn test -Dsurefire.suiteXmlFiles=src/test/resources/rendimiento.xml
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+@Epic("Infraestructura de Pruebas")
+@Feature("Rendimiento")
+public class PruebasRetencionEvidencias {
+
+    private static final Logger logger = LoggerFactory.getLogger(PruebasRetencionEvidencias.class);
+
+    @Test(description = "Verificar que la retención elimina las ejecuciones menos recientes hasta cumplir la cuota",
+          groups = {"performance"})
+    @Story("Retención de Evidencias")
+    @Severity(SeverityLevel.NORMAL)
+    @Description("Registra varias ejecuciones de capturas con contenido compartido y comprueba que la cuota elimina ejecuciones completas empezando por la más antigua")
+    public void testRetencionEvidenciasPorCuota() throws IOException {
+        Path directorio = Files.createTempDirectory("retencion");
+        int ejecuciones = 6;
+        int capturasPorEjecucion = 20;
+        int bytesPorCaptura = 50 * 1024;
+        long cuota = 3L * capturasPorEjecucion * bytesPorCaptura;
+
+        // Un contenido que todas las ejecuciones comparten y uno propio por captura
+        Path compartido = directorio.resolve(".contenido").resolve("compartido.png");
+        Files.createDirectories(compartido.getParent());
+        Files.write(compartido, new byte[bytesPorCaptura]);
+        List<Path> primeraEjecucion = new ArrayList<>();
+        List<Path> ultimaEjecucion = new ArrayList<>();
+        for (int e = 0; e < ejecuciones; e++) {
+            RetencionEvidencias anterior = new RetencionEvidencias(directorio, null, Duration.ofDays(7), Duration.ofDays(14), 0);
+            for (int c = 0; c < capturasPorEjecucion; c++) {
+                Path contenido = directorio.resolve(".contenido").resolve("e" + e + "_c" + c + ".png");
+                Files.write(contenido, new byte[bytesPorCaptura]);
+                Path captura = directorio.resolve("e" + e + "_c" + c + ".png");
+                Files.createLink(captura, contenido);
+                anterior.registrar(captura, contenido, bytesPorCaptura);
+                if (e == 0) {
+                    primeraEjecucion.add(captura);
+                } else if (e == ejecuciones - 1) {
+                    ultimaEjecucion.add(captura);
+                }
+            }
+            Path referencia = directorio.resolve("e" + e + "_compartida.png");
+            Files.createLink(referencia, compartido);
+            anterior.registrar(referencia, compartido, bytesPorCaptura);
+        }
+
+        RetencionEvidencias retencion = new RetencionEvidencias(directorio, null, Duration.ofDays(7), Duration.ofDays(14), cuota);
+        RetencionEvidencias.ResumenRetencion resumen = retencion.aplicar();
+        logger.info(TipoMensaje.INFORMATIVO.formatearMensaje(resumen.toString()));
+
+        Assert.assertTrue(resumen.bytesConservados() <= cuota, "Lo conservado debería caber en la cuota");
+        Assert.assertTrue(resumen.ejecucionesEliminadas() > 0, "Deberían eliminarse ejecuciones para cumplir la cuota");
+        Assert.assertTrue(primeraEjecucion.stream().noneMatch(Files::exists), "La ejecución más antigua debería eliminarse primero");
+        Assert.assertTrue(ultimaEjecucion.stream().allMatch(Files::exists), "La ejecución más reciente debería conservarse");
+        Assert.assertTrue(Files.exists(compartido), "El contenido que aún se referencia no debería eliminarse");
+
+        RetencionEvidencias.ResumenRetencion segunda = retencion.aplicar();
+        Assert.assertEquals(segunda.ejecucionesEliminadas(), 0, "Una segunda limpieza no debería tener nada que eliminar");
+    }
+}
@@ -0,0 +1,218 @@
+package com.automatizacion.proyecto.utilidades;
+
+import com.automatizacion.proyecto.enums.TipoMensaje;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP local que replica las páginas de login y registro de
+ * practice.expandtesting.com a partir de las plantillas en resources/fixtures.
+ * Permite ejecutar las pruebas de UI sin red y con muchas sesiones en paralelo.
+ *
+ * Credenciales válidas: practice / SuperSecretPassword!
+ *
+ * @author Roberto Rivas Lopez
+ * @version 1.0
+ */
+public class ServidorFixture implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServidorFixture.class);
+
+    private static final String USUARIO_VALIDO = "practice";
+    private static final String PASSWORD_VALIDO = "SuperSecretPassword!";
+    private static final String COOKIE_SESION = "sesion";
+
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+    private final Map<String, String> sesionesActivas = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSolicitudes = new AtomicInteger();
+    private final AtomicInteger loginsExitosos = new AtomicInteger();
+    private final AtomicInteger loginsFallidos = new AtomicInteger();
+
+    private ServidorFixture(int hilos) throws IOException {
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.ejecutor = Executors.newFixedThreadPool(hilos);
+        this.servidor.setExecutor(ejecutor);
+
+        servidor.createContext("/login", this::atenderLogin);
+        servidor.createContext("/authenticate", this::atenderAutenticacion);
+        servidor.createContext("/secure", this::atenderAreaSegura);
+        servidor.createContext("/logout", this::atenderLogout);
+        servidor.createContext("/register", this::atenderRegistro);
+        servidor.createContext("/", intercambio -> responder(intercambio, 404, "<h1>Not Found</h1>"));
+    }
+
+    /**
+     * Inicia el servidor en un puerto libre del loopback
+     * @param hilos hilos para atender solicitudes concurrentes
+     * @return servidor iniciado
+     */
+    public static ServidorFixture iniciar(int hilos) {
+        try {
+            ServidorFixture fixture = new ServidorFixture(hilos);
+            fixture.servidor.start();
+            logger.info(TipoMensaje.CONFIGURACION.formatearMensaje(
+                "Servidor fixture iniciado en " + fixture.obtenerUrlBase()));
+            return fixture;
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo iniciar el servidor fixture", e);
+        }
+    }
+
+    public String obtenerUrlBase() {
+        return "http://" + servidor.getAddress().getHostString() + ":" + servidor.getAddress().getPort();
+    }
+
+    public int obtenerTotalSolicitudes() {
+        return totalSolicitudes.get();
+    }
+
+    public int obtenerLoginsExitosos() {
+        return loginsExitosos.get();
+    }
+
+    public int obtenerLoginsFallidos() {
+        return loginsFallidos.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        ejecutor.shutdownNow();
+        logger.info(TipoMensaje.CONFIGURACION.formatearMensaje(
+            "Servidor fixture detenido - Solicitudes atendidas: " + totalSolicitudes.get()));
+    }
+
+    // === MANEJADORES ===
+
+    private void atenderLogin(HttpExchange intercambio) throws IOException {
+        String consulta = intercambio.getRequestURI().getQuery();
+        String mensaje = "";
+        if (consulta != null && consulta.contains("error=credenciales")) {
+            mensaje = "<div id=\"flash\" class=\"alert alert-danger\" role=\"alert\">Your password is invalid!</div>";
+        } else if (consulta != null && consulta.contains("error=sesion")) {
+            mensaje = "<div id=\"flash\" class=\"alert alert-danger\" role=\"alert\">You must login to view the secure area!</div>";
+        }
+        responder(intercambio, 200, cargarPlantilla("login.html").replace("{{MENSAJE}}", mensaje));
+    }
+
+    private void atenderAutenticacion(HttpExchange intercambio) throws IOException {
+        Map<String, String> formulario = leerFormulario(intercambio);
+        String usuario = formulario.getOrDefault("username", "");
+        String password = formulario.getOrDefault("password", "");
+
+        if (USUARIO_VALIDO.equals(usuario) && PASSWORD_VALIDO.equals(password)) {
+            String token = UUID.randomUUID().toString();
+            sesionesActivas.put(token, usuario);
+            loginsExitosos.incrementAndGet();
+            intercambio.getResponseHeaders().add("Set-Cookie", COOKIE_SESION + "=" + token + "; Path=/");
+            redirigir(intercambio, "/secure");
+        } else {
+            loginsFallidos.incrementAndGet();
+            redirigir(intercambio, "/login?error=credenciales");
+        }
+    }
+
+    private void atenderAreaSegura(HttpExchange intercambio) throws IOException {
+        String usuario = sesionesActivas.get(leerCookieSesion(intercambio));
+        if (usuario == null) {
+            redirigir(intercambio, "/login?error=sesion");
+            return;
+        }
+        responder(intercambio, 200, cargarPlantilla("secure.html").replace("{{USUARIO}}", usuario));
+    }
+
+    private void atenderLogout(HttpExchange intercambio) throws IOException {
+        String token = leerCookieSesion(intercambio);
+        if (token != null) {
+            sesionesActivas.remove(token);
+        }
+        intercambio.getResponseHeaders().add("Set-Cookie", COOKIE_SESION + "=; Path=/; Max-Age=0");
+        redirigir(intercambio, "/login");
+    }
+
+    private void atenderRegistro(HttpExchange intercambio) throws IOException {
+        if ("POST".equalsIgnoreCase(intercambio.getRequestMethod())) {
+            leerFormulario(intercambio);
+            redirigir(intercambio, "/login");
+            return;
+        }
+        responder(intercambio, 200, cargarPlantilla("register.html").replace("{{MENSAJE}}", ""));
+    }
+
+    // === MÉTODOS DE APOYO ===
+
+    private void responder(HttpExchange intercambio, int estado, String html) throws IOException {
+        totalSolicitudes.incrementAndGet();
+        byte[] cuerpo = html.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/html; charset=UTF-8");
+        intercambio.getResponseHeaders().set("Cache-Control", "no-store");
+        intercambio.sendResponseHeaders(estado, cuerpo.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(cuerpo);
+        }
+    }
+
+    private void redirigir(HttpExchange intercambio, String destino) throws IOException {
+        totalSolicitudes.incrementAndGet();
+        intercambio.getResponseHeaders().set("Location", destino);
+        intercambio.sendResponseHeaders(303, -1);
+        intercambio.close();
+    }
+
+    private String cargarPlantilla(String nombre) throws IOException {
+        try (InputStream entrada = getClass().getClassLoader().getResourceAsStream("fixtures/" + nombre)) {
+            if (entrada == null) {
+                throw new IOException("Plantilla fixture no encontrada: " + nombre);
+            }
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private Map<String, String> leerFormulario(HttpExchange intercambio) throws IOException {
+        Map<String, String> campos = new HashMap<>();
+        String cuerpo;
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            cuerpo = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        for (String par : cuerpo.split("&")) {
+            int separador = par.indexOf('=');
+            if (separador > 0) {
+                campos.put(URLDecoder.decode(par.substring(0, separador), StandardCharsets.UTF_8),
+                           URLDecoder.decode(par.substring(separador + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return campos;
+    }
+
+    private String leerCookieSesion(HttpExchange intercambio) {
+        String cookies = intercambio.getRequestHeaders().getFirst("Cookie");
+        if (cookies == null) {
+            return null;
+        }
+        for (String cookie : cookies.split(";")) {
+            String[] partes = cookie.trim().split("=", 2);
+            if (partes.length == 2 && COOKIE_SESION.equals(partes[0])) {
+                return partes[1];
+            }
+        }
+        return null;
+    }
+}